@@ -19,6 +19,7 @@ package org.apache.shenyu.admin.config;
 
 import com.alibaba.nacos.api.config.ConfigService;
 import org.I0Itec.zkclient.ZkClient;
+import org.apache.shenyu.admin.config.properties.DataDispatchProperties;
 import org.apache.shenyu.admin.config.properties.HttpSyncProperties;
 import org.apache.shenyu.admin.config.properties.WebsocketSyncProperties;
 import org.apache.shenyu.admin.listener.DataChangedListener;
@@ -45,6 +46,7 @@ import org.springframework.web.socket.server.standard.ServerEndpointExporter;
  * @author huangxiaofeng
  */
 @Configuration
+@EnableConfigurationProperties(DataDispatchProperties.class)
 public class DataSyncConfiguration {
 
     /**
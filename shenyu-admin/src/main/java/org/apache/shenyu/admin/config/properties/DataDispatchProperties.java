@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * the data changed event dispatch properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "soul.sync.dispatch")
+public class DataDispatchProperties {
+
+    /**
+     * The quiet time after the last data changed event before the pending events are dispatched at once,
+     * zero dispatches every event right away, default: 100 milliseconds.
+     */
+    private Duration window = Duration.ofMillis(100);
+
+    /**
+     * The max time the first pending event waits for the events keep coming, default: 1 second.
+     */
+    private Duration maxWait = Duration.ofSeconds(1);
+
+}
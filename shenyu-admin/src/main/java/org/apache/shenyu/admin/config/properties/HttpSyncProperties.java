@@ -42,4 +42,9 @@ public class HttpSyncProperties {
      */
     private Duration refreshInterval = Duration.ofMinutes(5);
 
+    /**
+     * The max config changes kept for the delta sync, a client further behind fetches all the configs, default: 4096.
+     */
+    private int changeLogSize = 4096;
+
 }
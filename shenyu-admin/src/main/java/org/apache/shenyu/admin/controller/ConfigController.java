@@ -24,10 +24,13 @@ import org.apache.shenyu.admin.utils.SoulResultMessage;
 import org.apache.shenyu.admin.model.result.SoulAdminResult;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.ConfigSnapshotCodec;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.annotation.Resource;
@@ -57,7 +60,7 @@ public class ConfigController {
      * @param groupKeys the group keys
      * @return the soul result
      */
-    @GetMapping("/fetch")
+    @GetMapping(value = "/fetch", produces = MediaType.APPLICATION_JSON_VALUE)
     public SoulAdminResult fetchConfigs(@NotNull final String[] groupKeys) {
         Map<String, ConfigData<?>> result = Maps.newHashMap();
         for (String groupKey : groupKeys) {
@@ -67,6 +70,33 @@ public class ConfigController {
         return SoulAdminResult.success(SoulResultMessage.SUCCESS, result);
     }
 
+    /**
+     * Fetch configs in the binary snapshot format, for the clients that accept it.
+     *
+     * @param groupKeys the group keys
+     * @return the snapshot
+     */
+    @GetMapping(value = "/fetch", produces = ConfigSnapshotCodec.MEDIA_TYPE)
+    public byte[] fetchConfigSnapshot(@NotNull final String[] groupKeys) {
+        ConfigGroupEnum[] groups = new ConfigGroupEnum[groupKeys.length];
+        for (int i = 0; i < groupKeys.length; i++) {
+            groups[i] = ConfigGroupEnum.valueOf(groupKeys[i]);
+        }
+        return longPollingListener.fetchSnapshot(groups);
+    }
+
+    /**
+     * Fetch the config changes after a version, for the delta sync of the long polling clients.
+     *
+     * @param epoch   the epoch of the client version
+     * @param version the client version, absent if the client has none
+     * @return the soul result
+     */
+    @GetMapping("/delta")
+    public SoulAdminResult fetchDelta(@RequestParam(defaultValue = "0") final long epoch, @RequestParam(required = false) final Long version) {
+        return SoulAdminResult.success(SoulResultMessage.SUCCESS, longPollingListener.fetchDelta(epoch, version));
+    }
+
     /**
      * Listener.
      *
@@ -33,11 +33,13 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.utils.ConfigSnapshotCodec;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.Md5Utils;
 import org.springframework.beans.factory.InitializingBean;
 
 import javax.annotation.Resource;
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -93,27 +95,47 @@ public abstract class AbstractDataChangedListener implements DataChangedListener
      */
     public ConfigData<?> fetchConfig(final ConfigGroupEnum groupKey) {
         ConfigDataCache config = CACHE.get(groupKey.name());
+        return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), parseData(groupKey, config.getJson()));
+    }
+
+    /**
+     * fetch configuration from cache in the binary snapshot format, the data of each group is encoded once per cache.
+     *
+     * @param groupKeys the group keys
+     * @return the snapshot, see {@link ConfigSnapshotCodec}
+     */
+    public byte[] fetchSnapshot(final ConfigGroupEnum... groupKeys) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConfigSnapshotCodec.writeHead(out, groupKeys.length);
+        for (ConfigGroupEnum groupKey : groupKeys) {
+            ConfigDataCache config = CACHE.get(groupKey.name());
+            byte[] block = config.getSnapshotBlock();
+            if (null == block) {
+                block = ConfigSnapshotCodec.encodeData(groupKey, parseData(groupKey, config.getJson()));
+                config.setSnapshotBlock(block);
+            }
+            ConfigSnapshotCodec.writeGroup(out, groupKey, config.getMd5(), config.getLastModifyTime(), block);
+        }
+        return out.toByteArray();
+    }
+
+    private List<?> parseData(final ConfigGroupEnum groupKey, final String json) {
         switch (groupKey) {
             case APP_AUTH:
-                List<AppAuthData> appAuthList = GsonUtils.getGson().fromJson(config.getJson(), new TypeToken<List<AppAuthData>>() {
+                return GsonUtils.getGson().fromJson(json, new TypeToken<List<AppAuthData>>() {
                 }.getType());
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), appAuthList);
             case PLUGIN:
-                List<PluginData> pluginList = GsonUtils.getGson().fromJson(config.getJson(), new TypeToken<List<PluginData>>() {
+                return GsonUtils.getGson().fromJson(json, new TypeToken<List<PluginData>>() {
                 }.getType());
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), pluginList);
             case RULE:
-                List<RuleData> ruleList = GsonUtils.getGson().fromJson(config.getJson(), new TypeToken<List<RuleData>>() {
+                return GsonUtils.getGson().fromJson(json, new TypeToken<List<RuleData>>() {
                 }.getType());
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), ruleList);
             case SELECTOR:
-                List<SelectorData> selectorList = GsonUtils.getGson().fromJson(config.getJson(), new TypeToken<List<SelectorData>>() {
+                return GsonUtils.getGson().fromJson(json, new TypeToken<List<SelectorData>>() {
                 }.getType());
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), selectorList);
             case META_DATA:
-                List<MetaData> metaList = GsonUtils.getGson().fromJson(config.getJson(), new TypeToken<List<MetaData>>() {
+                return GsonUtils.getGson().fromJson(json, new TypeToken<List<MetaData>>() {
                 }.getType());
-                return new ConfigData<>(config.getMd5(), config.getLastModifyTime(), metaList);
             default:
                 throw new IllegalStateException("Unexpected groupKey: " + groupKey);
         }
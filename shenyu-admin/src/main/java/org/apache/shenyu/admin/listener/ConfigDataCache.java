@@ -33,6 +33,8 @@ public class ConfigDataCache {
     private final String json;
 
     private volatile long lastModifyTime;
+
+    private volatile byte[] snapshotBlock;
     
     /**
      * Instantiates a new Config data cache.
@@ -96,6 +98,24 @@ public class ConfigDataCache {
         return json;
     }
 
+    /**
+     * Gets the data encoded in the binary snapshot format, null until it is first fetched.
+     *
+     * @return the snapshot block
+     */
+    public byte[] getSnapshotBlock() {
+        return snapshotBlock;
+    }
+
+    /**
+     * Sets the data encoded in the binary snapshot format.
+     *
+     * @param snapshotBlock the snapshot block
+     */
+    public void setSnapshotBlock(final byte[] snapshotBlock) {
+        this.snapshotBlock = snapshotBlock;
+    }
+
     @Override
     public String toString() {
         return "{"
@@ -17,11 +17,19 @@
 
 package org.apache.shenyu.admin.listener;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.admin.config.properties.DataDispatchProperties;
+import org.apache.shenyu.common.concurrent.SoulThreadFactory;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
@@ -31,27 +39,187 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Event forwarders, which forward the changed events to each ConfigEventListener.
  *
+ * <p>The events are debounced: they are kept until no event comes within the dispatch window or the first one
+ * waited for the max wait, then the consecutive events of the same group and event type are merged,
+ * so that a batch of changes reaches each listener as one event, with one cache update and one push.
+ * A MYSELF event answers the client on the calling thread, which holds the client session, so it is dispatched at once.
+ *
  * @author huangxiaofeng
  * @author xiaoyu
  */
+@Slf4j
 @Component
-public class DataChangedEventDispatcher implements ApplicationListener<DataChangedEvent>, InitializingBean {
+public class DataChangedEventDispatcher implements ApplicationListener<DataChangedEvent>, InitializingBean, DisposableBean, MeterBinder {
 
     private ApplicationContext applicationContext;
 
     private List<DataChangedListener> listeners;
 
-    public DataChangedEventDispatcher(final ApplicationContext applicationContext) {
+    private final long windowNanos;
+
+    private final long maxWaitNanos;
+
+    private ScheduledExecutorService scheduler;
+
+    private List<DataChangedEvent> pending = new ArrayList<>();
+
+    private long firstEventNanos;
+
+    private long lastEventNanos;
+
+    private final LongAdder receivedEvents = new LongAdder();
+
+    private final LongAdder dispatchedEvents = new LongAdder();
+
+    private final LongAdder coalescedEvents = new LongAdder();
+
+    public DataChangedEventDispatcher(final ApplicationContext applicationContext, final DataDispatchProperties dataDispatchProperties) {
         this.applicationContext = applicationContext;
+        this.windowNanos = dataDispatchProperties.getWindow().toNanos();
+        this.maxWaitNanos = dataDispatchProperties.getMaxWait().toNanos();
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void onApplicationEvent(final DataChangedEvent event) {
+        receivedEvents.increment();
+        if (windowNanos <= 0 || event.getEventType() == DataEventTypeEnum.MYSELF) {
+            dispatch(event);
+            return;
+        }
+        synchronized (this) {
+            lastEventNanos = System.nanoTime();
+            pending.add(event);
+            if (pending.size() == 1) {
+                firstEventNanos = lastEventNanos;
+                scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Gets the events received.
+     *
+     * @return the received events
+     */
+    public long getReceivedEvents() {
+        return receivedEvents.sum();
+    }
+
+    /**
+     * Gets the events dispatched to the listeners after merging.
+     *
+     * @return the dispatched events
+     */
+    public long getDispatchedEvents() {
+        return dispatchedEvents.sum();
+    }
+
+    /**
+     * Gets the events merged into others.
+     *
+     * @return the coalesced events
+     */
+    public long getCoalescedEvents() {
+        return coalescedEvents.sum();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("soul.admin.sync.events.received", this, DataChangedEventDispatcher::getReceivedEvents)
+                .description("the data changed events received").register(registry);
+        FunctionCounter.builder("soul.admin.sync.events.dispatched", this, DataChangedEventDispatcher::getDispatchedEvents)
+                .description("the data changed events dispatched to the listeners after merging").register(registry);
+        FunctionCounter.builder("soul.admin.sync.events.coalesced", this, DataChangedEventDispatcher::getCoalescedEvents)
+                .description("the data changed events merged into others").register(registry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Collection<DataChangedListener> listenerBeans = applicationContext.getBeansOfType(DataChangedListener.class).values();
+        this.listeners = Collections.unmodifiableList(new ArrayList<>(listenerBeans));
+        if (windowNanos > 0) {
+            this.scheduler = new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("data-changed-dispatch", true));
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (null != scheduler) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            dispatchPending();
+        }
+    }
+
+    private void flush() {
+        synchronized (this) {
+            long now = System.nanoTime();
+            long due = Math.min(lastEventNanos + windowNanos, firstEventNanos + maxWaitNanos);
+            if (now < due) {
+                // events keep coming, wait for the quiet time.
+                scheduler.schedule(this::flush, due - now, TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+        dispatchPending();
+    }
+
+    private void dispatchPending() {
+        List<DataChangedEvent> events;
+        synchronized (this) {
+            events = pending;
+            pending = new ArrayList<>();
+        }
+        List<DataChangedEvent> merged = coalesce(events);
+        coalescedEvents.add(events.size() - merged.size());
+        log.debug("dispatch {} data changed events merged from {}", merged.size(), events.size());
+        for (DataChangedEvent event : merged) {
+            try {
+                dispatch(event);
+            } catch (RuntimeException e) {
+                log.error("dispatch data changed event of {} fail", event.getGroupKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Merge the consecutive events of the same group and event type, the last refresh of a group replaces the former ones.
+     * MYSELF events are addressed to a single client and are never merged.
+     *
+     * @param events the events in order
+     * @return the merged events
+     */
+    static List<DataChangedEvent> coalesce(final List<DataChangedEvent> events) {
+        List<DataChangedEvent> merged = new ArrayList<>(events.size());
+        List<Object> source = null;
+        DataChangedEvent last = null;
+        for (DataChangedEvent event : events) {
+            if (null != last && last.getGroupKey() == event.getGroupKey() && last.getEventType() == event.getEventType()
+                    && event.getEventType() != DataEventTypeEnum.MYSELF) {
+                if (event.getEventType() == DataEventTypeEnum.REFRESH) {
+                    source.clear();
+                }
+                source.addAll(event.getSource());
+                continue;
+            }
+            source = new ArrayList<>(event.getSource());
+            last = new DataChangedEvent(event.getGroupKey(), event.getEventType(), source);
+            merged.add(last);
+        }
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(final DataChangedEvent event) {
+        dispatchedEvents.increment();
         for (DataChangedListener listener : listeners) {
             switch (event.getGroupKey()) {
                 case APP_AUTH:
@@ -74,10 +242,4 @@ public class DataChangedEventDispatcher implements ApplicationListener<DataChang
             }
         }
     }
-
-    @Override
-    public void afterPropertiesSet() {
-        Collection<DataChangedListener> listenerBeans = applicationContext.getBeansOfType(DataChangedListener.class).values();
-        this.listeners = Collections.unmodifiableList(new ArrayList<>(listenerBeans));
-    }
 }
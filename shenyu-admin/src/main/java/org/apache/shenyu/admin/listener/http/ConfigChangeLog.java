@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import org.apache.shenyu.common.dto.ConfigChange;
+import org.apache.shenyu.common.dto.ConfigDelta;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The bounded log of the config changes of this admin, every changed entity gets the next version.
+ * A client that knows the version it is in sync with only needs the changes after it,
+ * unless they were evicted already or the log is of another epoch, then it needs all the configs.
+ */
+public final class ConfigChangeLog {
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final int capacity;
+
+    private final Deque<ConfigChange> changes = new ArrayDeque<>();
+
+    private final long[] groupVersions = new long[ConfigGroupEnum.values().length];
+
+    private long version;
+
+    /**
+     * Instantiates a new change log.
+     *
+     * @param capacity the max changes to keep
+     */
+    public ConfigChangeLog(final int capacity) {
+        this.capacity = Math.max(capacity, 1);
+    }
+
+    /**
+     * Gets the epoch.
+     *
+     * @return the epoch
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Gets the latest version.
+     *
+     * @return the version
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Append the changed entities of a group, REFRESH and MYSELF events append a single REFRESH change of the group.
+     *
+     * @param group     the group
+     * @param eventType the event type
+     * @param changed   the changed entities
+     * @return the latest version
+     */
+    public synchronized long append(final ConfigGroupEnum group, final DataEventTypeEnum eventType, final List<?> changed) {
+        if (eventType == DataEventTypeEnum.REFRESH || eventType == DataEventTypeEnum.MYSELF) {
+            add(new ConfigChange(++version, group.name(), DataEventTypeEnum.REFRESH.name(), null));
+        } else {
+            for (Object data : changed) {
+                add(new ConfigChange(++version, group.name(), eventType.name(), data));
+            }
+        }
+        groupVersions[group.ordinal()] = version;
+        return version;
+    }
+
+    /**
+     * The changes after a version.
+     *
+     * @param clientEpoch   the epoch of the client version
+     * @param clientVersion the client version
+     * @return the delta, full if the changes are not kept
+     */
+    public synchronized ConfigDelta since(final long clientEpoch, final long clientVersion) {
+        if (!covers(clientEpoch, clientVersion)) {
+            return new ConfigDelta(epoch, version, true, Collections.emptyList(), null);
+        }
+        List<ConfigChange> result = new ArrayList<>((int) (version - clientVersion));
+        for (Iterator<ConfigChange> it = changes.descendingIterator(); it.hasNext();) {
+            ConfigChange change = it.next();
+            if (change.getVersion() <= clientVersion) {
+                break;
+            }
+            result.add(change);
+        }
+        Collections.reverse(result);
+        return new ConfigDelta(epoch, version, false, result, null);
+    }
+
+    /**
+     * The groups changed after a version, empty if the version is of another epoch.
+     *
+     * @param clientEpoch   the epoch of the client version
+     * @param clientVersion the client version
+     * @return the changed groups
+     */
+    public synchronized List<ConfigGroupEnum> changedGroups(final long clientEpoch, final long clientVersion) {
+        if (clientEpoch != epoch) {
+            return Collections.emptyList();
+        }
+        List<ConfigGroupEnum> result = new ArrayList<>(groupVersions.length);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            if (groupVersions[group.ordinal()] > clientVersion) {
+                result.add(group);
+            }
+        }
+        return result;
+    }
+
+    private boolean covers(final long clientEpoch, final long clientVersion) {
+        if (clientEpoch != epoch || clientVersion < 0 || clientVersion > version) {
+            return false;
+        }
+        ConfigChange oldest = changes.peekFirst();
+        return oldest == null || clientVersion >= oldest.getVersion() - 1;
+    }
+
+    private void add(final ConfigChange change) {
+        if (changes.size() >= capacity) {
+            changes.pollFirst();
+        }
+        changes.addLast(change);
+    }
+}
@@ -29,6 +29,8 @@ import org.apache.shenyu.admin.model.result.SoulAdminResult;
 import org.apache.shenyu.common.concurrent.SoulThreadFactory;
 import org.apache.shenyu.common.constant.HttpConstants;
 import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
@@ -37,6 +39,7 @@ import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.exception.SoulException;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.MediaType;
 
 import javax.servlet.AsyncContext;
@@ -45,14 +48,20 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -61,12 +70,16 @@ import java.util.concurrent.locks.ReentrantLock;
  * when there are data changes. If there is no data change after the specified time,
  * the client will make a listening request again.
  *
+ * <p>The held clients are subscribed to the groups they listen to, a change only answers the clients of its group
+ * whose md5 is out of date. Their hold timeouts are kept in a timing wheel, and the responses are written in parallel
+ * on the response executor.
+ *
  * @author huangxiaofeng
  * @since 2.0.0
  */
 @Slf4j
 @SuppressWarnings("all")
-public class HttpLongPollingDataChangedListener extends AbstractDataChangedListener {
+public class HttpLongPollingDataChangedListener extends AbstractDataChangedListener implements DisposableBean {
 
     private static final String X_REAL_IP = "X-Real-IP";
 
@@ -74,26 +87,53 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
 
     private static final String X_FORWARDED_FOR_SPLIT_SYMBOL = ",";
 
-    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final String VERSION = "version";
+
+    private static final long HOLD_TICK_MILLIS = 100L;
+
+    private static final int HOLD_WHEEL_SIZE = 1024;
+
+    /**
+     * The held clients by the groups they listen to.
+     */
+    private final Map<ConfigGroupEnum, Set<LongPollingClient>> clients;
+
+    private final AtomicInteger heldClients = new AtomicInteger();
 
     /**
-     * Blocked client.
+     * The locks of the cache refreshes of each group requested by the clients.
      */
-    private final BlockingQueue<LongPollingClient> clients;
+    private final Map<ConfigGroupEnum, ReentrantLock> refreshLocks;
 
     private final ScheduledExecutorService scheduler;
 
+    private final ExecutorService responseExecutor;
+
+    private final TimingWheel holdTimer;
+
     private final HttpSyncProperties httpSyncProperties;
 
+    private final ConfigChangeLog changeLog;
+
     /**
      * Instantiates a new Http long polling data changed listener.
      * @param httpSyncProperties the HttpSyncProperties
      */
     public HttpLongPollingDataChangedListener(final HttpSyncProperties httpSyncProperties) {
-        this.clients = new ArrayBlockingQueue<>(1024);
+        this.clients = new EnumMap<>(ConfigGroupEnum.class);
+        this.refreshLocks = new EnumMap<>(ConfigGroupEnum.class);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            clients.put(group, ConcurrentHashMap.newKeySet());
+            refreshLocks.put(group, new ReentrantLock());
+        }
         this.scheduler = new ScheduledThreadPoolExecutor(1,
                 SoulThreadFactory.create("long-polling", true));
+        int responseThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.responseExecutor = new ThreadPoolExecutor(responseThreads, responseThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), SoulThreadFactory.create("long-polling-response", true));
+        this.holdTimer = new TimingWheel("long-polling-timeout", HOLD_TICK_MILLIS, HOLD_WHEEL_SIZE, responseExecutor);
         this.httpSyncProperties = httpSyncProperties;
+        this.changeLog = new ConfigChangeLog(httpSyncProperties.getChangeLogSize());
     }
 
     @Override
@@ -113,11 +153,62 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
     }
 
     private void refreshLocalCache() {
-        this.updateAppAuthCache();
-        this.updatePluginCache();
-        this.updateRuleCache();
-        this.updateSelectorCache();
-        this.updateMetaDataCache();
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            this.refreshLocalCache(group);
+        }
+    }
+
+    private void refreshLocalCache(final ConfigGroupEnum group) {
+        switch (group) {
+            case APP_AUTH:
+                this.refreshLocalCache(group, this::updateAppAuthCache);
+                break;
+            case PLUGIN:
+                this.refreshLocalCache(group, this::updatePluginCache);
+                break;
+            case RULE:
+                this.refreshLocalCache(group, this::updateRuleCache);
+                break;
+            case SELECTOR:
+                this.refreshLocalCache(group, this::updateSelectorCache);
+                break;
+            case META_DATA:
+                this.refreshLocalCache(group, this::updateMetaDataCache);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected groupKey: " + group);
+        }
+    }
+
+    private void refreshLocalCache(final ConfigGroupEnum group, final Runnable update) {
+        ConfigDataCache old = CACHE.get(group.name());
+        update.run();
+        ConfigDataCache latest = CACHE.get(group.name());
+        // changed in the database behind the events of this admin, the clients have to fetch the whole group.
+        if (old == null || !StringUtils.equals(old.getMd5(), latest.getMd5())) {
+            changeLog.append(group, DataEventTypeEnum.REFRESH, Collections.emptyList());
+            this.notifyChanged(group);
+        }
+    }
+
+    /**
+     * The config changes after the version of a client, with the md5 and the last modify time of each group.
+     * Without a version, it only tells the current version and the client has to fetch all the configs.
+     *
+     * @param epoch   the epoch of the client version
+     * @param version the client version, null if the client has none
+     * @return the config delta
+     */
+    public ConfigDelta fetchDelta(final long epoch, final Long version) {
+        ConfigDelta delta = changeLog.since(epoch, null == version ? -1L : version);
+        // read after the changes, the cache is updated before the changes are appended.
+        Map<String, ConfigData<?>> groups = new HashMap<>(ConfigGroupEnum.values().length);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            ConfigDataCache cache = CACHE.get(group.name());
+            groups.put(group.name(), new ConfigData<>(cache.getMd5(), cache.getLastModifyTime(), null));
+        }
+        delta.setGroups(groups);
+        return delta;
     }
 
     /**
@@ -141,33 +232,98 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         final AsyncContext asyncContext = request.startAsync();
         // AsyncContext.settimeout() does not timeout properly, so you have to control it yourself
         asyncContext.setTimeout(0L);
-        // block client's thread.
-        scheduler.execute(new LongPollingClient(asyncContext, clientIp, HttpConstants.SERVER_MAX_HOLD_TIMEOUT));
+        // hold the client until a group it listens to changes or the hold timeout.
+        this.hold(new LongPollingClient(asyncContext, clientIp, clientMd5s(request)), HttpConstants.SERVER_MAX_HOLD_TIMEOUT);
+    }
+
+    @Override
+    public void destroy() {
+        holdTimer.close();
+        scheduler.shutdown();
+        responseExecutor.shutdown();
+    }
+
+    /**
+     * Gets the number of the held clients.
+     *
+     * @return the held clients
+     */
+    int getHeldClients() {
+        return heldClients.get();
+    }
+
+    /**
+     * Hold the client, it is subscribed to the groups it listens to and answered by the first change of any of them,
+     * or by the hold timeout.
+     *
+     * @param client        the client
+     * @param timeoutMillis the hold timeout
+     */
+    void hold(final LongPollingClient client, final long timeoutMillis) {
+        heldClients.incrementAndGet();
+        client.timeout = holdTimer.schedule(client::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+        client.md5s.keySet().forEach(group -> clients.get(group).add(client));
+        // a change between the comparison of the request and the subscription is not notified to the client.
+        List<ConfigGroupEnum> changedGroups = client.changedGroups();
+        if (!changedGroups.isEmpty()) {
+            client.complete(changedGroups);
+        }
+    }
+
+    /**
+     * Answer the held clients of the group whose md5 differs from the latest one.
+     *
+     * @param group the changed group
+     */
+    private void notifyChanged(final ConfigGroupEnum group) {
+        String md5 = CACHE.get(group.name()).getMd5();
+        List<ConfigGroupEnum> changedGroups = Collections.singletonList(group);
+        for (LongPollingClient client : clients.get(group)) {
+            if (!StringUtils.equals(md5, client.md5s.get(group))) {
+                client.complete(changedGroups);
+            }
+        }
+    }
+
+    private static Map<ConfigGroupEnum, String> clientMd5s(final HttpServletRequest request) {
+        Map<ConfigGroupEnum, String> md5s = new EnumMap<>(ConfigGroupEnum.class);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            String[] params = StringUtils.split(request.getParameter(group.name()), ',');
+            if (params != null && params.length == 2) {
+                md5s.put(group, params[0]);
+            }
+        }
+        return md5s;
     }
 
     @Override
     protected void afterAppAuthChanged(final List<AppAuthData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.APP_AUTH));
+        changeLog.append(ConfigGroupEnum.APP_AUTH, eventType, changed);
+        this.notifyChanged(ConfigGroupEnum.APP_AUTH);
     }
 
     @Override
     protected void afterMetaDataChanged(final List<MetaData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.META_DATA));
+        changeLog.append(ConfigGroupEnum.META_DATA, eventType, changed);
+        this.notifyChanged(ConfigGroupEnum.META_DATA);
     }
 
     @Override
     protected void afterPluginChanged(final List<PluginData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.PLUGIN));
+        changeLog.append(ConfigGroupEnum.PLUGIN, eventType, changed);
+        this.notifyChanged(ConfigGroupEnum.PLUGIN);
     }
 
     @Override
     protected void afterRuleChanged(final List<RuleData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.RULE));
+        changeLog.append(ConfigGroupEnum.RULE, eventType, changed);
+        this.notifyChanged(ConfigGroupEnum.RULE);
     }
 
     @Override
     protected void afterSelectorChanged(final List<SelectorData> changed, final DataEventTypeEnum eventType) {
-        scheduler.execute(new DataChangeTask(ConfigGroupEnum.SELECTOR));
+        changeLog.append(ConfigGroupEnum.SELECTOR, eventType, changed);
+        this.notifyChanged(ConfigGroupEnum.SELECTOR);
     }
 
     private List<ConfigGroupEnum> compareChangedGroup(final HttpServletRequest request) {
@@ -182,21 +338,31 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
             long clientModifyTime = NumberUtils.toLong(params[1]);
             ConfigDataCache serverCache = CACHE.get(group.name());
             // do check.
-            if (this.checkCacheDelayAndUpdate(serverCache, clientMd5, clientModifyTime)) {
+            if (this.checkCacheDelayAndUpdate(group, serverCache, clientMd5, clientModifyTime)) {
                 changedGroup.add(group);
             }
         }
+        // epoch,version of the delta sync, the md5 may be taken from a cache ahead of the change log.
+        String[] version = StringUtils.split(request.getParameter(VERSION), ',');
+        if (version != null && version.length == 2) {
+            for (ConfigGroupEnum group : changeLog.changedGroups(NumberUtils.toLong(version[0]), NumberUtils.toLong(version[1]))) {
+                if (!changedGroup.contains(group)) {
+                    changedGroup.add(group);
+                }
+            }
+        }
         return changedGroup;
     }
 
     /**
      * check whether the client needs to update the cache.
+     * @param group the group
      * @param serverCache the admin local cache
      * @param clientMd5 the client md5 value
      * @param clientModifyTime the client last modify time
      * @return true: the client needs to be updated, false: not need.
      */
-    private boolean checkCacheDelayAndUpdate(final ConfigDataCache serverCache, final String clientMd5, final long clientModifyTime) {
+    private boolean checkCacheDelayAndUpdate(final ConfigGroupEnum group, final ConfigDataCache serverCache, final String clientMd5, final long clientModifyTime) {
         // is the same, doesn't need to be updated
         if (StringUtils.equals(clientMd5, serverCache.getMd5())) {
             return false;
@@ -208,11 +374,12 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
             return true;
         }
         // the lastModifyTime before client, then the local cache needs to be updated.
-        // Considering the concurrency problem, admin must lock,
+        // Considering the concurrency problem, admin must lock the group,
         // otherwise it may cause the request from soul-web to update the cache concurrently, causing excessive db pressure
+        ReentrantLock lock = refreshLocks.get(group);
         boolean locked = false;
         try {
-            locked = LOCK.tryLock(5, TimeUnit.SECONDS);
+            locked = lock.tryLock(5, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return true;
@@ -224,12 +391,12 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
                     // the cache of admin was updated. if the md5 value is the same, there's no need to update.
                     return !StringUtils.equals(clientMd5, latest.getMd5());
                 }
-                // load cache from db.
-                this.refreshLocalCache();
+                // load the group from db.
+                this.refreshLocalCache(group);
                 latest = CACHE.get(serverCache.getGroup());
                 return !StringUtils.equals(clientMd5, latest.getMd5());
             } finally {
-                LOCK.unlock();
+                lock.unlock();
             }
         }
         // not locked, the client need to be updated.
@@ -271,46 +438,10 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
     }
 
     /**
-     * When a group's data changes, the thread is created to notify the client asynchronously.
-     */
-    class DataChangeTask implements Runnable {
-
-        /**
-         * The Group where the data has changed.
-         */
-        private final ConfigGroupEnum groupKey;
-
-        /**
-         * The Change time.
-         */
-        private final long changeTime = System.currentTimeMillis();
-
-        /**
-         * Instantiates a new Data change task.
-         *
-         * @param groupKey the group key
-         */
-        DataChangeTask(final ConfigGroupEnum groupKey) {
-            this.groupKey = groupKey;
-        }
-
-        @Override
-        public void run() {
-            for (Iterator<LongPollingClient> iter = clients.iterator(); iter.hasNext();) {
-                LongPollingClient client = iter.next();
-                iter.remove();
-                client.sendResponse(Collections.singletonList(groupKey));
-                log.info("send response with the changed group,ip={}, group={}, changeTime={}", client.ip, groupKey, changeTime);
-            }
-        }
-    }
-
-    /**
-     * If you exceed {@link HttpConstants#SERVER_MAX_HOLD_TIMEOUT} and still have no data change,
-     * empty data is returned. If the data changes within this time frame, the DataChangeTask
-     * cancellations the timed task and responds to the changed group data.
+     * A held client. It is answered once, by the first change of a group it listens to or by the hold timeout,
+     * the response being written on the response executor.
      */
-    class LongPollingClient implements Runnable {
+    class LongPollingClient {
 
         /**
          * The Async context.
@@ -323,50 +454,75 @@ public class HttpLongPollingDataChangedListener extends AbstractDataChangedListe
         private final String ip;
 
         /**
-         * The Timeout time.
+         * The md5 of each group the client listens to.
          */
-        private final long timeoutTime;
+        private final Map<ConfigGroupEnum, String> md5s;
+
+        private final AtomicBoolean answered = new AtomicBoolean();
 
         /**
-         * The Async timeout future.
+         * The hold timeout.
          */
-        private Future<?> asyncTimeoutFuture;
+        private volatile TimingWheel.Timeout timeout;
 
         /**
          * Instantiates a new Long polling client.
          *
-         * @param ac          the ac
-         * @param ip          the ip
-         * @param timeoutTime the timeout time
+         * @param ac   the ac
+         * @param ip   the ip
+         * @param md5s the md5 of each group the client listens to
          */
-        LongPollingClient(final AsyncContext ac, final String ip, final long timeoutTime) {
+        LongPollingClient(final AsyncContext ac, final String ip, final Map<ConfigGroupEnum, String> md5s) {
             this.asyncContext = ac;
             this.ip = ip;
-            this.timeoutTime = timeoutTime;
+            this.md5s = md5s;
+        }
+
+        /**
+         * The groups whose md5 differs from the one of the client.
+         *
+         * @return the changed groups
+         */
+        List<ConfigGroupEnum> changedGroups() {
+            List<ConfigGroupEnum> changedGroups = new ArrayList<>(md5s.size());
+            md5s.forEach((group, md5) -> {
+                if (!StringUtils.equals(md5, CACHE.get(group.name()).getMd5())) {
+                    changedGroups.add(group);
+                }
+            });
+            return changedGroups;
         }
 
-        @Override
-        public void run() {
-            this.asyncTimeoutFuture = scheduler.schedule(() -> {
-                clients.remove(LongPollingClient.this);
-                List<ConfigGroupEnum> changedGroups = compareChangedGroup((HttpServletRequest) asyncContext.getRequest());
-                sendResponse(changedGroups);
-            }, timeoutTime, TimeUnit.MILLISECONDS);
-            clients.add(this);
+        /**
+         * No group changed within the hold timeout, compare the groups again as the cache may lag behind the client.
+         */
+        void expire() {
+            if (!answered.get()) {
+                complete(compareChangedGroup((HttpServletRequest) asyncContext.getRequest()));
+            }
         }
 
         /**
-         * Send response.
+         * Answer the client with the changed groups, unless it is answered already.
          *
          * @param changedGroups the changed groups
          */
-        void sendResponse(final List<ConfigGroupEnum> changedGroups) {
-            // cancel scheduler
-            if (null != asyncTimeoutFuture) {
-                asyncTimeoutFuture.cancel(false);
+        void complete(final List<ConfigGroupEnum> changedGroups) {
+            if (!answered.compareAndSet(false, true)) {
+                return;
+            }
+            heldClients.decrementAndGet();
+            md5s.keySet().forEach(group -> clients.get(group).remove(this));
+            if (null != timeout) {
+                timeout.cancel();
             }
+            responseExecutor.execute(() -> sendResponse(changedGroups));
+        }
+
+        private void sendResponse(final List<ConfigGroupEnum> changedGroups) {
             generateResponse((HttpServletResponse) asyncContext.getResponse(), changedGroups);
             asyncContext.complete();
+            log.info("send response with the changed group,ip={}, group={}", ip, changedGroups);
         }
     }
 }
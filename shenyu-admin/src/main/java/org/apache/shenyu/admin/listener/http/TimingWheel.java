@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.concurrent.SoulThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A hashed timing wheel for the hold timeouts of the long polling clients.
+ *
+ * <p>Scheduling and cancelling a timeout is O(1) whatever the number of pending ones. The new timeouts are
+ * queued, and a single ticker thread moves them into the buckets of the wheel and expires the due ones of the
+ * current bucket on every tick. The expired tasks run on the given executor, so the ticker never blocks on them.
+ * The precision is one tick.
+ */
+@Slf4j
+final class TimingWheel implements AutoCloseable {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+
+    private final int mask;
+
+    private final List<ArrayDeque<Timeout>> buckets;
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private final Executor executor;
+
+    private final long startNanos = System.nanoTime();
+
+    private final Thread ticker;
+
+    private volatile boolean running = true;
+
+    private long tick;
+
+    /**
+     * Instantiates a new timing wheel and starts its ticker.
+     *
+     * @param name       the name of the ticker thread
+     * @param tickMillis the tick duration in millis
+     * @param wheelSize  the number of buckets, rounded up to a power of two
+     * @param executor   the executor of the expired tasks
+     */
+    TimingWheel(final String name, final long tickMillis, final int wheelSize, final Executor executor) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(tickMillis, 1L));
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.executor = executor;
+        this.ticker = SoulThreadFactory.create(name, true).newThread(this::work);
+        this.ticker.start();
+    }
+
+    /**
+     * Schedule the task to run once the delay elapsed.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return the timeout, to cancel the task
+     */
+    Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + unit.toNanos(delay));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        ticker.interrupt();
+    }
+
+    private void work() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = startNanos + deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            transfer();
+            expire(buckets.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transfer() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pending.poll();
+            if (null == timeout) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long ticks = timeout.deadline / tickNanos;
+            timeout.rounds = (ticks - tick) / buckets.size();
+            // the deadline passed already, expire it on the current tick.
+            buckets.get((int) (Math.max(ticks, tick) & mask)).add(timeout);
+        }
+    }
+
+    private void expire(final ArrayDeque<Timeout> bucket) {
+        for (Iterator<Timeout> iter = bucket.iterator(); iter.hasNext();) {
+            Timeout timeout = iter.next();
+            if (timeout.isCancelled()) {
+                iter.remove();
+            } else if (timeout.rounds <= 0) {
+                iter.remove();
+                timeout.expire();
+            } else {
+                timeout.rounds--;
+            }
+        }
+    }
+
+    /**
+     * A scheduled task of the timing wheel.
+     */
+    final class Timeout {
+
+        private static final int INIT = 0;
+
+        private static final int CANCELLED = 1;
+
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        private long rounds;
+
+        private Timeout(final Runnable task, final long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task if it has not expired yet.
+         *
+         * @return true if cancelled
+         */
+        boolean cancel() {
+            return state.compareAndSet(INIT, CANCELLED);
+        }
+
+        /**
+         * Whether the task is cancelled.
+         *
+         * @return true if cancelled
+         */
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                log.warn("the expired task of the timing wheel is rejected, {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.shenyu.admin.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.shenyu.admin.model.entity.RuleConditionDO;
 import org.apache.shenyu.admin.model.query.RuleConditionQuery;
 
@@ -47,6 +48,14 @@ public interface RuleConditionMapper {
      */
     List<RuleConditionDO> selectByQuery(RuleConditionQuery ruleConditionQuery);
 
+    /**
+     * select the rule conditions of the rules.
+     *
+     * @param ruleIds the rule ids
+     * @return {@linkplain List}
+     */
+    List<RuleConditionDO> selectByRuleIdList(@Param("list") List<String> ruleIds);
+
     /**
      * insert rule condition.
      *
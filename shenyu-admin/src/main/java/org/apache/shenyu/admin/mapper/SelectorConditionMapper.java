@@ -18,6 +18,7 @@
 package org.apache.shenyu.admin.mapper;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.shenyu.admin.model.entity.SelectorConditionDO;
 import org.apache.shenyu.admin.model.query.SelectorConditionQuery;
 
@@ -47,6 +48,14 @@ public interface SelectorConditionMapper {
      */
     List<SelectorConditionDO> selectByQuery(SelectorConditionQuery selectorConditionQuery);
 
+    /**
+     * select the selector conditions of the selectors.
+     *
+     * @param selectorIds the selector ids
+     * @return {@linkplain List}
+     */
+    List<SelectorConditionDO> selectBySelectorIdList(@Param("list") List<String> selectorIds);
+
     /**
      * insert selector condition.
      *
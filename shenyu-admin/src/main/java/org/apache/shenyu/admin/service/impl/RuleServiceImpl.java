@@ -53,7 +53,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -203,20 +205,23 @@ public class RuleServiceImpl implements RuleService {
 
     @Override
     public List<RuleData> listAll() {
-        return ruleMapper.selectAll()
-                .stream()
-                .filter(Objects::nonNull)
-                .map(this::buildRuleData)
-                .collect(Collectors.toList());
+        return buildRuleDataList(ruleMapper.selectAll(), ruleConditionMapper.selectByQuery(new RuleConditionQuery()), selectorMapper.selectAll(), pluginMapper.selectAll());
     }
 
     @Override
     public List<RuleData> findBySelectorId(final String selectorId) {
-        return ruleMapper.findBySelectorId(selectorId)
-                .stream()
-                .filter(Objects::nonNull)
-                .map(this::buildRuleData)
-                .collect(Collectors.toList());
+        List<RuleDO> ruleDOList = ruleMapper.findBySelectorId(selectorId);
+        if (ruleDOList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ruleIds = ruleDOList.stream().filter(Objects::nonNull).map(RuleDO::getId).collect(Collectors.toList());
+        SelectorDO selectorDO = selectorMapper.selectById(selectorId);
+        if (Objects.isNull(selectorDO)) {
+            return buildRuleDataList(ruleDOList, Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        }
+        PluginDO pluginDO = pluginMapper.selectById(selectorDO.getPluginId());
+        return buildRuleDataList(ruleDOList, ruleConditionMapper.selectByRuleIdList(ruleIds), Collections.singletonList(selectorDO),
+                Objects.isNull(pluginDO) ? Collections.emptyList() : Collections.singletonList(pluginDO));
     }
 
     private void publishEvent(final RuleDO ruleDO, final List<RuleConditionDTO> ruleConditions) {
@@ -230,22 +235,35 @@ public class RuleServiceImpl implements RuleService {
                 Collections.singletonList(RuleDO.transFrom(ruleDO, pluginDO.getName(), conditionDataList))));
     }
 
-    private RuleData buildRuleData(final RuleDO ruleDO) {
-        // query for conditions
-        List<ConditionData> conditions = ruleConditionMapper.selectByQuery(
-                new RuleConditionQuery(ruleDO.getId()))
-                .stream()
+    /**
+     * build the rule data of the rules with their conditions and selectors loaded at once, instead of three queries per rule.
+     * the rule of a deleted selector or plugin is null.
+     *
+     * @param ruleDOList the rules
+     * @param conditions the conditions of the rules
+     * @param selectors  the selectors of the rules
+     * @param plugins    the plugins of the selectors
+     * @return the rule data list
+     */
+    private List<RuleData> buildRuleDataList(final List<RuleDO> ruleDOList, final List<RuleConditionDO> conditions,
+                                             final List<SelectorDO> selectors, final List<PluginDO> plugins) {
+        Map<String, List<ConditionData>> conditionMap = conditions.stream()
+                .filter(condition -> Objects.nonNull(condition) && Objects.nonNull(condition.getRuleId()))
+                .collect(Collectors.groupingBy(RuleConditionDO::getRuleId, Collectors.mapping(ConditionTransfer.INSTANCE::mapToRuleDO, Collectors.toList())));
+        Map<String, String> pluginNames = new HashMap<>(plugins.size());
+        plugins.forEach(pluginDO -> pluginNames.put(pluginDO.getId(), pluginDO.getName()));
+        Map<String, String> selectorPluginNames = new HashMap<>(selectors.size());
+        selectors.forEach(selectorDO -> selectorPluginNames.put(selectorDO.getId(), pluginNames.get(selectorDO.getPluginId())));
+        return ruleDOList.stream()
                 .filter(Objects::nonNull)
-                .map(ConditionTransfer.INSTANCE::mapToRuleDO)
+                .map(ruleDO -> buildRuleData(ruleDO, selectorPluginNames.get(ruleDO.getSelectorId()), conditionMap))
                 .collect(Collectors.toList());
-        SelectorDO selectorDO = selectorMapper.selectById(ruleDO.getSelectorId());
-        if (Objects.isNull(selectorDO)) {
-            return null;
-        }
-        PluginDO pluginDO = pluginMapper.selectById(selectorDO.getPluginId());
-        if (Objects.isNull(pluginDO)) {
+    }
+
+    private RuleData buildRuleData(final RuleDO ruleDO, final String pluginName, final Map<String, List<ConditionData>> conditionMap) {
+        if (Objects.isNull(pluginName)) {
             return null;
         }
-        return RuleDO.transFrom(ruleDO, pluginDO.getName(), conditions);
+        return RuleDO.transFrom(ruleDO, pluginName, conditionMap.getOrDefault(ruleDO.getId(), Collections.emptyList()));
     }
 }
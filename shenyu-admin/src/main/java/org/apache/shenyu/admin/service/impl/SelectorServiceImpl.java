@@ -60,7 +60,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -260,19 +262,21 @@ public class SelectorServiceImpl implements SelectorService {
 
     @Override
     public List<SelectorData> findByPluginId(final String pluginId) {
-        return selectorMapper.findByPluginId(pluginId)
-                .stream()
-                .map(this::buildSelectorData)
-                .collect(Collectors.toList());
+        List<SelectorDO> selectorDOList = selectorMapper.findByPluginId(pluginId);
+        if (selectorDOList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        PluginDO pluginDO = pluginMapper.selectById(pluginId);
+        if (Objects.isNull(pluginDO)) {
+            return buildSelectorDataList(selectorDOList, Collections.emptyList(), Collections.emptyList());
+        }
+        List<String> selectorIds = selectorDOList.stream().filter(Objects::nonNull).map(SelectorDO::getId).collect(Collectors.toList());
+        return buildSelectorDataList(selectorDOList, selectorConditionMapper.selectBySelectorIdList(selectorIds), Collections.singletonList(pluginDO));
     }
 
     @Override
     public List<SelectorData> listAll() {
-        return selectorMapper.selectAll()
-                .stream()
-                .filter(Objects::nonNull)
-                .map(this::buildSelectorData)
-                .collect(Collectors.toList());
+        return buildSelectorDataList(selectorMapper.selectAll(), selectorConditionMapper.selectByQuery(new SelectorConditionQuery()), pluginMapper.selectAll());
     }
 
     private void publishEvent(final SelectorDO selectorDO, final List<SelectorConditionDTO> selectorConditionDTOs) {
@@ -284,6 +288,34 @@ public class SelectorServiceImpl implements SelectorService {
                 Collections.singletonList(SelectorDO.transFrom(selectorDO, pluginDO.getName(), conditionDataList))));
     }
 
+    /**
+     * build the selector data of the selectors with their conditions and plugins loaded at once, instead of two queries per selector.
+     * the selector of a deleted plugin is null.
+     *
+     * @param selectorDOList the selectors
+     * @param conditions     the conditions of the selectors
+     * @param plugins        the plugins of the selectors
+     * @return the selector data list
+     */
+    private List<SelectorData> buildSelectorDataList(final List<SelectorDO> selectorDOList, final List<SelectorConditionDO> conditions, final List<PluginDO> plugins) {
+        Map<String, List<ConditionData>> conditionMap = conditions.stream()
+                .filter(condition -> Objects.nonNull(condition) && Objects.nonNull(condition.getSelectorId()))
+                .collect(Collectors.groupingBy(SelectorConditionDO::getSelectorId, Collectors.mapping(ConditionTransfer.INSTANCE::mapToSelectorDO, Collectors.toList())));
+        Map<String, String> pluginNames = new HashMap<>(plugins.size());
+        plugins.forEach(pluginDO -> pluginNames.put(pluginDO.getId(), pluginDO.getName()));
+        return selectorDOList.stream()
+                .filter(Objects::nonNull)
+                .map(selectorDO -> buildSelectorData(selectorDO, pluginNames.get(selectorDO.getPluginId()), conditionMap))
+                .collect(Collectors.toList());
+    }
+
+    private SelectorData buildSelectorData(final SelectorDO selectorDO, final String pluginName, final Map<String, List<ConditionData>> conditionMap) {
+        if (Objects.isNull(pluginName)) {
+            return null;
+        }
+        return SelectorDO.transFrom(selectorDO, pluginName, conditionMap.getOrDefault(selectorDO.getId(), Collections.emptyList()));
+    }
+
     private SelectorData buildSelectorData(final SelectorDO selectorDO) {
         // find conditions
         List<ConditionData> conditionDataList = ConditionTransfer.INSTANCE.mapToSelectorDOS(
@@ -20,7 +20,9 @@ package org.apache.shenyu.admin.controller;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.utils.SoulResultMessage;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.ConfigSnapshotCodec;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -85,6 +87,76 @@ public final class ConfigControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    public void testFetchConfigsAcceptAll() throws Exception {
+        final ConfigData<?> configData = new ConfigData<>("md5-value1", 0L, Collections.emptyList());
+        doReturn(configData).when(mockLongPollingListener).fetchConfig(ConfigGroupEnum.APP_AUTH);
+
+        // Run the test, a client accepting anything gets json
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/fetch")
+                .param("groupKeys", ConfigGroupEnum.APP_AUTH.name())
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data['APP_AUTH'].md5", is("md5-value1")))
+                .andReturn().getResponse();
+
+        // Verify the results
+        assertThat(MediaType.valueOf(response.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+    }
+
+    @Test
+    public void testFetchConfigsWithoutAccept() throws Exception {
+        final ConfigData<?> configData = new ConfigData<>("md5-value1", 0L, Collections.emptyList());
+        doReturn(configData).when(mockLongPollingListener).fetchConfig(ConfigGroupEnum.APP_AUTH);
+
+        // Run the test
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/fetch")
+                .param("groupKeys", ConfigGroupEnum.APP_AUTH.name()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data['APP_AUTH'].md5", is("md5-value1")))
+                .andReturn().getResponse();
+
+        // Verify the results
+        assertThat(MediaType.valueOf(response.getContentType()).isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+    }
+
+    @Test
+    public void testFetchConfigSnapshot() throws Exception {
+        final byte[] snapshot = {1, 2, 3};
+        doReturn(snapshot).when(mockLongPollingListener).fetchSnapshot(ConfigGroupEnum.APP_AUTH, ConfigGroupEnum.RULE);
+
+        // Run the test
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/fetch")
+                .param("groupKeys", ConfigGroupEnum.APP_AUTH.name(), ConfigGroupEnum.RULE.name())
+                .accept(MediaType.valueOf(ConfigSnapshotCodec.MEDIA_TYPE), MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        // Verify the results
+        assertThat(response.getContentType()).isEqualTo(ConfigSnapshotCodec.MEDIA_TYPE);
+        assertThat(response.getContentAsByteArray()).isEqualTo(snapshot);
+    }
+
+    @Test
+    public void testFetchDelta() throws Exception {
+        final ConfigDelta delta = new ConfigDelta(1L, 3L, false, Collections.emptyList(), Collections.emptyMap());
+        doReturn(delta).when(mockLongPollingListener).fetchDelta(1L, 2L);
+
+        // Run the test
+        final MockHttpServletResponse response = mockMvc.perform(get("/configs/delta")
+                .param("epoch", "1")
+                .param("version", "2")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is(SoulResultMessage.SUCCESS)))
+                .andExpect(jsonPath("$.data.version", is(3)))
+                .andExpect(jsonPath("$.data.full", is(false)))
+                .andReturn().getResponse();
+
+        // Verify the results
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
     @Test
     public void testListener() throws Exception {
         // Run the test
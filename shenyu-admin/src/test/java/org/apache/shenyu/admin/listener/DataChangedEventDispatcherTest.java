@@ -19,25 +19,38 @@ package org.apache.shenyu.admin.listener;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
 
+import org.apache.shenyu.admin.config.properties.DataDispatchProperties;
 import org.apache.shenyu.admin.listener.http.HttpLongPollingDataChangedListener;
 import org.apache.shenyu.admin.listener.nacos.NacosDataChangedListener;
 import org.apache.shenyu.admin.listener.websocket.WebsocketDataChangedListener;
 import org.apache.shenyu.admin.listener.zookeeper.ZookeeperDataChangedListener;
+import org.apache.shenyu.admin.utils.ThreadLocalUtil;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ApplicationContext;
@@ -51,7 +64,6 @@ import org.springframework.test.util.ReflectionTestUtils;
 @RunWith(MockitoJUnitRunner.class)
 public final class DataChangedEventDispatcherTest {
 
-    @InjectMocks
     private DataChangedEventDispatcher dataChangedEventDispatcher;
 
     @Mock
@@ -77,6 +89,9 @@ public final class DataChangedEventDispatcherTest {
         listenerMap.put("websocketDataChangedListener", websocketDataChangedListener);
         listenerMap.put("zookeeperDataChangedListener", zookeeperDataChangedListener);
         when(applicationContext.getBeansOfType(DataChangedListener.class)).thenReturn(listenerMap);
+        DataDispatchProperties properties = new DataDispatchProperties();
+        properties.setWindow(Duration.ZERO);
+        dataChangedEventDispatcher = new DataChangedEventDispatcher(applicationContext, properties);
         dataChangedEventDispatcher.afterPropertiesSet();
     }
 
@@ -159,6 +174,80 @@ public final class DataChangedEventDispatcherTest {
         dataChangedEventDispatcher.onApplicationEvent(dataChangedEvent);
     }
 
+    /**
+     * the events within the window are dispatched at once test case.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void onApplicationEventDebouncedTest() throws InterruptedException {
+        DataDispatchProperties properties = new DataDispatchProperties();
+        properties.setWindow(Duration.ofMillis(50));
+        DataChangedEventDispatcher dispatcher = new DataChangedEventDispatcher(applicationContext, properties);
+        dispatcher.afterPropertiesSet();
+        for (int i = 0; i < 3; i++) {
+            dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.RULE, DataEventTypeEnum.CREATE,
+                    Collections.singletonList(RuleData.builder().id(String.valueOf(i)).build())));
+        }
+        ArgumentCaptor<List<RuleData>> captor = ArgumentCaptor.forClass(List.class);
+        verify(httpLongPollingDataChangedListener, timeout(2000).times(1)).onRuleChanged(captor.capture(), eq(DataEventTypeEnum.CREATE));
+        Assert.assertEquals(3, captor.getValue().size());
+        Assert.assertEquals(3, dispatcher.getReceivedEvents());
+        Assert.assertEquals(1, dispatcher.getDispatchedEvents());
+        Assert.assertEquals(2, dispatcher.getCoalescedEvents());
+        dispatcher.destroy();
+    }
+
+    /**
+     * coalesce consecutive events test case.
+     */
+    @Test
+    public void coalesceTest() {
+        List<DataChangedEvent> events = Arrays.asList(
+                new DataChangedEvent(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.CREATE, Collections.singletonList("s1")),
+                new DataChangedEvent(ConfigGroupEnum.RULE, DataEventTypeEnum.CREATE, Collections.singletonList("r1")),
+                new DataChangedEvent(ConfigGroupEnum.RULE, DataEventTypeEnum.CREATE, Collections.singletonList("r2")),
+                new DataChangedEvent(ConfigGroupEnum.RULE, DataEventTypeEnum.DELETE, Collections.singletonList("r1")),
+                new DataChangedEvent(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.REFRESH, Collections.singletonList("p1")),
+                new DataChangedEvent(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.REFRESH, Collections.singletonList("p2")),
+                new DataChangedEvent(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.MYSELF, Collections.singletonList("p1")),
+                new DataChangedEvent(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.MYSELF, Collections.singletonList("p2")));
+        List<DataChangedEvent> merged = DataChangedEventDispatcher.coalesce(events);
+        Assert.assertEquals(6, merged.size());
+        Assert.assertEquals(Collections.singletonList("s1"), merged.get(0).getSource());
+        Assert.assertEquals(Arrays.asList("r1", "r2"), merged.get(1).getSource());
+        Assert.assertEquals(DataEventTypeEnum.DELETE, merged.get(2).getEventType());
+        Assert.assertEquals(Collections.singletonList("p2"), merged.get(3).getSource());
+        Assert.assertEquals(Collections.singletonList("p1"), merged.get(4).getSource());
+        Assert.assertEquals(Collections.singletonList("p2"), merged.get(5).getSource());
+    }
+
+    /**
+     * the MYSELF events are dispatched on the calling thread, which holds the websocket session, test case.
+     */
+    @Test
+    public void onApplicationEventMyselfNotDebouncedTest() throws Exception {
+        DataDispatchProperties properties = new DataDispatchProperties();
+        properties.setWindow(Duration.ofSeconds(10));
+        WebsocketDataChangedListener websocketListener = new WebsocketDataChangedListener();
+        when(applicationContext.getBeansOfType(DataChangedListener.class))
+                .thenReturn(Collections.singletonMap("websocketDataChangedListener", websocketListener));
+        DataChangedEventDispatcher dispatcher = new DataChangedEventDispatcher(applicationContext, properties);
+        dispatcher.afterPropertiesSet();
+        Session session = mock(Session.class);
+        RemoteEndpoint.Basic basic = mock(RemoteEndpoint.Basic.class);
+        when(session.getBasicRemote()).thenReturn(basic);
+        try {
+            ThreadLocalUtil.put("sessionKey", session);
+            dispatcher.onApplicationEvent(new DataChangedEvent(ConfigGroupEnum.RULE, DataEventTypeEnum.MYSELF,
+                    Collections.singletonList(RuleData.builder().id("1").build())));
+        } finally {
+            ThreadLocalUtil.clear();
+        }
+        verify(basic, times(1)).sendText(anyString());
+        Assert.assertEquals(1, dispatcher.getDispatchedEvents());
+        dispatcher.destroy();
+    }
+
     /**
      * afterPropertiesSet listener init check test case.
      */
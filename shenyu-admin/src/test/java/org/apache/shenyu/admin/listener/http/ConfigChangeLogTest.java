@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import org.apache.shenyu.common.dto.ConfigChange;
+import org.apache.shenyu.common.dto.ConfigDelta;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for ConfigChangeLog.
+ */
+public final class ConfigChangeLogTest {
+
+    @Test
+    public void testSince() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(16);
+        RuleData rule = RuleData.builder().id("1").build();
+        SelectorData selector = SelectorData.builder().id("2").build();
+        assertEquals(1L, changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, Collections.singletonList(rule)));
+        assertEquals(3L, changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.DELETE, Arrays.asList(selector, selector)));
+        ConfigDelta delta = changeLog.since(changeLog.getEpoch(), 1L);
+        assertFalse(delta.isFull());
+        assertEquals(3L, delta.getVersion());
+        assertEquals(Arrays.asList(2L, 3L), delta.getChanges().stream().map(ConfigChange::getVersion).collect(Collectors.toList()));
+        assertEquals(ConfigGroupEnum.SELECTOR.name(), delta.getChanges().get(0).getGroup());
+        assertEquals(DataEventTypeEnum.DELETE.name(), delta.getChanges().get(0).getEventType());
+        assertEquals(selector, delta.getChanges().get(0).getData());
+        assertTrue(changeLog.since(changeLog.getEpoch(), 3L).getChanges().isEmpty());
+        assertEquals(3, changeLog.since(changeLog.getEpoch(), 0L).getChanges().size());
+    }
+
+    @Test
+    public void testRefresh() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(16);
+        changeLog.append(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.REFRESH, Collections.emptyList());
+        changeLog.append(ConfigGroupEnum.PLUGIN, DataEventTypeEnum.MYSELF, Arrays.asList(new Object(), new Object()));
+        ConfigDelta delta = changeLog.since(changeLog.getEpoch(), 0L);
+        assertEquals(2, delta.getChanges().size());
+        for (ConfigChange change : delta.getChanges()) {
+            assertEquals(DataEventTypeEnum.REFRESH.name(), change.getEventType());
+            assertNull(change.getData());
+        }
+    }
+
+    @Test
+    public void testFull() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(2);
+        RuleData rule = RuleData.builder().id("1").build();
+        for (int i = 0; i < 3; i++) {
+            changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.UPDATE, Collections.singletonList(rule));
+        }
+        assertTrue(changeLog.since(changeLog.getEpoch(), 0L).isFull());
+        assertFalse(changeLog.since(changeLog.getEpoch(), 1L).isFull());
+        assertTrue(changeLog.since(changeLog.getEpoch() - 1, 3L).isFull());
+        assertTrue(changeLog.since(changeLog.getEpoch(), -1L).isFull());
+        assertTrue(changeLog.since(changeLog.getEpoch(), 4L).isFull());
+        ConfigDelta delta = changeLog.since(changeLog.getEpoch() - 1, 3L);
+        assertEquals(changeLog.getEpoch(), delta.getEpoch());
+        assertEquals(3L, delta.getVersion());
+        assertTrue(delta.getChanges().isEmpty());
+    }
+
+    @Test
+    public void testChangedGroups() {
+        ConfigChangeLog changeLog = new ConfigChangeLog(16);
+        changeLog.append(ConfigGroupEnum.RULE, DataEventTypeEnum.CREATE, Collections.singletonList(RuleData.builder().id("1").build()));
+        changeLog.append(ConfigGroupEnum.SELECTOR, DataEventTypeEnum.CREATE, Collections.singletonList(SelectorData.builder().id("2").build()));
+        assertEquals(Arrays.asList(ConfigGroupEnum.RULE, ConfigGroupEnum.SELECTOR), changeLog.changedGroups(changeLog.getEpoch(), 0L));
+        assertEquals(Collections.singletonList(ConfigGroupEnum.SELECTOR), changeLog.changedGroups(changeLog.getEpoch(), 1L));
+        assertTrue(changeLog.changedGroups(changeLog.getEpoch(), 2L).isEmpty());
+        assertTrue(changeLog.changedGroups(changeLog.getEpoch() + 1, 0L).isEmpty());
+    }
+}
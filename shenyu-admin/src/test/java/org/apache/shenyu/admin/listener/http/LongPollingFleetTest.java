@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import org.apache.shenyu.admin.config.properties.HttpSyncProperties;
+import org.apache.shenyu.admin.listener.AbstractDataChangedListener;
+import org.apache.shenyu.admin.listener.ConfigDataCache;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.AsyncContext;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A fleet of long polling gateways held by {@link HttpLongPollingDataChangedListener}.
+ */
+public final class LongPollingFleetTest {
+
+    private static final int FLEET = 10_000;
+
+    private ConcurrentMap<String, ConfigDataCache> cache;
+
+    private Map<String, ConfigDataCache> originalCache;
+
+    private HttpLongPollingDataChangedListener listener;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        cache = (ConcurrentMap<String, ConfigDataCache>) ReflectionTestUtils.getField(AbstractDataChangedListener.class, "CACHE");
+        originalCache = new HashMap<>(cache);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            cache.put(group.name(), new ConfigDataCache(group.name(), "[]", md5(group, 1), 1L));
+        }
+        listener = new HttpLongPollingDataChangedListener(new HttpSyncProperties());
+    }
+
+    @After
+    public void after() {
+        listener.destroy();
+        cache.clear();
+        cache.putAll(originalCache);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFleet() throws InterruptedException {
+        List<MockHttpServletRequest> requests = new ArrayList<>(FLEET);
+        for (int i = 0; i < FLEET; i++) {
+            requests.add(request(i, 1));
+        }
+        // the servlet threads of the admin.
+        ExecutorService servletThreads = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < FLEET; i++) {
+            final int index = i;
+            servletThreads.execute(() -> listener.doLongPolling(requests.get(index), new MockHttpServletResponse()));
+        }
+        servletThreads.shutdown();
+        assertTrue(servletThreads.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(FLEET, listener.getHeldClients());
+        Map<ConfigGroupEnum, Set<HttpLongPollingDataChangedListener.LongPollingClient>> clients =
+                (Map<ConfigGroupEnum, Set<HttpLongPollingDataChangedListener.LongPollingClient>>) ReflectionTestUtils.getField(listener, "clients");
+        List<HttpLongPollingDataChangedListener.LongPollingClient> ruleClients = new ArrayList<>(clients.get(ConfigGroupEnum.RULE));
+        assertEquals(FLEET, ruleClients.size());
+
+        cache.put(ConfigGroupEnum.RULE.name(), new ConfigDataCache(ConfigGroupEnum.RULE.name(), "[{}]", md5(ConfigGroupEnum.RULE, 2), 2L));
+        listener.afterRuleChanged(Collections.emptyList(), DataEventTypeEnum.UPDATE);
+        assertTrue(await(() -> requests.stream().noneMatch(MockHttpServletRequest::isAsyncStarted), 60));
+        assertEquals(0, listener.getHeldClients());
+        for (MockHttpServletRequest request : requests) {
+            assertTrue(content(request).contains(ConfigGroupEnum.RULE.name()));
+        }
+        // the answered clients are unsubscribed and their hold timeouts will not fire.
+        assertTrue(clients.get(ConfigGroupEnum.RULE).isEmpty());
+        for (HttpLongPollingDataChangedListener.LongPollingClient client : ruleClients) {
+            assertTrue(((TimingWheel.Timeout) ReflectionTestUtils.getField(client, "timeout")).isCancelled());
+        }
+    }
+
+    @Test
+    public void testOnlyOutdatedClientsAnswered() throws InterruptedException {
+        MockHttpServletRequest ruleRequest = request(0, 1);
+        listener.doLongPolling(ruleRequest, new MockHttpServletResponse());
+        // listens to the plugins only.
+        MockHttpServletRequest pluginRequest = request(1, 1);
+        Map<ConfigGroupEnum, String> md5s = new EnumMap<>(ConfigGroupEnum.class);
+        md5s.put(ConfigGroupEnum.PLUGIN, md5(ConfigGroupEnum.PLUGIN, 1));
+        listener.hold(listener.new LongPollingClient(pluginRequest.startAsync(), "127.0.0.2", md5s), TimeUnit.MINUTES.toMillis(1));
+        assertEquals(2, listener.getHeldClients());
+
+        cache.put(ConfigGroupEnum.RULE.name(), new ConfigDataCache(ConfigGroupEnum.RULE.name(), "[{}]", md5(ConfigGroupEnum.RULE, 2), 2L));
+        listener.afterRuleChanged(Collections.emptyList(), DataEventTypeEnum.UPDATE);
+        assertTrue(await(() -> !ruleRequest.isAsyncStarted(), 2));
+        assertTrue(pluginRequest.isAsyncStarted());
+        assertEquals(1, listener.getHeldClients());
+
+        // the md5 of the plugins does not change, the client is up to date.
+        listener.afterPluginChanged(Collections.emptyList(), DataEventTypeEnum.UPDATE);
+        assertFalse(await(() -> !pluginRequest.isAsyncStarted(), 2));
+    }
+
+    @Test
+    public void testHoldTimeout() throws InterruptedException {
+        MockHttpServletRequest request = request(0, 1);
+        listener.hold(listener.new LongPollingClient(request.startAsync(), "127.0.0.1", new EnumMap<>(ConfigGroupEnum.class)), 200L);
+        assertTrue(await(() -> !request.isAsyncStarted(), 2));
+        assertEquals(0, listener.getHeldClients());
+        assertTrue(content(request).contains("\"data\":[]"));
+    }
+
+    private static MockHttpServletRequest request(final int index, final int version) {
+        MockHttpServletRequest request = new AsyncRequest();
+        request.setAsyncSupported(true);
+        request.setRemoteAddr("10.0." + index / 256 + "." + index % 256);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            request.setParameter(group.name(), md5(group, version) + "," + version);
+        }
+        return request;
+    }
+
+    private static String md5(final ConfigGroupEnum group, final int version) {
+        return group.name() + "-" + version;
+    }
+
+    private static String content(final MockHttpServletRequest request) {
+        try {
+            return ((MockHttpServletResponse) request.getAsyncContext().getResponse()).getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean await(final BooleanSupplier condition, final long seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10L);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * A request whose async context wraps a response, as the one of a servlet container.
+     */
+    private static final class AsyncRequest extends MockHttpServletRequest {
+
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        @Override
+        public AsyncContext startAsync() {
+            return startAsync(this, response);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.listener.http;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for TimingWheel.
+ */
+public final class TimingWheelTest {
+
+    private ExecutorService executor;
+
+    private TimingWheel timingWheel;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        timingWheel = new TimingWheel("timing-wheel-test", 10L, 8, executor);
+    }
+
+    @After
+    public void after() {
+        timingWheel.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timingWheel.schedule(latch::countDown, 50L, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50L));
+    }
+
+    @Test
+    public void testExpireAfterRounds() throws InterruptedException {
+        // 8 buckets of 10ms, the timeout is two rounds away.
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        timingWheel.schedule(latch::countDown, 200L, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200L));
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger expired = new AtomicInteger();
+        TimingWheel.Timeout timeout = timingWheel.schedule(expired::incrementAndGet, 30L, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        CountDownLatch latch = new CountDownLatch(1);
+        timingWheel.schedule(latch::countDown, 60L, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(0, expired.get());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void testManyTimeouts() throws InterruptedException {
+        int count = 100_000;
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            timingWheel.schedule(latch::countDown, i % 100, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+}
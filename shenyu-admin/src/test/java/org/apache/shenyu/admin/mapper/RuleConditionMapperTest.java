@@ -26,6 +26,7 @@ import org.junit.Test;
 import javax.annotation.Resource;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertEquals;
@@ -66,6 +67,13 @@ public final class RuleConditionMapperTest extends AbstractSpringIntegrationTest
         assertThat(rulesWithoutRuleId.size(), greaterThan(0));
     }
 
+    @Test
+    public void selectByRuleIdList() {
+        List<RuleConditionDO> rules = ruleConditionMapper.selectByRuleIdList(Collections.singletonList(record.getRuleId()));
+        assertEquals(1, rules.size());
+        assertEquals(record.getId(), rules.get(0).getId());
+    }
+
     @Test
     public void insert() {
         RuleConditionDO newRecord = buildRuleConditionDo();
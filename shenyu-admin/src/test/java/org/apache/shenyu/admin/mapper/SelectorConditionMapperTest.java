@@ -26,8 +26,10 @@ import org.junit.Test;
 import javax.annotation.Resource;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 
@@ -64,6 +66,13 @@ public final class SelectorConditionMapperTest extends AbstractSpringIntegration
         assertThat(selectorWithoutSelectorId.size(), greaterThan(0));
     }
 
+    @Test
+    public void testSelectBySelectorIdList() {
+        List<SelectorConditionDO> result = selectorConditionMapper.selectBySelectorIdList(Collections.singletonList(record.getSelectorId()));
+        assertEquals(1, result.size());
+        assertEquals(record.getId(), result.get(0).getId());
+    }
+
     @Test
     public void testInsert() {
         SelectorConditionDO newRecord = buildSelectorConditionDO();
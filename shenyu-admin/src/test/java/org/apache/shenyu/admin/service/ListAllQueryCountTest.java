@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.admin.service;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.shenyu.admin.AbstractSpringIntegrationTest;
+import org.apache.shenyu.admin.mapper.RuleConditionMapper;
+import org.apache.shenyu.admin.mapper.RuleMapper;
+import org.apache.shenyu.admin.mapper.SelectorConditionMapper;
+import org.apache.shenyu.admin.mapper.SelectorMapper;
+import org.apache.shenyu.admin.model.entity.RuleConditionDO;
+import org.apache.shenyu.admin.model.entity.RuleDO;
+import org.apache.shenyu.admin.model.entity.SelectorConditionDO;
+import org.apache.shenyu.admin.model.entity.SelectorDO;
+import org.apache.shenyu.admin.model.query.RuleConditionQuery;
+import org.apache.shenyu.admin.model.query.SelectorConditionQuery;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.UUIDUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Resource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The queries of the full listing of selectors and rules against the embedded database,
+ * a fixed handful whatever the number of selectors and rules.
+ */
+public final class ListAllQueryCountTest extends AbstractSpringIntegrationTest {
+
+    private static final int SELECTORS = 5;
+
+    private static final int RULES_PER_SELECTOR = 20;
+
+    private static final QueryCounter COUNTER = new QueryCounter();
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Resource
+    private SelectorService selectorService;
+
+    @Resource
+    private RuleService ruleService;
+
+    @Resource
+    private SelectorMapper selectorMapper;
+
+    @Resource
+    private SelectorConditionMapper selectorConditionMapper;
+
+    @Resource
+    private RuleMapper ruleMapper;
+
+    @Resource
+    private RuleConditionMapper ruleConditionMapper;
+
+    private final List<SelectorDO> selectors = new ArrayList<>();
+
+    private final List<RuleDO> rules = new ArrayList<>();
+
+    @Before
+    public void before() {
+        if (!sqlSessionFactory.getConfiguration().getInterceptors().contains(COUNTER)) {
+            sqlSessionFactory.getConfiguration().addInterceptor(COUNTER);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < SELECTORS; i++) {
+            SelectorDO selectorDO = SelectorDO.builder().id(UUIDUtils.getInstance().generateShortUuid()).pluginId("5")
+                    .name("list-all-" + i).matchMode(1).type(1).sort(1).enabled(true).loged(true).continued(true)
+                    .dateCreated(now).dateUpdated(now).build();
+            selectorMapper.insert(selectorDO);
+            selectorConditionMapper.insert(SelectorConditionDO.builder().id(UUIDUtils.getInstance().generateShortUuid())
+                    .selectorId(selectorDO.getId()).paramType("uri").operator("match").paramName("/").paramValue("/list-all/" + i + "/**")
+                    .dateCreated(now).dateUpdated(now).build());
+            selectors.add(selectorDO);
+            for (int j = 0; j < RULES_PER_SELECTOR; j++) {
+                RuleDO ruleDO = RuleDO.builder().id(UUIDUtils.getInstance().generateShortUuid()).selectorId(selectorDO.getId())
+                        .name("list-all-" + i + "-" + j).matchMode(1).sort(j).enabled(true).loged(true).handle("{}")
+                        .dateCreated(now).dateUpdated(now).build();
+                ruleMapper.insert(ruleDO);
+                for (int k = 0; k < 2; k++) {
+                    ruleConditionMapper.insert(RuleConditionDO.builder().id(UUIDUtils.getInstance().generateShortUuid())
+                            .ruleId(ruleDO.getId()).paramType("uri").operator("=").paramName("/").paramValue("/list-all/" + i + "/" + j + "/" + k)
+                            .dateCreated(now).dateUpdated(now).build());
+                }
+                rules.add(ruleDO);
+            }
+        }
+    }
+
+    @After
+    public void after() {
+        rules.forEach(ruleDO -> {
+            ruleConditionMapper.deleteByQuery(new RuleConditionQuery(ruleDO.getId()));
+            ruleMapper.delete(ruleDO.getId());
+        });
+        selectors.forEach(selectorDO -> {
+            selectorConditionMapper.deleteByQuery(new SelectorConditionQuery(selectorDO.getId()));
+            selectorMapper.delete(selectorDO.getId());
+        });
+    }
+
+    @Test
+    public void testSelectorListAll() {
+        COUNTER.start();
+        List<SelectorData> selectorDataList = selectorService.listAll();
+        int queries = COUNTER.stop();
+        assertTrue("queries: " + queries, queries > 0 && queries <= 3);
+        Map<String, SelectorData> selectorDataMap = selectorDataList.stream().filter(Objects::nonNull)
+                .collect(Collectors.toMap(SelectorData::getId, Function.identity()));
+        selectors.forEach(selectorDO -> {
+            SelectorData selectorData = selectorDataMap.get(selectorDO.getId());
+            assertEquals("divide", selectorData.getPluginName());
+            assertEquals(1, selectorData.getConditionList().size());
+        });
+    }
+
+    @Test
+    public void testRuleListAll() {
+        COUNTER.start();
+        List<RuleData> ruleDataList = ruleService.listAll();
+        int queries = COUNTER.stop();
+        assertTrue("queries: " + queries, queries > 0 && queries <= 4);
+        Map<String, RuleData> ruleDataMap = ruleDataList.stream().filter(Objects::nonNull)
+                .collect(Collectors.toMap(RuleData::getId, Function.identity()));
+        rules.forEach(ruleDO -> {
+            RuleData ruleData = ruleDataMap.get(ruleDO.getId());
+            assertEquals("divide", ruleData.getPluginName());
+            assertEquals(2, ruleData.getConditionDataList().size());
+        });
+    }
+
+    @Test
+    public void testFindBySelectorId() {
+        COUNTER.start();
+        List<RuleData> ruleDataList = ruleService.findBySelectorId(selectors.get(0).getId());
+        int queries = COUNTER.stop();
+        assertTrue("queries: " + queries, queries > 0 && queries <= 4);
+        assertEquals(RULES_PER_SELECTOR, ruleDataList.size());
+        ruleDataList.forEach(ruleData -> assertEquals(2, ruleData.getConditionDataList().size()));
+    }
+
+    /**
+     * Counts the queries of the thread that started it.
+     */
+    @Intercepts({
+            @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class})
+    })
+    private static final class QueryCounter implements Interceptor {
+
+        private final AtomicInteger queries = new AtomicInteger();
+
+        private volatile Thread owner;
+
+        void start() {
+            queries.set(0);
+            owner = Thread.currentThread();
+        }
+
+        int stop() {
+            owner = null;
+            return queries.get();
+        }
+
+        @Override
+        public Object intercept(final Invocation invocation) throws Throwable {
+            if (Thread.currentThread() == owner) {
+                queries.incrementAndGet();
+            }
+            return invocation.proceed();
+        }
+
+        @Override
+        public Object plugin(final Object target) {
+            return Plugin.wrap(target, this);
+        }
+
+        @Override
+        public void setProperties(final Properties properties) {
+        }
+    }
+}
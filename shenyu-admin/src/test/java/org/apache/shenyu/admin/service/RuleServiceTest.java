@@ -57,6 +57,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test cases for RuleService.
@@ -150,7 +152,9 @@ public final class RuleServiceTest {
     @Test
     public void testListAll() {
         publishEvent();
-        checkListAll();
+        List<RuleData> dataList = checkListAll();
+        assertEquals("test", dataList.get(0).getPluginName());
+        assertEquals(1, dataList.get(0).getConditionDataList().size());
     }
 
     @Test
@@ -162,6 +166,7 @@ public final class RuleServiceTest {
     private void mockFindSelectorIsNull() {
         given(this.selectorMapper.selectById("456")).willReturn(null);
         given(this.pluginMapper.selectById("789")).willReturn(buildPluginDO());
+        given(this.pluginMapper.selectAll()).willReturn(Collections.singletonList(buildPluginDO()));
     }
 
     @Test
@@ -173,32 +178,34 @@ public final class RuleServiceTest {
     private void mockFindPluginIsNull() {
         given(this.selectorMapper.selectById("456")).willReturn(buildSelectorDO());
         given(this.pluginMapper.selectById("789")).willReturn(null);
+        given(this.selectorMapper.selectAll()).willReturn(Collections.singletonList(buildSelectorDO()));
     }
 
-    private void checkListAll() {
-        RuleConditionQuery ruleConditionQuery = buildRuleConditionQuery();
+    private List<RuleData> checkListAll() {
         RuleConditionDO ruleCondition = buildRuleConditionDO();
-        given(this.ruleConditionMapper.selectByQuery(ruleConditionQuery)).willReturn(Collections.singletonList(ruleCondition));
+        given(this.ruleConditionMapper.selectByQuery(new RuleConditionQuery())).willReturn(Collections.singletonList(ruleCondition));
         RuleDO ruleDO = buildRuleDO("123");
         List<RuleDO> ruleDOList = Collections.singletonList(ruleDO);
         given(this.ruleMapper.selectAll()).willReturn(ruleDOList);
         List<RuleData> dataList = this.ruleService.listAll();
         assertNotNull(dataList);
         assertEquals(ruleDOList.size(), dataList.size());
+        return dataList;
     }
 
     @Test
     public void testFindBySelectorId() {
         publishEvent();
-        RuleConditionQuery ruleConditionQuery = buildRuleConditionQuery();
         RuleConditionDO ruleCondition = buildRuleConditionDO();
-        given(this.ruleConditionMapper.selectByQuery(ruleConditionQuery)).willReturn(Collections.singletonList(ruleCondition));
+        given(this.ruleConditionMapper.selectByRuleIdList(Collections.singletonList("123"))).willReturn(Collections.singletonList(ruleCondition));
         RuleDO ruleDO = buildRuleDO("123");
         List<RuleDO> ruleDOList = Collections.singletonList(ruleDO);
         given(this.ruleMapper.findBySelectorId("456")).willReturn(ruleDOList);
         List<RuleData> dataList = this.ruleService.findBySelectorId("456");
         assertNotNull(dataList);
         assertEquals(ruleDOList.size(), dataList.size());
+        assertEquals(1, dataList.get(0).getConditionDataList().size());
+        verify(this.pluginMapper, never()).selectAll();
     }
 
     private void publishEvent() {
@@ -206,6 +213,8 @@ public final class RuleServiceTest {
         SelectorDO selectorDO = buildSelectorDO();
         given(this.selectorMapper.selectById("456")).willReturn(selectorDO);
         given(this.pluginMapper.selectById("789")).willReturn(pluginDO);
+        given(this.selectorMapper.selectAll()).willReturn(Collections.singletonList(selectorDO));
+        given(this.pluginMapper.selectAll()).willReturn(Collections.singletonList(pluginDO));
     }
 
     private void testRegisterCreate() {
@@ -68,6 +68,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test cases for SelectorService.
@@ -193,9 +195,11 @@ public final class SelectorServiceTest {
         final List<SelectorDO> selectorDOs = buildSelectorDOList();
         given(this.selectorMapper.findByPluginId(eq("789"))).willReturn(selectorDOs);
         PluginDO pluginDO = buildPluginDO();
-        given(this.pluginMapper.selectById(eq("789"))).willReturn(pluginDO);
+        given(this.pluginMapper.selectById("789")).willReturn(pluginDO);
         List<SelectorData> res = this.selectorService.findByPluginId("789");
+        assertEquals(selectorDOs.size(), res.size());
         res.forEach(selectorData -> assertEquals("789", selectorData.getPluginId()));
+        verify(this.pluginMapper, never()).selectAll();
     }
 
     @Test
@@ -34,6 +34,11 @@ public interface Constants {
      */
     String CONTEXT = "context";
 
+    /**
+     * The constant parameter cache.
+     */
+    String PARAMETER_CACHE = "parameterCache";
+
     /**
      * The constant context path.
      */
@@ -124,6 +129,11 @@ public interface Constants {
      */
     String GRPC_RPC_RESULT = "grpc_rpc_result";
 
+    /**
+     * The constant GRPC_RPC_STREAM, the response messages of a streaming grpc call.
+     */
+    String GRPC_RPC_STREAM = "grpc_rpc_stream";
+
     /**
      * The constant MOTAN_RPC_RESULT.
      */
@@ -169,6 +179,16 @@ public interface Constants {
      */
     String HTTP_URL = "httpUrl";
 
+    /**
+     * The constant HTTP_RESPONSE_TIME, nanos between sending the upstream request and receiving its response.
+     */
+    String HTTP_RESPONSE_TIME = "httpResponseTime";
+
+    /**
+     * The constant HTTP_REQUEST_START, nano time when the upstream request is sent.
+     */
+    String HTTP_REQUEST_START = "httpRequestStart";
+
     /**
      * The constant PARAM_TRANSFORM.
      */
@@ -249,6 +269,11 @@ public interface Constants {
      */
     String SIGN_VALUE_IS_ERROR = "signature value is error!";
 
+    /**
+     * The constant SIGN_VALUE_IS_REPLAYED.
+     */
+    String SIGN_VALUE_IS_REPLAYED = "signature value has been used!";
+
     /**
      * The constant TIMESTAMP.
      */
@@ -462,6 +487,11 @@ public interface Constants {
      */
     int DEFAULT_WARMUP = 10 * 60 * 1000;
 
+    /**
+     * default decay millis of the upstream response time average.
+     */
+    long DEFAULT_DECAY = 10 * 1000;
+
     /**
      * default register type.
      */
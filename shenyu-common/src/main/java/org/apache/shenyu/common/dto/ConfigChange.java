@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A change of one config entity, kept in the change log of the admin for the delta sync of http long polling.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConfigChange implements Serializable {
+
+    private static final long serialVersionUID = -1722591482468914025L;
+
+    /**
+     * the version of the change in the change log.
+     */
+    private long version;
+
+    /**
+     * the group, see {@link org.apache.shenyu.common.enums.ConfigGroupEnum}.
+     */
+    private String group;
+
+    /**
+     * DELETE, CREATE, UPDATE, or REFRESH when the whole group has to be fetched again,
+     * see {@link org.apache.shenyu.common.enums.DataEventTypeEnum}.
+     */
+    private String eventType;
+
+    /**
+     * the changed entity, null for REFRESH.
+     */
+    private Object data;
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The config changes of the admin since a version of its change log.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConfigDelta implements Serializable {
+
+    private static final long serialVersionUID = 2286716587013616359L;
+
+    /**
+     * the epoch of the change log, a new one every time the admin starts.
+     */
+    private long epoch;
+
+    /**
+     * the latest version of the change log.
+     */
+    private long version;
+
+    /**
+     * true if the changes since the version are no longer kept, or the epoch is not the current one,
+     * then all the configs have to be fetched again.
+     */
+    private boolean full;
+
+    /**
+     * the changes in version order, empty when full.
+     */
+    private List<ConfigChange> changes;
+
+    /**
+     * the md5 and the last modify time of the config cache of each group, without data.
+     */
+    private Map<String, ConfigData<?>> groups;
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto.convert;
+
+import lombok.Data;
+
+/**
+ * this is logging plugin handle.
+ */
+@Data
+public class LoggingHandle {
+
+    /**
+     * the share of the requests logged, from 0 to 1.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * the bytes of the request and the response body logged, 0 for no body.
+     */
+    private int maxBodySize = 4096;
+}
@@ -51,4 +51,15 @@ public class RateLimiterHandle {
      * loged.
      */
     private boolean loged;
+
+    /**
+     * limiter mode, redis, local or hybrid, see {@link org.apache.shenyu.common.enums.RateLimiterModeEnum}.
+     * It is not named mode, which the plugin config uses for the redis topology.
+     */
+    private String limiterMode = "redis";
+
+    /**
+     * tokens leased from redis at a time in hybrid mode, 0 for a tenth of the replenish rate.
+     */
+    private double leaseSize;
 }
@@ -61,6 +61,12 @@ public class DivideRuleHandle implements RuleHandle {
      */
     private long requestMaxSize = Constants.REQUEST_MAX_SIZE;
 
+    /**
+     * decay millis of the upstream response time average,
+     * used by the {@linkplain LoadBalanceEnum#PEAK_EWMA} and {@linkplain LoadBalanceEnum#P2C} load balances.
+     */
+    private long decay = Constants.DEFAULT_DECAY;
+
     @Override
     public RuleHandle createDefault(final String path) {
         this.loadBalance = RuleHandleConstants.DEFAULT_LOAD_BALANCE.getName();
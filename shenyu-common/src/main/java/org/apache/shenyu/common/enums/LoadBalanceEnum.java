@@ -40,7 +40,22 @@ public enum LoadBalanceEnum {
     /**
      * Round robin load balance enum.
      */
-    ROUND_ROBIN(3, "roundRobin", true);
+    ROUND_ROBIN(3, "roundRobin", true),
+
+    /**
+     * Least active requests load balance enum.
+     */
+    LEAST_ACTIVE(4, "leastActive", true),
+
+    /**
+     * Peak ewma response time load balance enum.
+     */
+    PEAK_EWMA(5, "peakEwma", true),
+
+    /**
+     * Power of two choices load balance enum.
+     */
+    P2C(6, "p2c", true);
 
     private final int code;
 
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * Where the rate limiter of a rule keeps its state.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum RateLimiterModeEnum {
+
+    /**
+     * Every request runs the algorithm script on redis, the limit is shared by the whole cluster.
+     */
+    REDIS("redis"),
+
+    /**
+     * The algorithm runs in the gateway, every node enforces the limit on its own.
+     */
+    LOCAL("local"),
+
+    /**
+     * The gateway leases batches of tokens from the redis token bucket and spends them locally.
+     */
+    HYBRID("hybrid");
+
+    /**
+     * Rate limiter mode name.
+     */
+    private final String name;
+
+    /**
+     * Acquire by name.
+     *
+     * @param name the mode name
+     * @return RateLimiterModeEnum, redis by default
+     */
+    public static RateLimiterModeEnum acquireByName(final String name) {
+        return Arrays.stream(RateLimiterModeEnum.values())
+                .filter(e -> e.getName().equals(name)).findFirst()
+                .orElse(RateLimiterModeEnum.REDIS);
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.AuthParamData;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.exception.SoulException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The binary snapshot format of the configs, an alternative to the json of the config fetch.
+ *
+ * <p>A snapshot is the magic {@code SOUL}, the format version and the count of groups, then for every group
+ * its name, md5, last modify time and the length prefixed, gzip compressed block of its data.
+ * Within a block every entity is written field by field, the strings once and then by their index,
+ * so the plugin names, selector ids and handles repeated by thousands of rules take a few bytes each.
+ */
+public final class ConfigSnapshotCodec {
+
+    /**
+     * The media type of the snapshot.
+     */
+    public static final String MEDIA_TYPE = "application/x-soul-snapshot";
+
+    private static final int MAGIC = 0x534F554C;
+
+    private static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ConfigSnapshotCodec() {
+    }
+
+    /**
+     * Encode and compress the data of a group into a block.
+     *
+     * @param group the group
+     * @param data  the data of the group
+     * @return the block
+     */
+    public static byte[] encodeData(final ConfigGroupEnum group, final List<?> data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        try (Encoder encoder = new Encoder(new GZIPOutputStream(bytes, BUFFER_SIZE))) {
+            encoder.writeList(data, item -> encoder.writeItem(group, item));
+        } catch (IOException e) {
+            throw new SoulException("encode config snapshot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write the head of a snapshot.
+     *
+     * @param out    the out
+     * @param groups the count of groups to follow
+     */
+    public static void writeHead(final ByteArrayOutputStream out, final int groups) {
+        DataOutputStream data = new DataOutputStream(out);
+        try {
+            data.writeInt(MAGIC);
+            data.writeByte(VERSION);
+            data.writeByte(groups);
+        } catch (IOException e) {
+            throw new SoulException("encode config snapshot fail", e);
+        }
+    }
+
+    /**
+     * Write a group of a snapshot.
+     *
+     * @param out            the out
+     * @param group          the group
+     * @param md5            the md5 of the group
+     * @param lastModifyTime the last modify time of the group
+     * @param block          the block of the data, see {@link #encodeData(ConfigGroupEnum, List)}
+     */
+    public static void writeGroup(final ByteArrayOutputStream out, final ConfigGroupEnum group, final String md5,
+                                  final long lastModifyTime, final byte[] block) {
+        DataOutputStream data = new DataOutputStream(out);
+        try {
+            data.writeUTF(group.name());
+            data.writeUTF(md5);
+            data.writeLong(lastModifyTime);
+            data.writeInt(block.length);
+            data.write(block);
+        } catch (IOException e) {
+            throw new SoulException("encode config snapshot fail", e);
+        }
+    }
+
+    /**
+     * Encode a snapshot of the configs.
+     *
+     * @param configs the configs by group
+     * @return the snapshot
+     */
+    public static byte[] encode(final Map<ConfigGroupEnum, ConfigData<?>> configs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        writeHead(out, configs.size());
+        configs.forEach((group, config) -> writeGroup(out, group, config.getMd5(), config.getLastModifyTime(), encodeData(group, config.getData())));
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the configs by group name, the same as the json of the config fetch
+     */
+    public static Map<String, ConfigData<?>> decode(final byte[] snapshot) {
+        return decode(ByteBuffer.wrap(snapshot));
+    }
+
+    /**
+     * Decode a snapshot from a buffer, such as a mapped snapshot file, without copying it.
+     *
+     * @param snapshot the snapshot
+     * @return the configs by group name, the same as the json of the config fetch
+     */
+    public static Map<String, ConfigData<?>> decode(final ByteBuffer snapshot) {
+        ByteBuffer buffer = snapshot.duplicate();
+        try (DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new SoulException("unknown config snapshot format");
+            }
+            int groups = in.readUnsignedByte();
+            Map<String, ConfigData<?>> result = new LinkedHashMap<>(groups * 2);
+            for (int i = 0; i < groups; i++) {
+                ConfigGroupEnum group = ConfigGroupEnum.valueOf(in.readUTF());
+                String md5 = in.readUTF();
+                long lastModifyTime = in.readLong();
+                ByteBuffer block = nextBlock(buffer, in.readInt());
+                result.put(group.name(), new ConfigData<>(md5, lastModifyTime, decodeData(group, new ByteBufferInputStream(block))));
+            }
+            return result;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SoulException("decode config snapshot fail", e);
+        }
+    }
+
+    private static ByteBuffer nextBlock(final ByteBuffer buffer, final int length) throws EOFException {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new EOFException("truncated config snapshot");
+        }
+        // the data input stream does not buffer, the block starts at the position of the buffer.
+        ByteBuffer block = buffer.slice();
+        block.limit(length);
+        buffer.position(buffer.position() + length);
+        return block;
+    }
+
+    private static List<?> decodeData(final ConfigGroupEnum group, final InputStream block) throws IOException {
+        try (Decoder decoder = new Decoder(new GZIPInputStream(block, BUFFER_SIZE))) {
+            switch (group) {
+                case PLUGIN:
+                    return decoder.readList(Decoder::readPlugin);
+                case SELECTOR:
+                    return decoder.readList(Decoder::readSelector);
+                case RULE:
+                    return decoder.readList(Decoder::readRule);
+                case META_DATA:
+                    return decoder.readList(Decoder::readMetaData);
+                case APP_AUTH:
+                    return decoder.readList(Decoder::readAppAuth);
+                default:
+                    throw new IllegalStateException("Unexpected group: " + group);
+            }
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ItemWriter<T> {
+
+        void write(T item) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ItemReader<T> {
+
+        T read(Decoder decoder) throws IOException;
+    }
+
+    private static final class Encoder implements AutoCloseable {
+
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Encoder(final GZIPOutputStream out) {
+            this.out = new DataOutputStream(out);
+        }
+
+        <T> void writeList(final List<T> list, final ItemWriter<T> writer) throws IOException {
+            if (null == list) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(list.size() + 1);
+            for (T item : list) {
+                writer.write(item);
+            }
+        }
+
+        void writeItem(final ConfigGroupEnum group, final Object item) throws IOException {
+            switch (group) {
+                case PLUGIN:
+                    writePlugin((PluginData) item);
+                    break;
+                case SELECTOR:
+                    writeSelector((SelectorData) item);
+                    break;
+                case RULE:
+                    writeRule((RuleData) item);
+                    break;
+                case META_DATA:
+                    writeMetaData((MetaData) item);
+                    break;
+                case APP_AUTH:
+                    writeAppAuth((AppAuthData) item);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected group: " + group);
+            }
+        }
+
+        private void writePlugin(final PluginData plugin) throws IOException {
+            writeString(plugin.getId());
+            writeString(plugin.getName());
+            writeString(plugin.getConfig());
+            writeInteger(plugin.getRole());
+            writeBoolean(plugin.getEnabled());
+        }
+
+        private void writeSelector(final SelectorData selector) throws IOException {
+            writeString(selector.getId());
+            writeString(selector.getPluginId());
+            writeString(selector.getPluginName());
+            writeString(selector.getName());
+            writeInteger(selector.getMatchMode());
+            writeInteger(selector.getType());
+            writeInteger(selector.getSort());
+            writeBoolean(selector.getEnabled());
+            writeBoolean(selector.getLogged());
+            writeBoolean(selector.getContinued());
+            writeString(selector.getHandle());
+            writeList(selector.getConditionList(), this::writeCondition);
+        }
+
+        private void writeRule(final RuleData rule) throws IOException {
+            writeString(rule.getId());
+            writeString(rule.getName());
+            writeString(rule.getPluginName());
+            writeString(rule.getSelectorId());
+            writeInteger(rule.getMatchMode());
+            writeInteger(rule.getSort());
+            writeBoolean(rule.getEnabled());
+            writeBoolean(rule.getLoged());
+            writeString(rule.getHandle());
+            writeList(rule.getConditionDataList(), this::writeCondition);
+        }
+
+        private void writeMetaData(final MetaData metaData) throws IOException {
+            writeString(metaData.getId());
+            writeString(metaData.getAppName());
+            writeString(metaData.getContextPath());
+            writeString(metaData.getPath());
+            writeString(metaData.getRpcType());
+            writeString(metaData.getServiceName());
+            writeString(metaData.getMethodName());
+            writeString(metaData.getParameterTypes());
+            writeString(metaData.getRpcExt());
+            writeBoolean(metaData.getEnabled());
+        }
+
+        private void writeAppAuth(final AppAuthData appAuth) throws IOException {
+            writeString(appAuth.getAppKey());
+            writeString(appAuth.getAppSecret());
+            writeBoolean(appAuth.getEnabled());
+            writeBoolean(appAuth.getOpen());
+            writeList(appAuth.getParamDataList(), this::writeAuthParam);
+            writeList(appAuth.getPathDataList(), this::writeAuthPath);
+        }
+
+        private void writeCondition(final ConditionData condition) throws IOException {
+            writeString(condition.getParamType());
+            writeString(condition.getOperator());
+            writeString(condition.getParamName());
+            writeString(condition.getParamValue());
+        }
+
+        private void writeAuthParam(final AuthParamData param) throws IOException {
+            writeString(param.getAppName());
+            writeString(param.getAppParam());
+        }
+
+        private void writeAuthPath(final AuthPathData path) throws IOException {
+            writeString(path.getAppName());
+            writeString(path.getPath());
+            writeBoolean(path.getEnabled());
+        }
+
+        /**
+         * 0 for null, 1 for a new string followed by its length and utf-8 bytes, or 2 + the index of a string written before.
+         */
+        private void writeString(final String value) throws IOException {
+            if (null == value) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (null != index) {
+                writeVarInt(index + 2);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeInteger(final Integer value) throws IOException {
+            // 0 for null, otherwise the zigzag of the value + 1
+            writeVarLong(null == value ? 0L : (((long) value << 1) ^ ((long) value >> 63)) + 1L);
+        }
+
+        private void writeBoolean(final Boolean value) throws IOException {
+            out.writeByte(null == value ? 0 : value ? 2 : 1);
+        }
+
+        private void writeVarInt(final int value) throws IOException {
+            writeVarLong(value);
+        }
+
+        private void writeVarLong(final long value) throws IOException {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                out.writeByte((int) (remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            out.writeByte((int) remaining);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class Decoder implements AutoCloseable {
+
+        private final DataInputStream in;
+
+        private final List<String> strings = new ArrayList<>();
+
+        Decoder(final InputStream in) {
+            this.in = new DataInputStream(in);
+        }
+
+        <T> List<T> readList(final ItemReader<T> reader) throws IOException {
+            int size = readVarInt();
+            if (size == 0) {
+                return null;
+            }
+            List<T> list = new ArrayList<>(size - 1);
+            for (int i = 1; i < size; i++) {
+                list.add(reader.read(this));
+            }
+            return list;
+        }
+
+        PluginData readPlugin() throws IOException {
+            return new PluginData(readString(), readString(), readString(), readInteger(), readBoolean());
+        }
+
+        SelectorData readSelector() throws IOException {
+            return new SelectorData(readString(), readString(), readString(), readString(), readInteger(), readInteger(), readInteger(),
+                    readBoolean(), readBoolean(), readBoolean(), readString(), readList(Decoder::readCondition));
+        }
+
+        RuleData readRule() throws IOException {
+            return new RuleData(readString(), readString(), readString(), readString(), readInteger(), readInteger(),
+                    readBoolean(), readBoolean(), readString(), readList(Decoder::readCondition));
+        }
+
+        MetaData readMetaData() throws IOException {
+            return new MetaData(readString(), readString(), readString(), readString(), readString(), readString(), readString(),
+                    readString(), readString(), readBoolean());
+        }
+
+        AppAuthData readAppAuth() throws IOException {
+            return new AppAuthData(readString(), readString(), readBoolean(), readBoolean(),
+                    readList(Decoder::readAuthParam), readList(Decoder::readAuthPath));
+        }
+
+        private ConditionData readCondition() throws IOException {
+            return new ConditionData(readString(), readString(), readString(), readString());
+        }
+
+        private AuthParamData readAuthParam() throws IOException {
+            return new AuthParamData(readString(), readString());
+        }
+
+        private AuthPathData readAuthPath() throws IOException {
+            return new AuthPathData(readString(), readString(), readBoolean());
+        }
+
+        private String readString() throws IOException {
+            int tag = readVarInt();
+            if (tag == 0) {
+                return null;
+            }
+            if (tag > 1) {
+                return strings.get(tag - 2);
+            }
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private Integer readInteger() throws IOException {
+            long value = readVarLong();
+            if (value == 0L) {
+                return null;
+            }
+            long zigzag = value - 1L;
+            return (int) ((zigzag >>> 1) ^ -(zigzag & 1L));
+        }
+
+        private Boolean readBoolean() throws IOException {
+            int value = in.readUnsignedByte();
+            return value == 0 ? null : value == 2;
+        }
+
+        private int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("malformed varint");
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -18,15 +18,16 @@
 package org.apache.shenyu.common.utils;
 
 import org.apache.shenyu.common.constant.Constants;
-import org.springframework.util.DigestUtils;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * SignUtils.
@@ -35,8 +36,24 @@ import java.util.stream.Collectors;
  */
 public final class SignUtils {
 
+    /**
+     * The md5 sign algorithm, md5 of the sorted params followed by the sign key.
+     */
+    public static final String MD5 = "MD5";
+
+    /**
+     * The hmac-sha256 sign algorithm, hmac of the sorted params keyed by the sign key.
+     */
+    public static final String HMAC_SHA256 = "HMAC-SHA256";
+
     private static final SignUtils SIGN_UTILS = new SignUtils();
 
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> MD5_DIGEST = ThreadLocal.withInitial(() -> newInstance(MD5, MessageDigest::getInstance));
+
+    private static final ThreadLocal<Mac> HMAC_SHA256_MAC = ThreadLocal.withInitial(() -> newInstance("HmacSHA256", Mac::getInstance));
+
     private SignUtils() {
     }
 
@@ -57,17 +74,30 @@ public final class SignUtils {
      * @return sign
      */
     public static String generateSign(final String signKey, final Map<String, String> params) {
-        List<String> storedKeys = Arrays.stream(params.keySet()
-                .toArray(new String[]{}))
-                .sorted(Comparator.naturalOrder())
-                .collect(Collectors.toList());
-        final String sign = storedKeys.stream()
-                .filter(key -> !Objects.equals(key, Constants.SIGN))
-                .map(key -> String.join("", key, params.get(key)))
-                .collect(Collectors.joining()).trim()
-                .concat(signKey);
+        final String sign = join(params).concat(signKey);
         // TODO this is a risk for error charset coding with getBytes
-        return DigestUtils.md5DigestAsHex(sign.getBytes()).toUpperCase();
+        return hex(MD5_DIGEST.get().digest(sign.getBytes()));
+    }
+
+    /**
+     * acquired sign with the algorithm.
+     *
+     * @param signKey   sign key
+     * @param params    params
+     * @param algorithm the algorithm, {@link #MD5} or {@link #HMAC_SHA256}
+     * @return sign
+     */
+    public static String generateSign(final String signKey, final Map<String, String> params, final String algorithm) {
+        if (!HMAC_SHA256.equalsIgnoreCase(algorithm)) {
+            return generateSign(signKey, params);
+        }
+        Mac mac = HMAC_SHA256_MAC.get();
+        try {
+            mac.init(new SecretKeySpec(signKey.getBytes(StandardCharsets.UTF_8), mac.getAlgorithm()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return hex(mac.doFinal(join(params).getBytes(StandardCharsets.UTF_8)));
     }
 
     /**
@@ -91,4 +121,42 @@ public final class SignUtils {
         return UUID.randomUUID().toString().replaceAll("-", "").toUpperCase();
     }
 
+    /**
+     * The params but the sign, sorted by key, as key and value pairs.
+     */
+    private static String join(final Map<String, String> params) {
+        String[] keys = params.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        StringBuilder joined = new StringBuilder(64);
+        for (String key : keys) {
+            if (!Objects.equals(key, Constants.SIGN)) {
+                joined.append(key).append(params.get(key));
+            }
+        }
+        return joined.toString().trim();
+    }
+
+    private static String hex(final byte[] bytes) {
+        char[] chars = new char[bytes.length << 1];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i << 1] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[(i << 1) + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static <T> T newInstance(final String algorithm, final Factory<T> factory) {
+        try {
+            return factory.getInstance(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Factory<T> {
+
+        T getInstance(String algorithm) throws GeneralSecurityException;
+    }
+
 }
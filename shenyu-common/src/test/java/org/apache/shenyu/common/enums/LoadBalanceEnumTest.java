@@ -47,4 +47,12 @@ public final class LoadBalanceEnumTest {
         Assert.assertEquals("roundRobin", LoadBalanceEnum.ROUND_ROBIN.getName());
         Assert.assertTrue(LoadBalanceEnum.ROUND_ROBIN.isSupport());
     }
+
+    @Test
+    public void testLatencyAwareLoadBalance() {
+        Assert.assertEquals("leastActive", LoadBalanceEnum.LEAST_ACTIVE.getName());
+        Assert.assertEquals("peakEwma", LoadBalanceEnum.PEAK_EWMA.getName());
+        Assert.assertEquals("p2c", LoadBalanceEnum.P2C.getName());
+        Assert.assertTrue(LoadBalanceEnum.P2C.isSupport());
+    }
 }
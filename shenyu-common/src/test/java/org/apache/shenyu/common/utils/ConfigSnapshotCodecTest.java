@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.AuthParamData;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.exception.SoulException;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test cases for ConfigSnapshotCodec.
+ */
+public final class ConfigSnapshotCodecTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        ConditionData condition = new ConditionData("uri", "match", "/", "/http/**");
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("md5-plugin", 1L, Arrays.asList(
+                new PluginData("1", "divide", "{}", 0, true), new PluginData("2", "sign", null, null, null))));
+        configs.put(ConfigGroupEnum.SELECTOR, new ConfigData<>("md5-selector", 2L, Collections.singletonList(
+                new SelectorData("1", "1", "divide", "/http", 0, 1, 1, true, false, true, "[]", Collections.singletonList(condition)))));
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>("md5-rule", 3L, Arrays.asList(
+                new RuleData("1", "/http/a", "divide", "1", 0, -1, true, false, "{}", Collections.singletonList(condition)),
+                new RuleData("2", null, "divide", "1", Integer.MIN_VALUE, Integer.MAX_VALUE, false, null, "{}", null))));
+        configs.put(ConfigGroupEnum.META_DATA, new ConfigData<>("md5-meta", 4L, Collections.singletonList(
+                new MetaData("1", "app", "/dubbo", "/dubbo/findAll", "dubbo", "org.Service", "findAll", "java.lang.String", "{}", true))));
+        configs.put(ConfigGroupEnum.APP_AUTH, new ConfigData<>("md5-auth", 5L, Collections.singletonList(
+                new AppAuthData("key", "secret", true, false, Collections.singletonList(new AuthParamData("app", "param")),
+                        Collections.singletonList(new AuthPathData("app", "/http/**", true))))));
+        Map<String, ConfigData<?>> decoded = ConfigSnapshotCodec.decode(ConfigSnapshotCodec.encode(configs));
+        assertThat(decoded.size(), is(configs.size()));
+        configs.forEach((group, config) -> assertThat(decoded.get(group.name()), is(config)));
+    }
+
+    @Test
+    public void testEmptyData() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>("md5", 1L, Collections.emptyList()));
+        Map<String, ConfigData<?>> decoded = ConfigSnapshotCodec.decode(ConfigSnapshotCodec.encode(configs));
+        assertThat(decoded.get(ConfigGroupEnum.RULE.name()), is(configs.get(ConfigGroupEnum.RULE)));
+    }
+
+    @Test
+    public void testRepeatedStrings() {
+        List<RuleData> rules = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rules.add(new RuleData(String.valueOf(i), "rule", "divide", "selector-id-of-the-rules", 0, i, true, true,
+                    "{\"loadBalance\":\"random\",\"retry\":0,\"timeout\":3000}", null));
+        }
+        byte[] block = ConfigSnapshotCodec.encodeData(ConfigGroupEnum.RULE, rules);
+        int json = GsonUtils.getInstance().toJson(rules).length();
+        assertThat(block.length * 20, lessThan(json));
+    }
+
+    @Test
+    public void testDecodeBuffer() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("md5-plugin", 1L, Collections.singletonList(new PluginData("1", "divide", null, 0, true))));
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>("md5-rule", 2L, Collections.emptyList()));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        buffer.put(ConfigSnapshotCodec.encode(configs)).flip();
+        Map<String, ConfigData<?>> decoded = ConfigSnapshotCodec.decode(buffer);
+        configs.forEach((group, config) -> assertThat(decoded.get(group.name()), is(config)));
+        assertThat(buffer.position(), is(0));
+    }
+
+    @Test(expected = SoulException.class)
+    public void testTruncated() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("md5-plugin", 1L, Collections.singletonList(new PluginData("1", "divide", null, 0, true))));
+        byte[] snapshot = ConfigSnapshotCodec.encode(configs);
+        ConfigSnapshotCodec.decode(Arrays.copyOf(snapshot, snapshot.length - 8));
+    }
+
+    @Test(expected = SoulException.class)
+    public void testUnknownFormat() {
+        ConfigSnapshotCodec.decode("{\"code\":200}".getBytes());
+    }
+}
@@ -22,6 +22,7 @@ import org.junit.Test;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -49,6 +50,17 @@ public final class SignUtilsTest {
         assertTrue(SignUtils.getInstance().isValid(sign, params, "test"));
     }
 
+    @Test
+    public void testGenerateSignWithAlgorithm() {
+        Map<String, String> params = new HashMap<>();
+        params.put("b", "2");
+        params.put("a", "1");
+        params.put("sign", "ignored");
+        assertEquals("7AA98F7D67F8E4730E2D1D3902295CE6", SignUtils.generateSign("test", params, SignUtils.MD5));
+        assertEquals("1C33B1858925115AC4C43274F41292A770404143EF3C0916DFE4752C618253D7", SignUtils.generateSign("test", params, SignUtils.HMAC_SHA256));
+        assertEquals(SignUtils.generateSign("test", params, SignUtils.HMAC_SHA256), SignUtils.generateSign("test", params, "hmac-sha256"));
+    }
+
     @Test
     public void testGenerateKey() {
         assertNotNull(SignUtils.getInstance().generateKey());
@@ -52,6 +52,11 @@ public final class UpstreamCheckUtilsTest {
         assertTrue(UpstreamCheckUtils.checkUrl("localhost"));
     }
 
+    @Test
+    public void testConnectTimeout() {
+        assertFalse(UpstreamCheckUtils.checkUrl("127.0.0.1:1", 100));
+    }
+
     @Test
     @SneakyThrows
     public void testSocketConnect() {
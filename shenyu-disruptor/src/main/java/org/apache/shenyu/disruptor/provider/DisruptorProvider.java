@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.disruptor.provider;
 
+import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import org.apache.shenyu.disruptor.event.DataEvent;
@@ -69,6 +70,29 @@ public class DisruptorProvider<T> {
         }
     }
     
+    /**
+     * On data if the ring buffer has room, without waiting for the consumers.
+     *
+     * @param function the function
+     * @return true if published, false if the ring buffer is full
+     */
+    public boolean tryOnData(final Consumer<DataEvent<T>> function) {
+        long position;
+        try {
+            position = ringBuffer.tryNext();
+        } catch (InsufficientCapacityException ex) {
+            return false;
+        }
+        try {
+            function.accept(ringBuffer.get(position));
+        } catch (Exception ex) {
+            logger.error("ex", ex);
+        } finally {
+            ringBuffer.publish(position);
+        }
+        return true;
+    }
+    
     /**
      * Shutdown.
      */
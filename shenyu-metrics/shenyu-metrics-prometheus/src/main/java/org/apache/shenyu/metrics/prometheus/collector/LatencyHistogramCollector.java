@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.metrics.prometheus.collector;
+
+import io.prometheus.client.Collector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.metrics.histogram.LatencyHistogram;
+
+/**
+ * Latency histograms of bounded memory, a {@link LatencyHistogram} per label values exported as a prometheus histogram in seconds.
+ *
+ * <p>The prometheus buckets are counted from the histogram when scraped. Once the histograms would take
+ * more than the memory budget, the new label values are recorded under the {@value #OVERFLOW_LABEL_VALUE} label values.
+ */
+@Slf4j
+public final class LatencyHistogramCollector extends Collector {
+
+    private static final String OVERFLOW_LABEL_VALUE = "other";
+
+    private static final double[] BUCKETS = {.0005, .001, .0025, .005, .01, .025, .05, .1, .25, .5, 1, 2.5, 5, 10, 30, 60};
+
+    private final String name;
+
+    private final String help;
+
+    private final List<String> labelNames;
+
+    private final int maxChildren;
+
+    private final Map<List<String>, LatencyHistogram> children = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram overflow = new LatencyHistogram();
+
+    private final List<String> overflowLabelValues;
+
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    /**
+     * Instantiates a new Latency histogram collector.
+     *
+     * @param name name
+     * @param labelNames label names, null for none
+     * @param help document for histogram
+     * @param memoryBudgetBytes memory budget of the histograms in bytes
+     */
+    public LatencyHistogramCollector(final String name, final String[] labelNames, final String help, final long memoryBudgetBytes) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = Objects.isNull(labelNames) ? Collections.emptyList() : Arrays.asList(labelNames.clone());
+        this.maxChildren = (int) Math.min(Integer.MAX_VALUE, Math.max(memoryBudgetBytes / LatencyHistogram.FOOTPRINT_BYTES - 1, 1L));
+        this.overflowLabelValues = Collections.nCopies(this.labelNames.size(), OVERFLOW_LABEL_VALUE);
+    }
+
+    /**
+     * Gets the histogram of the label values.
+     *
+     * @param labelValues label values, null for none
+     * @return the histogram
+     */
+    public LatencyHistogram labels(final String... labelValues) {
+        List<String> key = Objects.isNull(labelValues) ? Collections.emptyList() : Arrays.asList(labelValues);
+        if (key.size() != labelNames.size()) {
+            throw new IllegalArgumentException("incorrect number of labels for " + name);
+        }
+        LatencyHistogram histogram = children.get(key);
+        if (Objects.nonNull(histogram)) {
+            return histogram;
+        }
+        if (children.size() >= maxChildren) {
+            if (overflowed.compareAndSet(false, true)) {
+                log.warn("the latency histogram {} is over its memory budget, the new label values are recorded as {}", name, OVERFLOW_LABEL_VALUE);
+            }
+            return overflow;
+        }
+        return children.computeIfAbsent(new ArrayList<>(key), k -> new LatencyHistogram());
+    }
+
+    /**
+     * Gets the number of label values with a histogram of their own.
+     *
+     * @return the size
+     */
+    public int size() {
+        return children.size();
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        children.forEach((labelValues, histogram) -> addSamples(samples, labelValues, histogram.snapshot()));
+        LatencyHistogram.Snapshot overflowSnapshot = overflow.snapshot();
+        if (overflowSnapshot.getCount() > 0) {
+            addSamples(samples, overflowLabelValues, overflowSnapshot);
+        }
+        return Collections.singletonList(new MetricFamilySamples(name, Type.HISTOGRAM, help, samples));
+    }
+
+    private void addSamples(final List<MetricFamilySamples.Sample> samples, final List<String> labelValues, final LatencyHistogram.Snapshot snapshot) {
+        List<String> bucketLabelNames = new ArrayList<>(labelNames);
+        bucketLabelNames.add("le");
+        for (double bucket : BUCKETS) {
+            List<String> bucketLabelValues = new ArrayList<>(labelValues);
+            bucketLabelValues.add(doubleToGoString(bucket));
+            samples.add(new MetricFamilySamples.Sample(name + "_bucket", bucketLabelNames, bucketLabelValues,
+                    snapshot.countAtOrBelow((long) (bucket * NANOSECONDS_PER_SECOND))));
+        }
+        List<String> infLabelValues = new ArrayList<>(labelValues);
+        infLabelValues.add("+Inf");
+        samples.add(new MetricFamilySamples.Sample(name + "_bucket", bucketLabelNames, infLabelValues, snapshot.getCount()));
+        samples.add(new MetricFamilySamples.Sample(name + "_count", labelNames, labelValues, snapshot.getCount()));
+        samples.add(new MetricFamilySamples.Sample(name + "_sum", labelNames, labelValues, snapshot.getSum() / NANOSECONDS_PER_SECOND));
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.metrics.api.MetricsRegister;
+import org.apache.shenyu.metrics.prometheus.collector.LatencyHistogramCollector;
 
 /**
  * Prometheus metrics register.
@@ -39,6 +40,8 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
     
     private static final Map<String, Histogram> HISTOGRAM_MAP = new ConcurrentHashMap<>();
     
+    private static final Map<String, LatencyHistogramCollector> LATENCY_HISTOGRAM_MAP = new ConcurrentHashMap<>();
+    
     /**
      * Get instance prometheus metrics register.
      *
@@ -81,6 +84,13 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
     
+    @Override
+    public void registerLatencyHistogram(final String name, final String[] labelNames, final String document, final long memoryBudgetBytes) {
+        if (!LATENCY_HISTOGRAM_MAP.containsKey(name)) {
+            LATENCY_HISTOGRAM_MAP.put(name, new LatencyHistogramCollector(name, labelNames, document, memoryBudgetBytes).register());
+        }
+    }
+    
     @Override
     public void counterIncrement(final String name, final String[] labelValues) {
         Counter counter = COUNTER_MAP.get(name);
@@ -131,6 +141,11 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
     
+    @Override
+    public void recordLatency(final String name, final String[] labelValues, final long nanos) {
+        LATENCY_HISTOGRAM_MAP.get(name).labels(labelValues).record(nanos);
+    }
+    
     private static class PrometheusMetricsRegisterHolder {
         
         private static final PrometheusMetricsRegister INSTANCE = new PrometheusMetricsRegister();
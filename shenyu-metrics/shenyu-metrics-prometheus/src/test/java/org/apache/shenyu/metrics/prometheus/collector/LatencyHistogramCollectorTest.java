@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.metrics.prometheus.collector;
+
+import io.prometheus.client.Collector;
+import java.util.List;
+import org.apache.shenyu.metrics.histogram.LatencyHistogram;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The Test Case For LatencyHistogramCollector.
+ */
+public final class LatencyHistogramCollectorTest {
+
+    @Test
+    public void testCollect() {
+        LatencyHistogramCollector collector = new LatencyHistogramCollector("test_latency_seconds", new String[]{"rule"}, "test latency", 1L << 20);
+        collector.labels("/a/**").record(2_000_000L);
+        collector.labels("/a/**").record(20_000_000L);
+        List<Collector.MetricFamilySamples> families = collector.collect();
+        assertThat(families.size(), is(1));
+        Collector.MetricFamilySamples family = families.get(0);
+        assertThat(family.type, is(Collector.Type.HISTOGRAM));
+        assertThat(sample(family, "test_latency_seconds_bucket", "0.0025").value, is(1.0));
+        assertThat(sample(family, "test_latency_seconds_bucket", "0.025").value, is(2.0));
+        assertThat(sample(family, "test_latency_seconds_bucket", "+Inf").value, is(2.0));
+        assertThat(sample(family, "test_latency_seconds_count", null).value, is(2.0));
+        assertThat(sample(family, "test_latency_seconds_sum", null).value, is(0.022));
+    }
+
+    @Test
+    public void testMemoryBudget() {
+        LatencyHistogramCollector collector = new LatencyHistogramCollector("test_budget_seconds", new String[]{"path"}, "test budget", LatencyHistogram.FOOTPRINT_BYTES * 4);
+        LatencyHistogram overflow = null;
+        for (int i = 0; i < 100; i++) {
+            LatencyHistogram histogram = collector.labels("/order/" + i);
+            histogram.record(i);
+            if (i >= 3) {
+                overflow = histogram;
+            }
+        }
+        assertThat(collector.size(), is(3));
+        assertThat(collector.labels("/order/99"), sameInstance(overflow));
+        assertThat(collector.labels("/order/0"), sameInstance(collector.labels("/order/0")));
+        assertThat(sample(collector.collect().get(0), "test_budget_seconds_count", null).labelValues.get(0), is("other"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncorrectLabels() {
+        new LatencyHistogramCollector("test_labels_seconds", new String[]{"rule"}, "test labels", 1L << 20).labels();
+    }
+
+    private Collector.MetricFamilySamples.Sample sample(final Collector.MetricFamilySamples family, final String name, final String le) {
+        return family.samples.stream()
+                .filter(sample -> sample.name.equals(name) && (le == null || le.equals(sample.labelValues.get(sample.labelValues.size() - 1))))
+                .reduce((first, second) -> second).orElseThrow(AssertionError::new);
+    }
+}
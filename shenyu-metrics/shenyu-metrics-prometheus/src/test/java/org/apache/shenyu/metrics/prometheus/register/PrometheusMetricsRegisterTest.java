@@ -21,6 +21,7 @@ import io.prometheus.client.Counter;
 import io.prometheus.client.Histogram;
 import java.util.Map;
 import org.apache.shenyu.common.utils.ReflectUtils;
+import org.apache.shenyu.metrics.prometheus.collector.LatencyHistogramCollector;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -59,4 +60,16 @@ public final class PrometheusMetricsRegisterTest {
         Histogram histogram = histogramMap.get(name);
         assertThat(histogram.labels(labelNames).get().sum, is(1000.0));
     }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertLatencyHistogram() {
+        String name = "requests_latency_seconds";
+        String[] labelNames = new String[] {"rule"};
+        prometheusMetricsRegister.registerLatencyHistogram(name, labelNames, "the soul proxy latency seconds", 1L << 20);
+        prometheusMetricsRegister.recordLatency(name, new String[] {"/http/**"}, 1000);
+        prometheusMetricsRegister.recordLatency(name, new String[] {"/http/**"}, 3000);
+        Map<String, LatencyHistogramCollector> histogramMap = (Map<String, LatencyHistogramCollector>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "LATENCY_HISTOGRAM_MAP");
+        assertThat(histogramMap.get(name).labels("/http/**").snapshot().getSum(), is(4000L));
+    }
 }
@@ -51,6 +51,17 @@ public interface MetricsRegister {
      */
     void registerHistogram(String name, String[] labelNames, String document);
     
+    /**
+     * Register latency histogram, recorded in nanos into a {@link org.apache.shenyu.metrics.histogram.LatencyHistogram} per label values.
+     * Once the histograms would take more than the memory budget, the new label values are recorded under the {@code other} label values.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param memoryBudgetBytes memory budget of the histograms in bytes
+     */
+    void registerLatencyHistogram(String name, String[] labelNames, String document, long memoryBudgetBytes);
+    
     /**
      * Counter increment.
      *
@@ -92,4 +103,13 @@ public interface MetricsRegister {
      * @param duration duration
      */
     void recordTime(String name, String[] labelValues, long duration);
+    
+    /**
+     * Record latency in nanos.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param nanos latency in nanos
+     */
+    void recordLatency(String name, String[] labelValues, long nanos);
 }
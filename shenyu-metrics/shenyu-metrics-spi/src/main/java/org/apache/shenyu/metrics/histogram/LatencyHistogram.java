@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.metrics.histogram;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram of fixed size with log-linear buckets, as HdrHistogram lays them out.
+ *
+ * <p>Every power of two of nanos is split into {@value #SUB_BUCKET_COUNT} linear buckets,
+ * so a recorded value is known within about 3% from 1 nanosecond up to {@link #MAX_TRACKABLE_NANOS},
+ * the longer values are counted in the last bucket. A histogram takes about {@link #FOOTPRINT_BYTES} bytes.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The longest trackable value, about 68 seconds.
+     */
+    public static final long MAX_TRACKABLE_NANOS = (1L << 36) - 1;
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = index(MAX_TRACKABLE_NANOS) + 1;
+
+    /**
+     * The approximate memory taken by a histogram.
+     */
+    public static final long FOOTPRINT_BYTES = BUCKET_COUNT * 8L + 128L;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Record a value.
+     *
+     * @param nanos the value in nanos, a negative one is recorded as 0
+     */
+    public void record(final long nanos) {
+        long value = Math.min(Math.max(nanos, 0L), MAX_TRACKABLE_NANOS);
+        counts.incrementAndGet(index(value));
+        sum.add(value);
+    }
+
+    /**
+     * Take a snapshot of the recorded values, it may miss the values being recorded meanwhile.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, sum.sum());
+    }
+
+    private static int index(final long value) {
+        if (value < SUB_BUCKET_COUNT << 1) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    private static long highestValue(final int index) {
+        if (index < SUB_BUCKET_COUNT << 1) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = (index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * The recorded values of a histogram at a point in time.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private final long sum;
+
+        private Snapshot(final long[] counts, final long sum) {
+            this.counts = counts;
+            long total = 0L;
+            for (long each : counts) {
+                total += each;
+            }
+            this.count = total;
+            this.sum = sum;
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return the count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the sum of the recorded values in nanos.
+         *
+         * @return the sum
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * Gets the number of recorded values up to a value, the buckets across it are not counted.
+         *
+         * @param nanos the value in nanos
+         * @return the count
+         */
+        public long countAtOrBelow(final long nanos) {
+            long total = 0L;
+            for (int i = 0; i < counts.length && highestValue(i) <= nanos; i++) {
+                total += counts[i];
+            }
+            return total;
+        }
+
+        /**
+         * Gets the value at a percentile, the highest value of its bucket.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the value in nanos, 0 if nothing is recorded
+         */
+        public long valueAtPercentile(final double percentile) {
+            long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0D), 100D) / 100D * count);
+            long total = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                total += counts[i];
+                if (total >= Math.max(rank, 1L)) {
+                    return highestValue(i);
+                }
+            }
+            return 0L;
+        }
+    }
+}
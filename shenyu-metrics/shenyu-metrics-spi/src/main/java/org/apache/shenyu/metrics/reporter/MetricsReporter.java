@@ -127,6 +127,18 @@ public final class MetricsReporter {
         metricsRegister.registerHistogram(name, null, document);
     }
     
+    /**
+     * Register latency histogram of bounded memory.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param memoryBudgetBytes memory budget of the histograms in bytes
+     */
+    public static void registerLatencyHistogram(final String name, final String[] labelNames, final String document, final long memoryBudgetBytes) {
+        metricsRegister.registerLatencyHistogram(name, labelNames, document, memoryBudgetBytes);
+    }
+    
     /**
      * Counter increment.
      *
@@ -216,6 +228,17 @@ public final class MetricsReporter {
         recordTime(name, null, duration);
     }
     
+    /**
+     * Record latency in nanos.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param nanos latency in nanos
+     */
+    public static void recordLatency(final String name, final String[] labelValues, final long nanos) {
+        metricsRegister.recordLatency(name, labelValues, nanos);
+    }
+    
     private static String[] getLabelNames(final List<String> labels) {
         return labels.toArray(new String[0]);
     }
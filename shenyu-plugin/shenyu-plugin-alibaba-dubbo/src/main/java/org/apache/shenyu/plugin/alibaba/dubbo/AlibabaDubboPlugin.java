@@ -115,6 +115,16 @@ public class AlibabaDubboPlugin extends AbstractSoulPlugin {
         return PluginEnum.DUBBO.getCode();
     }
 
+    /**
+     * the generic service is invoked with the synchronous {@code $invoke}.
+     *
+     * @return true
+     */
+    @Override
+    public boolean blocking() {
+        return true;
+    }
+
     @Override
     protected Mono<Void> handleSelectorIsNull(final String pluginName, final ServerWebExchange exchange, final SoulPluginChain chain) {
         return FallbackUtils.getNoSelectorResult(pluginName, exchange);
@@ -38,6 +38,7 @@ import org.apache.shenyu.common.utils.ReflectUtils;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -88,25 +89,28 @@ public class ApacheDubboProxyService {
         } else {
             pair = bodyParamResolveService.buildParameter(body, metaData.getParameterTypes());
         }
-        CompletableFuture<Object> future;
+        Mono<Object> result;
         if (isProviderSupportAsync(reference)) {
-            future = genericService.$invokeAsync(metaData.getMethodName(), pair.getLeft(), pair.getRight());
+            result = Mono.fromFuture(genericService.$invokeAsync(metaData.getMethodName(), pair.getLeft(), pair.getRight()));
         } else {
-            Object data = genericService.$invoke(metaData.getMethodName(), pair.getLeft(), pair.getRight());
-            if (data instanceof CompletableFuture) {
-                future = (CompletableFuture<Object>) data;
-            } else {
-                future = CompletableFuture.completedFuture(data);
-            }
+            // the synchronous invoke blocks until the provider answers, so it runs off the event loop.
+            result = Mono.fromCallable(() -> {
+                if (StringUtils.isNotBlank(dubboTagRouteFromHttpHeaders)) {
+                    RpcContext.getContext().setAttachment(CommonConstants.TAG_KEY, dubboTagRouteFromHttpHeaders);
+                }
+                return genericService.$invoke(metaData.getMethodName(), pair.getLeft(), pair.getRight());
+            }).subscribeOn(Schedulers.boundedElastic()).flatMap(data -> {
+                if (data instanceof CompletableFuture) {
+                    return Mono.fromFuture((CompletableFuture<Object>) data);
+                }
+                return Mono.just(data);
+            });
         }
-        return Mono.fromFuture(future.thenApply(ret -> {
-            if (Objects.isNull(ret)) {
-                ret = Constants.DUBBO_RPC_RESULT_EMPTY;
-            }
+        return result.defaultIfEmpty(Constants.DUBBO_RPC_RESULT_EMPTY).map(ret -> {
             exchange.getAttributes().put(Constants.DUBBO_RPC_RESULT, ret);
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
             return ret;
-        })).onErrorMap(exception -> exception instanceof GenericException ? new SoulException(((GenericException) exception).getExceptionMessage()) : new SoulException(exception));
+        }).onErrorMap(exception -> exception instanceof GenericException ? new SoulException(((GenericException) exception).getExceptionMessage()) : new SoulException(exception));
     }
 
     private boolean isProviderSupportAsync(final ReferenceConfig<GenericService> reference) {
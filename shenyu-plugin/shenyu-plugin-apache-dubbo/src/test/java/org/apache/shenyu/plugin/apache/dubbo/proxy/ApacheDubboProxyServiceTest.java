@@ -40,10 +40,13 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -104,7 +107,11 @@ public final class ApacheDubboProxyServiceTest {
         when(referenceConfig.getInterface()).thenReturn(PATH);
         CompletableFuture<Object> future = new CompletableFuture<>();
         when(genericService.$invokeAsync(METHOD_NAME, LEFT, RIGHT)).thenReturn(future);
-        when(genericService.$invoke(METHOD_NAME, LEFT, RIGHT)).thenReturn(new Object());
+        List<String> invokeThreads = new ArrayList<>();
+        when(genericService.$invoke(METHOD_NAME, LEFT, RIGHT)).thenAnswer(invocation -> {
+            invokeThreads.add(Thread.currentThread().getName());
+            return new Object();
+        });
         ApplicationConfigCache applicationConfigCache = ApplicationConfigCache.getInstance();
         Field field = ApplicationConfigCache.class.getDeclaredField("cache");
         field.setAccessible(true);
@@ -115,8 +122,11 @@ public final class ApacheDubboProxyServiceTest {
         verify(genericService, times(1)).$invokeAsync(METHOD_NAME, LEFT, RIGHT);
 
         when(url.getParameter(anyString())).thenReturn("2.7.2");
-        apacheDubboProxyService.genericInvoker("", metaData, exchange);
+        Mono<Object> result = apacheDubboProxyService.genericInvoker("", metaData, exchange);
+        verify(genericService, times(0)).$invoke(METHOD_NAME, LEFT, RIGHT);
+        Assert.assertNotNull(result.block());
         verify(genericService, times(1)).$invoke(METHOD_NAME, LEFT, RIGHT);
+        Assert.assertNotEquals(Thread.currentThread().getName(), invokeThreads.get(0));
         reflectUtilsMockedStatic.close();
     }
 
@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api;
+
+/**
+ * Records how long the plugins take to handle a request, a plugin implementing it is called by the plugin chain while it is enabled.
+ */
+public interface PluginExecutionRecorder {
+
+    /**
+     * Record the time a plugin took to handle a request, from the subscription to its result until it terminates,
+     * without the time of the plugins after it.
+     *
+     * @param pluginName the plugin name
+     * @param nanos      the time in nanos
+     */
+    void record(String pluginName, long nanos);
+}
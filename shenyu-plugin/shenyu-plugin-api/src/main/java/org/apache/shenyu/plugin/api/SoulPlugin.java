@@ -66,5 +66,14 @@ public interface SoulPlugin {
     default Boolean skip(ServerWebExchange exchange) {
         return false;
     }
-}
 
+    /**
+     * plugin blocks the calling thread.
+     * if return true the plugin is moved off the event loop when only blocking plugins are offloaded.
+     *
+     * @return default false.
+     */
+    default boolean blocking() {
+        return false;
+    }
+}
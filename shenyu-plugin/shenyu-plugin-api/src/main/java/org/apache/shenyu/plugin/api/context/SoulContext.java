@@ -91,4 +91,9 @@ public class SoulContext implements Serializable {
      * startDateTime.
      */
     private LocalDateTime startDateTime;
+
+    /**
+     * start nano time, for measuring the latency.
+     */
+    private long startNanoTime;
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.utils;
+
+import org.springframework.http.MediaType;
+
+/**
+ * The media types of the streaming json bodies.
+ */
+public final class MediaTypeUtils {
+
+    /**
+     * json lines, one message per line.
+     */
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    private MediaTypeUtils() {
+    }
+
+    /**
+     * Whether the media type is json lines, as application/x-ndjson or application/stream+json.
+     *
+     * @param mediaType the media type
+     * @return true if the body is one json message per line
+     */
+    public static boolean isJsonLines(final MediaType mediaType) {
+        return mediaType.isCompatibleWith(MediaType.APPLICATION_STREAM_JSON) || mediaType.isCompatibleWith(APPLICATION_NDJSON);
+    }
+}
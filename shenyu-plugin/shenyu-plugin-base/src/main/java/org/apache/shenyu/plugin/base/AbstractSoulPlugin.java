@@ -17,14 +17,14 @@
 
 package org.apache.shenyu.plugin.base;
 
-import java.util.Collection;
-import java.util.List;
 import java.util.Objects;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.BaseDataSnapshot;
+import org.apache.shenyu.plugin.base.condition.index.PathMatchIndex;
 import org.apache.shenyu.plugin.base.utils.MatchStrategyUtils;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.RuleData;
@@ -66,27 +66,28 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
         String pluginName = named();
-        final PluginData pluginData = BaseDataCache.getInstance().obtainPluginData(pluginName);
+        final BaseDataSnapshot snapshot = BaseDataCache.getInstance().obtainSnapshot();
+        final PluginData pluginData = snapshot.obtainPluginData(pluginName);
         if (pluginData != null && pluginData.getEnabled()) {
-            final Collection<SelectorData> selectors = BaseDataCache.getInstance().obtainSelectorData(pluginName);
-            if (CollectionUtils.isEmpty(selectors)) {
+            final PathMatchIndex<SelectorData> selectors = snapshot.obtainSelectorIndex(pluginName);
+            if (Objects.isNull(selectors) || CollectionUtils.isEmpty(selectors.getEntries())) {
                 return handleSelectorIsNull(pluginName, exchange, chain);
             }
-            final SelectorData selectorData = matchSelector(exchange, selectors);
+            final SelectorData selectorData = selectors.match(exchange.getRequest().getURI().getPath(), selector -> selector.getEnabled() && filterSelector(selector, exchange));
             if (Objects.isNull(selectorData)) {
                 return handleSelectorIsNull(pluginName, exchange, chain);
             }
             selectorLog(selectorData, pluginName);
-            final List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
-            if (CollectionUtils.isEmpty(rules)) {
+            final PathMatchIndex<RuleData> rules = snapshot.obtainRuleIndex(selectorData.getId());
+            if (Objects.isNull(rules) || CollectionUtils.isEmpty(rules.getEntries())) {
                 return handleRuleIsNull(pluginName, exchange, chain);
             }
             RuleData rule;
             if (selectorData.getType() == SelectorTypeEnum.FULL_FLOW.getCode()) {
                 //get last
-                rule = rules.get(rules.size() - 1);
+                rule = rules.getEntries().get(rules.getEntries().size() - 1);
             } else {
-                rule = matchRule(exchange, rules);
+                rule = rules.match(exchange.getRequest().getURI().getPath(), ruleData -> filterRule(ruleData, exchange));
             }
             if (Objects.isNull(rule)) {
                 return handleRuleIsNull(pluginName, exchange, chain);
@@ -105,12 +106,6 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
         return chain.execute(exchange);
     }
 
-    private SelectorData matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        return selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
-                .findFirst().orElse(null);
-    }
-
     private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
         if (selector.getType() == SelectorTypeEnum.CUSTOM_FLOW.getCode()) {
             if (CollectionUtils.isEmpty(selector.getConditionList())) {
@@ -121,12 +116,6 @@ public abstract class AbstractSoulPlugin implements SoulPlugin {
         return true;
     }
 
-    private RuleData matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        return rules.stream()
-                .filter(rule -> filterRule(rule, exchange))
-                .findFirst().orElse(null);
-    }
-
     private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
         return ruleData.getEnabled() && MatchStrategyUtils.match(ruleData.getMatchMode(), ruleData.getConditionDataList(), exchange);
     }
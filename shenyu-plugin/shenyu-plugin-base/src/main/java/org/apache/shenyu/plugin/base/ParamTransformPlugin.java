@@ -24,6 +24,7 @@ import org.apache.shenyu.common.utils.HttpParamConverter;
 import org.apache.shenyu.plugin.api.SoulPlugin;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
+import org.apache.shenyu.plugin.api.utils.MediaTypeUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -58,6 +59,10 @@ public class ParamTransformPlugin implements SoulPlugin {
         final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
         if (Objects.nonNull(soulContext)) {
             MediaType mediaType = request.getHeaders().getContentType();
+            if (isGrpcStream(soulContext, mediaType)) {
+                // the grpc plugin reads the request messages from the body as they arrive
+                return chain.execute(exchange);
+            }
             ServerRequest serverRequest = ServerRequest.create(exchange, messageReaders);
             if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
                 return body(exchange, serverRequest, chain);
@@ -80,6 +85,11 @@ public class ParamTransformPlugin implements SoulPlugin {
         return PluginEnum.PARAM_TRANSFORM.getName();
     }
 
+    private boolean isGrpcStream(final SoulContext soulContext, final MediaType mediaType) {
+        return Objects.equals(soulContext.getRpcType(), RpcTypeEnum.GRPC.getName()) && Objects.nonNull(mediaType)
+                && MediaTypeUtils.isJsonLines(mediaType);
+    }
+
     private Mono<Void> body(final ServerWebExchange exchange, final ServerRequest serverRequest, final SoulPluginChain chain) {
         return serverRequest.bodyToMono(String.class)
                 .switchIfEmpty(Mono.defer(() -> Mono.just("")))
@@ -17,39 +17,35 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.index.PathMatchIndex;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * The type Base data cache.
+ *
+ * <p>Readers get the current {@link BaseDataSnapshot} through a volatile read, writers build the next snapshot
+ * off the hot path and publish it with a single swap. Changes made inside {@link #batch(Runnable)} are published together.
  */
 public final class BaseDataCache {
     
     private static final BaseDataCache INSTANCE = new BaseDataCache();
     
-    /**
-     * pluginName -> PluginData.
-     */
-    private static final ConcurrentMap<String, PluginData> PLUGIN_MAP = Maps.newConcurrentMap();
+    private final ReentrantLock writeLock = new ReentrantLock();
     
-    /**
-     * pluginName -> SelectorData.
-     */
-    private static final ConcurrentMap<String, List<SelectorData>> SELECTOR_MAP = Maps.newConcurrentMap();
+    private volatile BaseDataSnapshot snapshot = BaseDataSnapshot.EMPTY;
     
     /**
-     * selectorId -> RuleData.
+     * The pending batch, guarded by the write lock.
      */
-    private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
+    private BaseDataSnapshot.Builder pending;
     
     private BaseDataCache() {
     }
@@ -62,6 +58,40 @@ public final class BaseDataCache {
     public static BaseDataCache getInstance() {
         return INSTANCE;
     }
+    
+    /**
+     * Obtain the current snapshot, a request should read all its data from the same snapshot.
+     *
+     * @return the snapshot
+     */
+    public BaseDataSnapshot obtainSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Run the changes as one batch, the snapshot is rebuilt and published once when they are done.
+     * If the changes throw, none of them is published.
+     *
+     * @param changes the changes
+     */
+    public void batch(final Runnable changes) {
+        writeLock.lock();
+        try {
+            if (Objects.nonNull(pending)) {
+                changes.run();
+                return;
+            }
+            pending = snapshot.toBuilder();
+            try {
+                changes.run();
+                snapshot = pending.build();
+            } finally {
+                pending = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
 
     /**
      * Cache plugin data.
@@ -69,7 +99,7 @@ public final class BaseDataCache {
      * @param pluginData the plugin data
      */
     public void cachePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.put(data.getName(), data));
+        Optional.ofNullable(pluginData).ifPresent(data -> update(builder -> builder.putPlugin(data)));
     }
     
     /**
@@ -78,14 +108,14 @@ public final class BaseDataCache {
      * @param pluginData the plugin data
      */
     public void removePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.remove(data.getName()));
+        Optional.ofNullable(pluginData).ifPresent(data -> update(builder -> builder.removePlugin(data)));
     }
     
     /**
      * Clean plugin data.
      */
     public void cleanPluginData() {
-        PLUGIN_MAP.clear();
+        update(BaseDataSnapshot.Builder::clearPlugins);
     }
     
     /**
@@ -94,7 +124,7 @@ public final class BaseDataCache {
      * @param pluginDataList the plugin data list
      */
     public void cleanPluginDataSelf(final List<PluginData> pluginDataList) {
-        pluginDataList.forEach(this::removePluginData);
+        batch(() -> pluginDataList.forEach(this::removePluginData));
     }
     
     /**
@@ -104,7 +134,7 @@ public final class BaseDataCache {
      * @return the plugin data
      */
     public PluginData obtainPluginData(final String pluginName) {
-        return PLUGIN_MAP.get(pluginName);
+        return snapshot.obtainPluginData(pluginName);
     }
     
     /**
@@ -113,7 +143,7 @@ public final class BaseDataCache {
      * @param selectorData the selector data
      */
     public void cacheSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(this::selectorAccept);
+        Optional.ofNullable(selectorData).ifPresent(data -> update(builder -> builder.putSelector(data)));
     }
     
     /**
@@ -122,17 +152,14 @@ public final class BaseDataCache {
      * @param selectorData the selector data
      */
     public void removeSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
-            Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
-        });
+        Optional.ofNullable(selectorData).ifPresent(data -> update(builder -> builder.removeSelector(data)));
     }
     
     /**
      * Clean selector data.
      */
     public void cleanSelectorData() {
-        SELECTOR_MAP.clear();
+        update(BaseDataSnapshot.Builder::clearSelectors);
     }
     
     /**
@@ -141,7 +168,7 @@ public final class BaseDataCache {
      * @param selectorDataList the selector data list
      */
     public void cleanSelectorDataSelf(final List<SelectorData> selectorDataList) {
-        selectorDataList.forEach(this::removeSelectData);
+        batch(() -> selectorDataList.forEach(this::removeSelectData));
     }
     
     /**
@@ -151,7 +178,7 @@ public final class BaseDataCache {
      * @return the list
      */
     public List<SelectorData> obtainSelectorData(final String pluginName) {
-        return SELECTOR_MAP.get(pluginName);
+        return snapshot.obtainSelectorData(pluginName);
     }
     
     /**
@@ -160,7 +187,7 @@ public final class BaseDataCache {
      * @param ruleData the rule data
      */
     public void cacheRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(this::ruleAccept);
+        Optional.ofNullable(ruleData).ifPresent(data -> update(builder -> builder.putRule(data)));
     }
     
     /**
@@ -169,17 +196,14 @@ public final class BaseDataCache {
      * @param ruleData the rule data
      */
     public void removeRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
-            Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
-        });
+        Optional.ofNullable(ruleData).ifPresent(data -> update(builder -> builder.removeRule(data)));
     }
     
     /**
      * Clean rule data.
      */
     public void cleanRuleData() {
-        RULE_MAP.clear();
+        update(BaseDataSnapshot.Builder::clearRules);
     }
     
     /**
@@ -188,7 +212,7 @@ public final class BaseDataCache {
      * @param ruleDataList the rule data list
      */
     public void cleanRuleDataSelf(final List<RuleData> ruleDataList) {
-        ruleDataList.forEach(this::removeRuleData);
+        batch(() -> ruleDataList.forEach(this::removeRuleData));
     }
     
     /**
@@ -198,42 +222,41 @@ public final class BaseDataCache {
      * @return the list
      */
     public List<RuleData> obtainRuleData(final String selectorId) {
-        return RULE_MAP.get(selectorId);
+        return snapshot.obtainRuleData(selectorId);
     }
     
     /**
-     *  cache rule data.
+     * Obtain the selector match index of a plugin.
      *
-     * @param data the rule data
+     * @param pluginName the plugin name
+     * @return the selector match index
      */
-    private void ruleAccept(final RuleData data) {
-        String selectorId = data.getSelectorId();
-        if (RULE_MAP.containsKey(selectorId)) {
-            List<RuleData> existList = RULE_MAP.get(selectorId);
-            final List<RuleData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-            resultList.add(data);
-            final List<RuleData> collect = resultList.stream().sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-            RULE_MAP.put(selectorId, collect);
-        } else {
-            RULE_MAP.put(selectorId, Lists.newArrayList(data));
-        }
+    public PathMatchIndex<SelectorData> obtainSelectorIndex(final String pluginName) {
+        return snapshot.obtainSelectorIndex(pluginName);
     }
     
     /**
-     * cache selector data.
+     * Obtain the rule match index of a selector.
      *
-     * @param data the selector data
+     * @param selectorId the selector id
+     * @return the rule match index
      */
-    private void selectorAccept(final SelectorData data) {
-        String key = data.getPluginName();
-        if (SELECTOR_MAP.containsKey(key)) {
-            List<SelectorData> existList = SELECTOR_MAP.get(key);
-            final List<SelectorData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-            resultList.add(data);
-            final List<SelectorData> collect = resultList.stream().sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-            SELECTOR_MAP.put(key, collect);
-        } else {
-            SELECTOR_MAP.put(key, Lists.newArrayList(data));
+    public PathMatchIndex<RuleData> obtainRuleIndex(final String selectorId) {
+        return snapshot.obtainRuleIndex(selectorId);
+    }
+    
+    private void update(final Consumer<BaseDataSnapshot.Builder> change) {
+        writeLock.lock();
+        try {
+            if (Objects.nonNull(pending)) {
+                change.accept(pending);
+                return;
+            }
+            BaseDataSnapshot.Builder builder = snapshot.toBuilder();
+            change.accept(builder);
+            snapshot = builder.build();
+        } finally {
+            writeLock.unlock();
         }
     }
 }
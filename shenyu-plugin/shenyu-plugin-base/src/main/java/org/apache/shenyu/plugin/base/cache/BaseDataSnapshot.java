@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.index.PathMatchIndex;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned view of the plugins, selectors and rules of the gateway.
+ *
+ * <p>A snapshot is never changed once published, request threads read it without locking.
+ * Changes go through a {@link Builder} that only re-sorts, re-indexes and compiles the conditions of the touched selector and rule lists.
+ */
+public final class BaseDataSnapshot {
+
+    /**
+     * The empty snapshot.
+     */
+    public static final BaseDataSnapshot EMPTY = new BaseDataSnapshot(0L, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final long version;
+
+    /**
+     * pluginName -> PluginData.
+     */
+    private final Map<String, PluginData> pluginMap;
+
+    /**
+     * pluginName -> sorted SelectorData.
+     */
+    private final Map<String, PathMatchIndex<SelectorData>> selectorMap;
+
+    /**
+     * selectorId -> sorted RuleData.
+     */
+    private final Map<String, PathMatchIndex<RuleData>> ruleMap;
+
+    private BaseDataSnapshot(final long version, final Map<String, PluginData> pluginMap,
+                             final Map<String, PathMatchIndex<SelectorData>> selectorMap, final Map<String, PathMatchIndex<RuleData>> ruleMap) {
+        this.version = version;
+        this.pluginMap = pluginMap;
+        this.selectorMap = selectorMap;
+        this.ruleMap = ruleMap;
+    }
+
+    /**
+     * Gets the version, increased by one on every publish.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtain plugin data.
+     *
+     * @param pluginName the plugin name
+     * @return the plugin data
+     */
+    public PluginData obtainPluginData(final String pluginName) {
+        return pluginMap.get(pluginName);
+    }
+
+    /**
+     * Obtain the sorted selector data of a plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the selector data list
+     */
+    public List<SelectorData> obtainSelectorData(final String pluginName) {
+        PathMatchIndex<SelectorData> index = selectorMap.get(pluginName);
+        return Objects.isNull(index) ? null : index.getEntries();
+    }
+
+    /**
+     * Obtain the selector match index of a plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the selector match index
+     */
+    public PathMatchIndex<SelectorData> obtainSelectorIndex(final String pluginName) {
+        return selectorMap.get(pluginName);
+    }
+
+    /**
+     * Obtain the sorted rule data of a selector.
+     *
+     * @param selectorId the selector id
+     * @return the rule data list
+     */
+    public List<RuleData> obtainRuleData(final String selectorId) {
+        PathMatchIndex<RuleData> index = ruleMap.get(selectorId);
+        return Objects.isNull(index) ? null : index.getEntries();
+    }
+
+    /**
+     * Obtain the rule match index of a selector.
+     *
+     * @param selectorId the selector id
+     * @return the rule match index
+     */
+    public PathMatchIndex<RuleData> obtainRuleIndex(final String selectorId) {
+        return ruleMap.get(selectorId);
+    }
+
+    /**
+     * Start a builder from this snapshot.
+     *
+     * @return the builder
+     */
+    Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Collects changes against a base snapshot, then builds the next one.
+     */
+    static final class Builder {
+
+        private final long version;
+
+        private final Map<String, PluginData> pluginMap;
+
+        private final Map<String, PathMatchIndex<SelectorData>> selectorMap;
+
+        private final Map<String, PathMatchIndex<RuleData>> ruleMap;
+
+        private final Map<String, Map<String, SelectorData>> changedSelectorMap = new HashMap<>();
+
+        private final Map<String, Map<String, RuleData>> changedRuleMap = new HashMap<>();
+
+        private Builder(final BaseDataSnapshot base) {
+            this.version = base.version;
+            this.pluginMap = new HashMap<>(base.pluginMap);
+            this.selectorMap = new HashMap<>(base.selectorMap);
+            this.ruleMap = new HashMap<>(base.ruleMap);
+        }
+
+        void putPlugin(final PluginData data) {
+            pluginMap.put(data.getName(), data);
+        }
+
+        void removePlugin(final PluginData data) {
+            pluginMap.remove(data.getName());
+        }
+
+        void clearPlugins() {
+            pluginMap.clear();
+        }
+
+        void putSelector(final SelectorData data) {
+            Map<String, SelectorData> changed = edit(changedSelectorMap, selectorMap, data.getPluginName(), SelectorData::getId);
+            changed.remove(data.getId());
+            changed.put(data.getId(), data);
+        }
+
+        void removeSelector(final SelectorData data) {
+            if (selectorMap.containsKey(data.getPluginName()) || changedSelectorMap.containsKey(data.getPluginName())) {
+                edit(changedSelectorMap, selectorMap, data.getPluginName(), SelectorData::getId).remove(data.getId());
+            }
+        }
+
+        void clearSelectors() {
+            selectorMap.clear();
+            changedSelectorMap.clear();
+        }
+
+        void putRule(final RuleData data) {
+            Map<String, RuleData> changed = edit(changedRuleMap, ruleMap, data.getSelectorId(), RuleData::getId);
+            changed.remove(data.getId());
+            changed.put(data.getId(), data);
+        }
+
+        void removeRule(final RuleData data) {
+            if (ruleMap.containsKey(data.getSelectorId()) || changedRuleMap.containsKey(data.getSelectorId())) {
+                edit(changedRuleMap, ruleMap, data.getSelectorId(), RuleData::getId).remove(data.getId());
+            }
+        }
+
+        void clearRules() {
+            ruleMap.clear();
+            changedRuleMap.clear();
+        }
+
+        BaseDataSnapshot build() {
+            changedSelectorMap.forEach((pluginName, changed) -> {
+                List<SelectorData> sorted = new ArrayList<>(changed.values());
+                sorted.sort(Comparator.comparing(SelectorData::getSort));
+                sorted.forEach(selector -> compile(selector.getConditionList()));
+                selectorMap.put(pluginName, PathMatchIndex.build(sorted, SelectorData::getMatchMode,
+                    selector -> Objects.equals(selector.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode()) ? selector.getConditionList() : null));
+            });
+            changedRuleMap.forEach((selectorId, changed) -> {
+                List<RuleData> sorted = new ArrayList<>(changed.values());
+                sorted.sort(Comparator.comparing(RuleData::getSort));
+                sorted.forEach(rule -> compile(rule.getConditionDataList()));
+                ruleMap.put(selectorId, PathMatchIndex.build(sorted, RuleData::getMatchMode, RuleData::getConditionDataList));
+            });
+            return new BaseDataSnapshot(version + 1, Collections.unmodifiableMap(pluginMap),
+                    Collections.unmodifiableMap(selectorMap), Collections.unmodifiableMap(ruleMap));
+        }
+
+        private static void compile(final List<ConditionData> conditionDataList) {
+            if (Objects.nonNull(conditionDataList)) {
+                conditionDataList.stream().filter(Objects::nonNull).forEach(PredicateJudgeFactory::compile);
+            }
+        }
+
+        private static <T> Map<String, T> edit(final Map<String, Map<String, T>> changedMap, final Map<String, PathMatchIndex<T>> indexMap,
+                                               final String key, final Function<T, String> id) {
+            return changedMap.computeIfAbsent(key, k -> {
+                Map<String, T> changed = new LinkedHashMap<>();
+                PathMatchIndex<T> index = indexMap.get(k);
+                if (Objects.nonNull(index)) {
+                    index.getEntries().forEach(data -> changed.put(id.apply(data), data));
+                }
+                return changed;
+            });
+        }
+    }
+}
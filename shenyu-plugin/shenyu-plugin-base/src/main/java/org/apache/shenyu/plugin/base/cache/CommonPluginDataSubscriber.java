@@ -116,6 +116,11 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
     }
     
+    @Override
+    public void batch(final Runnable changes) {
+        BaseDataCache.getInstance().batch(changes);
+    }
+    
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
         Optional.ofNullable(classData).ifPresent(data -> {
             if (data instanceof PluginData) {
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.collect.MapMaker;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.GsonUtils;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Compiles the json handle of a rule or a selector, or the rpc ext of a metadata, into its typed form once.
+ *
+ * <p>The compiled handle is kept with the very data object cached by the gateway: keys are weak and compared by identity,
+ * like the compiled conditions of {@link org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory},
+ * so it goes away with the data when a sync replaces it. It is compiled again if the handle was changed in place.
+ * A {@link org.apache.shenyu.plugin.base.handler.PluginDataHandler} obtains it when the data is synced, a request only looks it up.
+ *
+ * @param <D> the data type
+ * @param <T> the compiled handle type
+ */
+public final class HandleCompiler<D, T> {
+
+    private static final LongAdder COMPILES = new LongAdder();
+
+    /**
+     * data -> compiled handle.
+     */
+    private final ConcurrentMap<D, Compiled<T>> compiledMap = new MapMaker().weakKeys().makeMap();
+
+    private final Function<D, String> source;
+
+    private final Function<D, T> compiler;
+
+    private HandleCompiler(final Function<D, String> source, final Function<D, T> compiler) {
+        this.source = source;
+        this.compiler = compiler;
+    }
+
+    /**
+     * A compiler of the handle of rules.
+     *
+     * @param type the handle type
+     * @param <T>  the handle type
+     * @return the handle compiler
+     */
+    public static <T> HandleCompiler<RuleData, T> rule(final Class<T> type) {
+        return rule(ruleData -> GsonUtils.getInstance().fromJson(ruleData.getHandle(), type));
+    }
+
+    /**
+     * A compiler of rules into anything built from their handle.
+     *
+     * @param compiler the compiler, called once per rule and handle
+     * @param <T>      the compiled type
+     * @return the handle compiler
+     */
+    public static <T> HandleCompiler<RuleData, T> rule(final Function<RuleData, T> compiler) {
+        return new HandleCompiler<>(RuleData::getHandle, compiler);
+    }
+
+    /**
+     * A compiler of the handle of selectors.
+     *
+     * @param type the handle type
+     * @param <T>  the handle type
+     * @return the handle compiler
+     */
+    public static <T> HandleCompiler<SelectorData, T> selector(final Class<T> type) {
+        return new HandleCompiler<>(SelectorData::getHandle, selectorData -> GsonUtils.getInstance().fromJson(selectorData.getHandle(), type));
+    }
+
+    /**
+     * A compiler of the rpc ext of metadata.
+     *
+     * @param type the rpc ext type
+     * @param <T>  the rpc ext type
+     * @return the handle compiler
+     */
+    public static <T> HandleCompiler<MetaData, T> metaData(final Class<T> type) {
+        return new HandleCompiler<>(MetaData::getRpcExt, metaData -> GsonUtils.getInstance().fromJson(metaData.getRpcExt(), type));
+    }
+
+    /**
+     * Obtain the compiled handle of the data, compiling it if it is new or its handle changed.
+     *
+     * @param data the data
+     * @return the compiled handle, null if the data or its handle is null
+     */
+    public T obtain(final D data) {
+        if (Objects.isNull(data)) {
+            return null;
+        }
+        String handle = source.apply(data);
+        Compiled<T> compiled = compiledMap.get(data);
+        if (Objects.isNull(compiled) || !Objects.equals(compiled.handle, handle)) {
+            COMPILES.increment();
+            compiled = new Compiled<>(handle, compiler.apply(data));
+            compiledMap.put(data, compiled);
+        }
+        return compiled.value;
+    }
+
+    /**
+     * Get the number of handles compiled by all compilers.
+     *
+     * @return the compiles
+     */
+    public static long getCompiles() {
+        return COMPILES.sum();
+    }
+
+    private static final class Compiled<T> {
+
+        private final String handle;
+
+        private final T value;
+
+        Compiled(final String handle, final T value) {
+            this.handle = handle;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.plugin.api.context.SoulContext;
+import org.apache.shenyu.plugin.base.utils.HostAddressUtils;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Request parameters extracted for condition matching, filled lazily and shared by every plugin handling the exchange.
+ *
+ * <p>The cache lives in the exchange attributes and is bound to the request it was read from,
+ * a plugin that mutates the request gets a fresh one. Post params are read from the live {@link SoulContext} every time.
+ */
+public final class RequestParameterCache {
+
+    private static final Map<String, ParamTypeEnum> PARAM_TYPE_MAP = Arrays.stream(ParamTypeEnum.values())
+            .filter(ParamTypeEnum::getSupport).collect(Collectors.toMap(ParamTypeEnum::getName, Function.identity()));
+
+    private static final String NO_NAME = "";
+
+    private final ServerHttpRequest request;
+
+    private final Map<ParamTypeEnum, Map<String, String>> values = new EnumMap<>(ParamTypeEnum.class);
+
+    private RequestParameterCache(final ServerHttpRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Get the parameter cache of the exchange, creating it on first use.
+     *
+     * @param exchange the exchange
+     * @return the parameter cache
+     */
+    public static RequestParameterCache of(final ServerWebExchange exchange) {
+        RequestParameterCache cache = exchange.getAttribute(Constants.PARAMETER_CACHE);
+        if (Objects.isNull(cache) || cache.request != exchange.getRequest()) {
+            cache = new RequestParameterCache(exchange.getRequest());
+            exchange.getAttributes().put(Constants.PARAMETER_CACHE, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Get the param type by name.
+     *
+     * @param paramType the param type name
+     * @return the param type, null if not supported
+     */
+    public static ParamTypeEnum paramType(final String paramType) {
+        return Objects.isNull(paramType) ? null : PARAM_TYPE_MAP.get(paramType);
+    }
+
+    /**
+     * Get the value of a request parameter.
+     *
+     * @param paramType the param type
+     * @param paramName the param name
+     * @param exchange  the exchange
+     * @return the value
+     */
+    public String obtain(final ParamTypeEnum paramType, final String paramName, final ServerWebExchange exchange) {
+        if (paramType == ParamTypeEnum.POST) {
+            SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
+            return SoulContextAccessors.getValue(soulContext, paramName);
+        }
+        String name = isNamed(paramType) ? paramName : NO_NAME;
+        Map<String, String> typeValues = values.computeIfAbsent(paramType, type -> new HashMap<>(4));
+        String value = typeValues.get(name);
+        if (Objects.isNull(value) && !typeValues.containsKey(name)) {
+            value = extract(paramType, name, exchange);
+            typeValues.put(name, value);
+        }
+        return value;
+    }
+
+    private static boolean isNamed(final ParamTypeEnum paramType) {
+        return paramType == ParamTypeEnum.HEADER || paramType == ParamTypeEnum.QUERY || paramType == ParamTypeEnum.COOKIE;
+    }
+
+    private String extract(final ParamTypeEnum paramType, final String paramName, final ServerWebExchange exchange) {
+        switch (paramType) {
+            case HEADER:
+                List<String> headers = request.getHeaders().get(paramName);
+                if (CollectionUtils.isEmpty(headers)) {
+                    return "";
+                }
+                return headers.get(0);
+            case URI:
+                return request.getURI().getPath();
+            case QUERY:
+                return request.getQueryParams().getFirst(paramName);
+            case HOST:
+                return HostAddressUtils.acquireHost(exchange);
+            case IP:
+                return HostAddressUtils.acquireIp(exchange);
+            case REQUEST_METHOD:
+                return request.getMethodValue();
+            case COOKIE:
+                List<HttpCookie> cookies = request.getCookies().get(paramName);
+                if (CollectionUtils.isEmpty(cookies)) {
+                    return "";
+                }
+                return cookies.get(0).getValue();
+            default:
+                return "";
+        }
+    }
+}
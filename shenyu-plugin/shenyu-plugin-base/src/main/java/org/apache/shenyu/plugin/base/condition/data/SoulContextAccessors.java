@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.shenyu.plugin.api.context.SoulContext;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Getters of {@link SoulContext} by field name, used by the post param type instead of reflection.
+ */
+public final class SoulContextAccessors {
+
+    private static final Map<String, Function<SoulContext, Object>> ACCESSORS = ImmutableMap.<String, Function<SoulContext, Object>>builder()
+            .put("module", SoulContext::getModule)
+            .put("method", SoulContext::getMethod)
+            .put("rpcType", SoulContext::getRpcType)
+            .put("httpMethod", SoulContext::getHttpMethod)
+            .put("sign", SoulContext::getSign)
+            .put("timestamp", SoulContext::getTimestamp)
+            .put("appKey", SoulContext::getAppKey)
+            .put("path", SoulContext::getPath)
+            .put("contextPath", SoulContext::getContextPath)
+            .put("realUrl", SoulContext::getRealUrl)
+            .put("dubboParams", SoulContext::getDubboParams)
+            .put("startDateTime", SoulContext::getStartDateTime)
+            .put("startNanoTime", SoulContext::getStartNanoTime)
+            .build();
+
+    private SoulContextAccessors() {
+    }
+
+    /**
+     * Get the value of a field of the soul context.
+     *
+     * @param soulContext the soul context
+     * @param fieldName   the field name
+     * @return the value as string, null if the context is null or has no such field
+     */
+    public static String getValue(final SoulContext soulContext, final String fieldName) {
+        if (Objects.isNull(soulContext) || Objects.isNull(fieldName)) {
+            return null;
+        }
+        Function<SoulContext, Object> accessor = ACCESSORS.get(fieldName);
+        return Objects.isNull(accessor) ? null : Objects.toString(accessor.apply(soulContext), null);
+    }
+}
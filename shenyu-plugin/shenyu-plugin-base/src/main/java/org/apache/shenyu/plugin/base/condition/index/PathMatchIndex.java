@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.index;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Uri path trie over selectors or rules, used to narrow down the candidates of a request before their conditions are evaluated.
+ *
+ * <p>An entry whose conditions pin the request uri to an exact path ({@code =}) or to an ant pattern ({@code match})
+ * hangs on the trie node of the literal prefix of that path, every other entry goes to a fallback list.
+ * A lookup only evaluates the entries met while walking the request path, lowest position first,
+ * so it returns the same entry as a linear scan of the sorted list.
+ *
+ * @param <T> the type of indexed data
+ */
+public final class PathMatchIndex<T> {
+
+    private static final String SEPARATOR = "/";
+
+    private static final String COMMA = ",";
+
+    private static final int[] EMPTY = new int[0];
+
+    private final List<T> entries;
+
+    private final Node root;
+
+    private final int[] fallback;
+
+    private PathMatchIndex(final List<T> entries, final Node root, final int[] fallback) {
+        this.entries = entries;
+        this.root = root;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Build the index over a sorted list.
+     *
+     * @param sortedList the data, in match order
+     * @param matchMode  the match mode of an entry
+     * @param conditions the conditions of an entry, or null when the entry matches without conditions
+     * @param <T>        the type of indexed data
+     * @return the index
+     */
+    public static <T> PathMatchIndex<T> build(final List<T> sortedList, final Function<T, Integer> matchMode, final Function<T, List<ConditionData>> conditions) {
+        List<T> entries = Objects.isNull(sortedList) ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(sortedList));
+        Builder builder = new Builder();
+        for (int position = 0; position < entries.size(); position++) {
+            T entry = entries.get(position);
+            List<UriPattern> patterns = uriPatterns(matchMode.apply(entry), conditions.apply(entry));
+            if (Objects.isNull(patterns)) {
+                builder.fallback.add(position);
+                continue;
+            }
+            for (UriPattern pattern : patterns) {
+                builder.add(pattern, position);
+            }
+        }
+        return new PathMatchIndex<>(entries, builder.root.freeze(), toArray(builder.fallback));
+    }
+
+    /**
+     * Find the first entry, in list order, that may match the path and is accepted by the filter.
+     *
+     * @param path   the request uri path
+     * @param filter the full condition evaluation of an entry
+     * @return the matched entry, or null
+     */
+    public T match(final String path, final Predicate<T> filter) {
+        int best = scan(fallback, entries.size(), filter);
+        Node node = root;
+        best = scan(node.prefix, best, filter);
+        String uri = Objects.isNull(path) ? "" : path;
+        int start = 0;
+        int length = uri.length();
+        while (start < length && Objects.nonNull(node)) {
+            int end = uri.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.child(uri.substring(start, end));
+                if (Objects.nonNull(node)) {
+                    best = scan(node.prefix, best, filter);
+                }
+            }
+            start = end + 1;
+        }
+        if (Objects.nonNull(node)) {
+            best = scan(node.exact, best, filter);
+        }
+        return best < entries.size() ? entries.get(best) : null;
+    }
+
+    /**
+     * The indexed entries, in list order.
+     *
+     * @return the entries
+     */
+    public List<T> getEntries() {
+        return entries;
+    }
+
+    private int scan(final int[] positions, final int bound, final Predicate<T> filter) {
+        for (int position : positions) {
+            if (position >= bound) {
+                return bound;
+            }
+            if (filter.test(entries.get(position))) {
+                return position;
+            }
+        }
+        return bound;
+    }
+
+    private static List<UriPattern> uriPatterns(final Integer matchMode, final List<ConditionData> conditions) {
+        if (Objects.isNull(matchMode) || CollectionUtils.isEmpty(conditions)) {
+            return null;
+        }
+        if (matchMode == MatchModeEnum.AND.getCode()) {
+            return conditions.stream().map(PathMatchIndex::uriPatterns).filter(Objects::nonNull).findFirst().orElse(null);
+        }
+        List<UriPattern> patterns = new ArrayList<>();
+        for (ConditionData condition : conditions) {
+            List<UriPattern> each = uriPatterns(condition);
+            if (Objects.isNull(each)) {
+                return null;
+            }
+            patterns.addAll(each);
+        }
+        return patterns;
+    }
+
+    private static List<UriPattern> uriPatterns(final ConditionData condition) {
+        if (Objects.isNull(condition) || StringUtils.isBlank(condition.getParamValue())
+                || !Objects.equals(ParamTypeEnum.URI.getName(), condition.getParamType())) {
+            return null;
+        }
+        if (Objects.equals(OperatorEnum.EQ.getAlias(), condition.getOperator())) {
+            return Collections.singletonList(new UriPattern(condition.getParamValue().trim(), false));
+        }
+        if (Objects.equals(OperatorEnum.MATCH.getAlias(), condition.getOperator())) {
+            List<UriPattern> patterns = new ArrayList<>();
+            for (String each : StringUtils.split(condition.getParamValue(), COMMA)) {
+                if (StringUtils.isNotBlank(each)) {
+                    patterns.add(new UriPattern(each.trim(), true));
+                }
+            }
+            return patterns.isEmpty() ? null : patterns;
+        }
+        return null;
+    }
+
+    private static int[] toArray(final List<Integer> positions) {
+        if (positions.isEmpty()) {
+            return EMPTY;
+        }
+        return positions.stream().distinct().sorted().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static final class UriPattern {
+
+        private final String path;
+
+        private final boolean ant;
+
+        UriPattern(final String path, final boolean ant) {
+            this.path = path;
+            this.ant = ant;
+        }
+    }
+
+    private static final class Builder {
+
+        private final BuildNode root = new BuildNode();
+
+        private final List<Integer> fallback = new ArrayList<>();
+
+        void add(final UriPattern pattern, final int position) {
+            BuildNode node = root;
+            for (String segment : StringUtils.split(pattern.path, SEPARATOR)) {
+                if (pattern.ant && StringUtils.containsAny(segment, '*', '?', '{')) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, key -> new BuildNode());
+            }
+            if (pattern.ant) {
+                node.prefix.add(position);
+            } else {
+                node.exact.add(position);
+            }
+        }
+    }
+
+    private static final class BuildNode {
+
+        private final Map<String, BuildNode> children = new HashMap<>();
+
+        private final List<Integer> prefix = new ArrayList<>();
+
+        private final List<Integer> exact = new ArrayList<>();
+
+        Node freeze() {
+            Map<String, Node> frozen = new HashMap<>(children.size() * 2);
+            children.forEach((segment, child) -> frozen.put(segment, child.freeze()));
+            return new Node(frozen, toArray(prefix), toArray(exact));
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children;
+
+        private final int[] prefix;
+
+        private final int[] exact;
+
+        Node(final Map<String, Node> children, final int[] prefix, final int[] exact) {
+            this.children = children;
+            this.prefix = prefix;
+            this.exact = exact;
+        }
+
+        Node child(final String segment) {
+            return children.isEmpty() ? null : children.get(segment);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.judge;
+
+import org.apache.shenyu.common.dto.ConditionData;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * The compiled form of a {@link ConditionData}, built once by {@link PredicateJudgeFactory}.
+ */
+public final class CompiledCondition {
+
+    private final String operator;
+
+    private final String paramType;
+
+    private final String paramName;
+
+    private final String paramValue;
+
+    private final Predicate<String> predicate;
+
+    private final boolean compiled;
+
+    private final LongAdder hits = new LongAdder();
+
+    CompiledCondition(final ConditionData conditionData, final Predicate<String> predicate, final boolean compiled) {
+        this.operator = conditionData.getOperator();
+        this.paramType = conditionData.getParamType();
+        this.paramName = conditionData.getParamName();
+        this.paramValue = conditionData.getParamValue();
+        this.predicate = predicate;
+        this.compiled = compiled;
+    }
+
+    /**
+     * judge realData against the compiled condition.
+     *
+     * @param realData realData
+     * @return true is pass  false is not pass.
+     */
+    public boolean test(final String realData) {
+        hits.increment();
+        return predicate.test(realData);
+    }
+
+    /**
+     * Whether this was compiled from the current content of the condition.
+     *
+     * @param conditionData the condition data
+     * @return true if the condition did not change since it was compiled
+     */
+    boolean isCompiledFrom(final ConditionData conditionData) {
+        return Objects.equals(paramValue, conditionData.getParamValue()) && Objects.equals(operator, conditionData.getOperator())
+                && Objects.equals(paramName, conditionData.getParamName()) && Objects.equals(paramType, conditionData.getParamType());
+    }
+
+    /**
+     * Gets the operator.
+     *
+     * @return the operator
+     */
+    public String getOperator() {
+        return operator;
+    }
+
+    /**
+     * Gets the param value.
+     *
+     * @return the param value
+     */
+    public String getParamValue() {
+        return paramValue;
+    }
+
+    /**
+     * Whether compiling succeeded, otherwise every call falls back to {@link PredicateJudge#judge}.
+     *
+     * @return true if compiled
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Gets the number of judged requests.
+     *
+     * @return the hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+}
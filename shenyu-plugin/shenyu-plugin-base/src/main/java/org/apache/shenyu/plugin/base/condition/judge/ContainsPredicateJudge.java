@@ -19,6 +19,8 @@ package org.apache.shenyu.plugin.base.condition.judge;
 
 import org.apache.shenyu.common.dto.ConditionData;
 
+import java.util.function.Predicate;
+
 /**
  * Contains predicate judge.
  *
@@ -30,4 +32,10 @@ public class ContainsPredicateJudge implements PredicateJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return realData.contains(conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        String paramValue = conditionData.getParamValue().trim();
+        return realData -> realData.contains(paramValue);
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.base.condition.judge;
 import org.apache.shenyu.common.dto.ConditionData;
 
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Equals predicate judge.
@@ -32,4 +33,10 @@ public class EqualsPredicateJudge implements PredicateJudge {
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return Objects.equals(realData, conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        String paramValue = conditionData.getParamValue().trim();
+        return paramValue::equals;
+    }
 }
@@ -17,16 +17,36 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import org.apache.shenyu.common.dto.ConditionData;
 import groovy.util.Eval;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import java.util.function.Predicate;
 
 /**
  * Groovy predicate judge.
  */
 public class GroovyPredicateJudge implements PredicateJudge {
-    
+
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         return (Boolean) Eval.me(conditionData.getParamName(), realData, conditionData.getParamValue());
     }
+
+    /**
+     * The script class is generated once, each call only creates a new script instance bound to realData.
+     */
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        Class<? extends Script> scriptClass = new GroovyShell().parse(conditionData.getParamValue()).getClass();
+        String paramName = conditionData.getParamName();
+        return realData -> {
+            Binding binding = new Binding();
+            binding.setVariable(paramName, realData);
+            return (Boolean) InvokerHelper.createScript(scriptClass, binding).run();
+        };
+    }
 }
@@ -20,8 +20,11 @@ package org.apache.shenyu.plugin.base.condition.judge;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.springframework.util.AntPathMatcher;
 
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Match predicate judge.
@@ -30,6 +33,8 @@ import java.util.Objects;
  */
 public class MatchPredicateJudge implements PredicateJudge {
 
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
@@ -37,4 +42,21 @@ public class MatchPredicateJudge implements PredicateJudge {
         }
         return realData.contains(conditionData.getParamValue().trim());
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        String paramValue = conditionData.getParamValue().trim();
+        if (Objects.equals(ParamTypeEnum.URI.getName(), conditionData.getParamType())) {
+            String[] patterns = Arrays.stream(paramValue.split(",")).map(String::trim).filter(pattern -> !pattern.isEmpty()).toArray(String[]::new);
+            return realData -> {
+                for (String pattern : patterns) {
+                    if (MATCHER.match(pattern, realData)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        return realData -> realData.contains(paramValue);
+    }
 }
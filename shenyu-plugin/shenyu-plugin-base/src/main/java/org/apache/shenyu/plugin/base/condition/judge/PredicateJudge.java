@@ -19,6 +19,8 @@ package org.apache.shenyu.plugin.base.condition.judge;
 
 import org.apache.shenyu.common.dto.ConditionData;
 
+import java.util.function.Predicate;
+
 /**
  * Predicate judge.
  *
@@ -36,4 +38,14 @@ public interface PredicateJudge {
      */
     Boolean judge(ConditionData conditionData, String realData);
 
+    /**
+     * compile conditionData once into a predicate over realData, the default one judges on every call.
+     *
+     * @param conditionData {@linkplain ConditionData}
+     * @return the compiled predicate
+     */
+    default Predicate<String> compile(ConditionData conditionData) {
+        return realData -> judge(conditionData, realData);
+    }
+
 }
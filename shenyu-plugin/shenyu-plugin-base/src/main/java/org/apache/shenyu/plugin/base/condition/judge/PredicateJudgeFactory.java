@@ -17,23 +17,38 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.OperatorEnum;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Predicate judge factory.
  *
  * @author xiaoyu(Myth)
  */
+@Slf4j
 public class PredicateJudgeFactory {
 
     private static final Map<String, PredicateJudge> PREDICATE_JUDGE_MAP = Maps.newHashMapWithExpectedSize(16);
 
+    /**
+     * conditionData -> compiled condition, keys are weak and compared by identity, so a condition is compiled once
+     * and its compiled form goes away with it when selector or rule data is replaced.
+     */
+    private static final ConcurrentMap<ConditionData, CompiledCondition> COMPILED_MAP = new MapMaker().weakKeys().makeMap();
+
+    private static final LongAdder COMPILE_FAILURES = new LongAdder();
+
     static {
         PREDICATE_JUDGE_MAP.put(OperatorEnum.EQ.getAlias(), new EqualsPredicateJudge());
         PREDICATE_JUDGE_MAP.put(OperatorEnum.MATCH.getAlias(), new MatchPredicateJudge());
@@ -55,6 +70,49 @@ public class PredicateJudgeFactory {
         if (Objects.isNull(conditionData) || StringUtils.isBlank(realData)) {
             return false;
         }
-        return PREDICATE_JUDGE_MAP.get(conditionData.getOperator()).judge(conditionData, realData);
+        return compile(conditionData).test(realData);
+    }
+
+    /**
+     * compile conditionData, or get its compiled form if it did not change since the last compile.
+     *
+     * @param conditionData condition data
+     * @return the compiled condition
+     */
+    public static CompiledCondition compile(final ConditionData conditionData) {
+        CompiledCondition compiled = COMPILED_MAP.get(conditionData);
+        if (Objects.isNull(compiled) || !compiled.isCompiledFrom(conditionData)) {
+            compiled = doCompile(conditionData);
+            COMPILED_MAP.put(conditionData, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Get the compiled conditions still in use.
+     *
+     * @return the compiled conditions
+     */
+    public static Collection<CompiledCondition> getCompiledConditions() {
+        return new ArrayList<>(COMPILED_MAP.values());
+    }
+
+    /**
+     * Get the number of conditions that failed to compile.
+     *
+     * @return the compile failures
+     */
+    public static long getCompileFailures() {
+        return COMPILE_FAILURES.sum();
+    }
+
+    private static CompiledCondition doCompile(final ConditionData conditionData) {
+        try {
+            return new CompiledCondition(conditionData, PREDICATE_JUDGE_MAP.get(conditionData.getOperator()).compile(conditionData), true);
+        } catch (RuntimeException e) {
+            COMPILE_FAILURES.increment();
+            log.warn("compile condition failed, operator:{}, paramValue:{}", conditionData.getOperator(), conditionData.getParamValue(), e);
+            return new CompiledCondition(conditionData, realData -> PREDICATE_JUDGE_MAP.get(conditionData.getOperator()).judge(conditionData, realData), false);
+        }
     }
 }
@@ -17,11 +17,16 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
+import java.util.Objects;
+import java.util.function.Predicate;
+
 /**
  * SpEL predicate judge.
  */
@@ -29,9 +34,34 @@ public class SpELPredicateJudge implements PredicateJudge {
     
     private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
     
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+    
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
         Expression expression = EXPRESSION_PARSER.parseExpression(conditionData.getParamValue().replace('#' + conditionData.getParamName(), realData));
         return expression.getValue(Boolean.class);
     }
+    
+    /**
+     * {@code #paramName} is replaced by the request value in the expression text as {@link #judge} does,
+     * the parsed expression of each substituted text is cached, up to {@value #MAX_CACHED_EXPRESSIONS} of them per condition.
+     */
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        String paramValue = conditionData.getParamValue();
+        String placeholder = '#' + conditionData.getParamName();
+        if (!paramValue.contains(placeholder)) {
+            Expression expression = EXPRESSION_PARSER.parseExpression(paramValue);
+            return realData -> Boolean.TRUE.equals(expression.getValue(Boolean.class));
+        }
+        Cache<String, Expression> expressions = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_EXPRESSIONS).build();
+        return realData -> {
+            Expression expression = expressions.getIfPresent(realData);
+            if (Objects.isNull(expression)) {
+                expression = EXPRESSION_PARSER.parseExpression(paramValue.replace(placeholder, realData));
+                expressions.put(realData, expression);
+            }
+            return Boolean.TRUE.equals(expression.getValue(Boolean.class));
+        };
+    }
 }
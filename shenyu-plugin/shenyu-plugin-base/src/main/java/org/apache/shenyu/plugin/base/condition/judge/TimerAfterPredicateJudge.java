@@ -22,6 +22,7 @@ import org.apache.shenyu.common.utils.DateUtils;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Timer after predicate judge.
@@ -38,4 +39,13 @@ public class TimerAfterPredicateJudge implements PredicateJudge {
         }
         return DateUtils.parseLocalDateTime(realData).isAfter(DateUtils.parseLocalDateTime(conditionData.getParamValue()));
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        LocalDateTime paramValue = DateUtils.parseLocalDateTime(conditionData.getParamValue());
+        if (Objects.isNull(conditionData.getParamName())) {
+            return realData -> LocalDateTime.now().isAfter(paramValue);
+        }
+        return realData -> DateUtils.parseLocalDateTime(realData).isAfter(paramValue);
+    }
 }
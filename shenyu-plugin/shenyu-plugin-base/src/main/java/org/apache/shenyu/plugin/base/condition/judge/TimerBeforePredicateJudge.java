@@ -22,6 +22,7 @@ import org.apache.shenyu.common.utils.DateUtils;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.function.Predicate;
 
 /**
  * Timer before predicate judge.
@@ -38,4 +39,13 @@ public class TimerBeforePredicateJudge implements PredicateJudge {
         }
         return DateUtils.parseLocalDateTime(realData).isBefore(DateUtils.parseLocalDateTime(conditionData.getParamValue()));
     }
+
+    @Override
+    public Predicate<String> compile(final ConditionData conditionData) {
+        LocalDateTime paramValue = DateUtils.parseLocalDateTime(conditionData.getParamValue());
+        if (StringUtils.isEmpty(conditionData.getParamName())) {
+            return realData -> LocalDateTime.now().isBefore(paramValue);
+        }
+        return realData -> DateUtils.parseLocalDateTime(realData).isBefore(paramValue);
+    }
 }
@@ -22,6 +22,7 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
+import org.apache.shenyu.plugin.api.utils.MediaTypeUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -35,6 +36,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -133,4 +135,20 @@ public final class ParamTransformPluginTest {
         Mono<Void> result = paramTransformPlugin.execute(exchange, chain);
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
+    
+    /**
+     * Test grpc json lines body is left for the grpc plugin.
+     */
+    @Test
+    public void testGrpcStreamBody() {
+        ServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("localhost").contentType(MediaTypeUtils.APPLICATION_NDJSON).body("{}\n{}\n"));
+        Mockito.when(chain.execute(exchange)).thenReturn(Mono.empty());
+        SoulContext context = new SoulContext();
+        context.setRpcType(RpcTypeEnum.GRPC.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        Mono<Void> result = paramTransformPlugin.execute(exchange, chain);
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        assertNull(exchange.getAttribute(Constants.PARAM_TRANSFORM));
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.benchmark;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.plugin.base.condition.index.PathMatchIndex;
+import org.apache.shenyu.plugin.base.utils.MatchStrategyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule matching over 10k uri rules, linear scan against {@link PathMatchIndex}.
+ *
+ * <p>Run the {@code main} method on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathMatchIndexBenchmark {
+
+    private static final int RULE_COUNT = 10_000;
+
+    private List<RuleData> rules;
+
+    private PathMatchIndex<RuleData> index;
+
+    private ServerWebExchange exchange;
+
+    private String path;
+
+    /**
+     * Build the rules, the index and the request hitting the last rule.
+     */
+    @Setup
+    public void setUp() {
+        rules = new ArrayList<>(RULE_COUNT);
+        for (int i = 0; i < RULE_COUNT; i++) {
+            ConditionData condition = new ConditionData();
+            condition.setParamType("uri");
+            condition.setOperator(i % 2 == 0 ? "match" : "=");
+            condition.setParamName("/");
+            condition.setParamValue(i % 2 == 0 ? "/service" + i + "/**" : "/service" + i + "/method");
+            rules.add(RuleData.builder().id(String.valueOf(i)).enabled(true).matchMode(0).sort(i)
+                    .conditionDataList(Collections.singletonList(condition)).build());
+        }
+        index = PathMatchIndex.build(rules, RuleData::getMatchMode, RuleData::getConditionDataList);
+        path = "/service" + (RULE_COUNT - 1) + "/method";
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+    }
+
+    /**
+     * Linear scan, as AbstractSoulPlugin used to do.
+     *
+     * @return the matched rule
+     */
+    @Benchmark
+    public RuleData linearScan() {
+        return rules.stream()
+                .filter(rule -> rule.getEnabled() && MatchStrategyUtils.match(rule.getMatchMode(), rule.getConditionDataList(), exchange))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Lookup through the path index.
+     *
+     * @return the matched rule
+     */
+    @Benchmark
+    public RuleData indexLookup() {
+        return index.match(path, rule -> rule.getEnabled() && MatchStrategyUtils.match(rule.getMatchMode(), rule.getConditionDataList(), exchange));
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathMatchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
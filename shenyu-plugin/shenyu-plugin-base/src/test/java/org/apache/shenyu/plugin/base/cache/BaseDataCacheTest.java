@@ -18,31 +18,22 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import com.google.common.collect.Lists;
-import lombok.SneakyThrows;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
-import java.lang.reflect.Field;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Test cases for BaseDataCache.
  *
  * @author BetterWp
  */
-@SuppressWarnings("unchecked")
 public final class BaseDataCacheTest {
 
-    private final String pluginMapStr = "PLUGIN_MAP";
-
-    private final String selectorMapStr = "SELECTOR_MAP";
-
-    private final String ruleMapStr = "RULE_MAP";
-
     private final String mockName1 = "MOCK_NAME_1";
     
     private final String mockName2 = "MOCK_NAME_2";
@@ -55,6 +46,13 @@ public final class BaseDataCacheTest {
     
     private final String mockSelectorId2 = "MOCK_SELECTOR_ID_2";
 
+    @Before
+    public void setUp() {
+        BaseDataCache.getInstance().cleanPluginData();
+        BaseDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanRuleData();
+    }
+
     @Test
     public void testGetInstance() {
         BaseDataCache baseDataCache = BaseDataCache.getInstance();
@@ -64,186 +62,186 @@ public final class BaseDataCacheTest {
     @Test
     public void testCachePluginData() {
         PluginData pluginData = PluginData.builder().name(mockName1).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        Assert.assertNull(pluginMap.get(mockName1));
+        Assert.assertNull(BaseDataCache.getInstance().obtainPluginData(mockName1));
 
         BaseDataCache.getInstance().cachePluginData(pluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertEquals(pluginData, pluginMap.get(mockName1));
+        Assert.assertEquals(pluginData, BaseDataCache.getInstance().obtainPluginData(mockName1));
     }
 
     @Test
     public void testRemovePluginData() {
         PluginData pluginData = PluginData.builder().name(mockName1).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, pluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
+        BaseDataCache.getInstance().cachePluginData(pluginData);
+        Assert.assertNotNull(BaseDataCache.getInstance().obtainPluginData(mockName1));
 
         BaseDataCache.getInstance().removePluginData(pluginData);
-        Assert.assertNull(pluginMap.get(mockName1));
+        Assert.assertNull(BaseDataCache.getInstance().obtainPluginData(mockName1));
     }
 
     @Test
     public void testCleanPluginData() {
-        PluginData firstCachedPluginData = PluginData.builder().name(mockName1).build();
-        PluginData secondCachedPluginData = PluginData.builder().name(mockName2).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, firstCachedPluginData);
-        pluginMap.put(mockName2, secondCachedPluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertNotNull(pluginMap.get(mockName2));
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name(mockName1).build());
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name(mockName2).build());
 
         BaseDataCache.getInstance().cleanPluginData();
-        Assert.assertNull(pluginMap.get(mockName1));
-        Assert.assertNull(pluginMap.get(mockName2));
+        Assert.assertNull(BaseDataCache.getInstance().obtainPluginData(mockName1));
+        Assert.assertNull(BaseDataCache.getInstance().obtainPluginData(mockName2));
     }
 
     @Test
     public void testCleanPluginDataSelf() {
         PluginData firstCachedPluginData = PluginData.builder().name(mockName1).build();
         PluginData secondCachedPluginData = PluginData.builder().name(mockName2).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, firstCachedPluginData);
-        pluginMap.put(mockName2, secondCachedPluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertNotNull(pluginMap.get(mockName2));
-
-        List<PluginData> pluginDataList = Lists.newArrayList(firstCachedPluginData);
-        BaseDataCache.getInstance().cleanPluginDataSelf(pluginDataList);
-        Assert.assertNull(pluginMap.get(mockName1));
-        Assert.assertNotNull(pluginMap.get(mockName2));
-    }
+        BaseDataCache.getInstance().cachePluginData(firstCachedPluginData);
+        BaseDataCache.getInstance().cachePluginData(secondCachedPluginData);
 
-    @Test
-    public void testObtainPluginData() {
-        PluginData pluginData = PluginData.builder().name(mockName1).build();
-        ConcurrentHashMap<String, PluginData> pluginMap = getFieldByName(pluginMapStr);
-        pluginMap.put(mockName1, pluginData);
-        Assert.assertNotNull(pluginMap.get(mockName1));
-        Assert.assertEquals(pluginData, BaseDataCache.getInstance().obtainPluginData(mockName1));
+        BaseDataCache.getInstance().cleanPluginDataSelf(Lists.newArrayList(firstCachedPluginData));
+        Assert.assertNull(BaseDataCache.getInstance().obtainPluginData(mockName1));
+        Assert.assertNotNull(BaseDataCache.getInstance().obtainPluginData(mockName2));
     }
 
     @Test
     public void testCacheSelectData() {
         SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).build();
         BaseDataCache.getInstance().cacheSelectData(firstCachedSelectorData);
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData), selectorMap.get(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData), BaseDataCache.getInstance().obtainSelectorData(mockPluginName1));
 
         SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName1).sort(2).build();
         BaseDataCache.getInstance().cacheSelectData(secondCachedSelectorData);
-        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData, secondCachedSelectorData), selectorMap.get(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(firstCachedSelectorData, secondCachedSelectorData), BaseDataCache.getInstance().obtainSelectorData(mockPluginName1));
+
+        SelectorData updatedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(3).build();
+        BaseDataCache.getInstance().cacheSelectData(updatedSelectorData);
+        Assert.assertEquals(Lists.newArrayList(secondCachedSelectorData, updatedSelectorData), BaseDataCache.getInstance().obtainSelectorData(mockPluginName1));
     }
 
     @Test
     public void testRemoveSelectData() {
         SelectorData selectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(selectorData));
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
 
         BaseDataCache.getInstance().removeSelectData(selectorData);
-        Assert.assertEquals(Lists.newArrayList(), selectorMap.get(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(), BaseDataCache.getInstance().obtainSelectorData(mockPluginName1));
     }
 
     @Test
     public void testCleanSelectorData() {
-        SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
-        SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(firstCachedSelectorData));
-        selectorMap.put(mockPluginName2, Lists.newArrayList(secondCachedSelectorData));
+        BaseDataCache.getInstance().cacheSelectData(SelectorData.builder().id("1").pluginName(mockPluginName1).build());
+        BaseDataCache.getInstance().cacheSelectData(SelectorData.builder().id("2").pluginName(mockPluginName2).build());
 
         BaseDataCache.getInstance().cleanSelectorData();
-        Assert.assertNull(selectorMap.get(mockPluginName1));
-        Assert.assertNull(selectorMap.get(mockPluginName2));
+        Assert.assertNull(BaseDataCache.getInstance().obtainSelectorData(mockPluginName1));
+        Assert.assertNull(BaseDataCache.getInstance().obtainSelectorData(mockPluginName2));
     }
 
     @Test
     public void testCleanSelectorDataSelf() {
         SelectorData firstCachedSelectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
         SelectorData secondCachedSelectorData = SelectorData.builder().id("2").pluginName(mockPluginName2).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(firstCachedSelectorData));
-        selectorMap.put(mockPluginName2, Lists.newArrayList(secondCachedSelectorData));
+        BaseDataCache.getInstance().cacheSelectData(firstCachedSelectorData);
+        BaseDataCache.getInstance().cacheSelectData(secondCachedSelectorData);
 
         BaseDataCache.getInstance().cleanSelectorDataSelf(Lists.newArrayList(firstCachedSelectorData));
-        Assert.assertEquals(Lists.newArrayList(), selectorMap.get(mockPluginName1));
-        Assert.assertEquals(Lists.newArrayList(secondCachedSelectorData), selectorMap.get(mockPluginName2));
+        Assert.assertEquals(Lists.newArrayList(), BaseDataCache.getInstance().obtainSelectorData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(secondCachedSelectorData), BaseDataCache.getInstance().obtainSelectorData(mockPluginName2));
     }
 
     @Test
     public void testObtainSelectorData() {
         SelectorData selectorData = SelectorData.builder().id("1").pluginName(mockPluginName1).build();
-        ConcurrentHashMap<String, List<SelectorData>> selectorMap = getFieldByName(selectorMapStr);
-        selectorMap.put(mockPluginName1, Lists.newArrayList(selectorData));
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
 
         List<SelectorData> selectorDataList = BaseDataCache.getInstance().obtainSelectorData(mockPluginName1);
         Assert.assertEquals(Lists.newArrayList(selectorData), selectorDataList);
+        Assert.assertEquals(selectorDataList, BaseDataCache.getInstance().obtainSelectorIndex(mockPluginName1).getEntries());
     }
 
     @Test
     public void testCacheRuleData() {
         RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).sort(1).build();
         BaseDataCache.getInstance().cacheRuleData(firstCachedRuleData);
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData), ruleMap.get(mockSelectorId1));
+        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData), BaseDataCache.getInstance().obtainRuleData(mockSelectorId1));
 
         RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId1).sort(2).build();
         BaseDataCache.getInstance().cacheRuleData(secondCachedRuleData);
-        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData, secondCachedRuleData), ruleMap.get(mockSelectorId1));
+        Assert.assertEquals(Lists.newArrayList(firstCachedRuleData, secondCachedRuleData), BaseDataCache.getInstance().obtainRuleData(mockSelectorId1));
     }
 
     @Test
     public void testRemoveRuleData() {
         RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(ruleData));
+        BaseDataCache.getInstance().cacheRuleData(ruleData);
 
         BaseDataCache.getInstance().removeRuleData(ruleData);
-        Assert.assertEquals(Lists.newArrayList(), ruleMap.get(mockSelectorId1));
+        Assert.assertEquals(Lists.newArrayList(), BaseDataCache.getInstance().obtainRuleData(mockSelectorId1));
     }
 
     @Test
     public void testCleanRuleData() {
-        RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
-        RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(firstCachedRuleData));
-        ruleMap.put(mockSelectorId2, Lists.newArrayList(secondCachedRuleData));
+        BaseDataCache.getInstance().cacheRuleData(RuleData.builder().id("1").selectorId(mockSelectorId1).build());
+        BaseDataCache.getInstance().cacheRuleData(RuleData.builder().id("2").selectorId(mockSelectorId2).build());
 
         BaseDataCache.getInstance().cleanRuleData();
-        Assert.assertNull(ruleMap.get(mockSelectorId1));
-        Assert.assertNull(ruleMap.get(mockSelectorId2));
+        Assert.assertNull(BaseDataCache.getInstance().obtainRuleData(mockSelectorId1));
+        Assert.assertNull(BaseDataCache.getInstance().obtainRuleData(mockSelectorId2));
     }
 
     @Test
     public void testCleanRuleDataSelf() {
         RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
         RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(firstCachedRuleData));
-        ruleMap.put(mockSelectorId2, Lists.newArrayList(secondCachedRuleData));
+        BaseDataCache.getInstance().cacheRuleData(firstCachedRuleData);
+        BaseDataCache.getInstance().cacheRuleData(secondCachedRuleData);
 
         BaseDataCache.getInstance().cleanRuleDataSelf(Lists.newArrayList(firstCachedRuleData));
-        Assert.assertEquals(Lists.newArrayList(), ruleMap.get(mockSelectorId1));
-        Assert.assertEquals(Lists.newArrayList(secondCachedRuleData), ruleMap.get(mockSelectorId2));
+        Assert.assertEquals(Lists.newArrayList(), BaseDataCache.getInstance().obtainRuleData(mockSelectorId1));
+        Assert.assertEquals(Lists.newArrayList(secondCachedRuleData), BaseDataCache.getInstance().obtainRuleData(mockSelectorId2));
     }
 
     @Test
     public void testObtainRuleData() {
         RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
-        ConcurrentHashMap<String, List<RuleData>> ruleMap = getFieldByName(ruleMapStr);
-        ruleMap.put(mockSelectorId1, Lists.newArrayList(ruleData));
+        BaseDataCache.getInstance().cacheRuleData(ruleData);
 
         List<RuleData> ruleDataList = BaseDataCache.getInstance().obtainRuleData(mockSelectorId1);
         Assert.assertEquals(Lists.newArrayList(ruleData), ruleDataList);
     }
 
-    @SneakyThrows
-    private ConcurrentHashMap getFieldByName(final String name) {
-        BaseDataCache baseDataCache = BaseDataCache.getInstance();
-        Field pluginMapField = baseDataCache.getClass().getDeclaredField(name);
-        pluginMapField.setAccessible(true);
-        return (ConcurrentHashMap) pluginMapField.get(baseDataCache);
+    @Test
+    public void testBatchPublishesOnce() {
+        BaseDataSnapshot before = BaseDataCache.getInstance().obtainSnapshot();
+        RuleData firstCachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).sort(2).build();
+        RuleData secondCachedRuleData = RuleData.builder().id("2").selectorId(mockSelectorId1).sort(1).build();
+        BaseDataCache.getInstance().batch(() -> {
+            BaseDataCache.getInstance().cleanRuleData();
+            BaseDataCache.getInstance().cacheRuleData(firstCachedRuleData);
+            BaseDataCache.getInstance().cacheRuleData(secondCachedRuleData);
+            Assert.assertSame(before, BaseDataCache.getInstance().obtainSnapshot());
+        });
+        BaseDataSnapshot after = BaseDataCache.getInstance().obtainSnapshot();
+        Assert.assertEquals(before.getVersion() + 1, after.getVersion());
+        Assert.assertEquals(Lists.newArrayList(secondCachedRuleData, firstCachedRuleData), after.obtainRuleData(mockSelectorId1));
+        Assert.assertNull(before.obtainRuleData(mockSelectorId1));
+    }
+
+    @Test
+    public void testFailedBatchIsNotPublished() {
+        RuleData cachedRuleData = RuleData.builder().id("1").selectorId(mockSelectorId1).build();
+        BaseDataCache.getInstance().cacheRuleData(cachedRuleData);
+        BaseDataSnapshot before = BaseDataCache.getInstance().obtainSnapshot();
+        try {
+            BaseDataCache.getInstance().batch(() -> {
+                BaseDataCache.getInstance().cleanRuleData();
+                BaseDataCache.getInstance().cacheRuleData(RuleData.builder().id("2").selectorId(mockSelectorId1).build());
+                throw new IllegalStateException("mock failure");
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("mock failure", e.getMessage());
+        }
+        Assert.assertSame(before, BaseDataCache.getInstance().obtainSnapshot());
+        Assert.assertEquals(Lists.newArrayList(cachedRuleData), BaseDataCache.getInstance().obtainRuleData(mockSelectorId1));
+        BaseDataCache.getInstance().cacheRuleData(RuleData.builder().id("3").selectorId(mockSelectorId2).build());
+        Assert.assertEquals(before.getVersion() + 1, BaseDataCache.getInstance().obtainSnapshot().getVersion());
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test cases for HandleCompiler.
+ */
+public final class HandleCompilerTest {
+
+    private final HandleCompiler<RuleData, RateLimiterHandle> compiler = HandleCompiler.rule(RateLimiterHandle.class);
+
+    @Test
+    public void testObtainCompilesOnce() {
+        RuleData ruleData = RuleData.builder().id("1").handle("{\"replenishRate\":10,\"burstCapacity\":20}").build();
+        final long compiles = HandleCompiler.getCompiles();
+        RateLimiterHandle handle = compiler.obtain(ruleData);
+        assertEquals(10D, handle.getReplenishRate(), 0D);
+        assertEquals(20D, handle.getBurstCapacity(), 0D);
+        for (int i = 0; i < 100; i++) {
+            assertSame(handle, compiler.obtain(ruleData));
+        }
+        assertEquals(compiles + 1, HandleCompiler.getCompiles());
+    }
+
+    @Test
+    public void testObtainChangedHandle() {
+        RuleData ruleData = RuleData.builder().id("1").handle("{\"replenishRate\":10}").build();
+        RateLimiterHandle handle = compiler.obtain(ruleData);
+        ruleData.setHandle("{\"replenishRate\":30}");
+        RateLimiterHandle changed = compiler.obtain(ruleData);
+        assertNotSame(handle, changed);
+        assertEquals(30D, changed.getReplenishRate(), 0D);
+    }
+
+    @Test
+    public void testObtainByIdentity() {
+        RuleData ruleData = RuleData.builder().id("1").handle("{\"replenishRate\":10}").build();
+        RuleData synced = RuleData.builder().id("1").handle("{\"replenishRate\":10}").build();
+        assertEquals(ruleData, synced);
+        assertNotSame(compiler.obtain(ruleData), compiler.obtain(synced));
+    }
+
+    @Test
+    public void testObtainNull() {
+        assertNull(compiler.obtain(null));
+        assertNull(compiler.obtain(new RuleData()));
+    }
+
+    @Test
+    public void testSelectorAndMetaData() {
+        SelectorData selectorData = SelectorData.builder().id("1").handle("{\"limiterMode\":\"local\"}").build();
+        assertEquals("local", HandleCompiler.selector(RateLimiterHandle.class).obtain(selectorData).getLimiterMode());
+        MetaData metaData = MetaData.builder().id("1").rpcExt("{\"timeout\":300}").build();
+        assertEquals(300D, HandleCompiler.metaData(Map.class).obtain(metaData).get("timeout"));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License,  Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,  software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,  either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.plugin.api.context.SoulContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Test cases for RequestParameterCache.
+ */
+public final class RequestParameterCacheTest {
+
+    private ServerWebExchange exchange;
+
+    @Before
+    public void setUp() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test")
+                .header("soul", "soulHeader")
+                .queryParam("soul", "soulQueryParam")
+                .cookie(new HttpCookie("soul", "soulCookie"))
+                .build());
+    }
+
+    @Test
+    public void testObtain() {
+        RequestParameterCache cache = RequestParameterCache.of(exchange);
+        Assert.assertEquals("soulHeader", cache.obtain(ParamTypeEnum.HEADER, "soul", exchange));
+        Assert.assertEquals("", cache.obtain(ParamTypeEnum.HEADER, "other", exchange));
+        Assert.assertEquals("soulQueryParam", cache.obtain(ParamTypeEnum.QUERY, "soul", exchange));
+        Assert.assertNull(cache.obtain(ParamTypeEnum.QUERY, "other", exchange));
+        Assert.assertEquals("soulCookie", cache.obtain(ParamTypeEnum.COOKIE, "soul", exchange));
+        Assert.assertEquals("", cache.obtain(ParamTypeEnum.COOKIE, "other", exchange));
+        Assert.assertEquals("/http/test", cache.obtain(ParamTypeEnum.URI, "soul", exchange));
+        Assert.assertEquals("GET", cache.obtain(ParamTypeEnum.REQUEST_METHOD, null, exchange));
+    }
+
+    @Test
+    public void testSharedByExchange() {
+        RequestParameterCache cache = RequestParameterCache.of(exchange);
+        Assert.assertSame(cache, RequestParameterCache.of(exchange));
+        ServerWebExchange mutated = exchange.mutate().request(exchange.getRequest().mutate().path("/http/other").build()).build();
+        RequestParameterCache mutatedCache = RequestParameterCache.of(mutated);
+        Assert.assertNotSame(cache, mutatedCache);
+        Assert.assertEquals("/http/other", mutatedCache.obtain(ParamTypeEnum.URI, null, mutated));
+    }
+
+    @Test
+    public void testObtainPostReadsLiveContext() {
+        SoulContext soulContext = new SoulContext();
+        exchange.getAttributes().put(Constants.CONTEXT, soulContext);
+        RequestParameterCache cache = RequestParameterCache.of(exchange);
+        Assert.assertNull(cache.obtain(ParamTypeEnum.POST, "method", exchange));
+        soulContext.setMethod("testMethod");
+        Assert.assertEquals("testMethod", cache.obtain(ParamTypeEnum.POST, "method", exchange));
+    }
+
+    @Test
+    public void testParamType() {
+        Assert.assertEquals(ParamTypeEnum.REQUEST_METHOD, RequestParameterCache.paramType("req_method"));
+        Assert.assertNull(RequestParameterCache.paramType("unknown"));
+        Assert.assertNull(RequestParameterCache.paramType(null));
+    }
+}
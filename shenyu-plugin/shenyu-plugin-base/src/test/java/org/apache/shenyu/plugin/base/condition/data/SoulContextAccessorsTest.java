@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License,  Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,  software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,  either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import org.apache.shenyu.common.utils.ReflectUtils;
+import org.apache.shenyu.plugin.api.context.SoulContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Test cases for SoulContextAccessors.
+ */
+public final class SoulContextAccessorsTest {
+
+    @Test
+    public void testGetValueSameAsReflection() {
+        SoulContext soulContext = new SoulContext();
+        soulContext.setModule("module");
+        soulContext.setMethod("method");
+        soulContext.setRpcType("http");
+        soulContext.setHttpMethod("get");
+        soulContext.setSign("sign");
+        soulContext.setTimestamp("1");
+        soulContext.setAppKey("appKey");
+        soulContext.setPath("/path");
+        soulContext.setContextPath("/context");
+        soulContext.setRealUrl("/real");
+        soulContext.setDubboParams("{}");
+        soulContext.setStartDateTime(LocalDateTime.now());
+        for (Field field : SoulContext.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                Assert.assertEquals(field.getName(), Objects.toString(ReflectUtils.getFieldValue(soulContext, field.getName()), null),
+                        SoulContextAccessors.getValue(soulContext, field.getName()));
+            }
+        }
+    }
+
+    @Test
+    public void testEveryFieldHasAccessor() throws ReflectiveOperationException {
+        Field accessors = SoulContextAccessors.class.getDeclaredField("ACCESSORS");
+        accessors.setAccessible(true);
+        Set<String> fieldNames = Arrays.stream(SoulContext.class.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        Assert.assertEquals(fieldNames, ((Map<?, ?>) accessors.get(null)).keySet());
+    }
+
+    @Test
+    public void testGetValueMissing() {
+        Assert.assertNull(SoulContextAccessors.getValue(null, "method"));
+        Assert.assertNull(SoulContextAccessors.getValue(new SoulContext(), "method"));
+        Assert.assertNull(SoulContextAccessors.getValue(new SoulContext(), "unknown"));
+        Assert.assertNull(SoulContextAccessors.getValue(new SoulContext(), null));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.index;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.plugin.base.utils.MatchStrategyUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Test cases for PathMatchIndex.
+ */
+public final class PathMatchIndexTest {
+
+    @Test
+    public void testMatchSameAsLinearScan() {
+        List<RuleData> rules = new ArrayList<>();
+        rules.add(rule("1", 0, condition("uri", "=", "/http/order/save")));
+        rules.add(rule("2", 0, condition("uri", "match", "/http/order/**")));
+        rules.add(rule("3", 0, condition("header", "=", "vip"), condition("uri", "match", "/http/user/**")));
+        rules.add(rule("4", 1, condition("uri", "match", "/http/pay/{id}"), condition("uri", "=", "/http/refund")));
+        rules.add(rule("5", 1, condition("uri", "match", "/dubbo/**"), condition("query", "=", "1")));
+        rules.add(rule("6", 0, condition("uri", "match", "/**/find, /tars/*")));
+        rules.add(rule("7", 0));
+        PathMatchIndex<RuleData> index = PathMatchIndex.build(rules, RuleData::getMatchMode, RuleData::getConditionDataList);
+        for (String path : Arrays.asList("/http/order/save", "/http/order/delete", "/http/order", "/http/user/1", "/http/pay/7",
+                "/http/refund", "/dubbo/x", "/a/b/find", "/tars/x", "/", "/unknown/path", "/http//order/save")) {
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+            Predicate<RuleData> filter = rule -> MatchStrategyUtils.match(rule.getMatchMode(), rule.getConditionDataList(), exchange);
+            RuleData expected = rules.stream().filter(filter).findFirst().orElse(null);
+            Assert.assertSame(path, expected, index.match(path, filter));
+        }
+    }
+
+    @Test
+    public void testMatchOnlyEvaluatesCandidates() {
+        List<RuleData> rules = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rules.add(rule(String.valueOf(i), 0, condition("uri", "match", "/service" + i + "/**")));
+        }
+        PathMatchIndex<RuleData> index = PathMatchIndex.build(rules, RuleData::getMatchMode, RuleData::getConditionDataList);
+        List<RuleData> evaluated = new ArrayList<>();
+        RuleData matched = index.match("/service42/method", rule -> evaluated.add(rule) && "42".equals(rule.getId()));
+        Assert.assertEquals("42", matched.getId());
+        Assert.assertEquals(1, evaluated.size());
+        Assert.assertNull(index.match("/other", rule -> true));
+    }
+
+    @Test
+    public void testBuildWithEmptyList() {
+        PathMatchIndex<RuleData> index = PathMatchIndex.build(null, RuleData::getMatchMode, RuleData::getConditionDataList);
+        Assert.assertTrue(index.getEntries().isEmpty());
+        Assert.assertNull(index.match("/http", rule -> true));
+    }
+
+    private RuleData rule(final String id, final int matchMode, final ConditionData... conditions) {
+        return RuleData.builder().id(id).enabled(true).matchMode(matchMode)
+                .conditionDataList(conditions.length == 0 ? Collections.emptyList() : Arrays.asList(conditions)).build();
+    }
+
+    private ConditionData condition(final String paramType, final String operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName("vip");
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+}
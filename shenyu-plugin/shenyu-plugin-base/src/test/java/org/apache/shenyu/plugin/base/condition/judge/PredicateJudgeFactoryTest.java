@@ -138,4 +138,51 @@ public final class PredicateJudgeFactoryTest {
         Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, FIRST_TIME));
     }
 
+    @Test
+    public void testCompileReusesCompiledForm() {
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue("[/a-zA-Z0-9]+");
+        CompiledCondition compiled = PredicateJudgeFactory.compile(conditionData);
+        Assert.assertTrue(compiled.isCompiled());
+        Assert.assertSame(compiled, PredicateJudgeFactory.compile(conditionData));
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "/http?/test"));
+        Assert.assertEquals(2, compiled.getHits());
+    }
+
+    @Test
+    public void testCompileAfterConditionChanged() {
+        conditionData.setOperator(OperatorEnum.EQ.getAlias());
+        CompiledCondition compiled = PredicateJudgeFactory.compile(conditionData);
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/**"));
+        conditionData.setParamValue("/http/test");
+        Assert.assertNotSame(compiled, PredicateJudgeFactory.compile(conditionData));
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "/http/**"));
+    }
+
+    @Test
+    public void testCompileFailure() {
+        final long failures = PredicateJudgeFactory.getCompileFailures();
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue("[/a-z");
+        CompiledCondition compiled = PredicateJudgeFactory.compile(conditionData);
+        Assert.assertFalse(compiled.isCompiled());
+        Assert.assertEquals(failures + 1, PredicateJudgeFactory.getCompileFailures());
+        Assert.assertTrue(PredicateJudgeFactory.getCompiledConditions().contains(compiled));
+    }
+
+    @Test
+    public void testSpELJudgeSubstitutesRealData() {
+        conditionData.setOperator(OperatorEnum.SPEL.getAlias());
+        conditionData.setParamType(ParamTypeEnum.HEADER.getName());
+        conditionData.setParamName("userId");
+        conditionData.setParamValue("'#userId' == 'admin'");
+        Assert.assertTrue(PredicateJudgeFactory.compile(conditionData).isCompiled());
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "admin"));
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "admin"));
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "guest"));
+        conditionData.setParamValue("'#userId'.startsWith('00')");
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "007"));
+    }
 }
@@ -22,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.apache.shenyu.plugin.divide.cache.UpstreamStats;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
@@ -38,8 +39,10 @@ import org.apache.shenyu.plugin.api.result.SoulResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.divide.balance.utils.LoadBalanceUtils;
 import org.apache.shenyu.plugin.divide.handler.DividePluginDataHandler;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -95,7 +98,19 @@ public class DividePlugin extends AbstractSoulPlugin {
         // set the http timeout
         exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
         exchange.getAttributes().put(Constants.HTTP_RETRY, ruleHandle.getRetry());
-        return chain.execute(exchange);
+        // feed the latency aware load balances
+        final UpstreamStats stats = UpstreamCacheManager.getInstance().obtainStats(divideUpstream.getUpstreamUrl());
+        stats.begin();
+        final long start = System.nanoTime();
+        return chain.execute(exchange).doFinally(signal -> {
+            Long responseTime = exchange.getAttribute(Constants.HTTP_RESPONSE_TIME);
+            stats.end(Objects.nonNull(responseTime) ? responseTime : System.nanoTime() - start, ruleHandle.getDecay());
+            if (signal != SignalType.CANCEL) {
+                HttpStatus status = exchange.getResponse().getStatusCode();
+                boolean failed = signal == SignalType.ON_ERROR || (Objects.nonNull(status) && status.is5xxServerError());
+                UpstreamCacheManager.getInstance().recordOutcome(divideUpstream.getUpstreamUrl(), !failed);
+            }
+        });
     }
 
     @Override
@@ -51,6 +51,17 @@ public abstract class AbstractLoadBalance implements LoadBalance {
         return doSelect(upstreamList, ip);
     }
 
+    /**
+     * Scales the cost of an upstream by its weight, a heavier upstream takes proportionally more load.
+     *
+     * @param cost     the cost
+     * @param upstream the upstream
+     * @return the cost per unit of weight
+     */
+    protected double getWeightedCost(final double cost, final DivideUpstream upstream) {
+        return cost / Math.max(getWeight(upstream), 1);
+    }
+
     protected int getWeight(final DivideUpstream upstream) {
         if (!upstream.isStatus()) {
             return 0;
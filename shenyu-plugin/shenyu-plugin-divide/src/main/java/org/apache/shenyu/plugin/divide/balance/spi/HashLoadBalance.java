@@ -17,65 +17,76 @@
 
 package org.apache.shenyu.plugin.divide.balance.spi;
 
+import com.google.common.collect.MapMaker;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import org.apache.shenyu.common.dto.convert.DivideUpstream;
-import org.apache.shenyu.common.exception.SoulException;
 import org.apache.shenyu.spi.Join;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.Map;
 
 /**
  * hash algorithm impl.
  *
+ * <p>The ring of an upstream list is built once and cached until the list is replaced,
+ * the number of virtual nodes per upstream is set by {@code soul.upstream.hash.virtualNodes}.
+ *
  * @author xiaoyu(Myth)
  */
 @Join
 public class HashLoadBalance extends AbstractLoadBalance {
 
-    private static final int VIRTUAL_NODE_NUM = 5;
+    private static final int VIRTUAL_NODE_NUM = Math.max(1, Integer.parseInt(System.getProperty("soul.upstream.hash.virtualNodes", "5")));
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    /**
+     * upstream list -> ring, keys are weak and compared by identity, a new list from the cache manager gets a new ring.
+     */
+    private static final Map<List<DivideUpstream>, HashRing> RING_CACHE = new MapMaker().weakKeys().makeMap();
 
     @Override
     public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, DivideUpstream> treeMap = new ConcurrentSkipListMap<>();
-        for (DivideUpstream address : upstreamList) {
-            for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
-                long addressHash = hash("SOUL-" + address.getUpstreamUrl() + "-HASH-" + i);
-                treeMap.put(addressHash, address);
-            }
-        }
-        long hash = hash(String.valueOf(ip));
-        SortedMap<Long, DivideUpstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
-        }
-        return treeMap.firstEntry().getValue();
+        return RING_CACHE.computeIfAbsent(upstreamList, HashRing::new).select(hash(String.valueOf(ip)));
     }
 
     private static long hash(final String key) {
-        // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new SoulException("MD5 not supported", e);
-        }
-        md5.reset();
-        byte[] keyBytes;
-        keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        return HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8).asLong();
+    }
 
-        md5.update(keyBytes);
-        byte[] digest = md5.digest();
+    private static final class HashRing {
 
-        // hash code, Truncate to 32-bits
-        long hashCode = (long) (digest[3] & 0xFF) << 24
-                | ((long) (digest[2] & 0xFF) << 16)
-                | ((long) (digest[1] & 0xFF) << 8)
-                | (digest[0] & 0xFF);
-        return hashCode & 0xffffffffL;
-    }
+        private final long[] hashes;
 
+        private final DivideUpstream[] upstreams;
+
+        HashRing(final List<DivideUpstream> upstreamList) {
+            int size = upstreamList.size() * VIRTUAL_NODE_NUM;
+            long[][] nodes = new long[size][];
+            int node = 0;
+            for (int index = 0; index < upstreamList.size(); index++) {
+                for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
+                    nodes[node++] = new long[] {hash("SOUL-" + upstreamList.get(index).getUpstreamUrl() + "-HASH-" + i), index};
+                }
+            }
+            Arrays.sort(nodes, (left, right) -> Long.compare(left[0], right[0]));
+            this.hashes = new long[size];
+            this.upstreams = new DivideUpstream[size];
+            for (int i = 0; i < size; i++) {
+                hashes[i] = nodes[i][0];
+                upstreams[i] = upstreamList.get((int) nodes[i][1]);
+            }
+        }
+
+        DivideUpstream select(final long hash) {
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return upstreams[index == hashes.length ? 0 : index];
+        }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * least active requests algorithm impl, the requests in flight are divided by the weight, ties are broken at random.
+ */
+@Join
+public class LeastActiveLoadBalance extends AbstractLoadBalance {
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        DivideUpstream selected = null;
+        double leastActive = Double.MAX_VALUE;
+        int ties = 0;
+        for (DivideUpstream upstream : upstreamList) {
+            if (!upstream.isStatus()) {
+                continue;
+            }
+            double active = getWeightedCost(UpstreamCacheManager.getInstance().obtainStats(upstream.getUpstreamUrl()).getActive() + 1D, upstream);
+            if (active < leastActive) {
+                leastActive = active;
+                selected = upstream;
+                ties = 1;
+            } else if (active == leastActive && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                selected = upstream;
+            }
+        }
+        return selected == null ? upstreamList.get(0) : selected;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices algorithm impl, picks two upstreams at random and keeps the one with the lower peak ewma cost
+ * divided by its weight.
+ */
+@Join
+public class P2cLoadBalance extends AbstractLoadBalance {
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        int size = upstreamList.size();
+        int first = ThreadLocalRandom.current().nextInt(size);
+        int second = ThreadLocalRandom.current().nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        DivideUpstream left = upstreamList.get(first);
+        DivideUpstream right = upstreamList.get(second);
+        if (left.isStatus() != right.isStatus()) {
+            return left.isStatus() ? left : right;
+        }
+        double leftCost = getWeightedCost(UpstreamCacheManager.getInstance().obtainStats(left.getUpstreamUrl()).getCost(), left);
+        double rightCost = getWeightedCost(UpstreamCacheManager.getInstance().obtainStats(right.getUpstreamUrl()).getCost(), right);
+        return leftCost <= rightCost ? left : right;
+    }
+}
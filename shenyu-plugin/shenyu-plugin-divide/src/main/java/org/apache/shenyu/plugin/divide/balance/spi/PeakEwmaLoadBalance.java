@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.apache.shenyu.spi.Join;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * peak ewma algorithm impl, selects the upstream with the lowest response time average scaled by its requests in flight
+ * and divided by its weight.
+ */
+@Join
+public class PeakEwmaLoadBalance extends AbstractLoadBalance {
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        DivideUpstream selected = null;
+        double leastCost = Double.MAX_VALUE;
+        int ties = 0;
+        for (DivideUpstream upstream : upstreamList) {
+            if (!upstream.isStatus()) {
+                continue;
+            }
+            double cost = getWeightedCost(UpstreamCacheManager.getInstance().obtainStats(upstream.getUpstreamUrl()).getCost(), upstream);
+            if (cost < leastCost) {
+                leastCost = cost;
+                selected = upstream;
+                ties = 1;
+            } else if (cost == leastCost && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                selected = upstream;
+            }
+        }
+        return selected == null ? upstreamList.get(0) : selected;
+    }
+}
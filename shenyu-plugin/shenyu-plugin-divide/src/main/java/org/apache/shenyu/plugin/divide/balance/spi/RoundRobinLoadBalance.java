@@ -17,147 +17,144 @@
 
 package org.apache.shenyu.plugin.divide.balance.spi;
 
+import com.google.common.collect.MapMaker;
 import org.apache.shenyu.common.dto.convert.DivideUpstream;
 import org.apache.shenyu.spi.Join;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Round robin load balance impl.
  *
+ * <p>The smooth weighted round robin sequence of an upstream list is computed once and kept until the list is replaced,
+ * which {@code UpstreamCacheManager} does for every selector change, or until a warming up upstream changes its weight.
+ * Threads walk the sequence through striped counters, so a selection is a counter increment and an array read.
+ *
  * @author xiaoyu
  */
 @Join
 public class RoundRobinLoadBalance extends AbstractLoadBalance {
 
-    private final int recyclePeriod = 60000;
+    private static final int MAX_SEQUENCE_LENGTH = 1 << 14;
 
-    private final ConcurrentMap<String, ConcurrentMap<String, WeightedRoundRobin>> methodWeightMap = new ConcurrentHashMap<>(16);
+    private static final int WARMUP_REFRESH_MILLIS = 1000;
 
-    private final AtomicBoolean updateLock = new AtomicBoolean();
+    /**
+     * upstream list -> round robin, keys are weak and compared by identity, every selector has its own list.
+     */
+    private final Map<List<DivideUpstream>, WeightedRoundRobin> roundRobinMap = new MapMaker().weakKeys().makeMap();
 
     @Override
     public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
-        String key = upstreamList.get(0).getUpstreamUrl();
-        ConcurrentMap<String, WeightedRoundRobin> map = methodWeightMap.get(key);
-        if (map == null) {
-            methodWeightMap.putIfAbsent(key, new ConcurrentHashMap<>(16));
-            map = methodWeightMap.get(key);
-        }
-        int totalWeight = 0;
-        long maxCurrent = Long.MIN_VALUE;
-        long now = System.currentTimeMillis();
-        DivideUpstream selectedInvoker = null;
-        WeightedRoundRobin selectedWRR = null;
-        for (DivideUpstream upstream : upstreamList) {
-            String rKey = upstream.getUpstreamUrl();
-            WeightedRoundRobin weightedRoundRobin = map.get(rKey);
-            int weight = getWeight(upstream);
-            if (weightedRoundRobin == null) {
-                weightedRoundRobin = new WeightedRoundRobin();
-                weightedRoundRobin.setWeight(weight);
-                map.putIfAbsent(rKey, weightedRoundRobin);
-            }
-            if (weight != weightedRoundRobin.getWeight()) {
-                //weight changed
-                weightedRoundRobin.setWeight(weight);
-            }
-            long cur = weightedRoundRobin.increaseCurrent();
-            weightedRoundRobin.setLastUpdate(now);
-            if (cur > maxCurrent) {
-                maxCurrent = cur;
-                selectedInvoker = upstream;
-                selectedWRR = weightedRoundRobin;
-            }
-            totalWeight += weight;
-        }
-        if (!updateLock.get() && upstreamList.size() != map.size() && updateLock.compareAndSet(false, true)) {
-            try {
-                // copy -> modify -> update reference
-                ConcurrentMap<String, WeightedRoundRobin> newMap = new ConcurrentHashMap<>(map);
-                newMap.entrySet().removeIf(item -> now - item.getValue().getLastUpdate() > recyclePeriod);
-                methodWeightMap.put(key, newMap);
-            } finally {
-                updateLock.set(false);
-            }
+        WeightedRoundRobin roundRobin = roundRobinMap.get(upstreamList);
+        if (roundRobin == null || roundRobin.isExpired()) {
+            roundRobin = new WeightedRoundRobin(upstreamList, this);
+            roundRobinMap.put(upstreamList, roundRobin);
         }
-        if (selectedInvoker != null) {
-            selectedWRR.sel(totalWeight);
-            return selectedInvoker;
-        }
-        // should not happen here
-        return upstreamList.get(0);
+        return roundRobin.select();
+    }
+
+    private static int gcd(final int a, final int b) {
+        return b == 0 ? a : gcd(b, a % b);
     }
 
     /**
-     * The type Weighted round robin.
+     * The smooth weighted round robin sequence of an upstream list.
      */
-    protected static class WeightedRoundRobin {
+    protected static final class WeightedRoundRobin {
 
-        private int weight;
+        private static final int STRIPE_PADDING = 16;
 
-        private final AtomicLong current = new AtomicLong(0);
+        private static final int STRIPES = stripes();
 
-        private long lastUpdate;
+        private final DivideUpstream[] sequence;
 
-        /**
-         * Gets weight.
-         *
-         * @return the weight
-         */
-        int getWeight() {
-            return weight;
-        }
+        private final AtomicLongArray positions;
 
-        /**
-         * Sets weight.
-         *
-         * @param weight the weight
-         */
-        void setWeight(final int weight) {
-            this.weight = weight;
-            current.set(0);
+        private final long expireAt;
+
+        WeightedRoundRobin(final List<DivideUpstream> upstreamList, final AbstractLoadBalance loadBalance) {
+            int size = upstreamList.size();
+            int[] weights = new int[size];
+            boolean warmingUp = false;
+            long total = 0;
+            int gcd = 0;
+            for (int i = 0; i < size; i++) {
+                DivideUpstream upstream = upstreamList.get(i);
+                weights[i] = loadBalance.getWeight(upstream);
+                warmingUp |= weights[i] != upstream.getWeight() && upstream.isStatus() && upstream.getTimestamp() > 0;
+                total += weights[i];
+                gcd = gcd(gcd, weights[i]);
+            }
+            this.expireAt = warmingUp ? System.currentTimeMillis() + WARMUP_REFRESH_MILLIS : Long.MAX_VALUE;
+            this.sequence = build(upstreamList, weights, total, gcd);
+            this.positions = new AtomicLongArray(STRIPES * STRIPE_PADDING);
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                positions.set(stripe * STRIPE_PADDING, (long) stripe * sequence.length / STRIPES);
+            }
         }
 
         /**
-         * Increase current long.
+         * Select the next upstream of the calling thread's stripe.
          *
-         * @return the long
+         * @return the upstream
          */
-        long increaseCurrent() {
-            return current.addAndGet(weight);
+        DivideUpstream select() {
+            int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            long position = positions.getAndIncrement(stripe * STRIPE_PADDING);
+            return sequence[(int) (position % sequence.length)];
         }
 
         /**
-         * Sel.
+         * Whether a warming up upstream may have changed its weight since the sequence was built.
          *
-         * @param total the total
+         * @return true if expired
          */
-        void sel(final int total) {
-            current.addAndGet(-1 * total);
+        boolean isExpired() {
+            return expireAt != Long.MAX_VALUE && System.currentTimeMillis() > expireAt;
         }
 
-        /**
-         * Gets last update.
-         *
-         * @return the last update
-         */
-        long getLastUpdate() {
-            return lastUpdate;
+        private static DivideUpstream[] build(final List<DivideUpstream> upstreamList, final int[] weights, final long total, final int gcd) {
+            if (total == 0) {
+                return new DivideUpstream[] {upstreamList.get(0)};
+            }
+            long length = total / gcd;
+            int[] scaled = weights.clone();
+            if (length > MAX_SEQUENCE_LENGTH) {
+                length = 0;
+                for (int i = 0; i < scaled.length; i++) {
+                    scaled[i] = weights[i] == 0 ? 0 : (int) Math.max(1, (long) weights[i] * MAX_SEQUENCE_LENGTH / total);
+                    length += scaled[i];
+                }
+            } else {
+                for (int i = 0; i < scaled.length; i++) {
+                    scaled[i] = weights[i] / gcd;
+                }
+            }
+            DivideUpstream[] result = new DivideUpstream[(int) length];
+            long[] current = new long[scaled.length];
+            for (int n = 0; n < result.length; n++) {
+                int selected = 0;
+                for (int i = 0; i < scaled.length; i++) {
+                    current[i] += scaled[i];
+                    if (current[i] > current[selected]) {
+                        selected = i;
+                    }
+                }
+                current[selected] -= length;
+                result[n] = upstreamList.get(selected);
+            }
+            return result;
         }
 
-        /**
-         * Sets last update.
-         *
-         * @param lastUpdate the last update
-         */
-        void setLastUpdate(final long lastUpdate) {
-            this.lastUpdate = lastUpdate;
+        private static int stripes() {
+            int stripes = 1;
+            while (stripes < Runtime.getRuntime().availableProcessors() && stripes < 64) {
+                stripes <<= 1;
+            }
+            return stripes;
         }
     }
-
 }
@@ -22,8 +22,16 @@ import com.google.common.collect.Maps;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.concurrent.SoulThreadFactory;
@@ -37,6 +45,14 @@ import org.apache.shenyu.plugin.base.cache.BaseHandleCache;
 /**
  * this is divide  http url upstream.
  *
+ * <p>Upstreams leave the available list in two ways. The passive outlier detection ejects an upstream as soon as
+ * the request outcomes reported by the divide plugin cross {@code soul.upstream.outlier.consecutiveFailures}
+ * or {@code soul.upstream.outlier.failureRate} percent of at least {@code soul.upstream.outlier.minRequests} requests
+ * in a {@code soul.upstream.outlier.interval} millis interval, and readmits it after an exponentially growing ejection time.
+ * No more than {@code soul.upstream.outlier.maxEjectionPercent} percent of the upstreams of a selector are ever ejected.
+ * The optional {@code soul.upstream.check} probe connects to all upstreams in parallel every {@code soul.upstream.scheduledTime} seconds,
+ * the probes run on their own threads and the available lists are updated once the last one completes.
+ *
  * @author xiaoyu
  */
 @Slf4j
@@ -48,12 +64,49 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
 
     private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP_TEMP = Maps.newConcurrentMap();
 
+    /**
+     * selectorId -> upstreams that passed the last active check.
+     */
+    private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP_CHECKED = Maps.newConcurrentMap();
+
+    /**
+     * upstreamUrl -> request statistics, shared by the selectors pointing at the same upstream.
+     */
+    private static final Map<String, UpstreamStats> STATS_MAP = Maps.newConcurrentMap();
+
+    private static final int CONSECUTIVE_FAILURES = Integer.getInteger("soul.upstream.outlier.consecutiveFailures", 5);
+
+    private static final int FAILURE_RATE = Integer.getInteger("soul.upstream.outlier.failureRate", 50);
+
+    private static final int MIN_REQUESTS = Integer.getInteger("soul.upstream.outlier.minRequests", 20);
+
+    private static final long INTERVAL = Long.getLong("soul.upstream.outlier.interval", 10000L);
+
+    private static final long BASE_EJECTION_TIME = Long.getLong("soul.upstream.outlier.baseEjectionTime", 10000L);
+
+    private static final long MAX_EJECTION_TIME = Long.getLong("soul.upstream.outlier.maxEjectionTime", 300000L);
+
+    private static final int MAX_EJECTION_PERCENT = Integer.getInteger("soul.upstream.outlier.maxEjectionPercent", 50);
+
+    private static final int CHECK_TIMEOUT = Integer.getInteger("soul.upstream.check.timeout", 3000);
+
+    private final ScheduledThreadPoolExecutor ejectionExecutor;
+
+    private final ThreadPoolExecutor checkExecutor;
+
+    private final AtomicBoolean checking = new AtomicBoolean();
 
     /**
      * suggest soul.upstream.scheduledTime set 1 SECONDS.
      */
     private UpstreamCacheManager() {
+        ejectionExecutor = new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("upstream-ejection-task", true));
+        ejectionExecutor.setRemoveOnCancelPolicy(true);
         boolean check = Boolean.parseBoolean(System.getProperty("soul.upstream.check", "false"));
+        int parallelism = Integer.getInteger("soul.upstream.check.parallelism", 16);
+        checkExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), SoulThreadFactory.create("upstream-check", true));
+        checkExecutor.allowCoreThreadTimeOut(true);
         if (check) {
             new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("scheduled-upstream-task", false))
                     .scheduleWithFixedDelay(this::scheduled,
@@ -80,6 +133,48 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
         return UPSTREAM_MAP_TEMP.get(selectorId);
     }
 
+    /**
+     * Obtain the request statistics of an upstream.
+     *
+     * @param upstreamUrl the upstream url
+     * @return the upstream stats
+     */
+    public UpstreamStats obtainStats(final String upstreamUrl) {
+        UpstreamStats stats = STATS_MAP.get(upstreamUrl);
+        return stats != null ? stats : STATS_MAP.computeIfAbsent(upstreamUrl, url -> new UpstreamStats());
+    }
+
+    /**
+     * Record the outcome of a request to an upstream, ejecting the upstream when it turns into an outlier.
+     *
+     * @param upstreamUrl the upstream url
+     * @param success     false on a 5xx status, a connect error or a timeout
+     */
+    public void recordOutcome(final String upstreamUrl, final boolean success) {
+        UpstreamStats stats = STATS_MAP.get(upstreamUrl);
+        if (Objects.isNull(stats)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (success) {
+            stats.success(now, INTERVAL);
+            return;
+        }
+        stats.failure(now, INTERVAL);
+        if (stats.isEjected() || !isOutlier(stats)) {
+            return;
+        }
+        long ejectionTime;
+        synchronized (this) {
+            ejectionTime = canEject(upstreamUrl) ? stats.eject(now, BASE_EJECTION_TIME, MAX_EJECTION_TIME) : 0;
+        }
+        if (ejectionTime > 0) {
+            log.warn("UpstreamCacheManager eject the url: {} for {} ms", upstreamUrl, ejectionTime);
+            refresh(upstreamUrl);
+            ejectionExecutor.schedule(() -> readmit(upstreamUrl, stats), ejectionTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
     /**
      * Remove by key.
      *
@@ -96,32 +191,132 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
      */
     public void submit(final SelectorData selectorData) {
         final List<DivideUpstream> upstreamList = GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
+        UPSTREAM_MAP_CHECKED.remove(selectorData.getId());
         if (null != upstreamList && upstreamList.size() > 0) {
             UPSTREAM_MAP.put(selectorData.getId(), upstreamList);
-            UPSTREAM_MAP_TEMP.put(selectorData.getId(), upstreamList);
+            UPSTREAM_MAP_TEMP.put(selectorData.getId(), available(upstreamList));
         } else {
             UPSTREAM_MAP.remove(selectorData.getId());
             UPSTREAM_MAP_TEMP.remove(selectorData.getId());
         }
+        pruneStats();
+    }
+
+    private static boolean isOutlier(final UpstreamStats stats) {
+        if (stats.getConsecutiveFailures() >= CONSECUTIVE_FAILURES) {
+            return true;
+        }
+        int requests = stats.getIntervalRequests();
+        return requests >= MIN_REQUESTS && stats.getIntervalFailures() * 100L >= (long) FAILURE_RATE * requests;
+    }
+
+    /**
+     * Whether every selector pointing at the upstream can have one more upstream ejected.
+     */
+    private static boolean canEject(final String upstreamUrl) {
+        for (Map.Entry<String, List<DivideUpstream>> entry : UPSTREAM_MAP.entrySet()) {
+            List<DivideUpstream> upstreamList = UPSTREAM_MAP_CHECKED.getOrDefault(entry.getKey(), entry.getValue());
+            if (upstreamList.stream().noneMatch(upstream -> upstreamUrl.equals(upstream.getUpstreamUrl()))) {
+                continue;
+            }
+            long ejected = upstreamList.stream().map(upstream -> STATS_MAP.get(upstream.getUpstreamUrl()))
+                    .filter(stats -> Objects.nonNull(stats) && stats.isEjected()).count();
+            if (ejected >= upstreamList.size() * MAX_EJECTION_PERCENT / 100) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void readmit(final String upstreamUrl, final UpstreamStats stats) {
+        stats.readmit(System.currentTimeMillis());
+        log.info("UpstreamCacheManager readmit the url: {}", upstreamUrl);
+        refresh(upstreamUrl);
     }
 
-    private void scheduled() {
-        if (UPSTREAM_MAP.size() > 0) {
-            UPSTREAM_MAP.forEach((k, v) -> {
-                List<DivideUpstream> result = check(v);
-                if (result.size() > 0) {
-                    UPSTREAM_MAP_TEMP.put(k, result);
-                } else {
-                    UPSTREAM_MAP_TEMP.remove(k);
+    /**
+     * Rebuild the available upstreams of the selectors pointing at the upstream.
+     */
+    private void refresh(final String upstreamUrl) {
+        UPSTREAM_MAP.forEach((selectorId, upstreamList) -> {
+            if (upstreamList.stream().anyMatch(upstream -> upstreamUrl.equals(upstream.getUpstreamUrl()))) {
+                List<DivideUpstream> checked = UPSTREAM_MAP_CHECKED.getOrDefault(selectorId, upstreamList);
+                if (checked.size() > 0) {
+                    UPSTREAM_MAP_TEMP.put(selectorId, available(checked));
                 }
-            });
+            }
+        });
+    }
+
+    /**
+     * The upstreams that are not ejected, keeping ejected ones when too many of them are out,
+     * which only happens when the upstreams of a selector change while some are ejected.
+     * The list itself is returned when none is ejected so the load balances keep their state.
+     */
+    private List<DivideUpstream> available(final List<DivideUpstream> upstreamList) {
+        int maxEjected = upstreamList.size() * MAX_EJECTION_PERCENT / 100;
+        List<DivideUpstream> resultList = null;
+        int ejected = 0;
+        for (int i = 0; i < upstreamList.size(); i++) {
+            DivideUpstream upstream = upstreamList.get(i);
+            UpstreamStats stats = STATS_MAP.get(upstream.getUpstreamUrl());
+            if (Objects.nonNull(stats) && stats.isEjected() && ejected < maxEjected) {
+                if (Objects.isNull(resultList)) {
+                    resultList = Lists.newArrayList(upstreamList.subList(0, i));
+                }
+                ejected++;
+            } else if (Objects.nonNull(resultList)) {
+                resultList.add(upstream);
+            }
         }
+        return Objects.isNull(resultList) ? upstreamList : resultList;
+    }
+
+    private void pruneStats() {
+        Set<String> upstreamUrls = UPSTREAM_MAP.values().stream().flatMap(List::stream).map(DivideUpstream::getUpstreamUrl).collect(Collectors.toSet());
+        STATS_MAP.keySet().retainAll(upstreamUrls);
     }
 
-    private List<DivideUpstream> check(final List<DivideUpstream> upstreamList) {
+    /**
+     * Probe all upstreams, the round is skipped while the probes of the former one are still running.
+     *
+     * @return the future completing once the available lists are updated
+     */
+    CompletableFuture<Void> scheduled() {
+        if (UPSTREAM_MAP.isEmpty() || !checking.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Map<String, CompletableFuture<Boolean>> probes = UPSTREAM_MAP.values().stream()
+                .flatMap(List::stream)
+                .map(DivideUpstream::getUpstreamUrl)
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(),
+                    url -> CompletableFuture.supplyAsync(() -> UpstreamCheckUtils.checkUrl(url, CHECK_TIMEOUT), checkExecutor)
+                            .exceptionally(t -> false)));
+        return CompletableFuture.allOf(probes.values().toArray(new CompletableFuture[0]))
+                .thenRun(() -> UPSTREAM_MAP.forEach((k, v) -> {
+                    List<DivideUpstream> result = check(v, probes);
+                    UPSTREAM_MAP_CHECKED.put(k, result);
+                    if (result.size() > 0) {
+                        UPSTREAM_MAP_TEMP.put(k, available(result));
+                    } else {
+                        UPSTREAM_MAP_TEMP.remove(k);
+                    }
+                }))
+                .whenComplete((v, t) -> {
+                    checking.set(false);
+                    if (Objects.nonNull(t)) {
+                        log.error("UpstreamCacheManager check upstreams fail", t);
+                    }
+                });
+    }
+
+    private List<DivideUpstream> check(final List<DivideUpstream> upstreamList, final Map<String, CompletableFuture<Boolean>> probes) {
         List<DivideUpstream> resultList = Lists.newArrayListWithCapacity(upstreamList.size());
         for (DivideUpstream divideUpstream : upstreamList) {
-            final boolean pass = UpstreamCheckUtils.checkUrl(divideUpstream.getUpstreamUrl());
+            CompletableFuture<Boolean> probe = probes.get(divideUpstream.getUpstreamUrl());
+            // an upstream submitted while the probes ran is kept until the next round.
+            final boolean pass = Objects.isNull(probe) || probe.getNow(false);
             if (pass) {
                 if (!divideUpstream.isStatus()) {
                     divideUpstream.setTimestamp(System.currentTimeMillis());
@@ -134,7 +329,6 @@ public final class UpstreamCacheManager extends BaseHandleCache<String, DivideRu
                 log.error("check the url={} is fail ", divideUpstream.getUpstreamUrl());
             }
         }
-        return resultList;
-
+        return resultList.size() == upstreamList.size() ? upstreamList : resultList;
     }
 }
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live request statistics of an upstream: requests in flight and a peak ewma of the response time.
+ *
+ * <p>The ewma jumps to any response slower than the average and decays towards faster ones,
+ * the weight of the old average being {@code exp(-elapsed / decay)}.
+ *
+ * <p>It also tracks the request outcomes for the passive outlier detection of {@link UpstreamCacheManager}:
+ * the consecutive failures, the failures of the current interval and the ejection state.
+ */
+public final class UpstreamStats {
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToRawLongBits(0D));
+
+    private volatile long lastUpdate = System.nanoTime();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicInteger intervalRequests = new AtomicInteger();
+
+    private final AtomicInteger intervalFailures = new AtomicInteger();
+
+    private volatile long intervalStart = System.currentTimeMillis();
+
+    private final AtomicBoolean ejected = new AtomicBoolean();
+
+    private volatile int ejections;
+
+    private volatile long readmitted;
+
+    /**
+     * A request is sent to the upstream.
+     */
+    public void begin() {
+        active.incrementAndGet();
+    }
+
+    /**
+     * A request to the upstream is done.
+     *
+     * @param responseNanos the response time in nanos
+     * @param decayMillis   the decay of the average in millis
+     */
+    public void end(final long responseNanos, final long decayMillis) {
+        active.decrementAndGet();
+        long now = System.nanoTime();
+        double elapsed = Math.max(now - lastUpdate, 0L);
+        lastUpdate = now;
+        double tau = TimeUnit.MILLISECONDS.toNanos(Math.max(decayMillis, 1L));
+        double weight = Math.exp(-elapsed / tau);
+        long prev;
+        long next;
+        do {
+            prev = ewmaBits.get();
+            double ewma = Double.longBitsToDouble(prev);
+            double updated = responseNanos > ewma ? responseNanos : ewma * weight + responseNanos * (1D - weight);
+            next = Double.doubleToRawLongBits(updated);
+        } while (!ewmaBits.compareAndSet(prev, next));
+    }
+
+    /**
+     * Gets the requests in flight.
+     *
+     * @return the active requests
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * Gets the peak ewma of the response time in nanos.
+     *
+     * @return the ewma
+     */
+    public double getEwma() {
+        return Double.longBitsToDouble(ewmaBits.get());
+    }
+
+    /**
+     * The expected cost of one more request, the response time average scaled by the requests in flight.
+     *
+     * @return the cost
+     */
+    public double getCost() {
+        return (getEwma() + 1D) * (getActive() + 1);
+    }
+
+    /**
+     * A request to the upstream succeeded.
+     *
+     * @param now            the current time in millis
+     * @param intervalMillis the length of the failure rate interval in millis
+     */
+    public void success(final long now, final long intervalMillis) {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+        roll(now, intervalMillis);
+        intervalRequests.incrementAndGet();
+    }
+
+    /**
+     * A request to the upstream failed, with a 5xx status, a connect error or a timeout.
+     *
+     * @param now            the current time in millis
+     * @param intervalMillis the length of the failure rate interval in millis
+     */
+    public void failure(final long now, final long intervalMillis) {
+        consecutiveFailures.incrementAndGet();
+        roll(now, intervalMillis);
+        intervalRequests.incrementAndGet();
+        intervalFailures.incrementAndGet();
+    }
+
+    /**
+     * Gets the failures since the last success.
+     *
+     * @return the consecutive failures
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Gets the requests of the current interval.
+     *
+     * @return the interval requests
+     */
+    public int getIntervalRequests() {
+        return intervalRequests.get();
+    }
+
+    /**
+     * Gets the failures of the current interval.
+     *
+     * @return the interval failures
+     */
+    public int getIntervalFailures() {
+        return intervalFailures.get();
+    }
+
+    /**
+     * Whether the upstream is ejected.
+     *
+     * @return true if ejected
+     */
+    public boolean isEjected() {
+        return ejected.get();
+    }
+
+    /**
+     * Eject the upstream, the ejection time doubles every time it is ejected again within the max ejection time of its last readmission.
+     *
+     * @param now               the current time in millis
+     * @param baseEjectionMillis the base ejection time in millis
+     * @param maxEjectionMillis  the max ejection time in millis
+     * @return the ejection time in millis, 0 if it is already ejected
+     */
+    public long eject(final long now, final long baseEjectionMillis, final long maxEjectionMillis) {
+        if (!ejected.compareAndSet(false, true)) {
+            return 0L;
+        }
+        int times = now - readmitted > maxEjectionMillis ? 0 : ejections;
+        ejections = times + 1;
+        consecutiveFailures.set(0);
+        intervalStart = now;
+        intervalRequests.set(0);
+        intervalFailures.set(0);
+        return Math.min(baseEjectionMillis << Math.min(times, 20), maxEjectionMillis);
+    }
+
+    /**
+     * Readmit the ejected upstream.
+     *
+     * @param now the current time in millis
+     */
+    public void readmit(final long now) {
+        readmitted = now;
+        ejected.set(false);
+    }
+
+    private void roll(final long now, final long intervalMillis) {
+        long start = intervalStart;
+        if (now - start >= intervalMillis) {
+            synchronized (this) {
+                if (intervalStart == start) {
+                    intervalRequests.set(0);
+                    intervalFailures.set(0);
+                    intervalStart = now;
+                }
+            }
+        }
+    }
+}
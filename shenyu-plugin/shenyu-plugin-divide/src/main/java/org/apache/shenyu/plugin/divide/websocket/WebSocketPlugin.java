@@ -34,11 +34,11 @@ import org.apache.shenyu.common.dto.convert.DivideUpstream;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
-import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
 import org.apache.shenyu.plugin.api.result.SoulResultEnum;
 import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
+import org.apache.shenyu.plugin.base.cache.HandleCompiler;
 import org.apache.shenyu.plugin.api.result.SoulResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.springframework.http.HttpHeaders;
@@ -63,6 +63,8 @@ public class WebSocketPlugin extends AbstractSoulPlugin {
 
     private static final String SEC_WEB_SOCKET_PROTOCOL = "Sec-WebSocket-Protocol";
 
+    private static final HandleCompiler<RuleData, DivideRuleHandle> RULE_HANDLE_COMPILER = HandleCompiler.rule(DivideRuleHandle.class);
+
     private final WebSocketClient webSocketClient;
 
     private final WebSocketService webSocketService;
@@ -86,7 +88,7 @@ public class WebSocketPlugin extends AbstractSoulPlugin {
             log.error("divide upstream configuration error：{}", rule.toString());
             return chain.execute(exchange);
         }
-        final DivideRuleHandle ruleHandle = GsonUtils.getInstance().fromJson(rule.getHandle(), DivideRuleHandle.class);
+        final DivideRuleHandle ruleHandle = RULE_HANDLE_COMPILER.obtain(rule);
         final String ip = Objects.requireNonNull(exchange.getRequest().getRemoteAddress()).getAddress().getHostAddress();
         DivideUpstream divideUpstream = LoadBalanceUtils.selector(upstreamList, ruleHandle.getLoadBalance(), ip);
         if (Objects.isNull(divideUpstream)) {
@@ -133,4 +133,16 @@ public final class HashLoadBalanceTest {
         Assert.assertEquals(assertUp.getUpstreamUrl(), divideUpstream.getUpstreamUrl());
 
     }
+
+    @Test
+    public void hashLoadBalanceReplacedListTest() {
+        final String ip = "127.0.0.1";
+        final HashLoadBalance hashLoadBalance = new HashLoadBalance();
+        final DivideUpstream selected = hashLoadBalance.select(hashLoadBalancesOrdered, ip);
+        Assert.assertSame(selected, hashLoadBalance.select(hashLoadBalancesOrdered, ip));
+        final List<DivideUpstream> replaced = hashLoadBalancesOrdered.stream()
+                .filter(upstream -> upstream != selected).collect(Collectors.toList());
+        final DivideUpstream reselected = hashLoadBalance.select(replaced, ip);
+        Assert.assertTrue(replaced.contains(reselected));
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type least active load balance test.
+ */
+public final class LeastActiveLoadBalanceTest {
+
+    private List<DivideUpstream> upstreamList;
+
+    @Before
+    public void setUp() {
+        this.upstreamList = Stream.of(1, 2, 3)
+                .map(i -> DivideUpstream.builder()
+                        .upstreamUrl("least-active-upstream-" + i)
+                        .weight(50)
+                        .status(true)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The upstream with the fewest requests in flight is selected.
+     */
+    @Test
+    public void leastActiveLoadBalanceTest() {
+        UpstreamCacheManager.getInstance().obtainStats("least-active-upstream-1").begin();
+        UpstreamCacheManager.getInstance().obtainStats("least-active-upstream-1").begin();
+        UpstreamCacheManager.getInstance().obtainStats("least-active-upstream-3").begin();
+        final LeastActiveLoadBalance leastActiveLoadBalance = new LeastActiveLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("least-active-upstream-2", leastActiveLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+    }
+
+    /**
+     * The requests in flight are divided by the weight, a heavier upstream takes more of them.
+     */
+    @Test
+    public void leastActiveWeightTest() {
+        upstreamList.get(0).setWeight(100);
+        upstreamList.get(1).setWeight(10);
+        upstreamList.get(2).setWeight(10);
+        UpstreamCacheManager.getInstance().obtainStats("least-active-upstream-1").begin();
+        UpstreamCacheManager.getInstance().obtainStats("least-active-upstream-1").begin();
+        final LeastActiveLoadBalance leastActiveLoadBalance = new LeastActiveLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("least-active-upstream-1", leastActiveLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+    }
+
+    /**
+     * The upstreams that are down are not selected.
+     */
+    @Test
+    public void leastActiveSkipDownUpstreamTest() {
+        upstreamList.forEach(upstream -> upstream.setStatus(false));
+        upstreamList.get(0).setStatus(true);
+        UpstreamCacheManager.getInstance().obtainStats("least-active-upstream-1").begin();
+        final LeastActiveLoadBalance leastActiveLoadBalance = new LeastActiveLoadBalance();
+        Assert.assertEquals("least-active-upstream-1", leastActiveLoadBalance.select(upstreamList, "").getUpstreamUrl());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.apache.shenyu.plugin.divide.cache.UpstreamStats;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The type power of two choices load balance test.
+ */
+public final class P2cLoadBalanceTest {
+
+    /**
+     * Of two upstreams the cheaper one is always selected.
+     */
+    @Test
+    public void p2cTwoUpstreamTest() {
+        List<DivideUpstream> upstreamList = Arrays.asList(build("p2c-upstream-slow", true), build("p2c-upstream-fast", true));
+        UpstreamStats slow = UpstreamCacheManager.getInstance().obtainStats("p2c-upstream-slow");
+        slow.begin();
+        slow.end(TimeUnit.MILLISECONDS.toNanos(100), 10000L);
+        final P2cLoadBalance p2cLoadBalance = new P2cLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("p2c-upstream-fast", p2cLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+    }
+
+    /**
+     * The slowest upstream is never selected, it loses every comparison.
+     */
+    @Test
+    public void p2cNeverSelectWorstTest() {
+        List<DivideUpstream> upstreamList = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> build("p2c-upstream-" + i, true))
+                .collect(Collectors.toList());
+        UpstreamStats worst = UpstreamCacheManager.getInstance().obtainStats("p2c-upstream-5");
+        worst.begin();
+        worst.end(TimeUnit.MILLISECONDS.toNanos(100), 10000L);
+        final P2cLoadBalance p2cLoadBalance = new P2cLoadBalance();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertNotEquals("p2c-upstream-5", p2cLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+    }
+
+    /**
+     * The cost is divided by the weight, a heavier upstream wins against a faster light one.
+     */
+    @Test
+    public void p2cWeightTest() {
+        DivideUpstream heavy = build("p2c-upstream-heavy", true);
+        heavy.setWeight(100);
+        DivideUpstream light = build("p2c-upstream-light", true);
+        light.setWeight(10);
+        record("p2c-upstream-heavy", 40);
+        record("p2c-upstream-light", 20);
+        final P2cLoadBalance p2cLoadBalance = new P2cLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("p2c-upstream-heavy", p2cLoadBalance.select(Arrays.asList(heavy, light), "").getUpstreamUrl());
+        }
+    }
+
+    /**
+     * An upstream that is down loses against one that is up.
+     */
+    @Test
+    public void p2cSkipDownUpstreamTest() {
+        List<DivideUpstream> upstreamList = Arrays.asList(build("p2c-upstream-down", false), build("p2c-upstream-up", true));
+        final P2cLoadBalance p2cLoadBalance = new P2cLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("p2c-upstream-up", p2cLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+    }
+
+    private static void record(final String upstreamUrl, final long responseMillis) {
+        UpstreamStats stats = UpstreamCacheManager.getInstance().obtainStats(upstreamUrl);
+        stats.begin();
+        stats.end(TimeUnit.MILLISECONDS.toNanos(responseMillis), 10000L);
+    }
+
+    private static DivideUpstream build(final String upstreamUrl, final boolean status) {
+        return DivideUpstream.builder().upstreamUrl(upstreamUrl).weight(50).status(status).build();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.apache.shenyu.plugin.divide.cache.UpstreamStats;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type peak ewma load balance test.
+ */
+public final class PeakEwmaLoadBalanceTest {
+
+    private List<DivideUpstream> upstreamList;
+
+    @Before
+    public void setUp() {
+        this.upstreamList = build("peak-ewma-upstream-");
+    }
+
+    /**
+     * The upstream with the lowest response time is selected.
+     */
+    @Test
+    public void peakEwmaLoadBalanceTest() {
+        record("peak-ewma-upstream-1", 200);
+        record("peak-ewma-upstream-2", 20);
+        record("peak-ewma-upstream-3", 80);
+        final PeakEwmaLoadBalance peakEwmaLoadBalance = new PeakEwmaLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("peak-ewma-upstream-2", peakEwmaLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+    }
+
+    /**
+     * A fast upstream loaded with requests in flight costs more than a slower idle one.
+     */
+    @Test
+    public void peakEwmaActiveTest() {
+        record("peak-ewma-active-upstream-1", 30);
+        record("peak-ewma-active-upstream-2", 20);
+        record("peak-ewma-active-upstream-3", 30);
+        for (int i = 0; i < 3; i++) {
+            UpstreamCacheManager.getInstance().obtainStats("peak-ewma-active-upstream-2").begin();
+        }
+        UpstreamCacheManager.getInstance().obtainStats("peak-ewma-active-upstream-3").begin();
+        final PeakEwmaLoadBalance peakEwmaLoadBalance = new PeakEwmaLoadBalance();
+        Assert.assertEquals("peak-ewma-active-upstream-1", peakEwmaLoadBalance.select(build("peak-ewma-active-upstream-"), "").getUpstreamUrl());
+    }
+
+    /**
+     * The cost is divided by the weight, a heavier upstream is preferred to a faster light one.
+     */
+    @Test
+    public void peakEwmaWeightTest() {
+        record("peak-ewma-weight-upstream-1", 40);
+        record("peak-ewma-weight-upstream-2", 20);
+        record("peak-ewma-weight-upstream-3", 30);
+        List<DivideUpstream> weightList = build("peak-ewma-weight-upstream-");
+        weightList.get(0).setWeight(100);
+        weightList.get(1).setWeight(10);
+        weightList.get(2).setWeight(10);
+        final PeakEwmaLoadBalance peakEwmaLoadBalance = new PeakEwmaLoadBalance();
+        Assert.assertEquals("peak-ewma-weight-upstream-1", peakEwmaLoadBalance.select(weightList, "").getUpstreamUrl());
+    }
+
+    private static List<DivideUpstream> build(final String prefix) {
+        return Stream.of(1, 2, 3)
+                .map(i -> DivideUpstream.builder()
+                        .upstreamUrl(prefix + i)
+                        .weight(50)
+                        .status(true)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static void record(final String upstreamUrl, final long responseMillis) {
+        UpstreamStats stats = UpstreamCacheManager.getInstance().obtainStats(upstreamUrl);
+        stats.begin();
+        stats.end(TimeUnit.MILLISECONDS.toNanos(responseMillis), 10000L);
+    }
+}
@@ -96,4 +96,42 @@ public final class RoundRobinLoadBalanceTest {
         }
         Assert.assertEquals(60, countMap.get("divide-upstream-50").intValue());
     }
+
+    @Test
+    public void roundRobinLoadBalanceKeyedBySelectorTest() {
+        List<DivideUpstream> first = Stream.of(50, 50)
+                .map(weight -> DivideUpstream.builder().upstreamUrl("divide-upstream-" + weight).weight(weight).build())
+                .collect(Collectors.toList());
+        List<DivideUpstream> second = Stream.of(50, 50)
+                .map(weight -> DivideUpstream.builder().upstreamUrl("divide-upstream-" + weight).weight(weight).build())
+                .collect(Collectors.toList());
+        RoundRobinLoadBalance roundRobinLoadBalance = new RoundRobinLoadBalance();
+        DivideUpstream lastFirst = null;
+        DivideUpstream lastSecond = null;
+        for (int i = 0; i < 10; i++) {
+            DivideUpstream selectedFirst = roundRobinLoadBalance.select(first, "");
+            DivideUpstream selectedSecond = roundRobinLoadBalance.select(second, "");
+            Assert.assertTrue(first.stream().anyMatch(upstream -> upstream == selectedFirst));
+            Assert.assertTrue(second.stream().anyMatch(upstream -> upstream == selectedSecond));
+            Assert.assertNotSame(lastFirst, selectedFirst);
+            Assert.assertNotSame(lastSecond, selectedSecond);
+            lastFirst = selectedFirst;
+            lastSecond = selectedSecond;
+        }
+    }
+
+    @Test
+    public void roundRobinLoadBalanceSmoothTest() {
+        List<DivideUpstream> divideUpstreamList = Stream.of(5, 1, 1)
+                .map(weight -> DivideUpstream.builder().upstreamUrl("divide-upstream-" + weight + "-" + Math.random()).weight(weight).build())
+                .collect(Collectors.toList());
+        RoundRobinLoadBalance roundRobinLoadBalance = new RoundRobinLoadBalance();
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            sequence.append(divideUpstreamList.indexOf(roundRobinLoadBalance.select(divideUpstreamList, "")));
+        }
+        Assert.assertEquals(7, sequence.length());
+        Assert.assertEquals(5, sequence.chars().filter(c -> c == '0').count());
+        Assert.assertFalse(sequence.toString().contains("00000"));
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.benchmark;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.balance.spi.AbstractLoadBalance;
+import org.apache.shenyu.plugin.divide.balance.spi.RoundRobinLoadBalance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Round robin selection over 10 weighted upstreams of one hot selector from 32 threads,
+ * the former per-upstream atomic counters against {@link RoundRobinLoadBalance}.
+ *
+ * <p>Run the {@code main} method on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class RoundRobinLoadBalanceBenchmark {
+
+    private List<DivideUpstream> upstreamList;
+
+    private AbstractLoadBalance atomicRoundRobin;
+
+    private AbstractLoadBalance roundRobin;
+
+    /**
+     * Build the upstreams.
+     */
+    @Setup
+    public void setUp() {
+        upstreamList = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> DivideUpstream.builder().upstreamUrl("upstream-" + i).weight(i * 10).status(true).build())
+                .collect(Collectors.toList());
+        atomicRoundRobin = new AtomicRoundRobinLoadBalance();
+        roundRobin = new RoundRobinLoadBalance();
+    }
+
+    /**
+     * The round robin as it was.
+     *
+     * @return the upstream
+     */
+    @Benchmark
+    public DivideUpstream atomicRoundRobin() {
+        return atomicRoundRobin.select(upstreamList, "");
+    }
+
+    /**
+     * The current round robin.
+     *
+     * @return the upstream
+     */
+    @Benchmark
+    public DivideUpstream stripedRoundRobin() {
+        return roundRobin.select(upstreamList, "");
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RoundRobinLoadBalanceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static final class AtomicRoundRobinLoadBalance extends AbstractLoadBalance {
+
+        private final ConcurrentMap<String, ConcurrentMap<String, Counter>> methodWeightMap = new ConcurrentHashMap<>(16);
+
+        @Override
+        protected DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+            ConcurrentMap<String, Counter> map = methodWeightMap.computeIfAbsent(upstreamList.get(0).getUpstreamUrl(), key -> new ConcurrentHashMap<>(16));
+            int totalWeight = 0;
+            long maxCurrent = Long.MIN_VALUE;
+            long now = System.currentTimeMillis();
+            DivideUpstream selected = null;
+            Counter selectedCounter = null;
+            for (DivideUpstream upstream : upstreamList) {
+                int weight = getWeight(upstream);
+                Counter counter = map.computeIfAbsent(upstream.getUpstreamUrl(), key -> new Counter());
+                counter.weight = weight;
+                long cur = counter.current.addAndGet(weight);
+                counter.lastUpdate = now;
+                if (cur > maxCurrent) {
+                    maxCurrent = cur;
+                    selected = upstream;
+                    selectedCounter = counter;
+                }
+                totalWeight += weight;
+            }
+            selectedCounter.current.addAndGet(-totalWeight);
+            return selected;
+        }
+    }
+
+    private static final class Counter {
+
+        private final AtomicLong current = new AtomicLong();
+
+        private volatile int weight;
+
+        private volatile long lastUpdate;
+    }
+}
@@ -26,6 +26,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -92,4 +95,77 @@ public final class UpstreamCacheManagerTest {
         List<DivideUpstream> result = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("submit");
         Assert.assertEquals(GsonUtils.getGson().toJson(upstreams), GsonUtils.getGson().toJson(result));
     }
+
+    /**
+     * Stats of upstreams no selector refers to any more are dropped on submit.
+     */
+    @Test
+    public void obtainStatsTest() {
+        UpstreamStats stats = UpstreamCacheManager.getInstance().obtainStats("divide-upstream-3");
+        Assert.assertSame(stats, UpstreamCacheManager.getInstance().obtainStats("divide-upstream-3"));
+        final UpstreamStats removed = UpstreamCacheManager.getInstance().obtainStats("divide-upstream-removed");
+        SelectorData selectorData = mock(SelectorData.class);
+        when(selectorData.getId()).thenReturn("mock");
+        when(selectorData.getHandle()).thenReturn(GsonUtils.getGson().toJson(loadBalances));
+        UpstreamCacheManager.getInstance().submit(selectorData);
+        Assert.assertSame(stats, UpstreamCacheManager.getInstance().obtainStats("divide-upstream-3"));
+        Assert.assertNotSame(removed, UpstreamCacheManager.getInstance().obtainStats("divide-upstream-removed"));
+    }
+
+    /**
+     * Consecutive failures eject the upstream from the available list, at most half of the upstreams of a selector.
+     */
+    @Test
+    public void outlierEjectionTest() {
+        List<DivideUpstream> upstreams = Stream.of(1, 2, 3, 4)
+                .map(i -> DivideUpstream.builder()
+                        .upstreamUrl("outlier-upstream-" + i)
+                        .build())
+                .collect(Collectors.toList());
+        SelectorData selectorData = mock(SelectorData.class);
+        when(selectorData.getId()).thenReturn("outlier");
+        when(selectorData.getHandle()).thenReturn(GsonUtils.getGson().toJson(upstreams));
+        UpstreamCacheManager.getInstance().submit(selectorData);
+        final List<DivideUpstream> submitted = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("outlier");
+        upstreams.forEach(upstream -> UpstreamCacheManager.getInstance().obtainStats(upstream.getUpstreamUrl()));
+        for (int i = 1; i <= 3; i++) {
+            for (int j = 0; j < 5; j++) {
+                UpstreamCacheManager.getInstance().recordOutcome("outlier-upstream-" + i, false);
+            }
+        }
+        UpstreamCacheManager.getInstance().recordOutcome("outlier-upstream-4", true);
+        List<String> available = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("outlier").stream()
+                .map(DivideUpstream::getUpstreamUrl).collect(Collectors.toList());
+        Assert.assertEquals(4, submitted.size());
+        Assert.assertEquals(2, available.size());
+        Assert.assertFalse(available.contains("outlier-upstream-1"));
+        Assert.assertTrue(available.contains("outlier-upstream-4"));
+        Assert.assertFalse(UpstreamCacheManager.getInstance().obtainStats("outlier-upstream-3").isEjected());
+    }
+
+    /**
+     * The probes complete on their own threads and drop the upstreams that refuse connections.
+     */
+    @Test
+    public void scheduledCheckTest() throws IOException {
+        String refused;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            refused = "127.0.0.1:" + closed.getLocalPort();
+        }
+        try (ServerSocket open = new ServerSocket(0)) {
+            String accepted = "127.0.0.1:" + open.getLocalPort();
+            List<DivideUpstream> upstreams = Stream.of(accepted, refused)
+                    .map(url -> DivideUpstream.builder().upstreamUrl(url).status(true).build())
+                    .collect(Collectors.toList());
+            SelectorData selectorData = mock(SelectorData.class);
+            when(selectorData.getId()).thenReturn("check");
+            when(selectorData.getHandle()).thenReturn(GsonUtils.getGson().toJson(upstreams));
+            UpstreamCacheManager.getInstance().submit(selectorData);
+            UpstreamCacheManager.getInstance().scheduled().join();
+            List<String> available = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("check").stream()
+                    .map(DivideUpstream::getUpstreamUrl).collect(Collectors.toList());
+            Assert.assertEquals(Collections.singletonList(accepted), available);
+            UpstreamCacheManager.getInstance().removeByKey("check");
+        }
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type upstream stats test.
+ */
+public final class UpstreamStatsTest {
+
+    /**
+     * Active requests are counted.
+     */
+    @Test
+    public void activeTest() {
+        UpstreamStats stats = new UpstreamStats();
+        stats.begin();
+        stats.begin();
+        Assert.assertEquals(2, stats.getActive());
+        stats.end(1000L, 10000L);
+        Assert.assertEquals(1, stats.getActive());
+    }
+
+    /**
+     * The ewma jumps to a slower response and decays towards faster ones.
+     */
+    @Test
+    public void peakEwmaTest() throws InterruptedException {
+        UpstreamStats stats = new UpstreamStats();
+        long slow = TimeUnit.MILLISECONDS.toNanos(100);
+        stats.begin();
+        stats.end(slow, 10L);
+        Assert.assertEquals(slow, stats.getEwma(), 0D);
+        Thread.sleep(50);
+        stats.begin();
+        stats.end(TimeUnit.MILLISECONDS.toNanos(1), 10L);
+        Assert.assertTrue(stats.getEwma() < slow / 2D);
+        Assert.assertTrue(stats.getEwma() >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * The cost grows with the requests in flight.
+     */
+    @Test
+    public void costTest() {
+        UpstreamStats stats = new UpstreamStats();
+        stats.begin();
+        stats.end(1000L, 10000L);
+        double idle = stats.getCost();
+        stats.begin();
+        Assert.assertEquals(idle * 2, stats.getCost(), 0.001D);
+    }
+
+    /**
+     * Failures are counted per interval and reset by a success.
+     */
+    @Test
+    public void outcomeTest() {
+        UpstreamStats stats = new UpstreamStats();
+        final long now = System.currentTimeMillis();
+        stats.failure(now, 10000L);
+        stats.failure(now + 1000L, 10000L);
+        Assert.assertEquals(2, stats.getConsecutiveFailures());
+        stats.success(now + 2000L, 10000L);
+        Assert.assertEquals(0, stats.getConsecutiveFailures());
+        Assert.assertEquals(3, stats.getIntervalRequests());
+        Assert.assertEquals(2, stats.getIntervalFailures());
+        stats.failure(now + 20000L, 10000L);
+        Assert.assertEquals(1, stats.getIntervalRequests());
+        Assert.assertEquals(1, stats.getIntervalFailures());
+    }
+
+    /**
+     * The ejection time doubles when the upstream is ejected again soon after its readmission.
+     */
+    @Test
+    public void ejectBackOffTest() {
+        UpstreamStats stats = new UpstreamStats();
+        Assert.assertEquals(1000L, stats.eject(0L, 1000L, 8000L));
+        Assert.assertTrue(stats.isEjected());
+        Assert.assertEquals(0L, stats.eject(0L, 1000L, 8000L));
+        stats.readmit(1000L);
+        Assert.assertFalse(stats.isEjected());
+        Assert.assertEquals(2000L, stats.eject(2000L, 1000L, 8000L));
+        stats.readmit(4000L);
+        Assert.assertEquals(4000L, stats.eject(5000L, 1000L, 8000L));
+        stats.readmit(9000L);
+        Assert.assertEquals(8000L, stats.eject(10000L, 1000L, 8000L));
+        stats.readmit(18000L);
+        Assert.assertEquals(8000L, stats.eject(19000L, 1000L, 8000L));
+        stats.readmit(27000L);
+        Assert.assertEquals(1000L, stats.eject(100000L, 1000L, 8000L));
+    }
+}
@@ -74,6 +74,7 @@ public class DefaultSoulContextBuilder implements SoulContextBuilder {
         soulContext.setSign(sign);
         soulContext.setTimestamp(timestamp);
         soulContext.setStartDateTime(LocalDateTime.now());
+        soulContext.setStartNanoTime(System.nanoTime());
         Optional.ofNullable(request.getMethod()).ifPresent(httpMethod -> soulContext.setHttpMethod(httpMethod.name()));
         return soulContext;
     }
@@ -17,16 +17,24 @@
 
 package org.apache.shenyu.plugin.global.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.MetaData;
-import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.springframework.util.AntPathMatcher;
 
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
 
 /**
  * The type Meta data cache.
  *
+ * <p>A path without metadata of its own is matched against the ant patterns of the registered paths.
+ * The patterns are kept in a {@link PathPatternTrie} so a lookup only checks the few that may match,
+ * and the outcome, matched or not, is cached per path until a path is added or removed.
+ *
  * @author xiaoyu
  */
 public final class MetaDataCache {
@@ -38,6 +46,17 @@ public final class MetaDataCache {
      */
     private static final ConcurrentMap<String, MetaData> META_DATA_MAP = Maps.newConcurrentMap();
     
+    private static final long MAX_MATCHED_PATHS = 10_000L;
+    
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+    
+    private final PathPatternTrie pathTrie = new PathPatternTrie();
+    
+    /**
+     * path -> the matched path, or empty if none, replaced whenever a path is added or removed.
+     */
+    private volatile Cache<String, Optional<String>> matchedPaths = newMatchedPaths();
+    
     private MetaDataCache() {
     }
     
@@ -55,8 +74,11 @@ public final class MetaDataCache {
      *
      * @param data the data
      */
-    public void cache(final MetaData data) {
-        META_DATA_MAP.put(data.getPath(), data);
+    public synchronized void cache(final MetaData data) {
+        if (Objects.isNull(META_DATA_MAP.put(data.getPath(), data))) {
+            pathTrie.add(data.getPath());
+            matchedPaths = newMatchedPaths();
+        }
     }
     
     /**
@@ -64,8 +86,11 @@ public final class MetaDataCache {
      *
      * @param data the data
      */
-    public void remove(final MetaData data) {
-        META_DATA_MAP.remove(data.getPath());
+    public synchronized void remove(final MetaData data) {
+        if (Objects.nonNull(META_DATA_MAP.remove(data.getPath()))) {
+            pathTrie.remove(data.getPath());
+            matchedPaths = newMatchedPaths();
+        }
     }
     
     /**
@@ -76,10 +101,33 @@ public final class MetaDataCache {
      */
     public MetaData obtain(final String path) {
         MetaData metaData = META_DATA_MAP.get(path);
-        if (Objects.isNull(metaData)) {
-            String key = META_DATA_MAP.keySet().stream().filter(k -> PathMatchUtils.match(k, path)).findFirst().orElse("");
-            return META_DATA_MAP.get(key);
+        if (Objects.nonNull(metaData)) {
+            return metaData;
         }
-        return metaData;
+        Cache<String, Optional<String>> matched = matchedPaths;
+        Optional<String> key = matched.getIfPresent(path);
+        if (Objects.isNull(key)) {
+            key = match(path);
+            matched.put(path, key);
+        }
+        return key.map(META_DATA_MAP::get).orElse(null);
+    }
+    
+    /**
+     * Find the most specific registered path whose ant pattern matches the path.
+     *
+     * @param path the path
+     * @return the matched path
+     */
+    private Optional<String> match(final String path) {
+        Comparator<String> specificity = MATCHER.getPatternComparator(path);
+        return pathTrie.candidates(path).stream()
+                .filter(route -> MATCHER.match(route.getPattern(), path))
+                .min((r1, r2) -> specificity.compare(r1.getPattern(), r2.getPattern()))
+                .map(PathPatternTrie.Route::getKey);
+    }
+    
+    private static Cache<String, Optional<String>> newMatchedPaths() {
+        return CacheBuilder.newBuilder().maximumSize(MAX_MATCHED_PATHS).build();
     }
 }
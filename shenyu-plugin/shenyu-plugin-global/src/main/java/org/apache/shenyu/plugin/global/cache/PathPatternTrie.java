@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.global.cache;
+
+import com.google.common.base.Splitter;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Segment trie over ant path patterns, used to narrow down the patterns that may match a path.
+ *
+ * <p>A pattern is split into segments like {@link org.springframework.util.AntPathMatcher} does. A literal segment
+ * goes to a child by name, {@code **} to the multi segment child and any other segment with a wildcard or a
+ * uri template variable ({@code *}, {@code ?}, {@code {var}}) to the single segment child. A lookup walks the path
+ * segments through the trie, so it only meets the patterns whose literal segments agree with the path;
+ * the candidates must still be checked against the full ant matching.
+ *
+ * <p>Writers are serialized, readers walk the trie without locking.
+ */
+final class PathPatternTrie {
+
+    private static final String SEPARATOR = "/";
+
+    private static final String MULTI_WILDCARD = "**";
+
+    private static final Splitter COMMA_SPLITTER = Splitter.on(",").omitEmptyStrings().trimResults();
+
+    private final Node root = new Node();
+
+    /**
+     * Add a key, every pattern of the comma separated key is indexed.
+     *
+     * @param key the key
+     */
+    synchronized void add(final String key) {
+        for (String pattern : COMMA_SPLITTER.split(key)) {
+            Node node = root;
+            for (String segment : tokenize(pattern)) {
+                node = node.child(segment, true);
+            }
+            node.routes.add(new Route(pattern, key));
+        }
+    }
+
+    /**
+     * Remove a key and prune the nodes left empty.
+     *
+     * @param key the key
+     */
+    synchronized void remove(final String key) {
+        for (String pattern : COMMA_SPLITTER.split(key)) {
+            String[] segments = tokenize(pattern);
+            Node[] nodes = new Node[segments.length + 1];
+            nodes[0] = root;
+            for (int i = 0; i < segments.length && Objects.nonNull(nodes[i]); i++) {
+                nodes[i + 1] = nodes[i].child(segments[i], false);
+            }
+            if (Objects.isNull(nodes[segments.length])) {
+                continue;
+            }
+            nodes[segments.length].routes.remove(new Route(pattern, key));
+            for (int i = segments.length; i > 0 && nodes[i].isEmpty(); i--) {
+                nodes[i - 1].removeChild(segments[i - 1]);
+            }
+        }
+    }
+
+    /**
+     * Find the patterns that may match the path.
+     *
+     * @param path the path
+     * @return the candidate routes
+     */
+    List<Route> candidates(final String path) {
+        List<Route> candidates = new ArrayList<>();
+        collect(root, tokenize(path), 0, path.endsWith(SEPARATOR), candidates);
+        return candidates;
+    }
+
+    private static void collect(final Node node, final String[] segments, final int index, final boolean trailingSeparator, final List<Route> candidates) {
+        Node multi = node.multi;
+        if (Objects.nonNull(multi)) {
+            for (int next = index; next <= segments.length; next++) {
+                collect(multi, segments, next, trailingSeparator, candidates);
+            }
+        }
+        Node single = node.single;
+        if (index == segments.length) {
+            candidates.addAll(node.routes);
+            // "/a/*" matches "/a/" as well
+            if (trailingSeparator && Objects.nonNull(single)) {
+                candidates.addAll(single.routes);
+            }
+            return;
+        }
+        Node literal = node.literals.get(segments[index]);
+        if (Objects.nonNull(literal)) {
+            collect(literal, segments, index + 1, trailingSeparator, candidates);
+        }
+        if (Objects.nonNull(single)) {
+            collect(single, segments, index + 1, trailingSeparator, candidates);
+        }
+    }
+
+    private static String[] tokenize(final String path) {
+        return StringUtils.tokenizeToStringArray(path, SEPARATOR, false, true);
+    }
+
+    private static boolean isWildcard(final String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    /**
+     * A pattern of a key.
+     */
+    static final class Route {
+
+        private final String pattern;
+
+        private final String key;
+
+        Route(final String pattern, final String key) {
+            this.pattern = pattern;
+            this.key = key;
+        }
+
+        /**
+         * Gets the pattern.
+         *
+         * @return the pattern
+         */
+        String getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Gets the key.
+         *
+         * @return the key
+         */
+        String getKey() {
+            return key;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Route)) {
+                return false;
+            }
+            Route route = (Route) o;
+            return pattern.equals(route.pattern) && key.equals(route.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pattern, key);
+        }
+    }
+
+    private static final class Node {
+
+        private final ConcurrentMap<String, Node> literals = new ConcurrentHashMap<>();
+
+        private final Set<Route> routes = ConcurrentHashMap.newKeySet();
+
+        private volatile Node single;
+
+        private volatile Node multi;
+
+        private Node child(final String segment, final boolean create) {
+            if (MULTI_WILDCARD.equals(segment)) {
+                if (Objects.isNull(multi) && create) {
+                    multi = new Node();
+                }
+                return multi;
+            }
+            if (isWildcard(segment)) {
+                if (Objects.isNull(single) && create) {
+                    single = new Node();
+                }
+                return single;
+            }
+            return create ? literals.computeIfAbsent(segment, s -> new Node()) : literals.get(segment);
+        }
+
+        private void removeChild(final String segment) {
+            if (MULTI_WILDCARD.equals(segment)) {
+                multi = null;
+            } else if (isWildcard(segment)) {
+                single = null;
+            } else {
+                literals.remove(segment);
+            }
+        }
+
+        private boolean isEmpty() {
+            return routes.isEmpty() && literals.isEmpty() && Objects.isNull(single) && Objects.isNull(multi);
+        }
+    }
+}
@@ -18,12 +18,19 @@
 package org.apache.shenyu.plugin.global.cache;
 
 import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.utils.PathMatchUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * The Test Case For MetaDataCache.
@@ -57,4 +64,72 @@ public final class MetaDataCacheTest {
         metaDataCache.remove(this.metaData);
         assertNull(metaDataCache.obtain("/home"));
     }
+
+    @Test
+    public void testObtainByPattern() {
+        MetaData any = MetaData.builder().path("/http/**").build();
+        MetaData order = MetaData.builder().path("/http/order/{id}").build();
+        final MetaData exact = MetaData.builder().path("/http/order/save").build();
+        metaDataCache.cache(any);
+        assertEquals("/http/**", metaDataCache.obtain("/http/order/1").getPath());
+        metaDataCache.cache(order);
+        metaDataCache.cache(exact);
+        assertEquals("/http/order/{id}", metaDataCache.obtain("/http/order/1").getPath());
+        assertEquals("/http/order/save", metaDataCache.obtain("/http/order/save").getPath());
+        assertEquals("/http/**", metaDataCache.obtain("/http/order/1/detail").getPath());
+        assertEquals("/http/**", metaDataCache.obtain("/http").getPath());
+        assertNull(metaDataCache.obtain("/dubbo/order/1"));
+        metaDataCache.remove(order);
+        assertEquals("/http/**", metaDataCache.obtain("/http/order/1").getPath());
+        metaDataCache.remove(any);
+        assertNull(metaDataCache.obtain("/http/order/1"));
+        metaDataCache.remove(exact);
+    }
+
+    @Test
+    public void testObtainMissThenCached() {
+        assertNull(metaDataCache.obtain("/grpc/echo"));
+        MetaData grpc = MetaData.builder().path("/grpc/*").build();
+        metaDataCache.cache(grpc);
+        assertEquals("/grpc/*", metaDataCache.obtain("/grpc/echo").getPath());
+        metaDataCache.remove(grpc);
+        assertNull(metaDataCache.obtain("/grpc/echo"));
+    }
+
+    @Test
+    public void testObtainSameAsAntMatch() {
+        List<String> segments = Arrays.asList("a", "b", "c", "*", "**", "{id}", "b?", "c*");
+        Random random = new Random(7);
+        List<MetaData> registered = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            StringBuilder pattern = new StringBuilder();
+            for (int depth = random.nextInt(4) + 1; depth > 0; depth--) {
+                pattern.append('/').append(segments.get(random.nextInt(segments.size())));
+            }
+            if (random.nextInt(5) == 0) {
+                pattern.append(",/x").append(pattern);
+            }
+            registered.add(MetaData.builder().path(pattern.toString()).build());
+        }
+        registered.forEach(metaDataCache::cache);
+        List<String> literals = Arrays.asList("a", "b", "c", "bc", "cd", "x", "1");
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder path = new StringBuilder();
+            for (int depth = random.nextInt(5); depth >= 0; depth--) {
+                path.append('/').append(literals.get(random.nextInt(literals.size())));
+            }
+            if (random.nextInt(5) == 0) {
+                path.append('/');
+            }
+            String uri = path.toString();
+            boolean anyMatch = registered.stream().anyMatch(data -> PathMatchUtils.match(data.getPath(), uri));
+            MetaData matched = metaDataCache.obtain(uri);
+            assertEquals(uri, anyMatch, null != matched);
+            if (null != matched) {
+                assertTrue(uri, PathMatchUtils.match(matched.getPath(), uri));
+            }
+        }
+        registered.forEach(metaDataCache::remove);
+        assertNull(metaDataCache.obtain("/a"));
+    }
 }
@@ -31,16 +31,21 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.ResultEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.common.exception.SoulException;
-import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
 import org.apache.shenyu.plugin.api.result.SoulResultEnum;
 import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
+import org.apache.shenyu.plugin.base.cache.HandleCompiler;
 import org.apache.shenyu.plugin.api.result.SoulResultWrap;
+import org.apache.shenyu.plugin.api.utils.MediaTypeUtils;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.grpc.cache.GrpcClientCache;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Objects;
@@ -55,6 +60,10 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class GrpcPlugin extends AbstractSoulPlugin {
 
+    private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes();
+
+    private static final HandleCompiler<MetaData, GrpcExtInfo> EXT_COMPILER = HandleCompiler.metaData(GrpcExtInfo.class);
+
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
         String param = exchange.getAttribute(Constants.PARAM_TRANSFORM);
@@ -68,7 +77,8 @@ public class GrpcPlugin extends AbstractSoulPlugin {
             Object error = SoulResultWrap.error(SoulResultEnum.META_DATA_ERROR.getCode(), SoulResultEnum.META_DATA_ERROR.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
-        if (StringUtils.isNoneBlank(metaData.getParameterTypes()) && StringUtils.isBlank(param)) {
+        final boolean streamBody = isStreamBody(exchange);
+        if (StringUtils.isNoneBlank(metaData.getParameterTypes()) && StringUtils.isBlank(param) && !streamBody) {
             exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
             Object error = SoulResultWrap.error(SoulResultEnum.GRPC_HAVE_BODY_PARAM.getCode(), SoulResultEnum.GRPC_HAVE_BODY_PARAM.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
@@ -79,8 +89,14 @@ public class GrpcPlugin extends AbstractSoulPlugin {
             Object error = SoulResultWrap.error(SoulResultEnum.GRPC_CLIENT_NULL.getCode(), SoulResultEnum.GRPC_CLIENT_NULL.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
-        GrpcExtInfo extInfo = GsonUtils.getGson().fromJson(metaData.getRpcExt(), GrpcExtInfo.class);
+        GrpcExtInfo extInfo = EXT_COMPILER.obtain(metaData);
         CallOptions callOptions = CallOptions.DEFAULT.withDeadlineAfter(extInfo.timeout, TimeUnit.MILLISECONDS);
+        if (streamBody || isStreamResponse(exchange)) {
+            Flux<String> requests = streamBody ? readLines(exchange) : Mono.justOrEmpty(param).flux();
+            exchange.getAttributes().put(Constants.GRPC_RPC_STREAM, client.stream(metaData, callOptions, requests).onErrorMap(SoulException::new));
+            exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
+            return chain.execute(exchange);
+        }
         CompletableFuture<SoulGrpcResponse> result = client.call(metaData, callOptions, param);
         return Mono.fromFuture(result.thenApply(ret -> {
             exchange.getAttributes().put(Constants.GRPC_RPC_RESULT, ret.getResult());
@@ -117,6 +133,28 @@ public class GrpcPlugin extends AbstractSoulPlugin {
         return PluginEnum.GRPC.getCode();
     }
 
+    /**
+     * Whether the client asks for the response messages one by one, as json lines or server sent events.
+     *
+     */
+    private static boolean isStreamResponse(final ServerWebExchange exchange) {
+        return exchange.getRequest().getHeaders().getAccept().stream()
+                .anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM) || MediaTypeUtils.isJsonLines(mediaType));
+    }
+
+    private static boolean isStreamBody(final ServerWebExchange exchange) {
+        MediaType contentType = exchange.getRequest().getHeaders().getContentType();
+        return Objects.nonNull(contentType) && MediaTypeUtils.isJsonLines(contentType);
+    }
+
+    /**
+     * The request messages of a chunked json lines body, decoded as the chunks arrive.
+     */
+    private static Flux<String> readLines(final ServerWebExchange exchange) {
+        return LINE_DECODER.decode(exchange.getRequest().getBody(), ResolvableType.forClass(String.class), null, null)
+                .filter(StringUtils::isNotBlank);
+    }
+
     private boolean checkMetaData(final MetaData metaData) {
         return null != metaData && !StringUtils.isBlank(metaData.getMethodName()) && !StringUtils.isBlank(metaData.getServiceName());
     }
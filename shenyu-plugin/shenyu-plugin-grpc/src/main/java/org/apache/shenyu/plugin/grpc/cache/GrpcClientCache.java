@@ -75,4 +75,16 @@ public class GrpcClientCache {
             grpcClient.close();
         }
     }
+
+    /**
+     * Drop the resolved methods of a service in every client.
+     *
+     * @param serviceName serviceName
+     */
+    public static void invalidateService(final String serviceName) {
+        if (Objects.isNull(serviceName)) {
+            return;
+        }
+        CLIENT_CACHE.values().forEach(client -> client.invalidate(serviceName));
+    }
 }
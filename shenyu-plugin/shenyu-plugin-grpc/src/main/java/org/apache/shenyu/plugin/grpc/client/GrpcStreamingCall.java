@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.client;
+
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bridges a grpc {@link ClientCall} to reactive streams in both directions.
+ *
+ * <p>Response messages are only requested from the call as the sink is requested,
+ * request messages are only pulled from the request publisher while the call is ready to send.
+ */
+final class GrpcStreamingCall extends ClientCall.Listener<DynamicMessage> {
+
+    private final ClientCall<DynamicMessage, DynamicMessage> call;
+
+    private final SoulGrpcMethod method;
+
+    private final FluxSink<String> sink;
+
+    private final RequestSubscriber requestSubscriber = new RequestSubscriber();
+
+    private final AtomicBoolean waitingReady = new AtomicBoolean();
+
+    GrpcStreamingCall(final ClientCall<DynamicMessage, DynamicMessage> call, final SoulGrpcMethod method, final FluxSink<String> sink) {
+        this.call = call;
+        this.method = method;
+        this.sink = sink;
+    }
+
+    /**
+     * Start the call and send the request messages.
+     *
+     * @param requestJsons the request messages in json
+     */
+    void start(final Flux<String> requestJsons) {
+        call.start(this, new Metadata());
+        sink.onRequest(n -> call.request((int) Math.min(n, Integer.MAX_VALUE)));
+        sink.onCancel(() -> call.cancel("Cancelled by the client", null));
+        sink.onDispose(requestSubscriber::dispose);
+        requestJsons.subscribe(requestSubscriber);
+    }
+
+    @Override
+    public void onMessage(final DynamicMessage message) {
+        try {
+            sink.next(method.getLinePrinter().print(message));
+        } catch (InvalidProtocolBufferException e) {
+            call.cancel("Unable to print the response message", e);
+        }
+    }
+
+    @Override
+    public void onClose(final Status status, final Metadata trailers) {
+        if (status.isOk()) {
+            sink.complete();
+        } else {
+            sink.error(status.asRuntimeException(trailers));
+        }
+    }
+
+    @Override
+    public void onReady() {
+        if (waitingReady.compareAndSet(true, false)) {
+            requestSubscriber.request(1);
+        }
+    }
+
+    private final class RequestSubscriber extends BaseSubscriber<String> {
+
+        @Override
+        protected void hookOnSubscribe(final Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(final String json) {
+            call.sendMessage(method.parse(json));
+            if (call.isReady()) {
+                request(1);
+                return;
+            }
+            waitingReady.set(true);
+            // the call may have turned ready before the flag was set
+            if (call.isReady() && waitingReady.compareAndSet(true, false)) {
+                request(1);
+            }
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            call.halfClose();
+        }
+
+        @Override
+        protected void hookOnError(final Throwable throwable) {
+            call.cancel("The request stream failed", throwable);
+        }
+    }
+}
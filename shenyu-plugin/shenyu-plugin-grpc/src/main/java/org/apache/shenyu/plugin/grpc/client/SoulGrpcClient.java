@@ -18,14 +18,18 @@
 package org.apache.shenyu.plugin.grpc.client;
 
 import java.io.Closeable;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.protobuf.DescriptorProtos;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.DynamicMessage;
-import com.google.protobuf.util.JsonFormat;
 import io.grpc.CallOptions;
 import io.grpc.ClientCall;
 import io.grpc.ManagedChannel;
@@ -39,13 +43,15 @@ import org.apache.shenyu.plugin.grpc.proto.MessageWriter;
 import org.apache.shenyu.plugin.grpc.proto.SoulGrpcCallRequest;
 import org.apache.shenyu.plugin.grpc.proto.SoulGrpcResponse;
 import org.apache.shenyu.plugin.grpc.reflection.SoulGrpcReflectionClient;
-import org.apache.shenyu.plugin.grpc.resolver.ServiceResolver;
 import org.apache.shenyu.common.dto.MetaData;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import static io.grpc.stub.ClientCalls.asyncUnaryCall;
 import static io.grpc.stub.ClientCalls.asyncServerStreamingCall;
 import static io.grpc.stub.ClientCalls.asyncClientStreamingCall;
 import static io.grpc.stub.ClientCalls.asyncBidiStreamingCall;
+import static io.grpc.MethodDescriptor.generateFullMethodName;
 
 
 /**
@@ -60,13 +66,23 @@ public class SoulGrpcClient implements Closeable {
 
     private final SoulGrpcReflectionClient reflectionClient;
 
+    /**
+     * full method name -> resolved method.
+     */
+    private final Map<String, CompletableFuture<SoulGrpcMethod>> methodCache = new ConcurrentHashMap<>();
+
+    /**
+     * bumped on every invalidation, a method resolved before it is not kept.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
     public SoulGrpcClient(final ManagedChannel channel) {
         this.channel = channel;
         this.reflectionClient = SoulGrpcReflectionClient.create(channel);
     }
 
     /**
-     * Grpc call.
+     * Grpc call, the future completes on the grpc callback.
      *
      * @param metaData     metadata
      * @param callOptions  callOptions
@@ -74,29 +90,86 @@ public class SoulGrpcClient implements Closeable {
      * @return CompletableFuture future
      */
     public CompletableFuture<SoulGrpcResponse> call(final MetaData metaData, final CallOptions callOptions, final String requestJsons) {
-        DescriptorProtos.FileDescriptorSet fileDescriptorSet = reflectionClient.resolveService(metaData.getServiceName());
-        if (fileDescriptorSet == null) {
-            return null;
+        return obtainMethod(metaData).thenCompose(method -> {
+            SoulGrpcResponse soulGrpcResponse = new SoulGrpcResponse();
+            StreamObserver<DynamicMessage> streamObserver = MessageWriter.newInstance(method.getPrinter(), soulGrpcResponse);
+            SoulGrpcCallRequest callParams = SoulGrpcCallRequest.builder()
+                    .methodDescriptor(method.getMethodDescriptor())
+                    .grpcMethodDescriptor(method.getGrpcMethodDescriptor())
+                    .channel(channel)
+                    .callOptions(callOptions)
+                    .requests(method.parse(requestJsons))
+                    .responseObserver(streamObserver)
+                    .build();
+            CompletableFuture<SoulGrpcResponse> future = new CompletableFuture<>();
+            Futures.addCallback(this.invoke(callParams), new FutureCallback<Void>() {
+                @Override
+                public void onSuccess(final Void result) {
+                    future.complete(soulGrpcResponse);
+                }
+
+                @Override
+                public void onFailure(final Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }, MoreExecutors.directExecutor());
+            return future;
+        });
+    }
+
+    /**
+     * Streaming grpc call of any method type, every response message is emitted as a single line json as soon as it arrives.
+     *
+     * <p>The demand of the subscriber is passed on to the call, and the request messages are only pulled while the call is ready to send.
+     *
+     * @param metaData     metadata
+     * @param callOptions  callOptions
+     * @param requestJsons the request messages in json
+     * @return the response messages in json
+     */
+    public Flux<String> stream(final MetaData metaData, final CallOptions callOptions, final Flux<String> requestJsons) {
+        return Mono.defer(() -> Mono.fromFuture(obtainMethod(metaData)))
+                .flatMapMany(method -> Flux.create(sink -> new GrpcStreamingCall(channel.newCall(method.getGrpcMethodDescriptor(), callOptions), method, sink)
+                        .start(requestJsons)));
+    }
+
+    /**
+     * Obtain the resolved grpc method of the meta data, resolving it once per method.
+     *
+     * @param metaData metadata
+     * @return CompletableFuture future
+     */
+    public CompletableFuture<SoulGrpcMethod> obtainMethod(final MetaData metaData) {
+        String key = generateFullMethodName(metaData.getServiceName(), metaData.getMethodName());
+        CompletableFuture<SoulGrpcMethod> method = methodCache.get(key);
+        if (Objects.nonNull(method)) {
+            return method;
         }
-        ServiceResolver serviceResolver = ServiceResolver.fromFileDescriptorSet(fileDescriptorSet);
-        Descriptors.MethodDescriptor methodDescriptor = serviceResolver.resolveServiceMethod(metaData);
-        JsonFormat.TypeRegistry registry = JsonFormat.TypeRegistry.newBuilder().add(serviceResolver.listMessageTypes()).build();
-        DynamicMessage requestMessages = reflectionClient.parseToMessages(registry, methodDescriptor.getInputType(), requestJsons);
-        SoulGrpcResponse soulGrpcResponse = new SoulGrpcResponse();
-        StreamObserver<DynamicMessage> streamObserver = MessageWriter.newInstance(registry, soulGrpcResponse);
-        SoulGrpcCallRequest callParams = SoulGrpcCallRequest.builder()
-                .methodDescriptor(methodDescriptor)
-                .channel(channel)
-                .callOptions(callOptions)
-                .requests(requestMessages)
-                .responseObserver(streamObserver)
-                .build();
-        try {
-            this.invoke(callParams).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Caught exception while waiting for rpc :{ " + e.getMessage() + "}");
+        long startGeneration = generation.get();
+        CompletableFuture<SoulGrpcMethod> resolved = reflectionClient.resolveServiceAsync(metaData.getServiceName())
+                .thenApply(fileDescriptorSet -> SoulGrpcMethod.of(fileDescriptorSet, metaData));
+        CompletableFuture<SoulGrpcMethod> exist = methodCache.putIfAbsent(key, resolved);
+        if (Objects.nonNull(exist)) {
+            return exist;
         }
-        return CompletableFuture.completedFuture(soulGrpcResponse);
+        resolved.whenComplete((result, t) -> {
+            if (Objects.nonNull(t) || generation.get() != startGeneration) {
+                methodCache.remove(key, resolved);
+            }
+        });
+        return resolved;
+    }
+
+    /**
+     * Drop the resolved methods and the descriptors of a service, they are resolved again on the next call.
+     *
+     * @param serviceName the service name
+     */
+    public void invalidate(final String serviceName) {
+        generation.incrementAndGet();
+        reflectionClient.invalidate(serviceName);
+        String prefix = generateFullMethodName(serviceName, "");
+        methodCache.keySet().removeIf(key -> key.startsWith(prefix));
     }
 
     /**
@@ -106,7 +179,8 @@ public class SoulGrpcClient implements Closeable {
      * @return ListenableFuture future
      */
     public ListenableFuture<Void> invoke(final SoulGrpcCallRequest callParams) {
-        MethodDescriptor.MethodType methodType = reflectionClient.fetchMethodType(callParams.getMethodDescriptor());
+        MethodDescriptor.MethodType methodType = Objects.nonNull(callParams.getGrpcMethodDescriptor())
+                ? callParams.getGrpcMethodDescriptor().getType() : reflectionClient.fetchMethodType(callParams.getMethodDescriptor());
         DynamicMessage request = callParams.getRequests();
         StreamObserver<DynamicMessage> responseObserver = callParams.getResponseObserver();
         CompleteObserver<DynamicMessage> doneObserver = new CompleteObserver<>();
@@ -121,10 +195,12 @@ public class SoulGrpcClient implements Closeable {
                 return doneObserver.getCompletionFuture();
             case CLIENT_STREAMING:
                 requestObserver = asyncClientStreamingCall(createCall(callParams), compositeObserver);
+                requestObserver.onNext(request);
                 requestObserver.onCompleted();
                 return doneObserver.getCompletionFuture();
             case BIDI_STREAMING:
                 requestObserver = asyncBidiStreamingCall(createCall(callParams), compositeObserver);
+                requestObserver.onNext(request);
                 requestObserver.onCompleted();
                 return doneObserver.getCompletionFuture();
             default:
@@ -136,12 +212,16 @@ public class SoulGrpcClient implements Closeable {
     @Override
     public void close() {
         this.channel.shutdown();
+        this.methodCache.clear();
         this.reflectionClient.getFileDescriptorCache().clear();
     }
 
     private ClientCall<DynamicMessage, DynamicMessage> createCall(final SoulGrpcCallRequest callParams) {
-        return callParams.getChannel().newCall(createGrpcMethodDescriptor(callParams.getMethodDescriptor()),
-                callParams.getCallOptions());
+        MethodDescriptor<DynamicMessage, DynamicMessage> grpcMethodDescriptor = callParams.getGrpcMethodDescriptor();
+        if (Objects.isNull(grpcMethodDescriptor)) {
+            grpcMethodDescriptor = createGrpcMethodDescriptor(callParams.getMethodDescriptor());
+        }
+        return callParams.getChannel().newCall(grpcMethodDescriptor, callParams.getCallOptions());
     }
 
     private io.grpc.MethodDescriptor<DynamicMessage, DynamicMessage> createGrpcMethodDescriptor(final Descriptors.MethodDescriptor descriptor) {
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.client;
+
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import io.grpc.MethodDescriptor;
+import lombok.Getter;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.grpc.proto.DynamicMessageMarshaller;
+import org.apache.shenyu.plugin.grpc.reflection.SoulGrpcReflectionClient;
+import org.apache.shenyu.plugin.grpc.resolver.ServiceResolver;
+
+/**
+ * Everything resolved once for a grpc method: the descriptors, the marshallers and the json parser and printers.
+ */
+@Getter
+public final class SoulGrpcMethod {
+
+    private final Descriptors.MethodDescriptor methodDescriptor;
+
+    private final MethodDescriptor<DynamicMessage, DynamicMessage> grpcMethodDescriptor;
+
+    private final JsonFormat.Parser parser;
+
+    private final JsonFormat.Printer printer;
+
+    private final JsonFormat.Printer linePrinter;
+
+    private SoulGrpcMethod(final Descriptors.MethodDescriptor methodDescriptor, final JsonFormat.TypeRegistry registry) {
+        this.methodDescriptor = methodDescriptor;
+        this.grpcMethodDescriptor = MethodDescriptor.<DynamicMessage, DynamicMessage>newBuilder()
+                .setType(SoulGrpcReflectionClient.methodType(methodDescriptor))
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(methodDescriptor.getService().getFullName(), methodDescriptor.getName()))
+                .setRequestMarshaller(new DynamicMessageMarshaller(methodDescriptor.getInputType()))
+                .setResponseMarshaller(new DynamicMessageMarshaller(methodDescriptor.getOutputType()))
+                .build();
+        this.parser = JsonFormat.parser().usingTypeRegistry(registry);
+        this.printer = JsonFormat.printer().usingTypeRegistry(registry);
+        this.linePrinter = printer.omittingInsignificantWhitespace();
+    }
+
+    /**
+     * Resolve the method of the meta data from the descriptors of its service.
+     *
+     * @param fileDescriptorSet the file descriptors of the service
+     * @param metaData          the meta data
+     * @return the grpc method
+     */
+    public static SoulGrpcMethod of(final DescriptorProtos.FileDescriptorSet fileDescriptorSet, final MetaData metaData) {
+        ServiceResolver serviceResolver = ServiceResolver.fromFileDescriptorSet(fileDescriptorSet);
+        Descriptors.MethodDescriptor methodDescriptor = serviceResolver.resolveServiceMethod(metaData);
+        JsonFormat.TypeRegistry registry = JsonFormat.TypeRegistry.newBuilder().add(serviceResolver.listMessageTypes()).build();
+        return new SoulGrpcMethod(methodDescriptor, registry);
+    }
+
+    /**
+     * Gets the method type.
+     *
+     * @return the method type
+     */
+    public MethodDescriptor.MethodType getMethodType() {
+        return grpcMethodDescriptor.getType();
+    }
+
+    /**
+     * Parse a json request to a message of the input type.
+     *
+     * @param json the json
+     * @return the message
+     */
+    public DynamicMessage parse(final String json) {
+        DynamicMessage.Builder messageBuilder = DynamicMessage.newBuilder(methodDescriptor.getInputType());
+        try {
+            parser.merge(json, messageBuilder);
+            return messageBuilder.build();
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException("Unable to parse json text", e);
+        }
+    }
+}
@@ -52,6 +52,18 @@ public final class MessageWriter<T extends Message> implements StreamObserver<T>
         return new MessageWriter<>(JsonFormat.printer().usingTypeRegistry(registry), results);
     }
 
+    /**
+     * New instance with a printer already bound to its type registry.
+     *
+     * @param printer printer
+     * @param results results
+     * @param <T>     t
+     * @return message message
+     */
+    public static <T extends Message> MessageWriter<T> newInstance(final JsonFormat.Printer printer, final SoulGrpcResponse results) {
+        return new MessageWriter<>(printer, results);
+    }
+
     @Override
     public void onNext(final T value) {
         try {
@@ -68,6 +80,6 @@ public final class MessageWriter<T extends Message> implements StreamObserver<T>
 
     @Override
     public void onCompleted() {
-        log.info("Messages write complete");
+        log.debug("Messages write complete");
     }
 }
@@ -21,6 +21,7 @@ import com.google.protobuf.Descriptors;
 import com.google.protobuf.DynamicMessage;
 import io.grpc.CallOptions;
 import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
 import io.grpc.stub.StreamObserver;
 import lombok.Builder;
 import lombok.Getter;
@@ -42,5 +43,7 @@ public class SoulGrpcCallRequest {
 
     private Descriptors.MethodDescriptor methodDescriptor;
 
+    private MethodDescriptor<DynamicMessage, DynamicMessage> grpcMethodDescriptor;
+
     private StreamObserver<DynamicMessage> responseObserver;
 }
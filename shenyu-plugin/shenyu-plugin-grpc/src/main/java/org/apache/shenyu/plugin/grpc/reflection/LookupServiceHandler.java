@@ -69,8 +69,8 @@ public class LookupServiceHandler implements StreamObserver<ServerReflectionResp
      */
     public ListenableFuture<DescriptorProtos.FileDescriptorSet> start(final StreamObserver<ServerReflectionRequest> requestStream) {
         this.requestStream = requestStream;
-        requestStream.onNext(requestForSymbol(serviceName));
         ++outstandingRequests;
+        requestStream.onNext(requestForSymbol(serviceName));
         return resultFuture;
     }
 
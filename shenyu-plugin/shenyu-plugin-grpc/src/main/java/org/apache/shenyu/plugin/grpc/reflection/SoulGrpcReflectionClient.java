@@ -17,7 +17,10 @@
 
 package org.apache.shenyu.plugin.grpc.reflection;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.DescriptorProtos;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.DynamicMessage;
@@ -32,9 +35,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.exception.SoulException;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static io.grpc.MethodDescriptor.generateFullMethodName;
 
@@ -54,6 +60,11 @@ public final class SoulGrpcReflectionClient {
      */
     private final Map<String, DescriptorProtos.FileDescriptorSet> fileDescriptorCache = new ConcurrentHashMap<>();
 
+    /**
+     * bumped on every invalidation, a lookup started before it does not cache its result.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
     private SoulGrpcReflectionClient(final Channel channel) {
         this.channel = channel;
     }
@@ -99,6 +110,48 @@ public final class SoulGrpcReflectionClient {
         });
     }
 
+    /**
+     * Resolve services without blocking, the lookup completes on the grpc callback and is cached once it succeeds.
+     *
+     * @param serviceName serviceName
+     * @return CompletableFuture future
+     */
+    public CompletableFuture<DescriptorProtos.FileDescriptorSet> resolveServiceAsync(final String serviceName) {
+        DescriptorProtos.FileDescriptorSet fileDescriptorSet = fileDescriptorCache.get(serviceName);
+        if (Objects.nonNull(fileDescriptorSet)) {
+            return CompletableFuture.completedFuture(fileDescriptorSet);
+        }
+        long startGeneration = generation.get();
+        CompletableFuture<DescriptorProtos.FileDescriptorSet> future = new CompletableFuture<>();
+        Futures.addCallback(lookupService(serviceName), new FutureCallback<DescriptorProtos.FileDescriptorSet>() {
+            @Override
+            public void onSuccess(final DescriptorProtos.FileDescriptorSet result) {
+                fileDescriptorCache.put(serviceName, result);
+                if (generation.get() != startGeneration) {
+                    fileDescriptorCache.remove(serviceName, result);
+                }
+                future.complete(result);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                log.error("Resolve services get error", t);
+                future.completeExceptionally(new SoulException(t));
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    /**
+     * Drop the cached descriptors of a service, a lookup already in flight will not cache its result.
+     *
+     * @param serviceName serviceName
+     */
+    public void invalidate(final String serviceName) {
+        generation.incrementAndGet();
+        fileDescriptorCache.remove(serviceName);
+    }
+
     /**
      * Fetch full method name.
      *
@@ -118,6 +171,16 @@ public final class SoulGrpcReflectionClient {
      * @return MethodType
      */
     public MethodDescriptor.MethodType fetchMethodType(final Descriptors.MethodDescriptor methodDescriptor) {
+        return methodType(methodDescriptor);
+    }
+
+    /**
+     * Get the method type of a method descriptor.
+     *
+     * @param methodDescriptor methodDescriptor
+     * @return MethodType
+     */
+    public static MethodDescriptor.MethodType methodType(final Descriptors.MethodDescriptor methodDescriptor) {
         boolean clientStreaming = methodDescriptor.toProto().getClientStreaming();
         boolean serverStreaming = methodDescriptor.toProto().getServerStreaming();
         if (clientStreaming && serverStreaming) {
@@ -127,7 +190,7 @@ public final class SoulGrpcReflectionClient {
         } else if (!clientStreaming) {
             return MethodDescriptor.MethodType.SERVER_STREAMING;
         } else {
-            return MethodDescriptor.MethodType.SERVER_STREAMING;
+            return MethodDescriptor.MethodType.CLIENT_STREAMING;
         }
     }
 
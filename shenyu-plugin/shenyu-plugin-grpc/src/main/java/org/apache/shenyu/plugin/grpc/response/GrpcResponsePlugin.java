@@ -26,10 +26,15 @@ import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
 import org.apache.shenyu.plugin.api.result.SoulResultEnum;
 import org.apache.shenyu.plugin.api.result.SoulResultWrap;
+import org.apache.shenyu.plugin.api.utils.MediaTypeUtils;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -50,6 +55,10 @@ public class GrpcResponsePlugin implements SoulPlugin {
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
         return chain.execute(exchange).then(Mono.defer(() -> {
+            final Flux<String> stream = exchange.getAttribute(Constants.GRPC_RPC_STREAM);
+            if (Objects.nonNull(stream)) {
+                return writeStream(exchange, stream);
+            }
             final Object result = exchange.getAttribute(Constants.GRPC_RPC_RESULT);
             if (Objects.isNull(result)) {
                 Object error = SoulResultWrap.error(SoulResultEnum.SERVICE_RESULT_ERROR.getCode(), SoulResultEnum.SERVICE_RESULT_ERROR.getMsg(), null);
@@ -60,6 +69,20 @@ public class GrpcResponsePlugin implements SoulPlugin {
         }));
     }
 
+    /**
+     * Write every message as soon as it arrives, as server sent events when the client accepts them and as json lines otherwise.
+     * The flushes follow the demand of the connection, which is passed on to the grpc call.
+     */
+    private Mono<Void> writeStream(final ServerWebExchange exchange, final Flux<String> stream) {
+        final ServerHttpResponse response = exchange.getResponse();
+        final boolean sse = exchange.getRequest().getHeaders().getAccept().stream().anyMatch(MediaType.TEXT_EVENT_STREAM::isCompatibleWith);
+        response.getHeaders().setContentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaTypeUtils.APPLICATION_NDJSON);
+        return response.writeAndFlushWith(stream.map(json -> {
+            String line = sse ? "data:" + json + "\n\n" : json + "\n";
+            return Mono.just(response.bufferFactory().wrap(line.getBytes(StandardCharsets.UTF_8)));
+        }));
+    }
+
     @Override
     public Boolean skip(final ServerWebExchange exchange) {
         final SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
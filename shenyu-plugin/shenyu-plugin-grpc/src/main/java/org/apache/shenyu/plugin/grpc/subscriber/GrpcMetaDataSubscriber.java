@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.subscriber;
+
+import com.google.common.collect.Maps;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.grpc.cache.GrpcClientCache;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The grpc metadata subscribe, drops the resolved methods of a service when its meta data changes.
+ */
+public class GrpcMetaDataSubscriber implements MetaDataSubscriber {
+
+    private static final ConcurrentMap<String, MetaData> META_DATA = Maps.newConcurrentMap();
+
+    @Override
+    public void onSubscribe(final MetaData metaData) {
+        if (RpcTypeEnum.GRPC.getName().equals(metaData.getRpcType())) {
+            MetaData exist = META_DATA.put(metaData.getPath(), metaData);
+            if (Objects.nonNull(exist)) {
+                // the service may have been redeployed with another proto
+                GrpcClientCache.invalidateService(exist.getServiceName());
+                GrpcClientCache.invalidateService(metaData.getServiceName());
+            }
+        }
+    }
+
+    @Override
+    public void unSubscribe(final MetaData metaData) {
+        if (RpcTypeEnum.GRPC.getName().equals(metaData.getRpcType())) {
+            META_DATA.remove(metaData.getPath());
+            GrpcClientCache.invalidateService(metaData.getServiceName());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.benchmark;
+
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.util.JsonFormat;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.services.ProtoReflectionService;
+import io.grpc.services.HealthStatusManager;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.plugin.grpc.client.SoulGrpcClient;
+import org.apache.shenyu.plugin.grpc.proto.MessageWriter;
+import org.apache.shenyu.plugin.grpc.proto.SoulGrpcCallRequest;
+import org.apache.shenyu.plugin.grpc.proto.SoulGrpcResponse;
+import org.apache.shenyu.plugin.grpc.reflection.SoulGrpcReflectionClient;
+import org.apache.shenyu.plugin.grpc.resolver.ServiceResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unary calls to an in-process grpc health service through {@link SoulGrpcClient}, with the former per call resolving
+ * of the descriptors and blocking wait against the cached methods and async completion.
+ *
+ * <p>Run the {@code main} method on the test classpath, it adds the gc profiler to report the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoulGrpcClientBenchmark {
+
+    private static final String SERVER_NAME = "soul-grpc-benchmark";
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private SoulGrpcClient client;
+
+    private SoulGrpcReflectionClient reflectionClient;
+
+    private MetaData metaData;
+
+    /**
+     * Start the server and the client.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        server = InProcessServerBuilder.forName(SERVER_NAME)
+                .addService(new HealthStatusManager().getHealthService())
+                .addService(ProtoReflectionService.newInstance())
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(SERVER_NAME).build();
+        client = new SoulGrpcClient(channel);
+        reflectionClient = SoulGrpcReflectionClient.create(channel);
+        metaData = new MetaData();
+        metaData.setServiceName("grpc.health.v1.Health");
+        metaData.setMethodName("Check");
+    }
+
+    /**
+     * Stop the server and the client.
+     */
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    /**
+     * The call as it was, resolving the method and blocking for the response.
+     *
+     * @return the response
+     * @throws Exception the exception
+     */
+    @Benchmark
+    public SoulGrpcResponse blockingCall() throws Exception {
+        DescriptorProtos.FileDescriptorSet fileDescriptorSet = reflectionClient.resolveService(metaData.getServiceName());
+        ServiceResolver serviceResolver = ServiceResolver.fromFileDescriptorSet(fileDescriptorSet);
+        Descriptors.MethodDescriptor methodDescriptor = serviceResolver.resolveServiceMethod(metaData);
+        JsonFormat.TypeRegistry registry = JsonFormat.TypeRegistry.newBuilder().add(serviceResolver.listMessageTypes()).build();
+        DynamicMessage request = reflectionClient.parseToMessages(registry, methodDescriptor.getInputType(), "{}");
+        SoulGrpcResponse response = new SoulGrpcResponse();
+        client.invoke(SoulGrpcCallRequest.builder()
+                .methodDescriptor(methodDescriptor)
+                .channel(channel)
+                .callOptions(callOptions())
+                .requests(request)
+                .responseObserver(MessageWriter.newInstance(registry, response))
+                .build()).get();
+        return response;
+    }
+
+    /**
+     * The current call.
+     *
+     * @return the response
+     */
+    @Benchmark
+    public SoulGrpcResponse asyncCall() {
+        return client.call(metaData, callOptions(), "{}").join();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SoulGrpcClientBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+
+    private static CallOptions callOptions() {
+        return CallOptions.DEFAULT.withDeadlineAfter(5000, TimeUnit.MILLISECONDS);
+    }
+}
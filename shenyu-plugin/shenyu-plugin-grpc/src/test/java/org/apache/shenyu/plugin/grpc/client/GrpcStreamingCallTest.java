@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.client;
+
+import com.google.protobuf.DescriptorProtos;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.health.v1.HealthCheckResponse;
+import io.grpc.health.v1.HealthProto;
+import org.apache.shenyu.common.dto.MetaData;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The Test Case For GrpcStreamingCall.
+ */
+public final class GrpcStreamingCallTest {
+
+    private static final String SERVING = "{\"status\":\"SERVING\"}";
+
+    private SoulGrpcMethod method;
+
+    private StubClientCall call;
+
+    @Before
+    public void setUp() {
+        MetaData metaData = new MetaData();
+        metaData.setServiceName("grpc.health.v1.Health");
+        metaData.setMethodName("Watch");
+        DescriptorProtos.FileDescriptorSet fileDescriptorSet = DescriptorProtos.FileDescriptorSet.newBuilder()
+                .addFile(HealthProto.getDescriptor().toProto())
+                .build();
+        method = SoulGrpcMethod.of(fileDescriptorSet, metaData);
+        call = new StubClientCall();
+    }
+
+    @Test
+    public void testDeliverOnDemand() {
+        StepVerifier.create(stream(Flux.just("{}")), 0)
+                .then(() -> Assert.assertEquals(0, call.requested))
+                .thenRequest(2)
+                .then(() -> {
+                    Assert.assertEquals(2, call.requested);
+                    call.listener.onMessage(serving());
+                    call.listener.onMessage(serving());
+                })
+                .expectNext(SERVING, SERVING)
+                .thenRequest(1)
+                .then(() -> {
+                    Assert.assertEquals(3, call.requested);
+                    call.listener.onMessage(serving());
+                    call.listener.onClose(Status.OK, new Metadata());
+                })
+                .expectNext(SERVING)
+                .verifyComplete();
+        Assert.assertEquals(1, call.sent.size());
+        Assert.assertTrue(call.halfClosed);
+    }
+
+    @Test
+    public void testSendWhenReady() {
+        call.ready = false;
+        StepVerifier.create(stream(Flux.just("{\"service\":\"a\"}", "{\"service\":\"b\"}", "{\"service\":\"c\"}")), 0)
+                .then(() -> {
+                    Assert.assertEquals(1, call.sent.size());
+                    Assert.assertFalse(call.halfClosed);
+                    call.listener.onReady();
+                    Assert.assertEquals(2, call.sent.size());
+                    call.ready = true;
+                    call.listener.onReady();
+                    Assert.assertEquals(3, call.sent.size());
+                    Assert.assertTrue(call.halfClosed);
+                    call.listener.onClose(Status.OK, new Metadata());
+                })
+                .verifyComplete();
+        Assert.assertEquals("c", call.sent.get(2).getField(method.getMethodDescriptor().getInputType().findFieldByName("service")));
+    }
+
+    @Test
+    public void testErrorStatus() {
+        StepVerifier.create(stream(Flux.just("{}")))
+                .then(() -> call.listener.onClose(Status.UNAVAILABLE.withDescription("upstream down"), new Metadata()))
+                .expectErrorMatches(e -> e instanceof StatusRuntimeException
+                        && ((StatusRuntimeException) e).getStatus().getCode() == Status.Code.UNAVAILABLE
+                        && "upstream down".equals(((StatusRuntimeException) e).getStatus().getDescription()))
+                .verify();
+        Assert.assertNull(call.cancelMessage);
+    }
+
+    @Test
+    public void testCancel() {
+        AtomicBoolean requestsCancelled = new AtomicBoolean();
+        StepVerifier.create(stream(Flux.<String>never().doOnCancel(() -> requestsCancelled.set(true))))
+                .then(() -> call.listener.onMessage(serving()))
+                .expectNext(SERVING)
+                .thenCancel()
+                .verify();
+        Assert.assertEquals("Cancelled by the client", call.cancelMessage);
+        Assert.assertTrue(requestsCancelled.get());
+        Assert.assertFalse(call.halfClosed);
+    }
+
+    private Flux<String> stream(final Flux<String> requestJsons) {
+        return Flux.create(sink -> new GrpcStreamingCall(call, method, sink).start(requestJsons));
+    }
+
+    private DynamicMessage serving() {
+        try {
+            return DynamicMessage.parseFrom(method.getMethodDescriptor().getOutputType(),
+                    HealthCheckResponse.newBuilder().setStatus(HealthCheckResponse.ServingStatus.SERVING).build().toByteString());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class StubClientCall extends ClientCall<DynamicMessage, DynamicMessage> {
+
+        private final List<DynamicMessage> sent = new ArrayList<>();
+
+        private Listener<DynamicMessage> listener;
+
+        private long requested;
+
+        private volatile boolean ready = true;
+
+        private boolean halfClosed;
+
+        private String cancelMessage;
+
+        @Override
+        public void start(final Listener<DynamicMessage> responseListener, final Metadata headers) {
+            this.listener = responseListener;
+        }
+
+        @Override
+        public void request(final int numMessages) {
+            requested += numMessages;
+        }
+
+        @Override
+        public void cancel(final String message, final Throwable cause) {
+            cancelMessage = message;
+        }
+
+        @Override
+        public void halfClose() {
+            halfClosed = true;
+        }
+
+        @Override
+        public void sendMessage(final DynamicMessage message) {
+            sent.add(message);
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+    }
+}
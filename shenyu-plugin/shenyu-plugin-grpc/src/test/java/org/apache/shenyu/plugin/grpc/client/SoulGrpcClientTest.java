@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.client;
+
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.services.ProtoReflectionService;
+import io.grpc.services.HealthStatusManager;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.exception.SoulException;
+import org.apache.shenyu.plugin.grpc.reflection.SoulGrpcReflectionClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Test Case For SoulGrpcClient.
+ */
+public final class SoulGrpcClientTest {
+
+    private static final String SERVER_NAME = "soul-grpc-client-test";
+
+    private Server server;
+
+    private SoulGrpcClient client;
+
+    @After
+    public void tearDown() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testMethodIsResolvedOnce() throws IOException {
+        start(true);
+        SoulGrpcMethod method = client.obtainMethod(metaData("Check")).join();
+        Assert.assertSame(method, client.obtainMethod(metaData("Check")).join());
+        Assert.assertEquals("grpc.health.v1.Health/Check", method.getGrpcMethodDescriptor().getFullMethodName());
+        Assert.assertNotSame(method, client.obtainMethod(metaData("Watch")).join());
+        String result = client.call(metaData("Check"), callOptions(), "{}").join().getResult();
+        Assert.assertTrue(result, result.contains("SERVING"));
+    }
+
+    @Test
+    public void testInvalidate() throws IOException {
+        start(true);
+        SoulGrpcMethod method = client.obtainMethod(metaData("Check")).join();
+        client.invalidate("grpc.health.v1.Other");
+        Assert.assertSame(method, client.obtainMethod(metaData("Check")).join());
+        client.invalidate("grpc.health.v1.Health");
+        Assert.assertNotSame(method, client.obtainMethod(metaData("Check")).join());
+    }
+
+    @Test
+    public void testInvalidateDuringResolve() throws IOException, InterruptedException {
+        CountDownLatch released = new CountDownLatch(1);
+        start(new ServerInterceptor() {
+            @Override
+            public <Q, R> ServerCall.Listener<Q> interceptCall(final ServerCall<Q, R> call, final Metadata headers,
+                                                                       final ServerCallHandler<Q, R> next) {
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return next.startCall(call, headers);
+            }
+        });
+        CompletableFuture<SoulGrpcMethod> inFlight = client.obtainMethod(metaData("Check"));
+        client.invalidate("grpc.health.v1.Health");
+        released.countDown();
+        inFlight.join();
+        SoulGrpcReflectionClient reflectionClient = (SoulGrpcReflectionClient) ReflectionTestUtils.getField(client, "reflectionClient");
+        Assert.assertFalse(reflectionClient.getFileDescriptorCache().containsKey("grpc.health.v1.Health"));
+        Assert.assertNotSame(inFlight, client.obtainMethod(metaData("Check")));
+    }
+
+    @Test
+    public void testCallFailsWhenLookupFails() throws IOException, InterruptedException {
+        start(false);
+        StepVerifier.create(Mono.fromFuture(client.call(metaData("Check"), callOptions(), "{}")))
+                .expectError(SoulException.class)
+                .verify();
+        CompletableFuture<SoulGrpcMethod> failed = client.obtainMethod(metaData("Check"));
+        StepVerifier.create(Mono.fromFuture(failed)).expectError(SoulException.class).verify();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.obtainMethod(metaData("Check")) == failed && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertNotSame(failed, client.obtainMethod(metaData("Check")));
+    }
+
+    private void start(final boolean reflection) throws IOException {
+        InProcessServerBuilder serverBuilder = InProcessServerBuilder.forName(SERVER_NAME).addService(new HealthStatusManager().getHealthService());
+        if (reflection) {
+            serverBuilder.addService(ProtoReflectionService.newInstance());
+        }
+        start(serverBuilder);
+    }
+
+    private void start(final ServerInterceptor reflectionInterceptor) throws IOException {
+        start(InProcessServerBuilder.forName(SERVER_NAME).addService(new HealthStatusManager().getHealthService())
+                .addService(ServerInterceptors.intercept(ProtoReflectionService.newInstance(), reflectionInterceptor)));
+    }
+
+    private void start(final InProcessServerBuilder serverBuilder) throws IOException {
+        server = serverBuilder.build().start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(SERVER_NAME).build();
+        client = new SoulGrpcClient(channel);
+    }
+
+    private static MetaData metaData(final String methodName) {
+        MetaData metaData = new MetaData();
+        metaData.setServiceName("grpc.health.v1.Health");
+        metaData.setMethodName(methodName);
+        return metaData;
+    }
+
+    private static CallOptions callOptions() {
+        return CallOptions.DEFAULT.withDeadlineAfter(5000, TimeUnit.MILLISECONDS);
+    }
+}
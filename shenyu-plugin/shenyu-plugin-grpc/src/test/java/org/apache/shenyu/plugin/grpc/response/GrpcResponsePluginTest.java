@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.response;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.api.SoulPluginChain;
+import org.apache.shenyu.plugin.api.context.SoulContext;
+import org.apache.shenyu.plugin.api.utils.MediaTypeUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * The Test Case For GrpcResponsePlugin.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public final class GrpcResponsePluginTest {
+
+    @Mock
+    private SoulPluginChain chain;
+
+    private GrpcResponsePlugin grpcResponsePlugin;
+
+    @Before
+    public void setUp() {
+        grpcResponsePlugin = new GrpcResponsePlugin();
+    }
+
+    @Test
+    public void testWriteServerSentEvents() {
+        ServerWebExchange exchange = streamExchange(MockServerHttpRequest.get("/grpc/watch").accept(MediaType.TEXT_EVENT_STREAM));
+        StepVerifier.create(grpcResponsePlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+        MockServerHttpResponse response = (MockServerHttpResponse) exchange.getResponse();
+        Assert.assertEquals(MediaType.TEXT_EVENT_STREAM, response.getHeaders().getContentType());
+        StepVerifier.create(response.getBodyAsString()).expectNext("data:{\"id\":1}\n\ndata:{\"id\":2}\n\n").verifyComplete();
+    }
+
+    @Test
+    public void testWriteJsonLines() {
+        ServerWebExchange exchange = streamExchange(MockServerHttpRequest.get("/grpc/watch").accept(MediaTypeUtils.APPLICATION_NDJSON));
+        StepVerifier.create(grpcResponsePlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+        MockServerHttpResponse response = (MockServerHttpResponse) exchange.getResponse();
+        Assert.assertEquals(MediaTypeUtils.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        StepVerifier.create(response.getBodyAsString()).expectNext("{\"id\":1}\n{\"id\":2}\n").verifyComplete();
+    }
+
+    @Test
+    public void testSkip() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order"));
+        SoulContext soulContext = new SoulContext();
+        soulContext.setRpcType(RpcTypeEnum.HTTP.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, soulContext);
+        Assert.assertTrue(grpcResponsePlugin.skip(exchange));
+    }
+
+    private ServerWebExchange streamExchange(final MockServerHttpRequest.BaseBuilder<?> request) {
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        SoulContext soulContext = new SoulContext();
+        soulContext.setRpcType(RpcTypeEnum.GRPC.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, soulContext);
+        exchange.getAttributes().put(Constants.GRPC_RPC_STREAM, Flux.just("{\"id\":1}", "{\"id\":2}"));
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        Assert.assertFalse(grpcResponsePlugin.skip(exchange));
+        return exchange;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.grpc.subscriber;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.services.ProtoReflectionService;
+import io.grpc.services.HealthStatusManager;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.enums.RpcTypeEnum;
+import org.apache.shenyu.plugin.grpc.cache.GrpcClientCache;
+import org.apache.shenyu.plugin.grpc.client.SoulGrpcClient;
+import org.apache.shenyu.plugin.grpc.client.SoulGrpcMethod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The Test Case For GrpcMetaDataSubscriber.
+ */
+public final class GrpcMetaDataSubscriberTest {
+
+    private static final String SERVER_NAME = "soul-grpc-subscriber-test";
+
+    private static final String CONTEXT_PATH = "/grpc-subscriber-test";
+
+    private final GrpcMetaDataSubscriber subscriber = new GrpcMetaDataSubscriber();
+
+    private Server server;
+
+    private SoulGrpcClient client;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        server = InProcessServerBuilder.forName(SERVER_NAME)
+                .addService(new HealthStatusManager().getHealthService())
+                .addService(ProtoReflectionService.newInstance())
+                .build()
+                .start();
+        ManagedChannel channel = InProcessChannelBuilder.forName(SERVER_NAME).build();
+        client = new SoulGrpcClient(channel);
+        ((Map<String, SoulGrpcClient>) ReflectionTestUtils.getField(GrpcClientCache.class, "CLIENT_CACHE")).put(CONTEXT_PATH, client);
+    }
+
+    @After
+    public void tearDown() {
+        GrpcClientCache.removeClient(CONTEXT_PATH);
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testUpdateEvictsMethod() {
+        MetaData metaData = metaData("/grpc-subscriber-test/check", RpcTypeEnum.GRPC.getName());
+        subscriber.onSubscribe(metaData);
+        SoulGrpcMethod method = client.obtainMethod(metaData).join();
+        subscriber.onSubscribe(metaData("/grpc-subscriber-test/check", RpcTypeEnum.HTTP.getName()));
+        Assert.assertSame(method, client.obtainMethod(metaData).join());
+        subscriber.onSubscribe(metaData);
+        SoulGrpcMethod updated = client.obtainMethod(metaData).join();
+        Assert.assertNotSame(method, updated);
+        Assert.assertSame(updated, client.obtainMethod(metaData).join());
+    }
+
+    @Test
+    public void testRemoveEvictsMethod() {
+        MetaData metaData = metaData("/grpc-subscriber-test/remove", RpcTypeEnum.GRPC.getName());
+        subscriber.onSubscribe(metaData);
+        SoulGrpcMethod method = client.obtainMethod(metaData).join();
+        subscriber.unSubscribe(metaData);
+        Assert.assertNotSame(method, client.obtainMethod(metaData).join());
+    }
+
+    private static MetaData metaData(final String path, final String rpcType) {
+        MetaData metaData = new MetaData();
+        metaData.setPath(path);
+        metaData.setRpcType(rpcType);
+        metaData.setServiceName("grpc.health.v1.Health");
+        metaData.setMethodName("Check");
+        return metaData;
+    }
+}
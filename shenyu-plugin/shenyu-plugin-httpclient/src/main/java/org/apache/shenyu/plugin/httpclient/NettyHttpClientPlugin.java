@@ -86,6 +86,10 @@ public class NettyHttpClientPlugin implements SoulPlugin {
                 .request(method).uri(url).send((req, nettyOutbound) ->
                         nettyOutbound.send(request.getBody().map(dataBuffer -> ((NettyDataBuffer) dataBuffer) .getNativeBuffer())))
                 .responseConnection((res, connection) -> {
+                    Long start = exchange.getAttribute(Constants.HTTP_REQUEST_START);
+                    if (Objects.nonNull(start)) {
+                        exchange.getAttributes().put(Constants.HTTP_RESPONSE_TIME, System.nanoTime() - start);
+                    }
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_ATTR, res);
                     exchange.getAttributes().put(Constants.CLIENT_RESPONSE_CONN_ATTR, connection);
                     ServerHttpResponse response = exchange.getResponse();
@@ -107,7 +111,8 @@ public class NettyHttpClientPlugin implements SoulPlugin {
                     response.getHeaders().putAll(headers);
 
                     return Mono.just(res);
-                });
+                })
+                .doOnSubscribe(s -> exchange.getAttributes().put(Constants.HTTP_REQUEST_START, System.nanoTime()));
         long timeout = (long) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_TIME_OUT)).orElse(3000L);
         Duration duration = Duration.ofMillis(timeout);
         responseFlux = responseFlux.timeout(duration,
@@ -117,6 +117,7 @@ public class WebClientPlugin implements SoulPlugin {
                 .contentType(buildMediaType(exchange))
                 .body(BodyInserters.fromDataBuffers(exchange.getRequest().getBody()))
                 .exchange()
+                .doOnSubscribe(s -> exchange.getAttributes().put(Constants.HTTP_REQUEST_START, System.nanoTime()))
                 .doOnError(e -> log.error(e.getMessage(), e))
                 .timeout(Duration.ofMillis(timeout))
                 .retryWhen(Retry.onlyIf(x -> x.exception() instanceof ConnectTimeoutException)
@@ -127,6 +128,10 @@ public class WebClientPlugin implements SoulPlugin {
     }
 
     private Mono<Void> doNext(final ClientResponse res, final ServerWebExchange exchange, final SoulPluginChain chain) {
+        Long start = exchange.getAttribute(Constants.HTTP_REQUEST_START);
+        if (Objects.nonNull(start)) {
+            exchange.getAttributes().put(Constants.HTTP_RESPONSE_TIME, System.nanoTime() - start);
+        }
         if (res.statusCode().is2xxSuccessful()) {
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
         } else {
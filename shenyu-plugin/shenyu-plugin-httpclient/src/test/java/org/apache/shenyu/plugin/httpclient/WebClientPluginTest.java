@@ -43,9 +43,13 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -113,6 +117,28 @@ public final class WebClientPluginTest {
         StepVerifier.create(monoErrorTest).expectSubscription().verifyError();
     }
 
+    /**
+     * The response time is measured from sending the request, not from assembling the chain.
+     */
+    @Test
+    public void testResponseTime() throws InterruptedException {
+        final ClientResponse mockResponse = mock(ClientResponse.class);
+        when(mockResponse.statusCode()).thenReturn(HttpStatus.OK);
+        given(this.exchangeFunction.exchange(this.captor.capture()))
+                .willReturn(Mono.delay(Duration.ofMillis(100)).map(tick -> mockResponse));
+        WebClient webClient = WebClient.builder().baseUrl("/test").exchangeFunction(this.exchangeFunction).build();
+        final SoulPluginChain chain = mock(SoulPluginChain.class);
+        when(chain.execute(any())).thenReturn(Mono.empty());
+        ServerWebExchange exchange = generateServerWebExchange();
+        Mono<Void> mono = new WebClientPlugin(webClient).execute(exchange, chain);
+        Thread.sleep(200);
+        long subscribed = System.nanoTime();
+        StepVerifier.create(mono).expectSubscription().verifyComplete();
+        long responseTime = exchange.getAttribute(Constants.HTTP_RESPONSE_TIME);
+        assertTrue(responseTime >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(responseTime <= System.nanoTime() - subscribed);
+    }
+
     /**
      * test case for WebClientPlugin {@link WebClientPlugin#skip(ServerWebExchange)}.
      */
@@ -17,31 +17,23 @@
 
 package org.apache.shenyu.plugin.logging;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.WritableByteChannel;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.dto.convert.LoggingHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
+import org.apache.shenyu.plugin.base.cache.HandleCompiler;
+import org.apache.shenyu.plugin.logging.accesslog.AccessLog;
+import org.apache.shenyu.plugin.logging.accesslog.AccessLogWriter;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
-import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -51,72 +43,40 @@ import reactor.util.annotation.NonNull;
  * Soul logging plugin. it can print request info(include request headers, request params, request body ...etc) and
  * response info(include response headers and response body).
  *
+ * <p>The rule handle sets the share of the requests logged and the bytes of each body logged, see {@link LoggingHandle}.
+ * The access logs are written by {@link AccessLogWriter} on its own thread, a request never waits for it.
+ *
  * @author xuxd
  **/
-@Slf4j
 public class LoggingPlugin extends AbstractSoulPlugin {
 
-    @Override protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain,
-        final SelectorData selector, final RuleData rule) {
+    private static final HandleCompiler<RuleData, LoggingHandle> HANDLE_COMPILER = HandleCompiler.rule(LoggingHandle.class);
 
-        ServerHttpRequest request = exchange.getRequest();
-        StringBuilder requestInfo = new StringBuilder("Print Request Info: ").append(System.lineSeparator());
-
-        requestInfo.append(getRequestUri(request)).append(getRequestMethod(request)).append(System.lineSeparator())
-            .append(getRequestHeaders(request)).append(System.lineSeparator())
-            .append(getQueryParams(request)).append(System.lineSeparator());
-
-        return chain.execute(
-            exchange.mutate()
-                .request(new LoggingServerHttpRequest(request, requestInfo))
-                .response(new LoggingServerHttpResponse(exchange.getResponse(), requestInfo))
-                .build()
-        );
-    }
-
-    private String getRequestMethod(final ServerHttpRequest request) {
-        return "Request Method: " + request.getMethod() + System.lineSeparator();
-    }
-
-    private String getRequestUri(final ServerHttpRequest request) {
-        return "Request Uri: " + request.getURI() + System.lineSeparator();
-    }
+    private static final LoggingHandle DEFAULT_HANDLE = new LoggingHandle();
 
-    private String getQueryParams(final ServerHttpRequest request) {
-        MultiValueMap<String, String> params = request.getQueryParams();
-        StringBuilder logInfo = new StringBuilder();
-        if (!params.isEmpty()) {
-            logInfo.append("[Query Params Start]").append(System.lineSeparator());
-            params.forEach((key, value) -> logInfo.append(key).append(": ").append(StringUtils.join(value, ",")).append(System.lineSeparator()));
-            logInfo.append("[Query Params End]").append(System.lineSeparator());
+    @Override protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain,
+        final SelectorData selector, final RuleData rule) {
+        LoggingHandle handle = HANDLE_COMPILER.obtain(rule);
+        if (Objects.isNull(handle)) {
+            handle = DEFAULT_HANDLE;
         }
-        return logInfo.toString();
-    }
-
-    private String getRequestHeaders(final ServerHttpRequest request) {
-        HttpHeaders headers = request.getHeaders();
-        final StringBuilder logInfo = new StringBuilder();
-        if (!headers.isEmpty()) {
-            logInfo.append("[Request Headers Start]").append(System.lineSeparator());
-            logInfo.append(getHeaders(headers));
-            logInfo.append("[Request Headers End]").append(System.lineSeparator());
+        if (handle.getSampleRate() < 1D && ThreadLocalRandom.current().nextDouble() >= handle.getSampleRate()) {
+            return chain.execute(exchange);
         }
-        return logInfo.toString();
-    }
-
-    private void print(final String info) {
-        log.info(info);
-    }
-
-    private String getHeaders(final HttpHeaders headers) {
-        StringBuilder sb = new StringBuilder();
-        Set<Map.Entry<String, List<String>>> entrySet = headers.entrySet();
-        for (Map.Entry<String, List<String>> entry : entrySet) {
-            String key = entry.getKey();
-            List<String> value = entry.getValue();
-            sb.append(key).append(": ").append(StringUtils.join(value, ",")).append(System.lineSeparator());
+        ServerHttpRequest request = exchange.getRequest();
+        AccessLog accessLog = new AccessLog(request.getMethodValue(), request.getURI(), request.getHeaders(), handle.getMaxBodySize());
+        ServerHttpResponse response = exchange.getResponse();
+        ServerWebExchange loggingExchange = exchange;
+        if (handle.getMaxBodySize() > 0) {
+            loggingExchange = exchange.mutate()
+                .request(new LoggingServerHttpRequest(request, accessLog))
+                .response(new LoggingServerHttpResponse(response, accessLog))
+                .build();
         }
-        return sb.toString();
+        return chain.execute(loggingExchange).doFinally(signal -> {
+            accessLog.complete(response.getStatusCode(), response.getHeaders());
+            AccessLogWriter.getInstance().publish(accessLog);
+        });
     }
 
     @Override public int getOrder() {
@@ -134,116 +94,33 @@ public class LoggingPlugin extends AbstractSoulPlugin {
 
     static class LoggingServerHttpRequest extends ServerHttpRequestDecorator {
 
-        private final StringBuilder logInfo;
+        private final AccessLog accessLog;
 
-        LoggingServerHttpRequest(final ServerHttpRequest delegate, final StringBuilder logInfo) {
+        LoggingServerHttpRequest(final ServerHttpRequest delegate, final AccessLog accessLog) {
             super(delegate);
-            this.logInfo = logInfo;
+            this.accessLog = accessLog;
         }
 
         @Override
         @NonNull
         public Flux<DataBuffer> getBody() {
-            BodyWriter writer = new BodyWriter();
-            return super.getBody().doOnNext(dataBuffer -> writer.write(dataBuffer.asByteBuffer().asReadOnlyBuffer())).doFinally(signal -> {
-                if (!writer.isEmpty()) {
-                    logInfo.append("[Request Body Start]").append(System.lineSeparator());
-                    logInfo.append(writer.output()).append(System.lineSeparator());
-                    logInfo.append("[Request Body End]").append(System.lineSeparator());
-                } else {
-                    // close writer when output.
-                    writer.output();
-                }
-            });
+            return super.getBody().doOnNext(accessLog.getRequestBody()::write);
         }
     }
 
-    class LoggingServerHttpResponse extends ServerHttpResponseDecorator {
+    static class LoggingServerHttpResponse extends ServerHttpResponseDecorator {
 
-        private final StringBuilder logInfo;
+        private final AccessLog accessLog;
 
-        private final ServerHttpResponse serverHttpResponse;
-
-        LoggingServerHttpResponse(final ServerHttpResponse delegate, final StringBuilder logInfo) {
+        LoggingServerHttpResponse(final ServerHttpResponse delegate, final AccessLog accessLog) {
             super(delegate);
-            this.logInfo = logInfo;
-            this.serverHttpResponse = delegate;
-            this.logInfo.append(System.lineSeparator());
+            this.accessLog = accessLog;
         }
 
         @Override
         @NonNull
         public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
-            return super.writeWith(appendResponse(body));
-        }
-
-        @NonNull
-        private Flux<? extends DataBuffer> appendResponse(final Publisher<? extends DataBuffer> body) {
-            logInfo.append(System.lineSeparator());
-            logInfo.append("Response Code: ").append(this.serverHttpResponse.getStatusCode()).append(System.lineSeparator());
-            logInfo.append(getResponseHeaders()).append(System.lineSeparator());
-            BodyWriter writer = new BodyWriter();
-            return Flux.from(body).doOnNext(buffer -> writer.write(buffer.asByteBuffer().asReadOnlyBuffer())).doFinally(signal -> {
-                logInfo.append("[Response Body Start]").append(System.lineSeparator());
-                logInfo.append(writer.output()).append(System.lineSeparator());
-                logInfo.append("[Response Body End]").append(System.lineSeparator());
-                // when response, print all request info.
-                print(logInfo.toString());
-            });
-        }
-
-        private String getResponseHeaders() {
-            return System.lineSeparator() + "[Response Headers Start]" + System.lineSeparator()
-                + LoggingPlugin.this.getHeaders(serverHttpResponse.getHeaders())
-                + "[Response Headers End]" + System.lineSeparator();
-        }
-    }
-
-    static class BodyWriter {
-
-        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-
-        private final WritableByteChannel channel = Channels.newChannel(stream);
-
-        private final AtomicBoolean isClosed = new AtomicBoolean(false);
-
-        void write(final ByteBuffer buffer) {
-            if (!isClosed.get()) {
-                try {
-                    channel.write(buffer);
-                } catch (IOException e) {
-                    isClosed.compareAndSet(false, true);
-                    log.error("Parse Failed.", e);
-                }
-            }
-        }
-
-        boolean isEmpty() {
-            return stream.size() == 0;
-        }
-
-        String output() {
-            try {
-                isClosed.compareAndSet(false, true);
-                return new String(stream.toByteArray(), StandardCharsets.UTF_8);
-            } catch (Exception e) {
-                log.error("Write failed: ", e);
-                return "Write failed: " + e.getMessage();
-            } finally {
-
-                try {
-                    stream.close();
-                } catch (IOException e) {
-                    log.error("Close stream error: ", e);
-                }
-
-                try {
-                    channel.close();
-                } catch (IOException e) {
-                    log.error("Close channel error: ", e);
-                }
-            }
-
+            return super.writeWith(Flux.from(body).doOnNext(accessLog.getResponseBody()::write));
         }
     }
 }
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.accesslog;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The access log of a request, filled on the request path and formatted by {@link AccessLogWriter} on its own thread.
+ *
+ * <p>The uri and the headers are kept as they are, only up to the max body size of each body is copied.
+ */
+public final class AccessLog {
+
+    private final long timestamp = System.currentTimeMillis();
+
+    private final long startNanoTime = System.nanoTime();
+
+    private final String method;
+
+    private final URI uri;
+
+    private final HttpHeaders requestHeaders;
+
+    private final Body requestBody;
+
+    private final Body responseBody;
+
+    private HttpStatus status;
+
+    private HttpHeaders responseHeaders;
+
+    private long latencyNanos;
+
+    /**
+     * Instantiates a new Access log.
+     *
+     * @param method         the request method
+     * @param uri            the request uri
+     * @param requestHeaders the request headers
+     * @param maxBodySize    the bytes of each body to log, 0 for none
+     */
+    public AccessLog(final String method, final URI uri, final HttpHeaders requestHeaders, final int maxBodySize) {
+        this.method = method;
+        this.uri = uri;
+        this.requestHeaders = requestHeaders;
+        this.requestBody = new Body(maxBodySize);
+        this.responseBody = new Body(maxBodySize);
+    }
+
+    /**
+     * Gets the request body.
+     *
+     * @return the request body
+     */
+    public Body getRequestBody() {
+        return requestBody;
+    }
+
+    /**
+     * Gets the response body.
+     *
+     * @return the response body
+     */
+    public Body getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * The request is done.
+     *
+     * @param status          the response status, may be null
+     * @param responseHeaders the response headers
+     */
+    public void complete(final HttpStatus status, final HttpHeaders responseHeaders) {
+        this.latencyNanos = System.nanoTime() - startNanoTime;
+        this.status = status;
+        this.responseHeaders = responseHeaders;
+    }
+
+    /**
+     * Append the access log to a builder.
+     *
+     * @param builder the builder
+     */
+    public void appendTo(final StringBuilder builder) {
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(timestamp), builder);
+        builder.append(' ').append(method).append(' ').append(uri).append(' ')
+                .append(Objects.isNull(status) ? "-" : String.valueOf(status.value())).append(' ');
+        long micros = latencyNanos / 1000L;
+        builder.append(micros / 1000L).append('.');
+        long fraction = micros % 1000L;
+        if (fraction < 100L) {
+            builder.append(fraction < 10L ? "00" : "0");
+        }
+        builder.append(fraction).append("ms").append(System.lineSeparator());
+        appendHeaders(builder, "Request Headers", requestHeaders);
+        requestBody.appendTo(builder, "Request Body");
+        appendHeaders(builder, "Response Headers", responseHeaders);
+        responseBody.appendTo(builder, "Response Body");
+    }
+
+    private static void appendHeaders(final StringBuilder builder, final String name, final HttpHeaders headers) {
+        if (Objects.isNull(headers) || headers.isEmpty()) {
+            return;
+        }
+        builder.append('[').append(name).append(" Start]").append(System.lineSeparator());
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            builder.append(entry.getKey()).append(": ");
+            List<String> values = entry.getValue();
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(values.get(i));
+            }
+            builder.append(System.lineSeparator());
+        }
+        builder.append('[').append(name).append(" End]").append(System.lineSeparator());
+    }
+
+    /**
+     * The first bytes of a body, up to the max body size.
+     */
+    public static final class Body {
+
+        private static final byte[] EMPTY = new byte[0];
+
+        private final int limit;
+
+        private byte[] bytes = EMPTY;
+
+        private int size;
+
+        private long total;
+
+        private Body(final int limit) {
+            this.limit = Math.max(limit, 0);
+        }
+
+        /**
+         * Copy the bytes of the buffer that fit under the max body size, the buffer itself is not changed.
+         *
+         * @param buffer the buffer
+         */
+        public void write(final DataBuffer buffer) {
+            int readable = buffer.readableByteCount();
+            total += readable;
+            int length = Math.min(readable, limit - size);
+            if (length <= 0) {
+                return;
+            }
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(limit, Math.max(bytes.length << 1, size + length)));
+            }
+            buffer.asByteBuffer().get(bytes, size, length);
+            size += length;
+        }
+
+        /**
+         * Gets the copied bytes.
+         *
+         * @return the bytes
+         */
+        public byte[] getBytes() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        /**
+         * Gets the bytes of the whole body.
+         *
+         * @return the total
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        private void appendTo(final StringBuilder builder, final String name) {
+            if (total == 0L) {
+                return;
+            }
+            builder.append('[').append(name).append(" Start]");
+            if (total > size) {
+                builder.append(" (").append(size).append(" of ").append(total).append(" bytes)");
+            }
+            builder.append(System.lineSeparator()).append(new String(bytes, 0, size, StandardCharsets.UTF_8)).append(System.lineSeparator())
+                    .append('[').append(name).append(" End]").append(System.lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.accesslog;
+
+import org.apache.shenyu.plugin.logging.LoggingPlugin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Where the access logs are written, only ever used by the thread of {@link AccessLogWriter}.
+ */
+interface AccessLogSink extends Closeable {
+
+    /**
+     * Write an access log.
+     *
+     * @param accessLog the formatted access log
+     * @throws IOException the io exception
+     */
+    void write(CharSequence accessLog) throws IOException;
+
+    /**
+     * Flush the access logs written so far.
+     *
+     * @throws IOException the io exception
+     */
+    void flush() throws IOException;
+
+    /**
+     * Open the sink of a config, the logger of the logging plugin if the file cannot be opened.
+     *
+     * @param config the config
+     * @return the sink
+     */
+    static AccessLogSink of(final AccessLogConfig config) {
+        if ("stdout".equalsIgnoreCase(config.getSink())) {
+            return new WriterSink(new FileOutputStream(FileDescriptor.out), false);
+        }
+        if ("file".equalsIgnoreCase(config.getSink())) {
+            try {
+                File file = new File(config.getFile());
+                File parent = file.getAbsoluteFile().getParentFile();
+                if (Objects.nonNull(parent) && !parent.exists() && !parent.mkdirs()) {
+                    throw new IOException("can not create the directory " + parent);
+                }
+                return new WriterSink(new FileOutputStream(file, true), true);
+            } catch (IOException e) {
+                LogSink.LOGGER.error("can not open the access log file {}, log to the logger instead", config.getFile(), e);
+            }
+        }
+        return new LogSink();
+    }
+
+    final class LogSink implements AccessLogSink {
+
+        private static final Logger LOGGER = LoggerFactory.getLogger(LoggingPlugin.class);
+
+        @Override
+        public void write(final CharSequence accessLog) {
+            LOGGER.info("{}", accessLog);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    final class WriterSink implements AccessLogSink {
+
+        private final Writer writer;
+
+        private final boolean closeable;
+
+        WriterSink(final FileOutputStream stream, final boolean closeable) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16);
+            this.closeable = closeable;
+        }
+
+        @Override
+        public void write(final CharSequence accessLog) throws IOException {
+            writer.append(accessLog).append(System.lineSeparator());
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closeable) {
+                writer.close();
+            } else {
+                writer.flush();
+            }
+        }
+    }
+}
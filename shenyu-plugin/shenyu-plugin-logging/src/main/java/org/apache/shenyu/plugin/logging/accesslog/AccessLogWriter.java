@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.accesslog;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.disruptor.event.DataEvent;
+import org.apache.shenyu.disruptor.event.DisruptorEventFactory;
+import org.apache.shenyu.disruptor.provider.DisruptorProvider;
+import org.apache.shenyu.disruptor.thread.DisruptorThreadFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Writes the access logs on a thread of its own, through a bounded disruptor ring buffer.
+ *
+ * <p>A request only publishes its {@link AccessLog} into the ring buffer: it never waits, and the access log is dropped
+ * and counted when the ring buffer is full. The writer thread formats the access logs and flushes the sink at the end of each batch.
+ */
+@Slf4j
+public final class AccessLogWriter {
+
+    /**
+     * The size of the ring buffer.
+     */
+    public static final int BUFFER_SIZE = 16384;
+
+    private final DisruptorProvider<AccessLog> provider;
+
+    private final Function<AccessLogConfig, AccessLogSink> sinkFactory;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final AtomicBoolean dropWarned = new AtomicBoolean();
+
+    private volatile AccessLogConfig config = new AccessLogConfig();
+
+    /**
+     * the sink, its config and the format buffer, only used by the writer thread.
+     */
+    private AccessLogSink sink;
+
+    private AccessLogConfig sinkConfig;
+
+    private final StringBuilder builder = new StringBuilder(1024);
+
+    AccessLogWriter(final int bufferSize, final Function<AccessLogConfig, AccessLogSink> sinkFactory) {
+        this.sinkFactory = sinkFactory;
+        Disruptor<DataEvent<AccessLog>> disruptor = new Disruptor<>(new DisruptorEventFactory<>(), bufferSize,
+                DisruptorThreadFactory.create("soul_access_log_", true), ProducerType.MULTI, new SleepingWaitStrategy());
+        disruptor.handleEventsWith(new AccessLogHandler());
+        disruptor.start();
+        this.provider = new DisruptorProvider<>(disruptor.getRingBuffer(), disruptor);
+    }
+
+    /**
+     * Gets the access log writer, started on first use.
+     *
+     * @return the access log writer
+     */
+    public static AccessLogWriter getInstance() {
+        return AccessLogWriterHolder.INSTANCE;
+    }
+
+    /**
+     * Change where the access logs go, the writer thread switches sink before its next access log.
+     *
+     * @param config the config
+     */
+    public void configure(final AccessLogConfig config) {
+        if (!Objects.equals(this.config, config)) {
+            this.config = config;
+        }
+    }
+
+    /**
+     * Publish an access log, dropping it if the ring buffer is full.
+     *
+     * @param accessLog the access log
+     * @return true if published, false if dropped
+     */
+    public boolean publish(final AccessLog accessLog) {
+        if (provider.tryOnData(event -> event.setData(accessLog))) {
+            return true;
+        }
+        dropped.increment();
+        if (dropWarned.compareAndSet(false, true)) {
+            log.warn("the access log ring buffer is full, the access logs are dropped until the writer catches up");
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of access logs written.
+     *
+     * @return the written count
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * Gets the number of access logs dropped because the ring buffer was full.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Shutdown, after the published access logs are written.
+     */
+    void shutdown() {
+        provider.shutdown();
+        closeSink();
+    }
+
+    private void write(final AccessLog accessLog, final boolean endOfBatch) {
+        AccessLogConfig current = config;
+        if (current != sinkConfig) {
+            closeSink();
+            sink = sinkFactory.apply(current);
+            sinkConfig = current;
+        }
+        try {
+            if (Objects.nonNull(accessLog)) {
+                builder.setLength(0);
+                accessLog.appendTo(builder);
+                sink.write(builder);
+                written.increment();
+            }
+            if (endOfBatch) {
+                sink.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("write access log error", e);
+        }
+    }
+
+    private void closeSink() {
+        if (Objects.isNull(sink)) {
+            return;
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            log.error("close access log sink error", e);
+        }
+    }
+
+    private final class AccessLogHandler implements EventHandler<DataEvent<AccessLog>> {
+
+        @Override
+        public void onEvent(final DataEvent<AccessLog> event, final long sequence, final boolean endOfBatch) {
+            AccessLog accessLog = event.getData();
+            event.setData(null);
+            write(accessLog, endOfBatch);
+        }
+    }
+
+    private static final class AccessLogWriterHolder {
+
+        private static final AccessLogWriter INSTANCE = new AccessLogWriter(BUFFER_SIZE, AccessLogSink::of);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.handler;
+
+import java.util.Objects;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.plugin.logging.accesslog.AccessLogConfig;
+import org.apache.shenyu.plugin.logging.accesslog.AccessLogWriter;
+
+/**
+ * The type Logging plugin data handler, it applies the plugin config to the {@link AccessLogWriter}.
+ */
+public class LoggingPluginDataHandler implements PluginDataHandler {
+
+    @Override
+    public void handlerPlugin(final PluginData pluginData) {
+        if (Objects.isNull(pluginData) || !Boolean.TRUE.equals(pluginData.getEnabled())) {
+            return;
+        }
+        AccessLogConfig config = StringUtils.isBlank(pluginData.getConfig())
+                ? null : GsonUtils.getInstance().fromJson(pluginData.getConfig(), AccessLogConfig.class);
+        AccessLogWriter.getInstance().configure(Objects.isNull(config) ? new AccessLogConfig() : config);
+    }
+
+    @Override
+    public String pluginNamed() {
+        return PluginEnum.LOGGING.getName();
+    }
+}
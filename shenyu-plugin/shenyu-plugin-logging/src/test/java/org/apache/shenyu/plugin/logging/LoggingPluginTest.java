@@ -35,7 +35,9 @@ import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -85,6 +87,22 @@ public final class LoggingPluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testSampledOut() {
+        when(ruleData.getHandle()).thenReturn("{\"sampleRate\":0}");
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        StepVerifier.create(loggingPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        verify(exchange, never()).mutate();
+    }
+
+    @Test
+    public void testWithoutBody() {
+        when(ruleData.getHandle()).thenReturn("{\"maxBodySize\":0}");
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        StepVerifier.create(loggingPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        verify(exchange, never()).mutate();
+    }
+
     @Test
     public void testGetOrder() {
         Assert.assertEquals(loggingPlugin.getOrder(), PluginEnum.LOGGING.getCode());
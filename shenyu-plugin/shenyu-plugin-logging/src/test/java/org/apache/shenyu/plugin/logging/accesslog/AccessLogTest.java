@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.accesslog;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Test Case For AccessLog.
+ */
+public final class AccessLogTest {
+
+    @Test
+    public void testBodyIsCapped() {
+        AccessLog accessLog = new AccessLog("POST", URI.create("/http/order"), new HttpHeaders(), 5);
+        DataBuffer first = buffer("abc");
+        accessLog.getRequestBody().write(first);
+        accessLog.getRequestBody().write(buffer("defgh"));
+        Assert.assertEquals("abcde", new String(accessLog.getRequestBody().getBytes(), StandardCharsets.UTF_8));
+        Assert.assertEquals(8L, accessLog.getRequestBody().getTotal());
+        Assert.assertEquals(3, first.readableByteCount());
+    }
+
+    @Test
+    public void testNoBody() {
+        AccessLog accessLog = new AccessLog("GET", URI.create("/http/order"), new HttpHeaders(), 0);
+        accessLog.getResponseBody().write(buffer("abc"));
+        Assert.assertEquals(0, accessLog.getResponseBody().getBytes().length);
+        Assert.assertEquals(3L, accessLog.getResponseBody().getTotal());
+    }
+
+    @Test
+    public void testAppendTo() {
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.add("X-source", "mock");
+        requestHeaders.add("X-source", "test");
+        AccessLog accessLog = new AccessLog("POST", URI.create("/http/order?id=1"), requestHeaders, 4);
+        accessLog.getRequestBody().write(buffer("{\"id\":1}"));
+        accessLog.getResponseBody().write(buffer("ok"));
+        accessLog.complete(HttpStatus.OK, new HttpHeaders());
+        StringBuilder builder = new StringBuilder();
+        accessLog.appendTo(builder);
+        String formatted = builder.toString();
+        Assert.assertTrue(formatted, formatted.contains(" POST /http/order?id=1 200 "));
+        Assert.assertTrue(formatted, formatted.contains("X-source: mock,test"));
+        Assert.assertTrue(formatted, formatted.contains("[Request Body Start] (4 of 8 bytes)" + System.lineSeparator() + "{\"id"));
+        Assert.assertTrue(formatted, formatted.contains("[Response Body Start]" + System.lineSeparator() + "ok"));
+        Assert.assertFalse(formatted, formatted.contains("Response Headers"));
+    }
+
+    private DataBuffer buffer(final String value) {
+        return new DefaultDataBufferFactory().wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
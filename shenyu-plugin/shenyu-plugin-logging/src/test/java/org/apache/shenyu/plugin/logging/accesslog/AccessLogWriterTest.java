@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.accesslog;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The Test Case For AccessLogWriter.
+ */
+public final class AccessLogWriterTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteToFile() throws Exception {
+        File file = new File(folder.getRoot(), "logs/access.log");
+        AccessLogConfig config = new AccessLogConfig();
+        config.setSink("file");
+        config.setFile(file.getPath());
+        AccessLogWriter writer = new AccessLogWriter(16, AccessLogSink::of);
+        writer.configure(config);
+        Assert.assertTrue(writer.publish(accessLog("/http/order/1")));
+        Assert.assertTrue(writer.publish(accessLog("/http/order/2")));
+        await(() -> writer.getWritten() == 2);
+        writer.shutdown();
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        Assert.assertTrue(content, content.contains("GET /http/order/1 200"));
+        Assert.assertTrue(content, content.contains("GET /http/order/2 200"));
+    }
+
+    @Test
+    public void testDropWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingSink sink = new BlockingSink(release);
+        AccessLogWriter writer = new AccessLogWriter(4, config -> sink);
+        Assert.assertTrue(writer.publish(accessLog("/http/order/0")));
+        await(() -> sink.started.getCount() == 0);
+        int published = 0;
+        for (int i = 1; i < 10; i++) {
+            published += writer.publish(accessLog("/http/order/" + i)) ? 1 : 0;
+        }
+        Assert.assertEquals(3, published);
+        Assert.assertEquals(6L, writer.getDropped());
+        release.countDown();
+        await(() -> writer.getWritten() == 4);
+        writer.shutdown();
+        Assert.assertEquals(4, sink.written.size());
+    }
+
+    private AccessLog accessLog(final String path) {
+        AccessLog accessLog = new AccessLog("GET", URI.create(path), new HttpHeaders(), 0);
+        accessLog.complete(HttpStatus.OK, new HttpHeaders());
+        return accessLog;
+    }
+
+    private void await(final BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+
+    private static final class BlockingSink implements AccessLogSink {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release;
+
+        private final List<String> written = new ArrayList<>();
+
+        BlockingSink(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void write(final CharSequence accessLog) throws IOException {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            written.add(accessLog.toString());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -17,13 +17,14 @@
 
 package org.apache.shenyu.plugin.monitor;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
-import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.metrics.prometheus.register.PrometheusMetricsRegister;
 import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import org.apache.shenyu.plugin.api.PluginExecutionRecorder;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
 import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
@@ -31,37 +32,47 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Objects;
 
 /**
  * the monitor plugin.
  *
+ * <p>The requests are labeled with the names of the matched monitor selector and rule, not with the request path,
+ * so the number of series is bounded by the configuration. The latencies are measured with {@link System#nanoTime()}
+ * into latency histograms of bounded memory, and so is the time each plugin takes while the monitor plugin is enabled.
+ *
  * @author xiaoyu(Myth)
  */
-public class MonitorPlugin extends AbstractSoulPlugin {
+public class MonitorPlugin extends AbstractSoulPlugin implements PluginExecutionRecorder {
     
     private static final String REQUEST_TOTAL = "soul_request_total";
     
     private static final String HTTP_REQUEST_TOTAL = "soul_http_request_total";
     
-    private static final String EXECUTE_LATENCY_NAME = "soul_execute_latency_millis";
+    private static final String EXECUTE_LATENCY_NAME = "soul_execute_latency_seconds";
+    
+    private static final String PLUGIN_LATENCY_NAME = "soul_plugin_execute_latency_seconds";
+    
+    private static final long HISTOGRAM_MEMORY_BUDGET = 4L << 20;
     
     static {
         MetricsReporter.register(new PrometheusMetricsRegister());
         MetricsReporter.registerCounter(REQUEST_TOTAL, "soul request total count");
-        MetricsReporter.registerCounter(HTTP_REQUEST_TOTAL, new String[]{"path", "type"}, "soul http request type total count");
-        MetricsReporter.registerHistogram(EXECUTE_LATENCY_NAME, "the soul executor latency millis");
+        MetricsReporter.registerCounter(HTTP_REQUEST_TOTAL, new String[]{"selector", "rule", "type"}, "soul http request type total count");
+        MetricsReporter.registerLatencyHistogram(EXECUTE_LATENCY_NAME, new String[]{"selector", "rule"}, "the soul executor latency seconds", HISTOGRAM_MEMORY_BUDGET);
+        MetricsReporter.registerLatencyHistogram(PLUGIN_LATENCY_NAME, new String[]{"plugin"}, "the soul plugin execute latency seconds, without the plugins after it", HISTOGRAM_MEMORY_BUDGET);
     }
     
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
+        final String[] route = {Objects.isNull(selector) ? "" : StringUtils.defaultString(selector.getName()),
+            Objects.isNull(rule) ? "" : StringUtils.defaultString(rule.getName())};
         MetricsReporter.counterIncrement(REQUEST_TOTAL);
-        MetricsReporter.counterIncrement(HTTP_REQUEST_TOTAL, new String[]{exchange.getRequest().getURI().getPath(), exchange.getRequest().getMethodValue()});
+        MetricsReporter.counterIncrement(HTTP_REQUEST_TOTAL, new String[]{route[0], route[1], exchange.getRequest().getMethodValue()});
         SoulContext soulContext = exchange.getAttribute(Constants.CONTEXT);
-        LocalDateTime startDateTime = Optional.ofNullable(soulContext).map(SoulContext::getStartDateTime).orElse(LocalDateTime.now());
-        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, startDateTime))
-                .doOnError(throwable -> responseCommitted(exchange, startDateTime));
+        long startNanoTime = Objects.nonNull(soulContext) && soulContext.getStartNanoTime() != 0L ? soulContext.getStartNanoTime() : System.nanoTime();
+        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, route, startNanoTime))
+                .doOnError(throwable -> responseCommitted(exchange, route, startNanoTime));
     }
     
     @Override
@@ -74,20 +85,24 @@ public class MonitorPlugin extends AbstractSoulPlugin {
         return PluginEnum.MONITOR.getName();
     }
     
-    private void responseCommitted(final ServerWebExchange exchange, final LocalDateTime startDateTime) {
+    @Override
+    public void record(final String pluginName, final long nanos) {
+        MetricsReporter.recordLatency(PLUGIN_LATENCY_NAME, new String[]{pluginName}, nanos);
+    }
+    
+    private void responseCommitted(final ServerWebExchange exchange, final String[] route, final long startNanoTime) {
         ServerHttpResponse response = exchange.getResponse();
         if (response.isCommitted()) {
-            recordTime(startDateTime);
+            recordTime(route, startNanoTime);
         } else {
             response.beforeCommit(() -> {
-                recordTime(startDateTime);
+                recordTime(route, startNanoTime);
                 return Mono.empty();
             });
         }
     }
     
-    private void recordTime(final LocalDateTime startDateTime) {
-        long millisBetween = DateUtils.acquireMillisBetween(startDateTime, LocalDateTime.now());
-        MetricsReporter.recordTime(EXECUTE_LATENCY_NAME, millisBetween);
+    private void recordTime(final String[] route, final long startNanoTime) {
+        MetricsReporter.recordLatency(EXECUTE_LATENCY_NAME, route, System.nanoTime() - startNanoTime);
     }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.monitor;
 
+import io.prometheus.client.CollectorRegistry;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
@@ -58,6 +59,30 @@ public final class MonitorPluginTest {
         StepVerifier.create(voidMono).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testLabelsByRoute() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/order/123").build());
+        SoulPluginChain chain = mock(SoulPluginChain.class);
+        when(chain.execute(exchange)).thenReturn(Mono.empty());
+        SelectorData selectorData = mock(SelectorData.class);
+        when(selectorData.getName()).thenReturn("order");
+        RuleData data = mock(RuleData.class);
+        when(data.getName()).thenReturn("/order/**");
+        StepVerifier.create(monitorPlugin.doExecute(exchange, chain, selectorData, data)).expectSubscription().verifyComplete();
+        StepVerifier.create(exchange.getResponse().setComplete()).expectSubscription().verifyComplete();
+        assertEquals(1.0, CollectorRegistry.defaultRegistry.getSampleValue("soul_execute_latency_seconds_count",
+                new String[]{"selector", "rule"}, new String[]{"order", "/order/**"}), 0);
+        assertEquals(1.0, CollectorRegistry.defaultRegistry.getSampleValue("soul_http_request_total",
+                new String[]{"selector", "rule", "type"}, new String[]{"order", "/order/**", "GET"}), 0);
+    }
+
+    @Test
+    public void testRecordPluginLatency() {
+        monitorPlugin.record(PluginEnum.DIVIDE.getName(), 1_000_000L);
+        assertEquals(0.001, CollectorRegistry.defaultRegistry.getSampleValue("soul_plugin_execute_latency_seconds_sum",
+                new String[]{"plugin"}, new String[]{PluginEnum.DIVIDE.getName()}), 0);
+    }
+
     @Test
     public void testGetOrder() {
         assertEquals(PluginEnum.MONITOR.getCode(), monitorPlugin.getOrder());
@@ -27,12 +27,16 @@ import org.apache.shenyu.plugin.api.result.SoulResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
 import org.apache.shenyu.plugin.ratelimiter.cache.RatelimiterRuleHandleCache;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalLimiter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
+
 /**
  * RateLimiter Plugin.
  */
@@ -40,13 +44,26 @@ public class RateLimiterPlugin extends AbstractSoulPlugin {
 
     private final RedisRateLimiter redisRateLimiter;
 
+    private final LocalRateLimiter localRateLimiter;
+
     /**
      * Instantiates a new Rate limiter plugin.
      *
      * @param redisRateLimiter  the redis rate limiter
      */
     public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, new LocalRateLimiter(redisRateLimiter));
+    }
+
+    /**
+     * Instantiates a new Rate limiter plugin.
+     *
+     * @param redisRateLimiter  the redis rate limiter
+     * @param localRateLimiter  the local rate limiter
+     */
+    public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final LocalRateLimiter localRateLimiter) {
         this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
     }
 
     @Override
@@ -63,14 +80,28 @@ public class RateLimiterPlugin extends AbstractSoulPlugin {
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
         RateLimiterHandle limiterHandle = RatelimiterRuleHandleCache.getInstance()
                 .obtainHandle(RateLimiterPluginDataHandler.getCacheKeyName(rule));
+        LocalLimiter localLimiter = localRateLimiter.obtain(rule.getId(), limiterHandle);
+        if (Objects.nonNull(localLimiter)) {
+            if (localLimiter.tryAcquire(limiterHandle.getRequestCount(), System.nanoTime()) == LocalLimiter.DENIED) {
+                return tooManyRequests(exchange);
+            }
+            if (localLimiter.isConcurrent()) {
+                return chain.execute(exchange).doFinally(signalType -> localLimiter.release());
+            }
+            return chain.execute(exchange);
+        }
         return redisRateLimiter.isAllowed(rule.getId(), limiterHandle)
                 .flatMap(response -> {
                     if (!response.isAllowed()) {
-                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                        Object error = SoulResultWrap.error(SoulResultEnum.TOO_MANY_REQUESTS.getCode(), SoulResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
-                        return WebFluxResultUtils.result(exchange, error);
+                        return tooManyRequests(exchange);
                     }
                     return chain.execute(exchange);
                 });
     }
+
+    private Mono<Void> tooManyRequests(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        Object error = SoulResultWrap.error(SoulResultEnum.TOO_MANY_REQUESTS.getCode(), SoulResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
+        return WebFluxResultUtils.result(exchange, error);
+    }
 }
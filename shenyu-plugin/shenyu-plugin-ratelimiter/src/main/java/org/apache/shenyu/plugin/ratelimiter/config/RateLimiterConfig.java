@@ -73,4 +73,15 @@ public class RateLimiterConfig implements Serializable {
      * indefinitely.
      */
     private Duration maxWait = Duration.ofMillis(-1);
+
+    /**
+     * Maximum number of requests of a rule evaluated by one script call, 1 disables the batching.
+     * The concurrent algorithm is never batched.
+     */
+    private int batchSize = 1;
+
+    /**
+     * How long in microseconds the first request of a batch waits for others before the batch is evaluated.
+     */
+    private long batchWindowMicros = 1000;
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimiterModeEnum;
+import org.apache.shenyu.plugin.ratelimiter.local.ConcurrentLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.LeasedLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.SlidingWindowLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.TokenBucketLimiter;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and keeps the in memory limiter of the rules in local or hybrid mode, one per rule, rebuilt when its handle changes.
+ *
+ * <p>In local mode the algorithm of the handle runs in the gateway. In hybrid mode the tokens are leased from the
+ * redis token bucket of the rule, whatever the algorithm, except the concurrent one that stays on redis.
+ */
+public class LocalRateLimiter {
+
+    private static final ConcurrentMap<String, LimiterHolder> LIMITERS = new ConcurrentHashMap<>();
+
+    private static final long MAX_REFILL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RedisRateLimiter redisRateLimiter;
+
+    /**
+     * Instantiates a new local rate limiter.
+     *
+     * @param redisRateLimiter the redis rate limiter the hybrid mode leases from
+     */
+    public LocalRateLimiter(final RedisRateLimiter redisRateLimiter) {
+        this.redisRateLimiter = redisRateLimiter;
+    }
+
+    /**
+     * Obtain the limiter of a rule.
+     *
+     * @param id            is rule id
+     * @param limiterHandle the limiter handle
+     * @return the limiter, null if the rule is limited on redis
+     */
+    public LocalLimiter obtain(final String id, final RateLimiterHandle limiterHandle) {
+        LimiterHolder holder = LIMITERS.get(id);
+        if (Objects.isNull(holder) || holder.handle != limiterHandle) {
+            holder = new LimiterHolder(limiterHandle, create(id, limiterHandle));
+            LIMITERS.put(id, holder);
+        }
+        return holder.limiter;
+    }
+
+    /**
+     * Drop the limiter of a removed rule.
+     *
+     * @param id is rule id
+     */
+    public static void invalidate(final String id) {
+        LIMITERS.remove(id);
+    }
+
+    private LocalLimiter create(final String id, final RateLimiterHandle limiterHandle) {
+        RateLimiterModeEnum mode = RateLimiterModeEnum.acquireByName(limiterHandle.getLimiterMode());
+        String algorithmName = limiterHandle.getAlgorithmName();
+        if (mode == RateLimiterModeEnum.REDIS || (mode == RateLimiterModeEnum.HYBRID && "concurrent".equals(algorithmName))) {
+            return null;
+        }
+        double replenishRate = limiterHandle.getReplenishRate();
+        double burstCapacity = limiterHandle.getBurstCapacity();
+        long now = System.nanoTime();
+        if (mode == RateLimiterModeEnum.HYBRID) {
+            long leaseSize = leaseSize(limiterHandle);
+            long refillNanos = replenishRate > 0 ? Math.min((long) (leaseSize / replenishRate * TimeUnit.SECONDS.toNanos(1)), MAX_REFILL_NANOS) : MAX_REFILL_NANOS;
+            return new LeasedLimiter(new TokenBucketLimiter(replenishRate, burstCapacity, now), leaseSize, refillNanos,
+                permits -> redisRateLimiter.lease(id, limiterHandle, permits), now);
+        }
+        if ("slidingWindow".equals(algorithmName)) {
+            return new SlidingWindowLimiter(replenishRate, burstCapacity, now);
+        }
+        if ("concurrent".equals(algorithmName)) {
+            return new ConcurrentLimiter(burstCapacity);
+        }
+        return new TokenBucketLimiter(replenishRate, burstCapacity, now);
+    }
+
+    private static long leaseSize(final RateLimiterHandle limiterHandle) {
+        double leaseSize = limiterHandle.getLeaseSize() > 0 ? limiterHandle.getLeaseSize() : Math.ceil(limiterHandle.getReplenishRate() / 10);
+        return Math.max(1L, (long) Math.min(leaseSize, limiterHandle.getBurstCapacity()));
+    }
+
+    private static final class LimiterHolder {
+
+        private final RateLimiterHandle handle;
+
+        private final LocalLimiter limiter;
+
+        LimiterHolder(final RateLimiterHandle handle, final LocalLimiter limiter) {
+            this.handle = handle;
+            this.limiter = limiter;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Groups the pending checks of a rule and evaluates them with one script call.
+ *
+ * <p>A batch is evaluated once it holds the batch size checks, or when the window opened by its first check ends.
+ * The script allows the first checks of the batch that fit in the limit and denies the others.
+ */
+@Slf4j
+final class RateLimiterBatcher {
+
+    private final ConcurrentMap<String, PendingBatch> batches = new ConcurrentHashMap<>();
+
+    private final Scheduler scheduler;
+
+    RateLimiterBatcher(final Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Submit a check to the current batch of the key.
+     *
+     * @param key          the batch key
+     * @param batchSize    the max checks of a batch
+     * @param windowMicros how long the first check of a batch waits for others
+     * @param evaluator    evaluates a number of checks at once, emits the allowed count and the tokens left
+     * @return the response of the check
+     */
+    Mono<RateLimiterResponse> submit(final String key, final int batchSize, final long windowMicros, final IntFunction<Mono<List<Long>>> evaluator) {
+        return Mono.create(sink -> {
+            for (;;) {
+                PendingBatch batch = batches.computeIfAbsent(key, k -> new PendingBatch(evaluator));
+                int size = batch.offer(sink, batchSize);
+                if (size == 0) {
+                    batches.remove(key, batch);
+                    continue;
+                }
+                if (size >= batchSize) {
+                    batches.remove(key, batch);
+                    batch.flush();
+                } else if (size == 1) {
+                    scheduler.schedule(() -> {
+                        batches.remove(key, batch);
+                        batch.flush();
+                    }, windowMicros, TimeUnit.MICROSECONDS);
+                }
+                return;
+            }
+        });
+    }
+
+    private static final class PendingBatch {
+
+        private final IntFunction<Mono<List<Long>>> evaluator;
+
+        private final List<MonoSink<RateLimiterResponse>> sinks = new ArrayList<>();
+
+        private boolean closed;
+
+        private boolean drained;
+
+        PendingBatch(final IntFunction<Mono<List<Long>>> evaluator) {
+            this.evaluator = evaluator;
+        }
+
+        synchronized int offer(final MonoSink<RateLimiterResponse> sink, final int batchSize) {
+            if (closed) {
+                return 0;
+            }
+            sinks.add(sink);
+            if (sinks.size() >= batchSize) {
+                closed = true;
+            }
+            return sinks.size();
+        }
+
+        synchronized List<MonoSink<RateLimiterResponse>> drain() {
+            closed = true;
+            if (drained) {
+                return Collections.emptyList();
+            }
+            drained = true;
+            return sinks;
+        }
+
+        void flush() {
+            List<MonoSink<RateLimiterResponse>> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            evaluator.apply(batch.size()).subscribe(results -> fanOut(batch, results.get(0), results.get(1)), throwable -> {
+                log.error("Error occurred while judging a batch of {} requests by RedisRateLimiter:{}", batch.size(), throwable.getMessage());
+                fanOut(batch, batch.size(), -1L);
+            });
+        }
+
+        private static void fanOut(final List<MonoSink<RateLimiterResponse>> batch, final long allowed, final long tokensLeft) {
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).success(new RateLimiterResponse(i < allowed, tokensLeft));
+            }
+        }
+    }
+}
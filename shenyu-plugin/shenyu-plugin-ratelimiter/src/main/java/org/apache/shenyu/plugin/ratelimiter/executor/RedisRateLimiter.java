@@ -20,25 +20,41 @@ package org.apache.shenyu.plugin.ratelimiter.executor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.ConcurrentRateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.TokenBucketRateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * RedisRateLimiter.
  */
 @Slf4j
 public class RedisRateLimiter {
-    
+
+    private static final ConcurrentMap<String, PreparedHandle> PREPARED_HANDLES = new ConcurrentHashMap<>();
+
+    private static final RateLimiterAlgorithm<?> LEASE_ALGORITHM = new TokenBucketRateLimiterAlgorithm();
+
+    private final RateLimiterBatcher batcher = new RateLimiterBatcher(Schedulers.parallel());
+
+    private volatile EpochSecond epochSecond = new EpochSecond(Instant.now().getEpochSecond());
+
     /**
      * Verify using different current limiting algorithm scripts. 
      *
@@ -48,13 +64,15 @@ public class RedisRateLimiter {
      */
     @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
-        double replenishRate = limiterHandle.getReplenishRate();
-        double burstCapacity = limiterHandle.getBurstCapacity();
-        double requestCount = limiterHandle.getRequestCount();
-        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
-        RedisScript<?> script = rateLimiterAlgorithm.getScript();
+        PreparedHandle prepared = prepare(id, limiterHandle);
+        RateLimiterConfig config = Singleton.INST.get(RateLimiterConfig.class);
+        if (prepared.batchable && Objects.nonNull(config) && config.getBatchSize() > 1) {
+            return batcher.submit(id, config.getBatchSize(), config.getBatchWindowMicros(), count -> evaluate(id, prepared, count));
+        }
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = prepared.algorithm;
+        RedisScript<?> script = prepared.script;
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
-        List<String> scriptArgs = Arrays.asList(doubleToString(replenishRate), doubleToString(burstCapacity), doubleToString(Instant.now().getEpochSecond()), doubleToString(requestCount));
+        List<String> scriptArgs = Arrays.asList(prepared.replenishRate, prepared.burstCapacity, now(), prepared.requestCount);
         Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
         return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
                 .reduce(new ArrayList<Long>(), (longs, l) -> {
@@ -68,8 +86,108 @@ public class RedisRateLimiter {
                 .doOnError(throwable -> log.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage()))
                 .doFinally(signalType -> rateLimiterAlgorithm.callback(script, keys, scriptArgs));
     }
-    
-    private String doubleToString(final double param) {
+
+    @SuppressWarnings("unchecked")
+    private Mono<List<Long>> evaluate(final String id, final PreparedHandle prepared, final int count) {
+        List<String> scriptArgs = Arrays.asList(prepared.replenishRate, prepared.burstCapacity, now(), prepared.requestCount, String.valueOf(count));
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(prepared.script, prepared.algorithm.getKeys(id), scriptArgs);
+        return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList((long) count, -1L)))
+                .reduce(new ArrayList<>(), (longs, l) -> {
+                    longs.addAll(l);
+                    return longs;
+                });
+    }
+
+    /**
+     * Lease tokens from the token bucket of the rule, the errors are not swallowed so that the caller can fall back.
+     *
+     * @param id            is rule id
+     * @param limiterHandle the limiter handle
+     * @param permits       the tokens to lease
+     * @return the tokens granted, 0 if the bucket holds less than the permits
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Long> lease(final String id, final RateLimiterHandle limiterHandle, final long permits) {
+        PreparedHandle prepared = prepare(id, limiterHandle);
+        List<String> scriptArgs = Arrays.asList(prepared.replenishRate, prepared.burstCapacity, now(), String.valueOf(permits));
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(LEASE_ALGORITHM.getScript(), prepared.leaseKeys, scriptArgs);
+        return resultFlux.next().map(results -> results.get(0) == 1L ? permits : 0L);
+    }
+
+    /**
+     * Drop the prepared script arguments of a removed rule.
+     *
+     * @param id is rule id
+     */
+    public static void invalidate(final String id) {
+        PREPARED_HANDLES.remove(id);
+    }
+
+    private PreparedHandle prepare(final String id, final RateLimiterHandle limiterHandle) {
+        PreparedHandle prepared = PREPARED_HANDLES.get(id);
+        if (Objects.isNull(prepared) || prepared.handle != limiterHandle) {
+            prepared = new PreparedHandle(id, limiterHandle);
+            PREPARED_HANDLES.put(id, prepared);
+        }
+        return prepared;
+    }
+
+    private String now() {
+        long second = Instant.now().getEpochSecond();
+        EpochSecond current = epochSecond;
+        if (current.second != second) {
+            current = new EpochSecond(second);
+            epochSecond = current;
+        }
+        return current.value;
+    }
+
+    private static String doubleToString(final double param) {
         return String.valueOf(param);
     }
+
+    /**
+     * The algorithm and the constant script arguments of a rule handle, resolved once per handle.
+     */
+    private static final class PreparedHandle {
+
+        private final RateLimiterHandle handle;
+
+        private final RateLimiterAlgorithm<?> algorithm;
+
+        private final RedisScript<?> script;
+
+        private final boolean batchable;
+
+        private final List<String> leaseKeys;
+
+        private final String replenishRate;
+
+        private final String burstCapacity;
+
+        private final String requestCount;
+
+        PreparedHandle(final String id, final RateLimiterHandle handle) {
+            this.handle = handle;
+            this.algorithm = StringUtils.hasText(handle.getAlgorithmName()) ? RateLimiterAlgorithmFactory.newInstance(handle.getAlgorithmName()) : LEASE_ALGORITHM;
+            this.script = algorithm.getScript();
+            this.batchable = !(algorithm instanceof ConcurrentRateLimiterAlgorithm);
+            this.leaseKeys = LEASE_ALGORITHM.getKeys(id);
+            this.replenishRate = doubleToString(handle.getReplenishRate());
+            this.burstCapacity = doubleToString(handle.getBurstCapacity());
+            this.requestCount = doubleToString(handle.getRequestCount());
+        }
+    }
+
+    private static final class EpochSecond {
+
+        private final long second;
+
+        private final String value;
+
+        EpochSecond(final long second) {
+            this.second = second;
+            this.value = doubleToString(second);
+        }
+    }
 }
@@ -30,6 +30,8 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.plugin.ratelimiter.cache.RatelimiterRuleHandleCache;
 import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RedisModeEnum;
@@ -88,6 +90,8 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
     @Override
     public void removeRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> RatelimiterRuleHandleCache.getInstance().removeHandle(getCacheKeyName(ruleData)));
+        RedisRateLimiter.invalidate(ruleData.getId());
+        LocalRateLimiter.invalidate(ruleData.getId());
     }
 
     /**
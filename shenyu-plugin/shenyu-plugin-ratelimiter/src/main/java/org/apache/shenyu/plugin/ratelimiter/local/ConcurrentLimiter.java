@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the requests in flight to the burst capacity.
+ */
+public final class ConcurrentLimiter implements LocalLimiter {
+
+    private final long capacity;
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * Instantiates a new concurrent limiter.
+     *
+     * @param burstCapacity the max requests in flight
+     */
+    public ConcurrentLimiter(final double burstCapacity) {
+        this.capacity = (long) burstCapacity;
+    }
+
+    @Override
+    public long tryAcquire(final double permits, final long now) {
+        for (;;) {
+            long current = inFlight.get();
+            if (current >= capacity) {
+                return DENIED;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return capacity - current - 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
+    @Override
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Gets the requests in flight.
+     *
+     * @return the requests in flight
+     */
+    public long getInFlight() {
+        return inFlight.get();
+    }
+}
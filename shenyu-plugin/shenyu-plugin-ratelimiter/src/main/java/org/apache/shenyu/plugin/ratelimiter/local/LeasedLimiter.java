@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Spends tokens leased in batches from a shared bucket, so that only one request in a lease goes to redis.
+ *
+ * <p>A new lease is asked for in the background once half of the current one is spent. When the shared bucket
+ * denies a lease the requests are denied until it had time to refill one. Until the first lease comes back, and
+ * while redis fails, the requests go through a per node fallback limiter instead.
+ *
+ * <p>The unspent tokens of a lease stay with the node, so the cluster may go past the limit by at most one lease per node.
+ */
+@Slf4j
+public final class LeasedLimiter implements LocalLimiter {
+
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LocalLimiter fallback;
+
+    private final long leaseSize;
+
+    private final long refillNanos;
+
+    private final LongFunction<Mono<Long>> leaser;
+
+    private final AtomicLong tokens = new AtomicLong();
+
+    private final AtomicBoolean leasing = new AtomicBoolean();
+
+    private volatile long nextLease;
+
+    private volatile boolean leased;
+
+    private volatile boolean degraded;
+
+    /**
+     * Instantiates a new leased limiter.
+     *
+     * @param fallback    the limiter used while no lease is available
+     * @param leaseSize   the tokens of a lease
+     * @param refillNanos the time the shared bucket takes to refill a lease
+     * @param leaser      leases the tokens from the shared bucket, emits the tokens granted, 0 if denied
+     * @param now         the current time in nanos
+     */
+    public LeasedLimiter(final LocalLimiter fallback, final long leaseSize, final long refillNanos, final LongFunction<Mono<Long>> leaser, final long now) {
+        this.fallback = fallback;
+        this.leaseSize = Math.max(leaseSize, 1L);
+        this.refillNanos = refillNanos;
+        this.leaser = leaser;
+        this.nextLease = now;
+    }
+
+    @Override
+    public long tryAcquire(final double permits, final long now) {
+        long need = (long) Math.ceil(permits);
+        long left = take(need);
+        if (left == DENIED) {
+            lease(now);
+            left = take(need);
+        } else if (left << 1 < leaseSize) {
+            lease(now);
+        }
+        if (left != DENIED) {
+            return left;
+        }
+        if (degraded || !leased) {
+            return fallback.tryAcquire(permits, now);
+        }
+        return DENIED;
+    }
+
+    /**
+     * Gets the leased tokens left.
+     *
+     * @return the tokens
+     */
+    public long getTokens() {
+        return tokens.get();
+    }
+
+    private long take(final long need) {
+        for (;;) {
+            long current = tokens.get();
+            if (current < need) {
+                return DENIED;
+            }
+            if (tokens.compareAndSet(current, current - need)) {
+                return current - need;
+            }
+        }
+    }
+
+    private void lease(final long now) {
+        if (now - nextLease < 0 || !leasing.compareAndSet(false, true)) {
+            return;
+        }
+        leaser.apply(leaseSize).defaultIfEmpty(0L).subscribe(granted -> leased(granted, now), throwable -> failed(throwable, now));
+    }
+
+    private void leased(final long granted, final long now) {
+        if (granted > 0) {
+            tokens.addAndGet(granted);
+        } else {
+            nextLease = now + refillNanos;
+        }
+        leased = true;
+        degraded = false;
+        leasing.set(false);
+    }
+
+    private void failed(final Throwable throwable, final long now) {
+        log.error("Error occurred while leasing tokens for the rate limiter:{}", throwable.getMessage());
+        nextLease = now + RETRY_NANOS;
+        degraded = true;
+        leasing.set(false);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+/**
+ * A rate limiter kept in the gateway memory, every implementation is lock free.
+ */
+public interface LocalLimiter {
+
+    /**
+     * The result of a denied {@link #tryAcquire}.
+     */
+    long DENIED = -1L;
+
+    /**
+     * Try to take permits.
+     *
+     * @param permits the permits
+     * @param now     the current time in nanos, from {@link System#nanoTime()}
+     * @return the permits left, {@link #DENIED} if the permits are not granted
+     */
+    long tryAcquire(double permits, long now);
+
+    /**
+     * Whether the permits are held until the request completes and must be given back with {@link #release()}.
+     *
+     * @return true for a concurrency limit
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+
+    /**
+     * Give back the permit of a completed request.
+     */
+    default void release() {
+    }
+}
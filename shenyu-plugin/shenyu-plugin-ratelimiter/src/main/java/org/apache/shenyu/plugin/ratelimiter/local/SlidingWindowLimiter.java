@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding window counter: the count of the previous window, weighted by how much of it still overlaps the
+ * sliding window, plus the count of the current one.
+ *
+ * <p>The window lasts {@code burstCapacity / replenishRate} seconds and admits {@code burstCapacity} requests,
+ * as the redis script does. The window index and both counts are packed in one atomic long:
+ * 24 bits of index and 20 bits per count, so a window admits at most {@value #MAX_COUNT} requests.
+ */
+public final class SlidingWindowLimiter implements LocalLimiter {
+
+    static final long MAX_COUNT = (1L << 20) - 1;
+
+    private static final int COUNT_BITS = 20;
+
+    private static final long INDEX_MASK = (1L << 24) - 1;
+
+    private final long windowNanos;
+
+    private final long limit;
+
+    private final AtomicLong state;
+
+    /**
+     * Instantiates a new sliding window limiter.
+     *
+     * @param replenishRate the permits per second
+     * @param burstCapacity the permits per window
+     * @param now           the current time in nanos
+     */
+    public SlidingWindowLimiter(final double replenishRate, final double burstCapacity, final long now) {
+        double windowSeconds = replenishRate > 0 ? burstCapacity / replenishRate : 1D;
+        this.windowNanos = Math.max(1L, (long) (windowSeconds * TimeUnit.SECONDS.toNanos(1)));
+        this.limit = Math.min((long) burstCapacity, MAX_COUNT);
+        this.state = new AtomicLong((Math.floorDiv(now, windowNanos) & INDEX_MASK) << (COUNT_BITS << 1));
+    }
+
+    @Override
+    public long tryAcquire(final double permits, final long now) {
+        long need = (long) Math.ceil(permits);
+        long window = Math.floorDiv(now, windowNanos);
+        long index = window & INDEX_MASK;
+        double overlap = (double) (windowNanos - (now - window * windowNanos)) / windowNanos;
+        for (;;) {
+            long prevState = state.get();
+            long prevIndex = prevState >>> (COUNT_BITS << 1);
+            long previous = (prevState >>> COUNT_BITS) & MAX_COUNT;
+            long current = prevState & MAX_COUNT;
+            if (prevIndex != index) {
+                previous = ((prevIndex + 1) & INDEX_MASK) == index ? current : 0L;
+                current = 0L;
+            }
+            long estimate = (long) (previous * overlap) + current;
+            if (estimate + need > limit) {
+                return DENIED;
+            }
+            long next = index << (COUNT_BITS << 1) | previous << COUNT_BITS | (current + need);
+            if (state.compareAndSet(prevState, next)) {
+                return limit - estimate - need;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket as a generic cell rate algorithm, a single atomic holding the theoretical arrival time.
+ *
+ * <p>A permit moves the arrival time one emission interval ahead, a request is denied when it would move it
+ * more than the burst capacity ahead of now. This is also the leaky bucket as a meter: the water level is
+ * the distance between the arrival time and now, and it leaks at the replenish rate.
+ */
+public final class TokenBucketLimiter implements LocalLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long MAX_NANOS = Long.MAX_VALUE >> 2;
+
+    private final double emissionNanos;
+
+    private final long toleranceNanos;
+
+    private final AtomicLong arrival;
+
+    /**
+     * Instantiates a new token bucket limiter.
+     *
+     * @param replenishRate the permits per second
+     * @param burstCapacity the bucket capacity
+     * @param now           the current time in nanos
+     */
+    public TokenBucketLimiter(final double replenishRate, final double burstCapacity, final long now) {
+        this.emissionNanos = replenishRate > 0 ? NANOS_PER_SECOND / replenishRate : MAX_NANOS;
+        this.toleranceNanos = (long) Math.min(burstCapacity * emissionNanos, MAX_NANOS);
+        this.arrival = new AtomicLong(now);
+    }
+
+    @Override
+    public long tryAcquire(final double permits, final long now) {
+        long cost = (long) Math.min(permits * emissionNanos, MAX_NANOS);
+        for (;;) {
+            long prev = arrival.get();
+            long next = Math.max(prev, now) + cost;
+            long ahead = next - now;
+            if (ahead > toleranceNanos) {
+                return DENIED;
+            }
+            if (arrival.compareAndSet(prev, next)) {
+                return (long) ((toleranceNanos - ahead) / emissionNanos);
+            }
+        }
+    }
+}
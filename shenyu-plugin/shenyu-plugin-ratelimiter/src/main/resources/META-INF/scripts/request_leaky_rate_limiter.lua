@@ -29,6 +29,8 @@ local rate = tonumber(ARGV[1])
 local requested = tonumber(ARGV[4])
 -- current timestamp
 local now = tonumber(ARGV[3])
+-- the number of requests evaluated together, each one adding the requested water
+local count = tonumber(ARGV[5]) or 1
 -- the key life time
 local key_lifetime = math.ceil((capacity / rate) + 1)
 
@@ -56,18 +58,19 @@ if leaks > 0 then
     last_time = now
 end
 
--- is allowed pass default not allow
-local is_allow = 0
+-- the number of requests allowed to pass
+local is_allow = count
+if requested > 0 then
+    is_allow = math.max(0, math.min(count, math.floor((capacity - key_bucket_count) / requested)))
+end
 
-local new_bucket_count = key_bucket_count + requested
--- allow
-if new_bucket_count <= capacity then
-    is_allow = 1
-else
+if is_allow == 0 then
     -- not allow
-    return {is_allow, new_bucket_count}
+    return {is_allow, key_bucket_count + requested}
 end
 
+local new_bucket_count = key_bucket_count + is_allow * requested
+
 -- update the key bucket water yield
 redis.call("SETEX", leaky_bucket_key, key_lifetime, new_bucket_count)
 
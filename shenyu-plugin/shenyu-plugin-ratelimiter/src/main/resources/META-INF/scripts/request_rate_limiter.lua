@@ -23,6 +23,8 @@ local rate = tonumber(ARGV[1])
 local capacity = tonumber(ARGV[2])
 local now = tonumber(ARGV[3])
 local requested = tonumber(ARGV[4])
+-- the number of requests evaluated together, each one asking for the requested tokens
+local count = tonumber(ARGV[5]) or 1
 
 local fill_time = capacity/rate
 local ttl = math.floor(fill_time*2)
@@ -39,13 +41,11 @@ end
 
 local delta = math.max(0, now-last_refreshed)
 local filled_tokens = math.min(capacity, last_tokens+(delta*rate))
-local allowed = filled_tokens >= requested
-local new_tokens = filled_tokens
-local allowed_num = 0
-if allowed then
-  new_tokens = filled_tokens - requested
-  allowed_num = 1
+local allowed_num = count
+if requested > 0 then
+  allowed_num = math.max(0, math.min(count, math.floor(filled_tokens / requested)))
 end
+local new_tokens = filled_tokens - allowed_num * requested
 
 redis.call("setex", tokens_key, ttl, new_tokens)
 redis.call("setex", timestamp_key, ttl, now)
@@ -22,6 +22,8 @@ local timestamp_key = KEYS[2]
 local rate = tonumber(ARGV[1])
 local capacity = tonumber(ARGV[2])
 local now = tonumber(ARGV[3])
+-- the number of requests evaluated together
+local count = tonumber(ARGV[5]) or 1
 
 local window_size = tonumber(capacity / rate)
 local window_time = 1
@@ -39,10 +41,13 @@ end
 --redis.log(redis.LOG_WARNING, "last_requested " .. last_requested)
 
 local remain_request = capacity - last_requested
-local allowed_num = 0
-if (last_requested < capacity) then
-    allowed_num = 1
-    redis.call('zadd', tokens_key, now, timestamp_key)
+local allowed_num = math.max(0, math.min(count, math.ceil(capacity - last_requested)))
+for i = 1, allowed_num do
+    if i == 1 then
+        redis.call('zadd', tokens_key, now, timestamp_key)
+    else
+        redis.call('zadd', tokens_key, now, timestamp_key .. ':' .. i)
+    end
 end
 
 --redis.log(redis.LOG_WARNING, "remain_request " .. remain_request)
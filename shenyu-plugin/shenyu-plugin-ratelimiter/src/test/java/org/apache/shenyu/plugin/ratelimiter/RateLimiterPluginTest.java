@@ -45,6 +45,8 @@ import reactor.test.StepVerifier;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -105,6 +107,42 @@ public final class RateLimiterPluginTest {
         Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
     }
 
+    /**
+     * rateLimiterPlugin doExecute in local mode, the requests past the burst capacity are denied without redis.
+     */
+    @Test
+    public void doExecuteLocalTest() {
+        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        rateLimiterHandle.setLimiterMode("local");
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setBurstCapacity(1);
+        doExecutePreInit(rateLimiterHandle);
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(SoulResult.class)).thenReturn(new DefaultSoulResult());
+        SpringBeanUtils.getInstance().setCfgContext(context);
+        StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        Assert.assertNull(exchange.getResponse().getStatusCode());
+        StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        Assert.assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        verify(redisRateLimiter, never()).isAllowed(anyString(), any(RateLimiterHandle.class));
+    }
+
+    /**
+     * rateLimiterPlugin doExecute in local concurrent mode, the permit is given back once the request completes.
+     */
+    @Test
+    public void doExecuteLocalConcurrentTest() {
+        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        rateLimiterHandle.setLimiterMode("local");
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        rateLimiterHandle.setBurstCapacity(1);
+        doExecutePreInit(rateLimiterHandle);
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(rateLimiterPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        }
+        Assert.assertNull(exchange.getResponse().getStatusCode());
+    }
+
     /**
      * named default value test case.
      */
@@ -125,7 +163,13 @@ public final class RateLimiterPluginTest {
      * rateLimiterPlugin doExecute Test prev init.
      */
     private void doExecutePreInit() {
-        RateLimiterHandle rateLimiterHandle = mockRateLimiterHandler();
+        doExecutePreInit(mockRateLimiterHandler());
+    }
+
+    /**
+     * rateLimiterPlugin doExecute Test prev init with the given handle.
+     */
+    private void doExecutePreInit(final RateLimiterHandle rateLimiterHandle) {
         when(ruleData.getId()).thenReturn("test1");
         when(chain.execute(any())).thenReturn(Mono.empty());
         RatelimiterRuleHandleCache.getInstance().cachedHandle(RateLimiterPluginDataHandler.getCacheKeyName(ruleData), rateLimiterHandle);
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.benchmark;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
+import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Flux;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket checks of one rule against an embedded redis, one script call per check and batches of up to 32 checks.
+ *
+ * <p>{@code burst} runs 256 concurrent checks, the throughput is 256 over its time. {@code single} is the latency of a lone check,
+ * which waits for the whole batch window when batching is on. Run the {@code main} method on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisRateLimiterBenchmark {
+
+    private static final int BURST = 256;
+
+    @Param({"1", "32"})
+    private int batchSize;
+
+    private RedisServer redisServer;
+
+    private RedisRateLimiter redisRateLimiter;
+
+    private RateLimiterHandle handle;
+
+    /**
+     * Start redis and configure the plugin.
+     */
+    @Setup
+    public void setUp() {
+        redisServer = RedisServer.builder().port(63793).setting("maxmemory 64m").build();
+        redisServer.start();
+        RateLimiterConfig config = new RateLimiterConfig();
+        config.setUrl("127.0.0.1:63793");
+        config.setBatchSize(batchSize);
+        config.setBatchWindowMicros(200);
+        new RateLimiterPluginDataHandler().handlerPlugin(PluginData.builder().enabled(true).config(GsonUtils.getInstance().toJson(config)).build());
+        redisRateLimiter = new RedisRateLimiter();
+        handle = new RateLimiterHandle();
+        handle.setAlgorithmName("tokenBucket");
+        handle.setReplenishRate(1_000_000_000D);
+        handle.setBurstCapacity(1_000_000_000D);
+    }
+
+    /**
+     * Stop redis.
+     */
+    @TearDown
+    public void tearDown() {
+        redisServer.stop();
+    }
+
+    /**
+     * Concurrent checks.
+     *
+     * @return the allowed checks
+     */
+    @Benchmark
+    public long burst() {
+        return Flux.range(0, BURST).flatMap(i -> redisRateLimiter.isAllowed("benchmark", handle), BURST)
+                .filter(response -> response.isAllowed()).count().block();
+    }
+
+    /**
+     * A lone check.
+     *
+     * @return whether it is allowed
+     */
+    @Benchmark
+    public boolean single() {
+        return redisRateLimiter.isAllowed("benchmark", handle).block().isAllowed();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RedisRateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
+import org.apache.shenyu.plugin.ratelimiter.local.ConcurrentLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.LeasedLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.LocalLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.SlidingWindowLimiter;
+import org.apache.shenyu.plugin.ratelimiter.local.TokenBucketLimiter;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * LocalRateLimiter test.
+ */
+public final class LocalRateLimiterTest {
+
+    private static final String TEST_ID = "localTestId";
+
+    private RedisRateLimiter redisRateLimiter;
+
+    private LocalRateLimiter localRateLimiter;
+
+    @Before
+    public void setUp() {
+        redisRateLimiter = mock(RedisRateLimiter.class);
+        localRateLimiter = new LocalRateLimiter(redisRateLimiter);
+        LocalRateLimiter.invalidate(TEST_ID);
+    }
+
+    @Test
+    public void modeTest() {
+        assertNull(localRateLimiter.obtain(TEST_ID, buildHandle(null, "tokenBucket")));
+        assertNull(localRateLimiter.obtain(TEST_ID, buildHandle("redis", "tokenBucket")));
+        assertNull(localRateLimiter.obtain(TEST_ID, buildHandle("hybrid", "concurrent")));
+        assertThat(localRateLimiter.obtain(TEST_ID, buildHandle("local", "tokenBucket")), instanceOf(TokenBucketLimiter.class));
+        assertThat(localRateLimiter.obtain(TEST_ID, buildHandle("local", "leakyBucket")), instanceOf(TokenBucketLimiter.class));
+        assertThat(localRateLimiter.obtain(TEST_ID, buildHandle("local", "slidingWindow")), instanceOf(SlidingWindowLimiter.class));
+        assertThat(localRateLimiter.obtain(TEST_ID, buildHandle("local", "concurrent")), instanceOf(ConcurrentLimiter.class));
+        assertThat(localRateLimiter.obtain(TEST_ID, buildHandle("hybrid", "slidingWindow")), instanceOf(LeasedLimiter.class));
+    }
+
+    @Test
+    public void cacheTest() {
+        RateLimiterHandle handle = buildHandle("local", "tokenBucket");
+        LocalLimiter limiter = localRateLimiter.obtain(TEST_ID, handle);
+        assertSame(limiter, localRateLimiter.obtain(TEST_ID, handle));
+        assertNotSame(limiter, localRateLimiter.obtain(TEST_ID, buildHandle("local", "tokenBucket")));
+    }
+
+    @Test
+    public void hybridLeaseSizeTest() {
+        RateLimiterHandle handle = buildHandle("hybrid", "tokenBucket");
+        when(redisRateLimiter.lease(eq(TEST_ID), any(RateLimiterHandle.class), anyLong())).thenReturn(Mono.just(100L));
+        localRateLimiter.obtain(TEST_ID, handle).tryAcquire(1, System.nanoTime());
+        verify(redisRateLimiter).lease(TEST_ID, handle, 100L);
+    }
+
+    private RateLimiterHandle buildHandle(final String mode, final String algorithmName) {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setLimiterMode(mode);
+        handle.setAlgorithmName(algorithmName);
+        handle.setReplenishRate(1000);
+        handle.setBurstCapacity(2000);
+        return handle;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+/**
+ * RateLimiterBatcher test.
+ */
+public final class RateLimiterBatcherTest {
+
+    private final RateLimiterBatcher batcher = new RateLimiterBatcher(Schedulers.parallel());
+
+    private final List<Integer> evaluations = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void fullBatchTest() {
+        List<Boolean> allowed = Flux.range(0, 3)
+                .flatMapSequential(i -> batcher.submit("fullBatch", 3, Duration.ofSeconds(10).toNanos() / 1000, this::allowTwo))
+                .map(RateLimiterResponse::isAllowed)
+                .collectList().block(Duration.ofSeconds(5));
+        assertThat(allowed, contains(true, true, false));
+        assertThat(evaluations, contains(3));
+    }
+
+    @Test
+    public void windowTest() {
+        List<Boolean> allowed = Flux.range(0, 2)
+                .flatMapSequential(i -> batcher.submit("window", 10, 1000, this::allowTwo))
+                .map(RateLimiterResponse::isAllowed)
+                .collectList().block(Duration.ofSeconds(5));
+        assertThat(allowed, contains(true, true));
+        assertThat(evaluations, contains(2));
+    }
+
+    @Test
+    public void errorTest() {
+        RateLimiterResponse response = batcher.submit("error", 10, 1000, count -> Mono.error(new IllegalStateException())).block(Duration.ofSeconds(5));
+        assertEquals(-1L, response.getTokensRemaining());
+        assertEquals(true, response.isAllowed());
+    }
+
+    private Mono<List<Long>> allowTwo(final int count) {
+        evaluations.add(count);
+        return Mono.just(Arrays.asList(Math.min(count, 2L), 0L));
+    }
+}
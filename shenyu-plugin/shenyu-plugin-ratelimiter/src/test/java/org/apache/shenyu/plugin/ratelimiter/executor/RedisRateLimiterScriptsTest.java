@@ -19,12 +19,14 @@ package org.apache.shenyu.plugin.ratelimiter.executor;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.base.utils.Singleton;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
 import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -135,6 +137,61 @@ public class RedisRateLimiterScriptsTest {
                 .verify();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void tokenBucketBatchLuaTest() {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("tokenBucket");
+        RedisScript<?> script = rateLimiterAlgorithm.getScript();
+        List<String> keys = Stream.of("test-tokenBucket-batch.tokens", "test-tokenBucket-batch.timestamp").collect(Collectors.toList());
+        List<String> scriptArgs = Arrays.asList(1 + "", 3 + "", Instant.now().getEpochSecond() + "", "1", "5");
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        StepVerifier
+                .create(resultFlux)
+                .expectSubscription()
+                .expectNext(Arrays.asList(3L, 0L))
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void slidingWindowBatchLuaTest() {
+        RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance("slidingWindow");
+        RedisScript<?> script = rateLimiterAlgorithm.getScript();
+        List<String> keys = Stream.of("test-slidingWindow-batch", "member").collect(Collectors.toList());
+        List<String> scriptArgs = Arrays.asList(1 + "", 3 + "", Instant.now().getEpochSecond() + "", "1", "5");
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        StepVerifier
+                .create(resultFlux)
+                .expectSubscription()
+                .expectNext(Arrays.asList(3L, 3L))
+                .expectComplete()
+                .verify();
+    }
+
+    @Test
+    public void batchedIsAllowedTest() {
+        RateLimiterConfig config = Singleton.INST.get(RateLimiterConfig.class);
+        RateLimiterConfig batchConfig = new RateLimiterConfig();
+        batchConfig.setUrl(config.getUrl());
+        batchConfig.setBatchSize(8);
+        Singleton.INST.single(RateLimiterConfig.class, batchConfig);
+        try {
+            RateLimiterHandle handle = new RateLimiterHandle();
+            handle.setAlgorithmName("tokenBucket");
+            handle.setReplenishRate(1);
+            handle.setBurstCapacity(5);
+            RedisRateLimiter redisRateLimiter = new RedisRateLimiter();
+            StepVerifier
+                    .create(Flux.range(0, 8).flatMap(i -> redisRateLimiter.isAllowed("batched", handle)).filter(RateLimiterResponse::isAllowed).count())
+                    .expectNext(5L)
+                    .expectComplete()
+                    .verify();
+        } finally {
+            Singleton.INST.single(RateLimiterConfig.class, config);
+        }
+    }
+
     @AfterClass
     public static void end() {
         redisServer.stop();
@@ -167,6 +167,26 @@ public final class RedisRateLimiterTest {
         }).verifyComplete();
     }
 
+    /**
+     * redisRateLimiter.lease granted and denied cases.
+     */
+    @Test
+    public void leaseTest() {
+        isAllowedPreInit(1L, 200L, false);
+        StepVerifier.create(redisRateLimiter.lease(DEFAULT_TEST_ID, rateLimiterHandle, 100L)).expectNext(100L).verifyComplete();
+        isAllowedPreInit(0L, 50L, false);
+        StepVerifier.create(redisRateLimiter.lease(DEFAULT_TEST_ID, rateLimiterHandle, 100L)).expectNext(0L).verifyComplete();
+    }
+
+    /**
+     * redisRateLimiter.lease exception case, the error reaches the caller.
+     */
+    @Test
+    public void leaseThrowableTest() {
+        isAllowedPreInit(0, 0, true);
+        StepVerifier.create(redisRateLimiter.lease(DEFAULT_TEST_ID, rateLimiterHandle, 100L)).verifyError();
+    }
+
     /**
      * redisRateLimiter.isAllowed test pre init.
      *
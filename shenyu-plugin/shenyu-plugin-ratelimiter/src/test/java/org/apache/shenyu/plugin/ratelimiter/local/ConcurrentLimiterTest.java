@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for ConcurrentLimiter.
+ */
+public final class ConcurrentLimiterTest {
+
+    @Test
+    public void acquireAndReleaseTest() {
+        ConcurrentLimiter limiter = new ConcurrentLimiter(2);
+        assertTrue(limiter.isConcurrent());
+        assertEquals(1L, limiter.tryAcquire(1, 0L));
+        assertEquals(0L, limiter.tryAcquire(1, 0L));
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, 0L));
+        limiter.release();
+        assertEquals(1L, limiter.getInFlight());
+        assertEquals(0L, limiter.tryAcquire(1, 0L));
+    }
+}
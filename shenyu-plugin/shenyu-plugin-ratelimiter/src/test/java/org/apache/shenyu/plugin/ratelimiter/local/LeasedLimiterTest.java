@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Test cases for LeasedLimiter.
+ */
+public final class LeasedLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void leaseTest() {
+        AtomicInteger leases = new AtomicInteger();
+        LeasedLimiter limiter = new LeasedLimiter(new TokenBucketLimiter(1, 1, 0L), 100, SECOND, permits -> {
+            leases.incrementAndGet();
+            return Mono.just(permits);
+        }, 0L);
+        for (int i = 0; i < 1000; i++) {
+            assertNotEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, 0L));
+        }
+        assertEquals(11, leases.get());
+    }
+
+    @Test
+    public void deniedLeaseTest() {
+        AtomicInteger leases = new AtomicInteger();
+        LeasedLimiter limiter = new LeasedLimiter(new TokenBucketLimiter(1, 1, 0L), 10, SECOND, permits -> {
+            leases.incrementAndGet();
+            return Mono.just(leases.get() == 1 ? permits : 0L);
+        }, 0L);
+        for (int i = 0; i < 10; i++) {
+            assertNotEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, 0L));
+        }
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, 0L));
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, 0L));
+        assertEquals(2, leases.get());
+    }
+
+    @Test
+    public void fallbackTest() {
+        AtomicInteger leases = new AtomicInteger();
+        LeasedLimiter limiter = new LeasedLimiter(new TokenBucketLimiter(1, 2, 0L), 10, SECOND, permits -> {
+            leases.incrementAndGet();
+            return Mono.error(new IllegalStateException("redis down"));
+        }, 0L);
+        assertEquals(1L, limiter.tryAcquire(1, 0L));
+        assertEquals(0L, limiter.tryAcquire(1, 0L));
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, 0L));
+        assertEquals(1, leases.get());
+        assertEquals(0L, limiter.getTokens());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.local;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for TokenBucketLimiter.
+ */
+public final class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void burstTest() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 5, 0L);
+        for (int i = 4; i >= 0; i--) {
+            assertEquals(i, limiter.tryAcquire(1, 0L));
+        }
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, 0L));
+    }
+
+    @Test
+    public void replenishTest() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 5, 0L);
+        assertEquals(0L, limiter.tryAcquire(5, 0L));
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(1, SECOND / 20));
+        assertEquals(0L, limiter.tryAcquire(1, SECOND / 10));
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(2, SECOND / 10 * 2));
+        assertEquals(4L, limiter.tryAcquire(1, SECOND * 10));
+    }
+
+    @Test
+    public void requestCountTest() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 10, 0L);
+        assertEquals(LocalLimiter.DENIED, limiter.tryAcquire(11, 0L));
+        assertEquals(4L, limiter.tryAcquire(6, 0L));
+    }
+}
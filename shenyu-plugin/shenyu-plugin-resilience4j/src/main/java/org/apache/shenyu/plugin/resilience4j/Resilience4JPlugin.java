@@ -25,7 +25,6 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
 import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
-import org.apache.shenyu.plugin.resilience4j.build.Resilience4JBuilder;
 import org.apache.shenyu.plugin.resilience4j.cache.Resilience4jRuleHandleCache;
 import org.apache.shenyu.plugin.resilience4j.executor.CombinedExecutor;
 import org.apache.shenyu.plugin.resilience4j.executor.Executor;
@@ -70,12 +69,12 @@ public class Resilience4JPlugin extends AbstractSoulPlugin {
 
     private Mono<Void> rateLimiter(final ServerWebExchange exchange, final SoulPluginChain chain, final RuleData rule) {
         return ratelimiterExecutor.run(
-                chain.execute(exchange), fallback(ratelimiterExecutor, exchange, null), Resilience4JBuilder.build(rule))
+                chain.execute(exchange), fallback(ratelimiterExecutor, exchange, null), Resilience4JHandler.CONF_COMPILER.obtain(rule))
                 .onErrorResume(throwable -> ratelimiterExecutor.withoutFallback(exchange, throwable));
     }
 
     private Mono<Void> combined(final ServerWebExchange exchange, final SoulPluginChain chain, final RuleData rule) {
-        Resilience4JConf conf = Resilience4JBuilder.build(rule);
+        Resilience4JConf conf = Resilience4JHandler.CONF_COMPILER.obtain(rule);
         return combinedExecutor.run(
                 chain.execute(exchange).doOnSuccess(v -> {
                     HttpStatus status = exchange.getResponse().getStatusCode();
@@ -21,7 +21,10 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.convert.Resilience4JHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.cache.HandleCompiler;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.plugin.resilience4j.build.Resilience4JBuilder;
+import org.apache.shenyu.plugin.resilience4j.conf.Resilience4JConf;
 import org.apache.shenyu.plugin.resilience4j.cache.Resilience4jRuleHandleCache;
 import org.apache.shenyu.plugin.resilience4j.factory.Resilience4JRegistryFactory;
 
@@ -34,12 +37,18 @@ import java.util.Optional;
  */
 public class Resilience4JHandler implements PluginDataHandler {
 
+    /**
+     * The resilience4j configs built from the handle of a rule.
+     */
+    public static final HandleCompiler<RuleData, Resilience4JConf> CONF_COMPILER = HandleCompiler.rule(Resilience4JBuilder::build);
+
     @Override
     public void handlerRule(final RuleData ruleData) {
         Resilience4JRegistryFactory.remove(getResourceName(ruleData));
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             final Resilience4JHandle resilience4JHandle = GsonUtils.getInstance().fromJson(s, Resilience4JHandle.class);
             Resilience4jRuleHandleCache.getInstance().cachedHandle(getResourceName(ruleData), resilience4JHandle);
+            CONF_COMPILER.obtain(ruleData);
         });
     }
 
@@ -26,6 +26,7 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.convert.SentinelHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.cache.HandleCompiler;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 
 import java.util.List;
@@ -38,10 +39,14 @@ import java.util.stream.Collectors;
  */
 public class SentinelRuleHandle implements PluginDataHandler {
 
+    /**
+     * The checked sentinel handle of a rule.
+     */
+    public static final HandleCompiler<RuleData, SentinelHandle> HANDLE_COMPILER = HandleCompiler.rule(SentinelRuleHandle::compile);
+
     @Override
     public void handlerRule(final RuleData ruleData) {
-        SentinelHandle sentinelHandle = GsonUtils.getInstance().fromJson(ruleData.getHandle(), SentinelHandle.class);
-        sentinelHandle.checkData(sentinelHandle);
+        SentinelHandle sentinelHandle = HANDLE_COMPILER.obtain(ruleData);
         List<FlowRule> flowRules = FlowRuleManager.getRules()
                 .stream()
                 .filter(r -> !r.getResource().equals(getResourceName(ruleData)))
@@ -96,4 +101,10 @@ public class SentinelRuleHandle implements PluginDataHandler {
         return ruleData.getSelectorId() + "_" + ruleData.getName();
     }
 
+    private static SentinelHandle compile(final RuleData ruleData) {
+        SentinelHandle sentinelHandle = GsonUtils.getInstance().fromJson(ruleData.getHandle(), SentinelHandle.class);
+        sentinelHandle.checkData(sentinelHandle);
+        return sentinelHandle;
+    }
+
 }
@@ -28,6 +28,7 @@ import org.apache.shenyu.plugin.api.context.SoulContext;
 import org.apache.shenyu.plugin.api.result.DefaultSoulResult;
 import org.apache.shenyu.plugin.api.result.SoulResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.cache.HandleCompiler;
 import org.apache.shenyu.plugin.sentinel.fallback.SentinelFallbackHandler;
 import org.apache.shenyu.plugin.sentinel.handler.SentinelRuleHandle;
 import org.junit.Before;
@@ -208,6 +209,35 @@ public final class SentinelPluginTest {
         sentinelRuleHandle.removeRule(data);
     }
 
+    /**
+     * Test the handle is compiled when the rule is synced, not per request.
+     */
+    @Test
+    public void testHandleNotParsedPerRequest() {
+        RuleData data = new RuleData();
+        data.setSelectorId("sentinel");
+        data.setName("testHandleNotParsedPerRequest");
+        SentinelHandle sentinelHandle = new SentinelHandle();
+        sentinelHandle.setFlowRuleEnable(1);
+        sentinelHandle.setFlowRuleCount(100);
+        sentinelHandle.setFlowRuleGrade(1);
+        sentinelHandle.setDegradeRuleEnable(0);
+        sentinelHandle.setDegradeRuleCount(1);
+        sentinelHandle.setDegradeRuleTimeWindow(10);
+        data.setHandle(GsonUtils.getGson().toJson(sentinelHandle));
+        sentinelRuleHandle.handlerRule(data);
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        final long compiles = HandleCompiler.getCompiles();
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(sentinelPlugin.doExecute(exchange, chain, selectorData, data))
+                    .expectSubscription().verifyComplete();
+        }
+        assertEquals(compiles, HandleCompiler.getCompiles());
+
+        // remove rule
+        sentinelRuleHandle.removeRule(data);
+    }
+
     @Test
     public void testNamed() {
         final String result = sentinelPlugin.named();
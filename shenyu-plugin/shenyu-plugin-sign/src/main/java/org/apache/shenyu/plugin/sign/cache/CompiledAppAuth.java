@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.cache;
+
+import com.google.common.base.Splitter;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.AuthParamData;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The auth data of an app compiled for the sign verification, built once when the app is synced.
+ *
+ * <p>The comma separated paths of the enabled {@link AuthPathData} are split once: paths without any wildcard
+ * are looked up in a set, the ant patterns are matched in order.
+ */
+public final class CompiledAppAuth {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private static final Splitter COMMA_SPLITTER = Splitter.on(",").omitEmptyStrings().trimResults();
+
+    private final AppAuthData appAuthData;
+
+    private final boolean pathConfigured;
+
+    private final Set<String> exactPaths = new HashSet<>();
+
+    private final List<String> patterns = new ArrayList<>();
+
+    /**
+     * contextPath -> appParam.
+     */
+    private final Map<String, String> appParams = new HashMap<>();
+
+    /**
+     * Compile the auth data of an app.
+     *
+     * @param appAuthData the app auth data
+     */
+    public CompiledAppAuth(final AppAuthData appAuthData) {
+        this.appAuthData = appAuthData;
+        this.pathConfigured = CollectionUtils.isNotEmpty(appAuthData.getPathDataList());
+        if (pathConfigured) {
+            for (AuthPathData pathData : appAuthData.getPathDataList()) {
+                if (Boolean.TRUE.equals(pathData.getEnabled()) && Objects.nonNull(pathData.getPath())) {
+                    COMMA_SPLITTER.split(pathData.getPath()).forEach(this::addPath);
+                }
+            }
+        }
+        List<AuthParamData> paramDataList = Objects.isNull(appAuthData.getParamDataList()) ? Collections.emptyList() : appAuthData.getParamDataList();
+        paramDataList.stream().filter(paramData -> StringUtils.isNoneBlank(paramData.getAppParam()))
+                .forEach(paramData -> appParams.putIfAbsent("/" + paramData.getAppName(), paramData.getAppParam()));
+    }
+
+    /**
+     * Gets the app auth data.
+     *
+     * @return the app auth data
+     */
+    public AppAuthData getAppAuthData() {
+        return appAuthData;
+    }
+
+    /**
+     * Whether any sign path is configured, enabled or not.
+     *
+     * @return true if configured
+     */
+    public boolean isPathConfigured() {
+        return pathConfigured;
+    }
+
+    /**
+     * Whether an enabled sign path of the app matches the path, as {@link AntPathMatcher} does.
+     *
+     * @param path the request path
+     * @return true if matched
+     */
+    public boolean matchPath(final String path) {
+        if (exactPaths.contains(path)) {
+            return true;
+        }
+        for (String pattern : patterns) {
+            if (MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        // the ant matching ignores empty segments, "/a//b" matches "/a/b"
+        return path.contains("//") && exactPaths.stream().anyMatch(exact -> MATCHER.match(exact, path));
+    }
+
+    /**
+     * Obtain the app param of a context path.
+     *
+     * @param contextPath the context path
+     * @return the app param, or null
+     */
+    public String obtainAppParam(final String contextPath) {
+        return appParams.get(contextPath);
+    }
+
+    private void addPath(final String path) {
+        if (MATCHER.isPattern(path)) {
+            patterns.add(path);
+        } else {
+            exactPaths.add(path);
+        }
+    }
+}
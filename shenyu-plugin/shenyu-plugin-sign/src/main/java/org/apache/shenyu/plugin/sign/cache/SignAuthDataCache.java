@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.sign.cache;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.AppAuthData;
 
+import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -32,9 +33,9 @@ public final class SignAuthDataCache {
     private static final SignAuthDataCache INSTANCE = new SignAuthDataCache();
     
     /**
-     * appKey -> AppAuthData.
+     * appKey -> compiled AppAuthData.
      */
-    private static final ConcurrentMap<String, AppAuthData> AUTH_MAP = Maps.newConcurrentMap();
+    private static final ConcurrentMap<String, CompiledAppAuth> AUTH_MAP = Maps.newConcurrentMap();
     
     private SignAuthDataCache() {
     }
@@ -54,7 +55,7 @@ public final class SignAuthDataCache {
      * @param data the data
      */
     public void cacheAuthData(final AppAuthData data) {
-        AUTH_MAP.put(data.getAppKey(), data);
+        AUTH_MAP.put(data.getAppKey(), new CompiledAppAuth(data));
     }
     
     /**
@@ -73,6 +74,17 @@ public final class SignAuthDataCache {
      * @return the app auth data
      */
     public AppAuthData obtainAuthData(final String appKey) {
+        CompiledAppAuth compiled = AUTH_MAP.get(appKey);
+        return Objects.isNull(compiled) ? null : compiled.getAppAuthData();
+    }
+    
+    /**
+     * Obtain the compiled auth data of an app.
+     *
+     * @param appKey the app key
+     * @return the compiled app auth data
+     */
+    public CompiledAppAuth obtainCompiledAuthData(final String appKey) {
         return AUTH_MAP.get(appKey);
     }
 }
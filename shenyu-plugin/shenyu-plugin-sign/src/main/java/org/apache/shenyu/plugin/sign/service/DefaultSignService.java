@@ -17,28 +17,27 @@
 
 package org.apache.shenyu.plugin.sign.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
-import java.time.LocalDateTime;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.AppAuthData;
-import org.apache.shenyu.common.dto.AuthParamData;
-import org.apache.shenyu.common.dto.AuthPathData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginEnum;
-import org.apache.shenyu.common.utils.DateUtils;
-import org.apache.shenyu.common.utils.PathMatchUtils;
 import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.api.SignService;
 import org.apache.shenyu.plugin.api.context.SoulContext;
 import org.apache.shenyu.plugin.api.result.SoulResultEnum;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.sign.cache.CompiledAppAuth;
 import org.apache.shenyu.plugin.sign.cache.SignAuthDataCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.server.ServerWebExchange;
@@ -46,6 +45,10 @@ import org.springframework.web.server.ServerWebExchange;
 /**
  * The type Default sign service.
  *
+ * <p>The sign is md5 by default, or hmac-sha256 with {@code soul.sign.algorithm}, and is compared in constant time.
+ * With {@code soul.sign.replay-protect} a verified sign is accepted once: (appKey, sign, timestamp) are kept in a
+ * bounded cache as long as the timestamp is valid, and timestamps too far in the future are rejected as well.
+ *
  * @author xiaoyu
  */
 @Slf4j
@@ -54,6 +57,20 @@ public class DefaultSignService implements SignService {
     @Value("${soul.sign.delay:5}")
     private int delay;
 
+    @Value("${soul.sign.algorithm:MD5}")
+    private String algorithm = SignUtils.MD5;
+
+    @Value("${soul.sign.replay-protect:false}")
+    private boolean replayProtect;
+
+    @Value("${soul.sign.replay-cache-size:100000}")
+    private long replayCacheSize = 100_000L;
+
+    /**
+     * appKey:sign:timestamp of the verified signs, built on first use.
+     */
+    private volatile Cache<String, Boolean> replayCache;
+
     @Override
     public Pair<Boolean, String> signVerify(final ServerWebExchange exchange) {
         PluginData signData = BaseDataCache.getInstance().obtainPluginData(PluginEnum.SIGN.getName());
@@ -72,10 +89,8 @@ public class DefaultSignService implements SignService {
             log.error("sign parameters are incomplete,{}", soulContext);
             return Pair.of(Boolean.FALSE, Constants.SIGN_PARAMS_ERROR);
         }
-        final LocalDateTime start = DateUtils.formatLocalDateTimeFromTimestampBySystemTimezone(Long.parseLong(soulContext.getTimestamp()));
-        final LocalDateTime now = LocalDateTime.now();
-        final long between = DateUtils.acquireMinutesBetween(start, now);
-        if (between > delay) {
+        final long between = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - Long.parseLong(soulContext.getTimestamp()));
+        if (between > delay || (replayProtect && between < -delay)) {
             return Pair.of(Boolean.FALSE, String.format(SoulResultEnum.SING_TIME_IS_TIMEOUT.getMsg(), delay));
         }
         return sign(soulContext, exchange);
@@ -88,45 +103,62 @@ public class DefaultSignService implements SignService {
      * @return result : True is pass, False is not pass.
      */
     private Pair<Boolean, String> sign(final SoulContext soulContext, final ServerWebExchange exchange) {
-        final AppAuthData appAuthData = SignAuthDataCache.getInstance().obtainAuthData(soulContext.getAppKey());
+        final CompiledAppAuth compiledAppAuth = SignAuthDataCache.getInstance().obtainCompiledAuthData(soulContext.getAppKey());
+        final AppAuthData appAuthData = Objects.isNull(compiledAppAuth) ? null : compiledAppAuth.getAppAuthData();
         if (Objects.isNull(appAuthData) || !appAuthData.getEnabled()) {
             log.error("sign APP_kEY does not exist or has been disabled,{}", soulContext.getAppKey());
             return Pair.of(Boolean.FALSE, Constants.SIGN_APP_KEY_IS_NOT_EXIST);
         }
         if (appAuthData.getOpen()) {
-            List<AuthPathData> pathDataList = appAuthData.getPathDataList();
-            if (CollectionUtils.isEmpty(pathDataList)) {
+            if (!compiledAppAuth.isPathConfigured()) {
                 log.error("You have not configured the sign path:{}", soulContext.getAppKey());
                 return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
             }
-
-            boolean match = pathDataList.stream().filter(AuthPathData::getEnabled)
-                    .anyMatch(e -> PathMatchUtils.match(e.getPath(), soulContext.getPath()));
-            if (!match) {
+            if (!compiledAppAuth.matchPath(soulContext.getPath())) {
                 log.error("You have not configured the sign path:{},{}", soulContext.getAppKey(), soulContext.getRealUrl());
                 return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
             }
         }
-        String sigKey = SignUtils.generateSign(appAuthData.getAppSecret(), buildParamsMap(soulContext));
-        boolean result = Objects.equals(sigKey, soulContext.getSign());
+        String sigKey = SignUtils.generateSign(appAuthData.getAppSecret(), buildParamsMap(soulContext), algorithm);
+        boolean result = MessageDigest.isEqual(sigKey.getBytes(StandardCharsets.UTF_8), soulContext.getSign().getBytes(StandardCharsets.UTF_8));
         if (!result) {
             log.error("the SignUtils generated signature value is:{},the accepted value is:{}", sigKey, soulContext.getSign());
             return Pair.of(Boolean.FALSE, Constants.SIGN_VALUE_IS_ERROR);
-        } else {
-            List<AuthParamData> paramDataList = appAuthData.getParamDataList();
-            if (CollectionUtils.isEmpty(paramDataList)) {
-                return Pair.of(Boolean.TRUE, "");
-            }
-            paramDataList.stream().filter(p ->
-                    ("/" + p.getAppName()).equals(soulContext.getContextPath()))
-                    .map(AuthParamData::getAppParam)
-                    .filter(StringUtils::isNoneBlank).findFirst()
-                    .ifPresent(param -> exchange.getRequest().mutate().headers(httpHeaders -> httpHeaders.set(Constants.APP_PARAM, param)).build()
-            );
+        }
+        if (replayed(soulContext)) {
+            log.error("the signature value has been used:{},{}", soulContext.getAppKey(), soulContext.getSign());
+            return Pair.of(Boolean.FALSE, Constants.SIGN_VALUE_IS_REPLAYED);
+        }
+        String param = compiledAppAuth.obtainAppParam(soulContext.getContextPath());
+        if (Objects.nonNull(param)) {
+            exchange.getRequest().mutate().headers(httpHeaders -> httpHeaders.set(Constants.APP_PARAM, param)).build();
         }
         return Pair.of(Boolean.TRUE, "");
     }
 
+    private boolean replayed(final SoulContext soulContext) {
+        if (!replayProtect) {
+            return false;
+        }
+        String key = String.join(":", soulContext.getAppKey(), soulContext.getSign(), soulContext.getTimestamp());
+        return Objects.nonNull(obtainReplayCache().asMap().putIfAbsent(key, Boolean.TRUE));
+    }
+
+    private Cache<String, Boolean> obtainReplayCache() {
+        Cache<String, Boolean> cache = replayCache;
+        if (Objects.isNull(cache)) {
+            synchronized (this) {
+                cache = replayCache;
+                if (Objects.isNull(cache)) {
+                    // a timestamp is valid from delay minutes before now to delay minutes after
+                    cache = CacheBuilder.newBuilder().maximumSize(replayCacheSize).expireAfterWrite(2L * (delay + 1), TimeUnit.MINUTES).build();
+                    replayCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     private Map<String, String> buildParamsMap(final SoulContext dto) {
         Map<String, String> map = Maps.newHashMapWithExpectedSize(3);
         map.put(Constants.TIMESTAMP, dto.getTimestamp());
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.benchmark;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.apache.shenyu.common.utils.SignUtils;
+import org.apache.shenyu.plugin.sign.cache.CompiledAppAuth;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The path match and sign check of one request against an app of 20 sign paths, 4 of them patterns,
+ * the former per-request splitting and streams against {@link CompiledAppAuth} and the current {@link SignUtils}.
+ *
+ * <p>Run the {@code main} method on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignVerifyBenchmark {
+
+    private static final String SECRET = "692C479F98C841FCBEB444B7CA775F63";
+
+    private static final String PATH = "/app-19/demo/test";
+
+    private AppAuthData appAuthData;
+
+    private CompiledAppAuth compiledAppAuth;
+
+    private Map<String, String> params;
+
+    private String sign;
+
+    /**
+     * Build the app and the request.
+     */
+    @Setup
+    public void setUp() {
+        final List<AuthPathData> pathDataList = IntStream.range(0, 20)
+                .mapToObj(i -> new AuthPathData("app-" + i, i % 5 == 0 ? "/app-" + i + "/**" : "/app-" + i + "/demo/test", true))
+                .collect(Collectors.toList());
+        appAuthData = new AppAuthData();
+        appAuthData.setAppKey("D1DFC83F3BC64FABB89DFBD54E5A28C8");
+        appAuthData.setAppSecret(SECRET);
+        appAuthData.setEnabled(true);
+        appAuthData.setOpen(true);
+        appAuthData.setPathDataList(pathDataList);
+        compiledAppAuth = new CompiledAppAuth(appAuthData);
+        params = new HashMap<>(4);
+        params.put(Constants.TIMESTAMP, String.valueOf(System.currentTimeMillis()));
+        params.put(Constants.PATH, PATH);
+        params.put(Constants.VERSION, "1.0.0");
+        sign = SignUtils.generateSign(SECRET, params);
+    }
+
+    /**
+     * The verification as it was.
+     *
+     * @return whether the request is verified
+     */
+    @Benchmark
+    public boolean formerVerify() {
+        boolean match = appAuthData.getPathDataList().stream().filter(AuthPathData::getEnabled)
+                .anyMatch(e -> PathMatchUtils.match(e.getPath(), PATH));
+        return match && Objects.equals(formerGenerateSign(SECRET, params), sign);
+    }
+
+    /**
+     * The current verification.
+     *
+     * @return whether the request is verified
+     */
+    @Benchmark
+    public boolean compiledVerify() {
+        return compiledAppAuth.matchPath(PATH)
+                && MessageDigest.isEqual(SignUtils.generateSign(SECRET, params).getBytes(StandardCharsets.UTF_8), sign.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SignVerifyBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static String formerGenerateSign(final String signKey, final Map<String, String> params) {
+        List<String> storedKeys = Arrays.stream(params.keySet()
+                .toArray(new String[]{}))
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+        final String sign = storedKeys.stream()
+                .filter(key -> !Objects.equals(key, Constants.SIGN))
+                .map(key -> String.join("", key, params.get(key)))
+                .collect(Collectors.joining()).trim()
+                .concat(signKey);
+        return DigestUtils.md5DigestAsHex(sign.getBytes()).toUpperCase();
+    }
+}
@@ -41,6 +41,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.util.Collections;
@@ -192,11 +193,61 @@ public final class DefaultSignServiceTest {
         Assert.assertEquals(ret, Pair.of(false, Constants.SIGN_VALUE_IS_ERROR));
     }
 
+    @Test
+    public void hmacSignTest() {
+        ReflectionTestUtils.setField(this.signService, "algorithm", SignUtils.HMAC_SHA256);
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(false, Constants.SIGN_VALUE_IS_ERROR));
+
+        this.passed.setSign(SignUtils.generateSign(secretKey, buildParams(this.passed.getTimestamp(), this.passed.getPath()), SignUtils.HMAC_SHA256));
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(true, ""));
+    }
+
+    @Test
+    public void replayedSignTest() {
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(true, ""));
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(true, ""));
+
+        ReflectionTestUtils.setField(this.signService, "replayProtect", true);
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(true, ""));
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(false, Constants.SIGN_VALUE_IS_REPLAYED));
+    }
+
+    @Test
+    public void futureTimestampTest() {
+        Long futureTimestamp = Long.parseLong(this.passed.getTimestamp()) + (long) ((delay + 2) * 1000 * 60);
+        this.passed.setTimestamp(futureTimestamp.toString());
+        this.passed.setSign(buildSign(secretKey, this.passed.getTimestamp(), this.passed.getPath()));
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(true, ""));
+
+        ReflectionTestUtils.setField(this.signService, "replayProtect", true);
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(false, String.format(SoulResultEnum.SING_TIME_IS_TIMEOUT.getMsg(), delay)));
+    }
+
+    @Test
+    public void patternAuthPath() {
+        AppAuthData authData = SignAuthDataCache.getInstance().obtainAuthData(appKey);
+        authData.getPathDataList().get(0).setPath("/test-api/**");
+        SignAuthDataCache.getInstance().cacheAuthData(authData);
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(true, ""));
+
+        this.passed.setPath("/other-api/demo/test");
+        this.passed.setSign(buildSign(secretKey, this.passed.getTimestamp(), this.passed.getPath()));
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(false, Constants.SIGN_PATH_NOT_EXIST));
+    }
+
     private String buildSign(final String signKey, final String timeStamp, final String path) {
+        return SignUtils.generateSign(signKey, buildParams(timeStamp, path));
+    }
+
+    private Map<String, String> buildParams(final String timeStamp, final String path) {
         Map<String, String> map = Maps.newHashMapWithExpectedSize(3);
         map.put(Constants.TIMESTAMP, timeStamp);
         map.put(Constants.PATH, path);
         map.put(Constants.VERSION, "1.0.0");
-        return SignUtils.generateSign(signKey, map);
+        return map;
     }
 }
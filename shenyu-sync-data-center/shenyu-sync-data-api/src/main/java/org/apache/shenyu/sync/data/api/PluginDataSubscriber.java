@@ -116,4 +116,13 @@ public interface PluginDataSubscriber {
      */
     default void refreshRuleDataSelf(List<RuleData> ruleDataList) {
     }
+    
+    /**
+     * Apply a group of changes as one batch, the subscriber may publish them all at once when the batch is done.
+     *
+     * @param changes the changes, made through the other methods of this subscriber
+     */
+    default void batch(Runnable changes) {
+        changes.run();
+    }
 }
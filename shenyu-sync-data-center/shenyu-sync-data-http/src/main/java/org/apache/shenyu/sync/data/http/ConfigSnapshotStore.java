@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.concurrent.SoulThreadFactory;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.exception.SoulException;
+import org.apache.shenyu.common.utils.ConfigSnapshotCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The local file of the last synced configs in the binary snapshot format of {@link ConfigSnapshotCodec}.
+ * It is mapped to be loaded on start, and rewritten in the background after the configs change,
+ * the changes within the save delay being written at once.
+ */
+@Slf4j
+public final class ConfigSnapshotStore implements AutoCloseable {
+
+    private static final long SAVE_DELAY_MILLIS = 1000L;
+
+    private final Path path;
+
+    private final ScheduledExecutorService executor;
+
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    private final Map<ConfigGroupEnum, String> savedMd5 = new EnumMap<>(ConfigGroupEnum.class);
+
+    private final Map<ConfigGroupEnum, byte[]> savedBlocks = new EnumMap<>(ConfigGroupEnum.class);
+
+    /**
+     * Instantiates a new config snapshot store.
+     *
+     * @param path the snapshot file
+     */
+    public ConfigSnapshotStore(final String path) {
+        this.path = Paths.get(path).toAbsolutePath();
+        this.executor = new ScheduledThreadPoolExecutor(1, SoulThreadFactory.create("http-sync-snapshot", true));
+    }
+
+    /**
+     * Load the snapshot.
+     *
+     * @return the configs by group name, null if there is no readable snapshot
+     */
+    public Map<String, ConfigData<?>> load() {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return ConfigSnapshotCodec.decode(buffer);
+        } catch (IOException | SoulException e) {
+            log.warn("load config snapshot fail from [{}], {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Save the configs after the save delay.
+     *
+     * @param configs the configs to save, taken when written
+     */
+    public void save(final Supplier<Map<ConfigGroupEnum, ConfigData<?>>> configs) {
+        if (pending.compareAndSet(false, true)) {
+            executor.schedule(() -> {
+                pending.set(false);
+                write(configs.get());
+            }, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Write the configs, the blocks of the groups whose md5 did not change are written again as they were.
+     *
+     * @param configs the configs
+     */
+    void write(final Map<ConfigGroupEnum, ConfigData<?>> configs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConfigSnapshotCodec.writeHead(out, configs.size());
+        configs.forEach((group, config) -> {
+            byte[] block = savedBlocks.get(group);
+            if (null == block || !Objects.equals(savedMd5.get(group), config.getMd5())) {
+                block = ConfigSnapshotCodec.encodeData(group, config.getData());
+                savedBlocks.put(group, block);
+                savedMd5.put(group, config.getMd5());
+            }
+            ConfigSnapshotCodec.writeGroup(out, group, config.getMd5(), config.getLastModifyTime(), block);
+        });
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(temp, out.toByteArray());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("saved config snapshot of {} bytes to [{}]", out.size(), path);
+        } catch (IOException e) {
+            log.warn("save config snapshot fail to [{}], {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
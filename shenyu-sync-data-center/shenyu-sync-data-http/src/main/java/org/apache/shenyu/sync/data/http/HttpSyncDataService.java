@@ -22,9 +22,16 @@ import com.google.common.collect.Lists;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -38,6 +45,7 @@ import org.apache.shenyu.common.constant.HttpConstants;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 import org.apache.shenyu.common.exception.SoulException;
+import org.apache.shenyu.common.utils.ConfigSnapshotCodec;
 import org.apache.shenyu.common.utils.ThreadUtils;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
@@ -47,7 +55,9 @@ import org.apache.shenyu.sync.data.http.config.HttpConfig;
 import org.apache.shenyu.sync.data.http.refresh.DataRefreshFactory;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -68,6 +78,8 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
 
     private static final Gson GSON = new Gson();
 
+    private static final MediaType SNAPSHOT_MEDIA_TYPE = MediaType.valueOf(ConfigSnapshotCodec.MEDIA_TYPE);
+
     /**
      * default: 10s.
      */
@@ -86,12 +98,22 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
 
     private DataRefreshFactory factory;
 
+    private ConfigSnapshotStore snapshotStore;
+
+    /**
+     * the change log version of each server the configs are in sync with, absent if unknown.
+     */
+    private final ConcurrentMap<String, DeltaVersion> deltaVersions = new ConcurrentHashMap<>();
+
     public HttpSyncDataService(final HttpConfig httpConfig, final PluginDataSubscriber pluginDataSubscriber,
                                final List<MetaDataSubscriber> metaDataSubscribers, final List<AuthDataSubscriber> authDataSubscribers) {
         this.factory = new DataRefreshFactory(pluginDataSubscriber, metaDataSubscribers, authDataSubscribers);
         this.httpConfig = httpConfig;
         this.serverList = Lists.newArrayList(Splitter.on(",").split(httpConfig.getUrl()));
         this.httpClient = createRestTemplate();
+        if (StringUtils.isNotBlank(httpConfig.getSnapshotPath())) {
+            this.snapshotStore = new ConfigSnapshotStore(httpConfig.getSnapshotPath());
+        }
         this.start();
     }
     
@@ -105,8 +127,11 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
     private void start() {
         // It could be initialized multiple times, so you need to control that.
         if (RUNNING.compareAndSet(false, true)) {
-            // fetch all group configs.
-            this.fetchGroupConfig(ConfigGroupEnum.values());
+            // start with the local snapshot if any, the long polling syncs the changes in the background.
+            if (!this.loadSnapshot()) {
+                // fetch all group configs.
+                this.fetchGroupConfig(ConfigGroupEnum.values());
+            }
             int threadSize = serverList.size();
             this.executor = new ThreadPoolExecutor(threadSize, threadSize, 60L, TimeUnit.SECONDS,
                     new LinkedBlockingQueue<>(),
@@ -118,10 +143,42 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
         }
     }
 
+    private boolean loadSnapshot() {
+        if (null == snapshotStore) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        Map<String, ConfigData<?>> snapshot = snapshotStore.load();
+        if (null == snapshot || snapshot.size() != ConfigGroupEnum.values().length) {
+            return false;
+        }
+        factory.executor(snapshot);
+        log.info("load the local config snapshot in {}ms, sync with the server in the background.", System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private void saveSnapshot() {
+        if (null != snapshotStore) {
+            snapshotStore.save(this::cachedConfigs);
+        }
+    }
+
+    private Map<ConfigGroupEnum, ConfigData<?>> cachedConfigs() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            ConfigData<?> config = factory.cacheConfigData(group);
+            if (null != config) {
+                configs.put(group, config);
+            }
+        }
+        return configs;
+    }
+
     private void fetchGroupConfig(final ConfigGroupEnum... groups) throws SoulException {
         for (int index = 0; index < this.serverList.size(); index++) {
             String server = serverList.get(index);
             try {
+                this.fetchDeltaVersion(server);
                 this.doFetchGroupConfig(server, groups);
                 break;
             } catch (SoulException e) {
@@ -135,29 +192,111 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
     }
 
     private void doFetchGroupConfig(final String server, final ConfigGroupEnum... groups) {
+        // update local cache
+        boolean updated = this.fetchAndUpdateCache(server, groups);
+        if (updated) {
+            return;
+        }
+        // not updated. it is likely that the current config server has not been updated yet. wait a moment.
+        log.info("The config of the server[{}] has not been updated or is out of date. Wait for 30s to listen for changes again.", server);
+        ThreadUtils.sleep(TimeUnit.SECONDS, 30);
+    }
+
+    private boolean fetchAndUpdateCache(final String server, final ConfigGroupEnum... groups) {
         StringBuilder params = new StringBuilder();
         for (ConfigGroupEnum groupKey : groups) {
             params.append("groupKeys").append("=").append(groupKey.name()).append("&");
         }
         String url = server + "/configs/fetch?" + StringUtils.removeEnd(params.toString(), "&");
         log.info("request configs: [{}]", url);
-        String json = null;
+        // the binary snapshot is preferred, a server without it answers json.
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Arrays.asList(SNAPSHOT_MEDIA_TYPE, MediaType.APPLICATION_JSON));
+        ResponseEntity<byte[]> response;
         try {
-            json = this.httpClient.getForObject(url, String.class);
+            response = this.httpClient.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
         } catch (RestClientException e) {
             String message = String.format("fetch config fail from server[%s], %s", url, e.getMessage());
             log.warn(message);
             throw new SoulException(message, e);
         }
-        // update local cache
+        byte[] body = Optional.ofNullable(response.getBody()).orElse(new byte[0]);
+        MediaType contentType = response.getHeaders().getContentType();
+        if (null != contentType && SNAPSHOT_MEDIA_TYPE.includes(contentType)) {
+            boolean updated = factory.executor(ConfigSnapshotCodec.decode(body));
+            if (updated) {
+                log.info("get latest configs snapshot of {} bytes", body.length);
+                this.saveSnapshot();
+            }
+            return updated;
+        }
+        String json = new String(body, StandardCharsets.UTF_8);
         boolean updated = this.updateCacheWithJson(json);
         if (updated) {
             log.info("get latest configs: [{}]", json);
+            this.saveSnapshot();
+        }
+        return updated;
+    }
+
+    /**
+     * Take the current change log version of the server, before fetching the configs it is the version of.
+     *
+     * @param server the server
+     */
+    private void fetchDeltaVersion(final String server) {
+        String json;
+        try {
+            json = this.httpClient.getForObject(server + "/configs/delta", String.class);
+        } catch (RestClientException e) {
+            deltaVersions.remove(server);
+            log.info("delta sync is not available on server[{}], fetch the changed groups instead. {}", server, e.getMessage());
             return;
         }
-        // not updated. it is likely that the current config server has not been updated yet. wait a moment.
-        log.info("The config of the server[{}] has not been updated or is out of date. Wait for 30s to listen for changes again.", server);
-        ThreadUtils.sleep(TimeUnit.SECONDS, 30);
+        JsonObject delta = GSON.fromJson(json, JsonObject.class).getAsJsonObject("data");
+        if (null == delta) {
+            deltaVersions.remove(server);
+            return;
+        }
+        deltaVersions.put(server, new DeltaVersion(delta.get("epoch").getAsLong(), delta.get("version").getAsLong()));
+    }
+
+    /**
+     * Apply the config changes of the server since the version in sync with.
+     * Fetch all the configs instead when the server no longer keeps the changes,
+     * and the groups the server could not tell the changes of.
+     *
+     * @param server       the server
+     * @param deltaVersion the version in sync with
+     */
+    private void doFetchDelta(final String server, final DeltaVersion deltaVersion) {
+        String url = server + "/configs/delta?epoch=" + deltaVersion.epoch + "&version=" + deltaVersion.version;
+        String json;
+        try {
+            json = this.httpClient.getForObject(url, String.class);
+        } catch (RestClientException e) {
+            String message = String.format("fetch config delta fail from server[%s], %s", url, e.getMessage());
+            log.warn(message);
+            throw new SoulException(message, e);
+        }
+        JsonObject delta = GSON.fromJson(json, JsonObject.class).getAsJsonObject("data");
+        if (null == delta) {
+            throw new SoulException(String.format("fetch config delta fail from server[%s], %s", url, json));
+        }
+        DeltaVersion latest = new DeltaVersion(delta.get("epoch").getAsLong(), delta.get("version").getAsLong());
+        if (delta.get("full").getAsBoolean()) {
+            log.info("The changes since version {} are not kept by the server[{}], fetch all the configs.", deltaVersion.version, server);
+            deltaVersions.put(server, latest);
+            this.fetchAndUpdateCache(server, ConfigGroupEnum.values());
+            return;
+        }
+        final Set<ConfigGroupEnum> refreshGroups = factory.apply(delta);
+        deltaVersions.put(server, latest);
+        this.saveSnapshot();
+        log.info("Applied {} config changes of the server[{}], version: {}", delta.getAsJsonArray("changes").size(), server, latest.version);
+        if (!refreshGroups.isEmpty()) {
+            this.fetchAndUpdateCache(server, refreshGroups.toArray(new ConfigGroupEnum[0]));
+        }
     }
 
     /**
@@ -180,6 +319,10 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
             String value = String.join(",", cacheConfig.getMd5(), String.valueOf(cacheConfig.getLastModifyTime()));
             params.put(group.name(), Lists.newArrayList(value));
         }
+        DeltaVersion deltaVersion = deltaVersions.get(server);
+        if (null != deltaVersion) {
+            params.put("version", Lists.newArrayList(deltaVersion.epoch + "," + deltaVersion.version));
+        }
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
         HttpEntity httpEntity = new HttpEntity(params, headers);
@@ -199,7 +342,12 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
             ConfigGroupEnum[] changedGroups = GSON.fromJson(groupJson, ConfigGroupEnum[].class);
             if (ArrayUtils.isNotEmpty(changedGroups)) {
                 log.info("Group config changed: {}", Arrays.toString(changedGroups));
-                this.doFetchGroupConfig(server, changedGroups);
+                if (null != deltaVersion) {
+                    this.doFetchDelta(server, deltaVersion);
+                } else {
+                    this.fetchDeltaVersion(server);
+                    this.doFetchGroupConfig(server, changedGroups);
+                }
             }
         }
     }
@@ -212,6 +360,9 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
             // help gc
             executor = null;
         }
+        if (snapshotStore != null) {
+            snapshotStore.close();
+        }
     }
 
     class HttpLongPollingTask implements Runnable {
@@ -247,4 +398,16 @@ public class HttpSyncDataService implements SyncDataService, AutoCloseable {
             log.warn("Stop http long polling.");
         }
     }
+
+    private static final class DeltaVersion {
+
+        private final long epoch;
+
+        private final long version;
+
+        DeltaVersion(final long epoch, final long version) {
+            this.epoch = epoch;
+            this.version = version;
+        }
+    }
 }
@@ -30,4 +30,9 @@ public class HttpConfig {
     private Integer delayTime;
     
     private Integer connectionTimeout;
+
+    /**
+     * the local file the last synced configs are kept in, to start with them before the admin answers, blank to disable.
+     */
+    private String snapshotPath;
 }
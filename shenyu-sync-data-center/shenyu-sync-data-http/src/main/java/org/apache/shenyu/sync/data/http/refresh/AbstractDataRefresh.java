@@ -18,13 +18,18 @@
 package org.apache.shenyu.sync.data.http.refresh;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -83,6 +88,79 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
         return updated;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Boolean refresh(final Map<String, ConfigData<?>> snapshot) {
+        ConfigData<T> result = (ConfigData<T>) snapshot.get(group().name());
+        if (null != result && this.updateCacheIfNeed(result)) {
+            refresh(result.getData());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Apply a changed entity.
+     *
+     * @param data    the data
+     * @param deleted true if the data is deleted
+     */
+    protected abstract void applyChange(T data, boolean deleted);
+
+    /**
+     * Gets the id of an entity.
+     *
+     * @param data the data
+     * @return the id
+     */
+    protected abstract String id(T data);
+
+    /**
+     * Gets the group.
+     *
+     * @return the group
+     */
+    protected abstract ConfigGroupEnum group();
+
+    /**
+     * Apply the changes of the group as one batch.
+     *
+     * @param changes the changes
+     */
+    protected void batch(final Runnable changes) {
+        changes.run();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void apply(final List<JsonObject> changes, final ConfigData<?> stamp) {
+        ConfigData<T> cached = (ConfigData<T>) GROUP_CACHE.get(group());
+        Map<String, T> merged = new LinkedHashMap<>();
+        if (null != cached && null != cached.getData()) {
+            cached.getData().forEach(data -> merged.put(id(data), data));
+        }
+        if (!changes.isEmpty()) {
+            JsonArray array = new JsonArray();
+            changes.forEach(change -> array.add(change.get("data")));
+            JsonObject jsonObject = new JsonObject();
+            jsonObject.add("data", array);
+            List<T> data = fromJson(jsonObject).getData();
+            batch(() -> {
+                for (int i = 0; i < data.size(); i++) {
+                    boolean deleted = DataEventTypeEnum.DELETE.name().equals(changes.get(i).get("eventType").getAsString());
+                    applyChange(data.get(i), deleted);
+                    if (deleted) {
+                        merged.remove(id(data.get(i)));
+                    } else {
+                        merged.put(id(data.get(i)), data.get(i));
+                    }
+                }
+            });
+        }
+        // keep the whole data of the group for the local snapshot.
+        GROUP_CACHE.put(group(), new ConfigData<>(stamp.getMd5(), stamp.getLastModifyTime(), new ArrayList<>(merged.values())));
+    }
+
     /**
      * Update cache if need boolean.
      *
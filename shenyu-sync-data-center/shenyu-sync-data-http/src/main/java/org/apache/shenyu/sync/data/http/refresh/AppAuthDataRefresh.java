@@ -67,4 +67,23 @@ public class AppAuthDataRefresh extends AbstractDataRefresh<AppAuthData> {
             data.forEach(authData -> authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(authData)));
         }
     }
+
+    @Override
+    protected void applyChange(final AppAuthData data, final boolean deleted) {
+        if (deleted) {
+            authDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(data));
+        } else {
+            authDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(data));
+        }
+    }
+
+    @Override
+    protected String id(final AppAuthData data) {
+        return data.getAppKey();
+    }
+
+    @Override
+    protected ConfigGroupEnum group() {
+        return ConfigGroupEnum.APP_AUTH;
+    }
 }
@@ -20,6 +20,9 @@ package org.apache.shenyu.sync.data.http.refresh;
 import com.google.gson.JsonObject;
 import org.apache.shenyu.common.dto.ConfigData;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * The interface Data refresh.
  */
@@ -33,10 +36,26 @@ public interface DataRefresh {
      */
     Boolean refresh(JsonObject data);
 
+    /**
+     * Refresh with a decoded binary snapshot.
+     *
+     * @param snapshot the configs by group name
+     * @return the boolean
+     */
+    Boolean refresh(Map<String, ConfigData<?>> snapshot);
+
     /**
      * Cache config data config data.
      *
      * @return the config data
      */
     ConfigData<?> cacheConfigData();
+
+    /**
+     * Apply the changes of the group one by one, then take the md5 and the last modify time of the admin cache.
+     *
+     * @param changes the changes, in version order
+     * @param stamp   the md5 and the last modify time of the admin cache
+     */
+    void apply(List<JsonObject> changes, ConfigData<?> stamp);
 }
@@ -17,11 +17,18 @@
 
 package org.apache.shenyu.sync.data.http.refresh;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
@@ -57,9 +64,54 @@ public final class DataRefreshFactory {
      * @return the boolean
      */
     public boolean executor(final JsonObject data) {
-        final boolean[] success = {false};
-        ENUM_MAP.values().parallelStream().forEach(dataRefresh -> success[0] = dataRefresh.refresh(data));
-        return success[0];
+        // every group is refreshed, updated if any of them is.
+        return ENUM_MAP.values().parallelStream().map(dataRefresh -> dataRefresh.refresh(data)).reduce(false, Boolean::logicalOr);
+    }
+
+    /**
+     * Executor with a decoded binary snapshot.
+     *
+     * @param snapshot the configs by group name
+     * @return the boolean
+     */
+    public boolean executor(final Map<String, ConfigData<?>> snapshot) {
+        // every group is refreshed, updated if any of them is.
+        return ENUM_MAP.values().parallelStream().map(dataRefresh -> dataRefresh.refresh(snapshot)).reduce(false, Boolean::logicalOr);
+    }
+
+    /**
+     * Apply the config changes of a delta, grouped by their group.
+     * A group with a REFRESH change, or a different md5 without any change, is left to be fetched again.
+     *
+     * @param delta the delta
+     * @return the groups to fetch again
+     */
+    public Set<ConfigGroupEnum> apply(final JsonObject delta) {
+        Map<ConfigGroupEnum, List<JsonObject>> changes = new EnumMap<>(ConfigGroupEnum.class);
+        Set<ConfigGroupEnum> refreshGroups = EnumSet.noneOf(ConfigGroupEnum.class);
+        for (JsonElement element : delta.getAsJsonArray("changes")) {
+            JsonObject change = element.getAsJsonObject();
+            ConfigGroupEnum group = ConfigGroupEnum.valueOf(change.get("group").getAsString());
+            if (DataEventTypeEnum.REFRESH.name().equals(change.get("eventType").getAsString())) {
+                refreshGroups.add(group);
+            }
+            changes.computeIfAbsent(group, key -> new ArrayList<>()).add(change);
+        }
+        JsonObject groups = delta.getAsJsonObject("groups");
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            if (refreshGroups.contains(group) || !groups.has(group.name())) {
+                continue;
+            }
+            JsonObject cache = groups.getAsJsonObject(group.name());
+            ConfigData<?> stamp = new ConfigData<>(cache.get("md5").getAsString(), cache.get("lastModifyTime").getAsLong(), null);
+            List<JsonObject> groupChanges = changes.get(group);
+            if (null != groupChanges) {
+                ENUM_MAP.get(group).apply(groupChanges, stamp);
+            } else if (null == cacheConfigData(group) || !StringUtils.equals(stamp.getMd5(), cacheConfigData(group).getMd5())) {
+                refreshGroups.add(group);
+            }
+        }
+        return refreshGroups;
     }
 
     /**
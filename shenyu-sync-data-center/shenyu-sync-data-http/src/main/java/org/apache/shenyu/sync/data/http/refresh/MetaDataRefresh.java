@@ -67,4 +67,23 @@ public class MetaDataRefresh extends AbstractDataRefresh<MetaData> {
             data.forEach(metaData -> metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(metaData)));
         }
     }
+
+    @Override
+    protected void applyChange(final MetaData data, final boolean deleted) {
+        if (deleted) {
+            metaDataSubscribers.forEach(subscriber -> subscriber.unSubscribe(data));
+        } else {
+            metaDataSubscribers.forEach(subscriber -> subscriber.onSubscribe(data));
+        }
+    }
+
+    @Override
+    protected String id(final MetaData data) {
+        return data.getId();
+    }
+
+    @Override
+    protected ConfigGroupEnum group() {
+        return ConfigGroupEnum.META_DATA;
+    }
 }
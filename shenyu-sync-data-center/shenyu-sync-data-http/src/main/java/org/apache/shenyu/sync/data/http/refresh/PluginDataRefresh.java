@@ -60,11 +60,37 @@ public class PluginDataRefresh extends AbstractDataRefresh<PluginData> {
 
     @Override
     protected void refresh(final List<PluginData> data) {
-        pluginDataSubscriber.refreshPluginDataAll();
-        if (CollectionUtils.isEmpty(data)) {
-            log.info("clear all plugin data cache");
-            return;
+        pluginDataSubscriber.batch(() -> {
+            pluginDataSubscriber.refreshPluginDataAll();
+            if (CollectionUtils.isEmpty(data)) {
+                log.info("clear all plugin data cache");
+                return;
+            }
+            data.forEach(pluginDataSubscriber::onSubscribe);
+        });
+    }
+
+    @Override
+    protected void applyChange(final PluginData data, final boolean deleted) {
+        if (deleted) {
+            pluginDataSubscriber.unSubscribe(data);
+        } else {
+            pluginDataSubscriber.onSubscribe(data);
         }
-        data.forEach(pluginDataSubscriber::onSubscribe);
+    }
+
+    @Override
+    protected String id(final PluginData data) {
+        return data.getId();
+    }
+
+    @Override
+    protected ConfigGroupEnum group() {
+        return ConfigGroupEnum.PLUGIN;
+    }
+
+    @Override
+    protected void batch(final Runnable changes) {
+        pluginDataSubscriber.batch(changes);
     }
 }
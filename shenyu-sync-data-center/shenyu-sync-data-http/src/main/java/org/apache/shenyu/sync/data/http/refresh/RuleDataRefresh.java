@@ -60,14 +60,40 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
 
     @Override
     protected void refresh(final List<RuleData> data) {
-        if (CollectionUtils.isEmpty(data)) {
-            log.info("clear all rule cache, old cache");
-            data.forEach(pluginDataSubscriber::unRuleSubscribe);
-            pluginDataSubscriber.refreshRuleDataAll();
+        pluginDataSubscriber.batch(() -> {
+            if (CollectionUtils.isEmpty(data)) {
+                log.info("clear all rule cache, old cache");
+                data.forEach(pluginDataSubscriber::unRuleSubscribe);
+                pluginDataSubscriber.refreshRuleDataAll();
+            } else {
+                // update cache for UpstreamCacheManager
+                pluginDataSubscriber.refreshRuleDataAll();
+                data.forEach(pluginDataSubscriber::onRuleSubscribe);
+            }
+        });
+    }
+
+    @Override
+    protected void applyChange(final RuleData data, final boolean deleted) {
+        if (deleted) {
+            pluginDataSubscriber.unRuleSubscribe(data);
         } else {
-            // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshRuleDataAll();
-            data.forEach(pluginDataSubscriber::onRuleSubscribe);
+            pluginDataSubscriber.onRuleSubscribe(data);
         }
     }
+
+    @Override
+    protected String id(final RuleData data) {
+        return data.getId();
+    }
+
+    @Override
+    protected ConfigGroupEnum group() {
+        return ConfigGroupEnum.RULE;
+    }
+
+    @Override
+    protected void batch(final Runnable changes) {
+        pluginDataSubscriber.batch(changes);
+    }
 }
@@ -60,14 +60,40 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
 
     @Override
     protected void refresh(final List<SelectorData> data) {
-        if (CollectionUtils.isEmpty(data)) {
-            log.info("clear all selector cache, old cache");
-            data.forEach(pluginDataSubscriber::unSelectorSubscribe);
-            pluginDataSubscriber.refreshSelectorDataAll();
+        pluginDataSubscriber.batch(() -> {
+            if (CollectionUtils.isEmpty(data)) {
+                log.info("clear all selector cache, old cache");
+                data.forEach(pluginDataSubscriber::unSelectorSubscribe);
+                pluginDataSubscriber.refreshSelectorDataAll();
+            } else {
+                // update cache for UpstreamCacheManager
+                pluginDataSubscriber.refreshSelectorDataAll();
+                data.forEach(pluginDataSubscriber::onSelectorSubscribe);
+            }
+        });
+    }
+
+    @Override
+    protected void applyChange(final SelectorData data, final boolean deleted) {
+        if (deleted) {
+            pluginDataSubscriber.unSelectorSubscribe(data);
         } else {
-            // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshSelectorDataAll();
-            data.forEach(pluginDataSubscriber::onSelectorSubscribe);
+            pluginDataSubscriber.onSelectorSubscribe(data);
         }
     }
+
+    @Override
+    protected String id(final SelectorData data) {
+        return data.getId();
+    }
+
+    @Override
+    protected ConfigGroupEnum group() {
+        return ConfigGroupEnum.SELECTOR;
+    }
+
+    @Override
+    protected void batch(final Runnable changes) {
+        pluginDataSubscriber.batch(changes);
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http;
+
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test cases for {@link ConfigSnapshotStore}.
+ */
+public final class ConfigSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    private ConfigSnapshotStore store;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "snapshot/soul-configs.snapshot");
+        store = new ConfigSnapshotStore(file.getPath());
+    }
+
+    @After
+    public void after() {
+        store.close();
+    }
+
+    @Test
+    public void testWriteAndLoad() {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = configs("1");
+        store.write(configs);
+        assertLoaded(configs);
+
+        configs.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("2", 2L,
+                Collections.singletonList(PluginData.builder().id("2").name("divide").enabled(false).build())));
+        store.write(configs);
+        assertLoaded(configs);
+    }
+
+    @Test
+    public void testLoadMissing() {
+        assertNull(store.load());
+    }
+
+    @Test
+    public void testLoadCorrupted() throws Exception {
+        store.write(configs("1"));
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+        assertNull(store.load());
+    }
+
+    private void assertLoaded(final Map<ConfigGroupEnum, ConfigData<?>> configs) {
+        Map<String, ConfigData<?>> loaded = store.load();
+        assertEquals(configs.size(), loaded.size());
+        configs.forEach((group, config) -> {
+            assertEquals(config.getMd5(), loaded.get(group.name()).getMd5());
+            assertEquals(config.getData(), loaded.get(group.name()).getData());
+        });
+    }
+
+    private Map<ConfigGroupEnum, ConfigData<?>> configs(final String md5) {
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.APP_AUTH, new ConfigData<>(md5, 1L,
+                Collections.singletonList(AppAuthData.builder().appKey("key").appSecret("secret").enabled(true).build())));
+        configs.put(ConfigGroupEnum.PLUGIN, new ConfigData<>(md5, 1L,
+                Collections.singletonList(PluginData.builder().id("1").name("sign").enabled(true).build())));
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>(md5, 1L,
+                Collections.singletonList(RuleData.builder().id("1").selectorId("1").pluginName("sign").build())));
+        configs.put(ConfigGroupEnum.SELECTOR, new ConfigData<>(md5, 1L,
+                Collections.singletonList(SelectorData.builder().id("1").pluginId("1").pluginName("sign").build())));
+        configs.put(ConfigGroupEnum.META_DATA, new ConfigData<>(md5, 1L,
+                Collections.singletonList(MetaData.builder().id("1").path("/http/test").build())));
+        return configs;
+    }
+}
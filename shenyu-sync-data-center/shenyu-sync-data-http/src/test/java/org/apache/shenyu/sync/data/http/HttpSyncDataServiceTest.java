@@ -20,36 +20,54 @@ package org.apache.shenyu.sync.data.http;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import lombok.SneakyThrows;
+import org.apache.shenyu.common.dto.ConfigChange;
 import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.utils.ConfigSnapshotCodec;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.http.config.HttpConfig;
+import org.apache.shenyu.sync.data.http.refresh.AbstractDataRefresh;
+import org.apache.shenyu.sync.data.http.refresh.DataRefreshFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 import wiremock.org.apache.http.HttpHeaders;
 import wiremock.org.apache.http.entity.ContentType;
 
+import java.io.File;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -59,6 +77,9 @@ public class HttpSyncDataServiceTest {
     @Rule
     public WireMockRule wireMockRule = new WireMockRule(WireMockConfiguration.wireMockConfig().dynamicPort(), false);
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private PluginDataSubscriber pluginDataSubscriber;
 
     private MetaDataSubscriber metaDataSubscriber;
@@ -89,6 +110,7 @@ public class HttpSyncDataServiceTest {
         // set delay time
         httpConfig.setDelayTime(3);
         this.pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        doCallRealMethod().when(pluginDataSubscriber).batch(any());
         this.metaDataSubscriber = mock(MetaDataSubscriber.class);
         this.authDataSubscriber = mock(AuthDataSubscriber.class);
         this.httpSyncDataService = new HttpSyncDataService(httpConfig, pluginDataSubscriber,
@@ -101,6 +123,8 @@ public class HttpSyncDataServiceTest {
         httpSyncDataService.close();
         AtomicBoolean running = (AtomicBoolean) ReflectionTestUtils.getField(httpSyncDataService, "RUNNING");
         assertFalse(running.get());
+        // the group cache is static, the next service has to fetch the configs again.
+        ((Map<?, ?>) ReflectionTestUtils.getField(AbstractDataRefresh.class, "GROUP_CACHE")).clear();
     }
 
     @Test
@@ -113,6 +137,87 @@ public class HttpSyncDataServiceTest {
         verify(authDataSubscriber, atLeastOnce()).refresh();
     }
 
+    @Test
+    public void testDelta() {
+        stubDelta(this.mockConfigsDeltaResponseJson(1L, 1L, false, Collections.emptyList()));
+        ConfigChange change = new ConfigChange(2L, ConfigGroupEnum.RULE.name(), DataEventTypeEnum.UPDATE.name(),
+                RuleData.builder().id("1").selectorId("1").pluginName("divide").build());
+        stubDeltaSince(1L, 1L, this.mockConfigsDeltaResponseJson(1L, 2L, false, Collections.singletonList(change)));
+        wireMockRule.resetRequests();
+        fetchDelta();
+
+        verify(pluginDataSubscriber, atLeastOnce()).onRuleSubscribe(any(RuleData.class));
+        DataRefreshFactory factory = (DataRefreshFactory) ReflectionTestUtils.getField(httpSyncDataService, "factory");
+        assertEquals("0a7e2c1b6fd0b4b1a2c9b1f4a5e6d7c8", factory.cacheConfigData(ConfigGroupEnum.RULE).getMd5());
+        assertDeltaVersion(1L, 2L);
+        // the delta is applied without fetching the configs
+        wireMockRule.verify(0, getRequestedFor(urlEqualTo("/configs/fetch?groupKeys=APP_AUTH&groupKeys=PLUGIN&groupKeys=RULE&groupKeys=SELECTOR&groupKeys=META_DATA")));
+    }
+
+    @Test
+    public void testDeltaFallsBackToFullFetch() {
+        stubDelta(this.mockConfigsDeltaResponseJson(1L, 1L, false, Collections.emptyList()));
+        // the server restarted with a new epoch, or evicted the changes since version 1
+        stubDeltaSince(1L, 1L, this.mockConfigsDeltaResponseJson(2L, 7L, true, Collections.emptyList()));
+        wireMockRule.resetRequests();
+        fetchDelta();
+
+        wireMockRule.verify(1, getRequestedFor(urlEqualTo("/configs/fetch?groupKeys=APP_AUTH&groupKeys=PLUGIN&groupKeys=RULE&groupKeys=SELECTOR&groupKeys=META_DATA")));
+        assertDeltaVersion(2L, 7L);
+    }
+
+    @Test
+    public void testSnapshot() {
+        ConfigData<PluginData> pluginData = new ConfigData<>("52d4bd5b4c1ab4c6bd4c9b3c1b7b5e0f", System.currentTimeMillis() + 1000,
+                Collections.singletonList(PluginData.builder().id("10").name("sign").role(0).enabled(true).build()));
+        Map<ConfigGroupEnum, ConfigData<?>> snapshot = new EnumMap<>(ConfigGroupEnum.class);
+        snapshot.put(ConfigGroupEnum.PLUGIN, pluginData);
+        wireMockRule.stubFor(get(urlPathEqualTo("/configs/fetch"))
+                .withHeader(HttpHeaders.ACCEPT, containing(ConfigSnapshotCodec.MEDIA_TYPE))
+                .willReturn(aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ConfigSnapshotCodec.MEDIA_TYPE)
+                        .withBody(ConfigSnapshotCodec.encode(snapshot))
+                        .withStatus(200))
+        );
+        boolean updated = ReflectionTestUtils.invokeMethod(httpSyncDataService, "fetchAndUpdateCache", this.getMockServerUrl(),
+                new ConfigGroupEnum[]{ConfigGroupEnum.PLUGIN});
+
+        assertTrue(updated);
+        verify(pluginDataSubscriber).onSubscribe(pluginData.getData().get(0));
+        DataRefreshFactory factory = (DataRefreshFactory) ReflectionTestUtils.getField(httpSyncDataService, "factory");
+        assertEquals(pluginData.getMd5(), factory.cacheConfigData(ConfigGroupEnum.PLUGIN).getMd5());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testStartFromSnapshot() {
+        httpSyncDataService.close();
+        ((Map<?, ?>) ReflectionTestUtils.getField(AbstractDataRefresh.class, "GROUP_CACHE")).clear();
+        PluginData plugin = PluginData.builder().id("20").name("snapshot").role(0).enabled(true).build();
+        Map<ConfigGroupEnum, ConfigData<?>> snapshot = new EnumMap<>(ConfigGroupEnum.class);
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            snapshot.put(group, new ConfigData<>("d751713988987e9331980363e24189cf", 1L, Collections.emptyList()));
+        }
+        snapshot.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("3bc7a2d5e3f1a1c2b4d6e8f0a1b2c3d4", 1L, Collections.singletonList(plugin)));
+        File file = folder.newFile("soul-configs.snapshot");
+        try (ConfigSnapshotStore store = new ConfigSnapshotStore(file.getPath())) {
+            store.write(snapshot);
+        }
+
+        HttpConfig httpConfig = new HttpConfig();
+        // the server is down, the configs come from the snapshot
+        httpConfig.setUrl("http://127.0.0.1:1");
+        httpConfig.setConnectionTimeout(3000);
+        httpConfig.setDelayTime(3);
+        httpConfig.setSnapshotPath(file.getPath());
+        this.httpSyncDataService = new HttpSyncDataService(httpConfig, pluginDataSubscriber,
+                Collections.singletonList(metaDataSubscriber), Collections.singletonList(authDataSubscriber));
+
+        verify(pluginDataSubscriber).onSubscribe(plugin);
+        DataRefreshFactory factory = (DataRefreshFactory) ReflectionTestUtils.getField(httpSyncDataService, "factory");
+        assertEquals("3bc7a2d5e3f1a1c2b4d6e8f0a1b2c3d4", factory.cacheConfigData(ConfigGroupEnum.PLUGIN).getMd5());
+    }
+
     private String getMockServerUrl() {
         return "http://127.0.0.1:" + wireMockRule.port();
     }
@@ -122,6 +227,62 @@ public class HttpSyncDataServiceTest {
         return "{\"code\":200,\"message\":\"success\",\"data\":[\"PLUGIN\"]}";
     }
 
+    // the background long polling sees no change, the test fetches the delta itself
+    private void fetchDelta() {
+        wireMockRule.stubFor(post(urlPathEqualTo("/configs/listener"))
+                .willReturn(aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString())
+                        .withBody("{\"code\":200,\"message\":\"success\",\"data\":[]}")
+                        .withStatus(200))
+        );
+        ReflectionTestUtils.invokeMethod(httpSyncDataService, "fetchDeltaVersion", this.getMockServerUrl());
+        assertDeltaVersion(1L, 1L);
+        Map<?, ?> deltaVersions = (Map<?, ?>) ReflectionTestUtils.getField(httpSyncDataService, "deltaVersions");
+        ReflectionTestUtils.invokeMethod(httpSyncDataService, "doFetchDelta", this.getMockServerUrl(), deltaVersions.get(this.getMockServerUrl()));
+    }
+
+    private void stubDelta(final String json) {
+        wireMockRule.stubFor(get(urlPathEqualTo("/configs/delta"))
+                .willReturn(aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString())
+                        .withBody(json)
+                        .withStatus(200))
+        );
+    }
+
+    private void stubDeltaSince(final long epoch, final long version, final String json) {
+        wireMockRule.stubFor(get(urlPathEqualTo("/configs/delta"))
+                .withQueryParam("epoch", equalTo(String.valueOf(epoch)))
+                .withQueryParam("version", equalTo(String.valueOf(version)))
+                .willReturn(aResponse()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON.toString())
+                        .withBody(json)
+                        .withStatus(200))
+        );
+    }
+
+    private void assertDeltaVersion(final long epoch, final long version) {
+        Map<?, ?> deltaVersions = (Map<?, ?>) ReflectionTestUtils.getField(httpSyncDataService, "deltaVersions");
+        Object deltaVersion = deltaVersions.get(this.getMockServerUrl());
+        assertEquals(epoch, ReflectionTestUtils.getField(deltaVersion, "epoch"));
+        assertEquals(version, ReflectionTestUtils.getField(deltaVersion, "version"));
+    }
+
+    // mock configs delta api response, with the md5 of a rule updated since version 1
+    private String mockConfigsDeltaResponseJson(final long epoch, final long version, final boolean full, final List<ConfigChange> changes) {
+        Map<String, ConfigData<?>> groups = new HashMap<>();
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            groups.put(group.name(), new ConfigData<>("d751713988987e9331980363e24189cf", System.currentTimeMillis(), null));
+        }
+        groups.put(ConfigGroupEnum.PLUGIN.name(), new ConfigData<>("1298d5a533d0f896c60cbeca1ec7b017", System.currentTimeMillis(), null));
+        groups.put(ConfigGroupEnum.RULE.name(), new ConfigData<>("0a7e2c1b6fd0b4b1a2c9b1f4a5e6d7c8", System.currentTimeMillis(), null));
+        ConfigDelta delta = new ConfigDelta(epoch, version, full, changes, groups);
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", delta);
+        response.put("code", 200);
+        return GsonUtils.getInstance().toJson(response);
+    }
+
     // mock configs fetch api response
     @SneakyThrows
     private String mockConfigsFetchResponseJson() {
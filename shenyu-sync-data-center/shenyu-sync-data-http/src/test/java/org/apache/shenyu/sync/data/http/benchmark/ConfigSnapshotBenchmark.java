@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import org.apache.shenyu.common.dto.AppAuthData;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.utils.ConfigSnapshotCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decoding the configs of a gateway bootstrap, 20 plugins, 1000 selectors and 50k rules,
+ * from the json of the config fetch as the data refreshers do, and from the binary snapshot.
+ *
+ * <p>Run the {@code main} method on the test classpath, the setup prints the size of the json, the gzipped json and the snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigSnapshotBenchmark {
+
+    private static final int PLUGINS = 20;
+
+    private static final int SELECTORS = 1000;
+
+    private static final int RULES = 50000;
+
+    private static final Gson GSON = new Gson();
+
+    private String json;
+
+    private byte[] snapshot;
+
+    /**
+     * Build the configs.
+     *
+     * @throws IOException the io exception
+     */
+    @Setup
+    public void setUp() throws IOException {
+        List<PluginData> plugins = new ArrayList<>(PLUGINS);
+        for (int i = 0; i < PLUGINS; i++) {
+            plugins.add(new PluginData(String.valueOf(i), "plugin-" + i, null, 0, true));
+        }
+        List<SelectorData> selectors = new ArrayList<>(SELECTORS);
+        for (int i = 0; i < SELECTORS; i++) {
+            String pluginName = "plugin-" + (i % PLUGINS);
+            selectors.add(new SelectorData("13514843918352" + i, String.valueOf(i % PLUGINS), pluginName, "/service-" + i, 0, 1, 1, true, true, true,
+                    "[{\"upstreamHost\":\"localhost\",\"protocol\":\"http://\",\"upstreamUrl\":\"10.0.0." + (i % 250) + ":8080\",\"weight\":50}]",
+                    Collections.singletonList(new ConditionData("uri", "match", "/", "/service-" + i + "/**"))));
+        }
+        List<RuleData> rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            SelectorData selector = selectors.get(i % SELECTORS);
+            rules.add(new RuleData("13514843918353" + i, selector.getName() + "/api-" + i, selector.getPluginName(), selector.getId(), 0, 1, true, false,
+                    "{\"loadBalance\":\"random\",\"retry\":0,\"timeout\":3000}",
+                    Collections.singletonList(new ConditionData("uri", "=", "/", selector.getName() + "/api-" + i))));
+        }
+        Map<ConfigGroupEnum, ConfigData<?>> configs = new EnumMap<>(ConfigGroupEnum.class);
+        configs.put(ConfigGroupEnum.PLUGIN, new ConfigData<>("md5-plugin", 1L, plugins));
+        configs.put(ConfigGroupEnum.SELECTOR, new ConfigData<>("md5-selector", 1L, selectors));
+        configs.put(ConfigGroupEnum.RULE, new ConfigData<>("md5-rule", 1L, rules));
+        configs.put(ConfigGroupEnum.META_DATA, new ConfigData<>("md5-meta", 1L, Collections.emptyList()));
+        configs.put(ConfigGroupEnum.APP_AUTH, new ConfigData<>("md5-auth", 1L, Collections.emptyList()));
+        Map<String, Object> response = new HashMap<>();
+        Map<String, ConfigData<?>> data = new HashMap<>();
+        configs.forEach((group, config) -> data.put(group.name(), config));
+        response.put("code", 200);
+        response.put("data", data);
+        json = GSON.toJson(response);
+        snapshot = ConfigSnapshotCodec.encode(configs);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        System.out.printf("%njson: %d bytes, gzipped json: %d bytes, snapshot: %d bytes%n",
+                json.getBytes(StandardCharsets.UTF_8).length, gzip.size(), snapshot.length);
+    }
+
+    /**
+     * The json of the config fetch, parsed as the data refreshers do.
+     *
+     * @return the configs
+     */
+    @Benchmark
+    public List<ConfigData<?>> json() {
+        JsonObject data = GSON.fromJson(json, JsonObject.class).getAsJsonObject("data");
+        List<ConfigData<?>> result = new ArrayList<>(ConfigGroupEnum.values().length);
+        result.add(GSON.fromJson(data.getAsJsonObject(ConfigGroupEnum.PLUGIN.name()), new TypeToken<ConfigData<PluginData>>() {
+        }.getType()));
+        result.add(GSON.fromJson(data.getAsJsonObject(ConfigGroupEnum.SELECTOR.name()), new TypeToken<ConfigData<SelectorData>>() {
+        }.getType()));
+        result.add(GSON.fromJson(data.getAsJsonObject(ConfigGroupEnum.RULE.name()), new TypeToken<ConfigData<RuleData>>() {
+        }.getType()));
+        result.add(GSON.fromJson(data.getAsJsonObject(ConfigGroupEnum.META_DATA.name()), new TypeToken<ConfigData<MetaData>>() {
+        }.getType()));
+        result.add(GSON.fromJson(data.getAsJsonObject(ConfigGroupEnum.APP_AUTH.name()), new TypeToken<ConfigData<AppAuthData>>() {
+        }.getType()));
+        return result;
+    }
+
+    /**
+     * The binary snapshot.
+     *
+     * @return the configs
+     */
+    @Benchmark
+    public Map<String, ConfigData<?>> snapshot() {
+        return ConfigSnapshotCodec.decode(snapshot);
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigSnapshotBenchmark.class.getSimpleName()).build()).run();
+    }
+}
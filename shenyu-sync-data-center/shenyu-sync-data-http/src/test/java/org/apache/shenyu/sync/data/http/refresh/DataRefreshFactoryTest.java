@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.sync.data.http.refresh;
+
+import com.google.gson.JsonObject;
+import org.apache.shenyu.common.dto.ConfigChange;
+import org.apache.shenyu.common.dto.ConfigData;
+import org.apache.shenyu.common.dto.ConfigDelta;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
+import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
+import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class DataRefreshFactoryTest {
+
+    private static final String MD5 = "d751713988987e9331980363e24189cf";
+
+    private static final String RULE_MD5 = "0a7e2c1b6fd0b4b1a2c9b1f4a5e6d7c8";
+
+    private PluginDataSubscriber pluginDataSubscriber;
+
+    private DataRefreshFactory factory;
+
+    @Before
+    public void setUp() {
+        pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        doCallRealMethod().when(pluginDataSubscriber).batch(any());
+        factory = new DataRefreshFactory(pluginDataSubscriber, Collections.singletonList(mock(MetaDataSubscriber.class)),
+                Collections.singletonList(mock(AuthDataSubscriber.class)));
+    }
+
+    @After
+    public void tearDown() {
+        ((Map<?, ?>) ReflectionTestUtils.getField(AbstractDataRefresh.class, "GROUP_CACHE")).clear();
+    }
+
+    @Test
+    public void testApply() {
+        RuleData rule = RuleData.builder().id("1").selectorId("1").pluginName("divide").build();
+        List<ConfigChange> changes = Arrays.asList(
+                new ConfigChange(2L, ConfigGroupEnum.RULE.name(), DataEventTypeEnum.UPDATE.name(), rule),
+                new ConfigChange(3L, ConfigGroupEnum.PLUGIN.name(), DataEventTypeEnum.REFRESH.name(), null));
+        Set<ConfigGroupEnum> refreshGroups = factory.apply(delta(changes));
+
+        verify(pluginDataSubscriber).onRuleSubscribe(rule);
+        assertEquals(RULE_MD5, factory.cacheConfigData(ConfigGroupEnum.RULE).getMd5());
+        // the refreshed plugins and the groups with an md5 the gateway does not have are fetched again
+        assertEquals(EnumSet.of(ConfigGroupEnum.PLUGIN, ConfigGroupEnum.SELECTOR, ConfigGroupEnum.APP_AUTH, ConfigGroupEnum.META_DATA), refreshGroups);
+    }
+
+    @Test
+    public void testApplyWithoutChanges() {
+        factory.apply(delta(Collections.singletonList(new ConfigChange(2L, ConfigGroupEnum.RULE.name(), DataEventTypeEnum.UPDATE.name(),
+                RuleData.builder().id("1").selectorId("1").pluginName("divide").build()))));
+        // the rules are in sync, nothing to fetch for them
+        assertFalse(factory.apply(delta(Collections.emptyList())).contains(ConfigGroupEnum.RULE));
+    }
+
+    private static JsonObject delta(final List<ConfigChange> changes) {
+        Map<String, ConfigData<?>> groups = new HashMap<>();
+        for (ConfigGroupEnum group : ConfigGroupEnum.values()) {
+            groups.put(group.name(), new ConfigData<>(MD5, 1L, null));
+        }
+        groups.put(ConfigGroupEnum.RULE.name(), new ConfigData<>(RULE_MD5, 2L, null));
+        ConfigDelta delta = new ConfigDelta(1L, 3L, false, changes, groups);
+        return GsonUtils.getGson().fromJson(GsonUtils.getGson().toJson(delta), JsonObject.class);
+    }
+}
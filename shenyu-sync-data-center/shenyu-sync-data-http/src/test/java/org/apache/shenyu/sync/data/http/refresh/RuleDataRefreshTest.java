@@ -18,15 +18,18 @@
 package org.apache.shenyu.sync.data.http.refresh;
 
 import com.google.gson.JsonObject;
+import org.apache.shenyu.common.dto.ConfigChange;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
+import org.apache.shenyu.common.enums.DataEventTypeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -78,4 +81,32 @@ public class RuleDataRefreshTest {
         ruleDataList.add(ruleData);
         ruleDataRefresh.refresh(ruleDataList);
     }
+
+    @Test
+    public void testApply() {
+        List<String> applied = new ArrayList<>();
+        RuleDataRefresh ruleDataRefresh = new RuleDataRefresh(new PluginDataSubscriber() {
+            @Override
+            public void onRuleSubscribe(final RuleData ruleData) {
+                applied.add("+" + ruleData.getId());
+            }
+
+            @Override
+            public void unRuleSubscribe(final RuleData ruleData) {
+                applied.add("-" + ruleData.getId());
+            }
+        });
+        List<JsonObject> changes = Arrays.asList(
+                toJson(new ConfigChange(1L, ConfigGroupEnum.RULE.name(), DataEventTypeEnum.CREATE.name(), RuleData.builder().id("1").build())),
+                toJson(new ConfigChange(2L, ConfigGroupEnum.RULE.name(), DataEventTypeEnum.DELETE.name(), RuleData.builder().id("2").build())),
+                toJson(new ConfigChange(3L, ConfigGroupEnum.RULE.name(), DataEventTypeEnum.UPDATE.name(), RuleData.builder().id("1").build())));
+        ruleDataRefresh.apply(changes, new ConfigData<>("md5", 100L, null));
+        assertThat(applied, is(Arrays.asList("+1", "-2", "+1")));
+        assertThat(ruleDataRefresh.cacheConfigData().getMd5(), is("md5"));
+        assertThat(ruleDataRefresh.cacheConfigData().getLastModifyTime(), is(100L));
+    }
+
+    private JsonObject toJson(final ConfigChange change) {
+        return GsonUtils.getGson().fromJson(GsonUtils.getGson().toJson(change), JsonObject.class);
+    }
 }
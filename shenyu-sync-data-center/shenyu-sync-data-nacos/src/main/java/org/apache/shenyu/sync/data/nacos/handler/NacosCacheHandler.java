@@ -88,10 +88,10 @@ public class NacosCacheHandler {
         try {
             // Fix bug #656(https://github.com/dromara/soul/issues/656)
             List<PluginData> pluginDataList = new ArrayList<>(GsonUtils.getInstance().toObjectMap(configInfo, PluginData.class).values());
-            pluginDataList.forEach(pluginData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> {
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> subscriber.batch(() -> pluginDataList.forEach(pluginData -> {
                 subscriber.unSubscribe(pluginData);
                 subscriber.onSubscribe(pluginData);
-            }));
+            })));
         } catch (JsonParseException e) {
             log.error("sync plugin data have error:", e);
         }
@@ -100,10 +100,10 @@ public class NacosCacheHandler {
     protected void updateSelectorMap(final String configInfo) {
         try {
             List<SelectorData> selectorDataList = GsonUtils.getInstance().toObjectMapList(configInfo, SelectorData.class).values().stream().flatMap(Collection::stream).collect(Collectors.toList());
-            selectorDataList.forEach(selectorData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> {
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> subscriber.batch(() -> selectorDataList.forEach(selectorData -> {
                 subscriber.unSelectorSubscribe(selectorData);
                 subscriber.onSelectorSubscribe(selectorData);
-            }));
+            })));
         } catch (JsonParseException e) {
             log.error("sync selector data have error:", e);
         }
@@ -114,10 +114,10 @@ public class NacosCacheHandler {
             List<RuleData> ruleDataList = GsonUtils.getInstance().toObjectMapList(configInfo, RuleData.class).values()
                     .stream().flatMap(Collection::stream)
                     .collect(Collectors.toList());
-            ruleDataList.forEach(ruleData -> Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> {
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(subscriber -> subscriber.batch(() -> ruleDataList.forEach(ruleData -> {
                 subscriber.unRuleSubscribe(ruleData);
                 subscriber.onRuleSubscribe(ruleData);
-            }));
+            })));
         } catch (JsonParseException e) {
             log.error("sync rule data have error:", e);
         }
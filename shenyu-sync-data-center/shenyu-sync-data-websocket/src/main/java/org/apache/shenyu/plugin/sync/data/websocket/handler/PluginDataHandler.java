@@ -38,18 +38,20 @@ public class PluginDataHandler extends AbstractDataHandler<PluginData> {
 
     @Override
     protected void doRefresh(final List<PluginData> dataList) {
-        pluginDataSubscriber.refreshPluginDataSelf(dataList);
-        dataList.forEach(pluginDataSubscriber::onSubscribe);
+        pluginDataSubscriber.batch(() -> {
+            pluginDataSubscriber.refreshPluginDataSelf(dataList);
+            dataList.forEach(pluginDataSubscriber::onSubscribe);
+        });
     }
 
     @Override
     protected void doUpdate(final List<PluginData> dataList) {
-        dataList.forEach(pluginDataSubscriber::onSubscribe);
+        pluginDataSubscriber.batch(() -> dataList.forEach(pluginDataSubscriber::onSubscribe));
     }
 
     @Override
     protected void doDelete(final List<PluginData> dataList) {
-        dataList.forEach(pluginDataSubscriber::unSubscribe);
+        pluginDataSubscriber.batch(() -> dataList.forEach(pluginDataSubscriber::unSubscribe));
     }
 
 }
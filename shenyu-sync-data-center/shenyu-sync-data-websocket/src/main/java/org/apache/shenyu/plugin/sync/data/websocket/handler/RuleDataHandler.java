@@ -38,17 +38,19 @@ public class RuleDataHandler extends AbstractDataHandler<RuleData> {
 
     @Override
     protected void doRefresh(final List<RuleData> dataList) {
-        pluginDataSubscriber.refreshRuleDataSelf(dataList);
-        dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+        pluginDataSubscriber.batch(() -> {
+            pluginDataSubscriber.refreshRuleDataSelf(dataList);
+            dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+        });
     }
 
     @Override
     protected void doUpdate(final List<RuleData> dataList) {
-        dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+        pluginDataSubscriber.batch(() -> dataList.forEach(pluginDataSubscriber::onRuleSubscribe));
     }
 
     @Override
     protected void doDelete(final List<RuleData> dataList) {
-        dataList.forEach(pluginDataSubscriber::unRuleSubscribe);
+        pluginDataSubscriber.batch(() -> dataList.forEach(pluginDataSubscriber::unRuleSubscribe));
     }
 }
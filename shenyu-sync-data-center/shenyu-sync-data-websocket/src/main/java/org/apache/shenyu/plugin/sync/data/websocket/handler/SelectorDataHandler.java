@@ -38,17 +38,19 @@ public class SelectorDataHandler extends AbstractDataHandler<SelectorData> {
 
     @Override
     protected void doRefresh(final List<SelectorData> dataList) {
-        pluginDataSubscriber.refreshSelectorDataSelf(dataList);
-        dataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
+        pluginDataSubscriber.batch(() -> {
+            pluginDataSubscriber.refreshSelectorDataSelf(dataList);
+            dataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
+        });
     }
 
     @Override
     protected void doUpdate(final List<SelectorData> dataList) {
-        dataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
+        pluginDataSubscriber.batch(() -> dataList.forEach(pluginDataSubscriber::onSelectorSubscribe));
     }
 
     @Override
     protected void doDelete(final List<SelectorData> dataList) {
-        dataList.forEach(pluginDataSubscriber::unSelectorSubscribe);
+        pluginDataSubscriber.batch(() -> dataList.forEach(pluginDataSubscriber::unSelectorSubscribe));
     }
 }
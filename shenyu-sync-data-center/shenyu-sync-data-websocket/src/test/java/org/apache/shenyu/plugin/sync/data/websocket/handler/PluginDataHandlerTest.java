@@ -27,6 +27,8 @@ import java.util.List;
 
 import static org.junit.Assert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -38,6 +40,7 @@ public final class PluginDataHandlerTest {
 
     public PluginDataHandlerTest() {
         subscriber = mock(PluginDataSubscriber.class);
+        doCallRealMethod().when(subscriber).batch(any());
         pluginDataHandler = new PluginDataHandler(subscriber);
     }
 
@@ -29,6 +29,8 @@ import java.util.List;
 
 import static org.junit.Assert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -40,6 +42,7 @@ public final class SelectorDataHandlerTest {
 
     public SelectorDataHandlerTest() {
         subscriber = mock(PluginDataSubscriber.class);
+        doCallRealMethod().when(subscriber).batch(any());
         selectorDataHandler = new SelectorDataHandler(subscriber);
     }
 
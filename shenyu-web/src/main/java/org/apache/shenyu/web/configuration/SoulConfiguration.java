@@ -25,6 +25,7 @@ import org.apache.shenyu.web.filter.FileSizeFilter;
 import org.apache.shenyu.web.filter.TimeWebFilter;
 import org.apache.shenyu.web.filter.WebSocketParamFilter;
 import org.apache.shenyu.web.forward.ForwardedRemoteAddressResolver;
+import org.apache.shenyu.web.handler.SchedulerMetricsCollector;
 import org.apache.shenyu.web.handler.SoulWebHandler;
 import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.SoulPlugin;
@@ -62,7 +63,7 @@ import java.util.stream.Collectors;
 public class SoulConfiguration {
     
     /**
-     * Init SoulWebHandler.
+     * Init SoulWebHandler, its scheduler metrics are exported to the prometheus registry.
      *
      * @param plugins this plugins is All impl SoulPlugin.
      * @return {@linkplain SoulWebHandler}
@@ -73,7 +74,9 @@ public class SoulConfiguration {
         List<SoulPlugin> soulPlugins = pluginList.stream()
                 .sorted(Comparator.comparingInt(SoulPlugin::getOrder)).collect(Collectors.toList());
         soulPlugins.forEach(soulPlugin -> log.info("load plugin:[{}] [{}]", soulPlugin.named(), soulPlugin.getClass().getName()));
-        return new SoulWebHandler(soulPlugins);
+        SoulWebHandler soulWebHandler = new SoulWebHandler(soulPlugins);
+        new SchedulerMetricsCollector(soulWebHandler.getSchedulerMetrics()).register();
+        return soulWebHandler;
     }
     
     /**
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queueing metrics of the work offloaded by {@link SoulWebHandler} to its scheduler.
+ */
+public final class SchedulerMetrics {
+
+    private final String schedulerType;
+
+    private final LongAdder inline = new LongAdder();
+
+    private final LongAdder offloaded = new LongAdder();
+
+    private final LongAdder pending = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    SchedulerMetrics(final String schedulerType) {
+        this.schedulerType = schedulerType;
+    }
+
+    /**
+     * Gets the scheduler type.
+     *
+     * @return the scheduler type
+     */
+    public String getSchedulerType() {
+        return schedulerType;
+    }
+
+    /**
+     * Gets the number of requests run without any thread hop.
+     *
+     * @return the inline count
+     */
+    public long getInline() {
+        return inline.sum();
+    }
+
+    /**
+     * Gets the number of tasks handed to the scheduler.
+     *
+     * @return the offloaded count
+     */
+    public long getOffloaded() {
+        return offloaded.sum();
+    }
+
+    /**
+     * Gets the number of tasks waiting for a scheduler thread.
+     *
+     * @return the pending count
+     */
+    public long getPending() {
+        return pending.sum();
+    }
+
+    /**
+     * Gets the total time tasks waited for a scheduler thread.
+     *
+     * @return the wait nanos
+     */
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * Gets the longest time a task waited for a scheduler thread.
+     *
+     * @return the max wait nanos
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    void recordInline() {
+        inline.increment();
+    }
+
+    /**
+     * Subscribe the source on the scheduler, measuring how long it waits for a thread.
+     *
+     * @param source    the source
+     * @param scheduler the scheduler
+     * @return the offloaded mono
+     */
+    Mono<Void> offload(final Mono<Void> source, final Scheduler scheduler) {
+        return Mono.defer(() -> {
+            final long submitted = System.nanoTime();
+            final AtomicBoolean started = new AtomicBoolean();
+            offloaded.increment();
+            pending.increment();
+            return Mono.defer(() -> {
+                if (started.compareAndSet(false, true)) {
+                    long wait = System.nanoTime() - submitted;
+                    pending.decrement();
+                    waitNanos.add(wait);
+                    maxWaitNanos.accumulateAndGet(wait, Math::max);
+                }
+                return source;
+            }).subscribeOn(scheduler).doFinally(signal -> {
+                if (started.compareAndSet(false, true)) {
+                    pending.decrement();
+                }
+            });
+        });
+    }
+}
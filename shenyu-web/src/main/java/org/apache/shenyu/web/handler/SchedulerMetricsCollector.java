@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exports the {@link SchedulerMetrics} of the web handler to the prometheus registry, labeled with the scheduler type.
+ */
+public final class SchedulerMetricsCollector extends Collector {
+
+    private static final List<String> LABEL_NAMES = Collections.singletonList("type");
+
+    private final SchedulerMetrics schedulerMetrics;
+
+    public SchedulerMetricsCollector(final SchedulerMetrics schedulerMetrics) {
+        this.schedulerMetrics = schedulerMetrics;
+    }
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<String> labelValues = Collections.singletonList(schedulerMetrics.getSchedulerType());
+        return Arrays.asList(
+                new CounterMetricFamily("soul_scheduler_inline", "the requests run without any thread hop", LABEL_NAMES)
+                        .addMetric(labelValues, schedulerMetrics.getInline()),
+                new CounterMetricFamily("soul_scheduler_offloaded", "the tasks handed to the scheduler", LABEL_NAMES)
+                        .addMetric(labelValues, schedulerMetrics.getOffloaded()),
+                new GaugeMetricFamily("soul_scheduler_pending", "the tasks waiting for a scheduler thread", LABEL_NAMES)
+                        .addMetric(labelValues, schedulerMetrics.getPending()),
+                new CounterMetricFamily("soul_scheduler_wait_seconds", "the total time tasks waited for a scheduler thread", LABEL_NAMES)
+                        .addMetric(labelValues, schedulerMetrics.getWaitNanos() / NANOSECONDS_PER_SECOND),
+                new GaugeMetricFamily("soul_scheduler_max_wait_seconds", "the longest time a task waited for a scheduler thread", LABEL_NAMES)
+                        .addMetric(labelValues, schedulerMetrics.getMaxWaitNanos() / NANOSECONDS_PER_SECOND));
+    }
+}
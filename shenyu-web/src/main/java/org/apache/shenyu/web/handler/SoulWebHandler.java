@@ -17,10 +17,25 @@
 
 package org.apache.shenyu.web.handler;
 
+import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.plugin.api.PluginExecutionRecorder;
 import org.apache.shenyu.plugin.api.SoulPlugin;
 import org.apache.shenyu.plugin.api.SoulPluginChain;
+import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.BaseDataSnapshot;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
@@ -31,13 +46,35 @@ import reactor.core.scheduler.Schedulers;
 /**
  * This is web handler request starter.
  *
+ * <p>The execution model is chosen with the {@code soul.scheduler.type} system property:
+ * <ul>
+ *     <li>{@code fixed}: the whole chain runs on a parallel scheduler of {@code soul.work.threads} threads, the default.</li>
+ *     <li>{@code elastic}: the whole chain runs on the elastic scheduler.</li>
+ *     <li>{@code direct}: the whole chain runs inline on the event loop, for chains that never block.</li>
+ *     <li>{@code blocking}: the chain runs inline and hops to a bounded elastic scheduler for each plugin that blocks,
+ *     a plugin blocks when it says so or when one of its selectors or rules has a groovy condition.</li>
+ *     <li>{@code virtual}: the whole chain runs on virtual threads, bounded elastic when the jvm has none.</li>
+ * </ul>
+ *
+ * <p>While a plugin implementing {@link PluginExecutionRecorder} is enabled, the chain records how long each plugin takes,
+ * without the time of the plugins after it.
+ *
  * @author xiaoyu(Myth)
  */
+@Slf4j
 public final class SoulWebHandler implements WebHandler {
 
-    private final List<SoulPlugin> plugins;
+    private static final int QUEUED_TASK_CAP = 100000;
+
+    private final SoulPlugin[] plugins;
 
     private final Scheduler scheduler;
+
+    private final boolean offloadAll;
+
+    private final SchedulerMetrics schedulerMetrics;
+
+    private volatile PluginPipeline pipeline;
     
     /**
      * Instantiates a new Soul web handler.
@@ -45,14 +82,42 @@ public final class SoulWebHandler implements WebHandler {
      * @param plugins the plugins
      */
     public SoulWebHandler(final List<SoulPlugin> plugins) {
-        this.plugins = plugins;
-        String schedulerType = System.getProperty("soul.scheduler.type", "fixed");
-        if (Objects.equals(schedulerType, "fixed")) {
-            int threads = Integer.parseInt(System.getProperty(
-                    "soul.work.threads", "" + Math.max((Runtime.getRuntime().availableProcessors() << 1) + 1, 16)));
-            scheduler = Schedulers.newParallel("soul-work-threads", threads);
-        } else {
-            scheduler = Schedulers.elastic();
+        this(plugins, System.getProperty("soul.scheduler.type", "fixed"));
+    }
+
+    /**
+     * Instantiates a new Soul web handler.
+     *
+     * @param plugins       the plugins
+     * @param schedulerType the scheduler type
+     */
+    public SoulWebHandler(final List<SoulPlugin> plugins, final String schedulerType) {
+        this.plugins = plugins.toArray(new SoulPlugin[0]);
+        this.pipeline = new PluginPipeline(-1L, this.plugins, new boolean[this.plugins.length], null);
+        this.schedulerMetrics = new SchedulerMetrics(schedulerType);
+        int threads = Integer.parseInt(System.getProperty(
+                "soul.work.threads", "" + Math.max((Runtime.getRuntime().availableProcessors() << 1) + 1, 16)));
+        switch (schedulerType) {
+            case "elastic":
+                scheduler = Schedulers.elastic();
+                offloadAll = true;
+                break;
+            case "direct":
+                scheduler = null;
+                offloadAll = false;
+                break;
+            case "blocking":
+                scheduler = Schedulers.newBoundedElastic(threads, QUEUED_TASK_CAP, "soul-blocking-threads");
+                offloadAll = false;
+                break;
+            case "virtual":
+                scheduler = virtualThreadScheduler(threads);
+                offloadAll = true;
+                break;
+            default:
+                scheduler = Schedulers.newParallel("soul-work-threads", threads);
+                offloadAll = true;
+                break;
         }
     }
 
@@ -64,43 +129,296 @@ public final class SoulWebHandler implements WebHandler {
      */
     @Override
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
-        return new DefaultSoulPluginChain(plugins).execute(exchange).subscribeOn(scheduler);
+        PluginPipeline current = obtainPipeline();
+        if (offloadAll) {
+            return schedulerMetrics.offload(new DefaultSoulPluginChain(current.plugins, current.recorder).execute(exchange), scheduler);
+        }
+        if (Objects.isNull(scheduler) || !current.anyBlocking) {
+            schedulerMetrics.recordInline();
+            return new DefaultSoulPluginChain(current.plugins, current.recorder).execute(exchange);
+        }
+        return new DefaultSoulPluginChain(current.plugins, current.blocking, scheduler, schedulerMetrics, current.recorder).execute(exchange);
+    }
+
+    /**
+     * Gets the queueing metrics of the scheduler.
+     *
+     * @return the scheduler metrics
+     */
+    public SchedulerMetrics getSchedulerMetrics() {
+        return schedulerMetrics;
+    }
+
+    /**
+     * The plugins to run, without the ones whose plugin data is missing or disabled.
+     * It is rebuilt when the version of the base data snapshot changes.
+     *
+     * @return the plugins
+     */
+    PluginPipeline obtainPipeline() {
+        BaseDataSnapshot snapshot = BaseDataCache.getInstance().obtainSnapshot();
+        PluginPipeline current = pipeline;
+        if (current.version != snapshot.getVersion()) {
+            current = buildPipeline(plugins, snapshot);
+            pipeline = current;
+        }
+        return current;
+    }
+
+    private static PluginPipeline buildPipeline(final SoulPlugin[] plugins, final BaseDataSnapshot snapshot) {
+        SoulPlugin[] enabled = new SoulPlugin[plugins.length];
+        boolean[] blocking = new boolean[plugins.length];
+        PluginExecutionRecorder recorder = null;
+        int size = 0;
+        for (SoulPlugin plugin : plugins) {
+            boolean groovy = false;
+            if (plugin instanceof AbstractSoulPlugin) {
+                PluginData pluginData = snapshot.obtainPluginData(plugin.named());
+                if (Objects.isNull(pluginData) || !Boolean.TRUE.equals(pluginData.getEnabled())) {
+                    continue;
+                }
+                groovy = hasGroovyCondition(plugin.named(), snapshot);
+            }
+            blocking[size] = plugin.blocking() || groovy;
+            enabled[size++] = plugin;
+            if (plugin instanceof PluginExecutionRecorder) {
+                recorder = (PluginExecutionRecorder) plugin;
+            }
+        }
+        SoulPlugin[] resultPlugins = new SoulPlugin[size];
+        boolean[] resultBlocking = new boolean[size];
+        System.arraycopy(enabled, 0, resultPlugins, 0, size);
+        System.arraycopy(blocking, 0, resultBlocking, 0, size);
+        return new PluginPipeline(snapshot.getVersion(), resultPlugins, resultBlocking, recorder);
+    }
+
+    private static boolean hasGroovyCondition(final String pluginName, final BaseDataSnapshot snapshot) {
+        List<SelectorData> selectors = snapshot.obtainSelectorData(pluginName);
+        if (CollectionUtils.isEmpty(selectors)) {
+            return false;
+        }
+        for (SelectorData selector : selectors) {
+            if (hasGroovyCondition(selector.getConditionList())) {
+                return true;
+            }
+            List<RuleData> rules = snapshot.obtainRuleData(selector.getId());
+            if (CollectionUtils.isNotEmpty(rules) && rules.stream().anyMatch(rule -> hasGroovyCondition(rule.getConditionDataList()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasGroovyCondition(final Collection<ConditionData> conditions) {
+        return CollectionUtils.isNotEmpty(conditions) && conditions.stream()
+                .anyMatch(condition -> Objects.nonNull(condition) && OperatorEnum.GROOVY.getAlias().equals(condition.getOperator()));
+    }
+
+    private static Scheduler virtualThreadScheduler(final int threads) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Schedulers.fromExecutorService((ExecutorService) method.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            log.warn("virtual threads are not available on this jvm, use bounded elastic threads instead");
+            return Schedulers.newBoundedElastic(threads, QUEUED_TASK_CAP, "soul-work-threads");
+        }
+    }
+
+    static final class PluginPipeline {
+
+        private final long version;
+
+        private final SoulPlugin[] plugins;
+
+        private final boolean[] blocking;
+
+        private final boolean anyBlocking;
+
+        private final PluginExecutionRecorder recorder;
+
+        PluginPipeline(final long version, final SoulPlugin[] plugins, final boolean[] blocking, final PluginExecutionRecorder recorder) {
+            this.version = version;
+            this.plugins = plugins;
+            this.blocking = blocking;
+            this.recorder = recorder;
+            boolean any = false;
+            for (boolean each : blocking) {
+                any |= each;
+            }
+            this.anyBlocking = any;
+        }
+
+        /**
+         * Gets the plugins.
+         *
+         * @return the plugins
+         */
+        SoulPlugin[] getPlugins() {
+            return plugins;
+        }
+
+        /**
+         * Whether the plugin at the index blocks.
+         *
+         * @param index the index
+         * @return true if blocking
+         */
+        boolean isBlocking(final int index) {
+            return blocking[index];
+        }
     }
 
-    private static class DefaultSoulPluginChain implements SoulPluginChain {
+    static final class DefaultSoulPluginChain implements SoulPluginChain {
 
         private int index;
 
-        private final List<SoulPlugin> plugins;
+        private final SoulPlugin[] plugins;
+
+        private final boolean[] blocking;
+
+        private final Scheduler scheduler;
+
+        private final SchedulerMetrics schedulerMetrics;
+
+        private final PluginExecutionRecorder recorder;
+
+        private PluginTiming lastTiming;
 
         /**
          * Instantiates a new Default soul plugin chain.
          *
          * @param plugins the plugins
          */
-        DefaultSoulPluginChain(final List<SoulPlugin> plugins) {
+        DefaultSoulPluginChain(final SoulPlugin[] plugins) {
+            this(plugins, null);
+        }
+
+        /**
+         * Instantiates a new Default soul plugin chain that records how long each plugin takes.
+         *
+         * @param plugins  the plugins
+         * @param recorder the recorder, null for none
+         */
+        DefaultSoulPluginChain(final SoulPlugin[] plugins, final PluginExecutionRecorder recorder) {
+            this(plugins, null, null, null, recorder);
+        }
+
+        /**
+         * Instantiates a new Default soul plugin chain that runs the blocking plugins on the scheduler.
+         *
+         * @param plugins          the plugins
+         * @param blocking         whether each plugin blocks
+         * @param scheduler        the scheduler
+         * @param schedulerMetrics the scheduler metrics
+         * @param recorder         the recorder, null for none
+         */
+        DefaultSoulPluginChain(final SoulPlugin[] plugins, final boolean[] blocking, final Scheduler scheduler,
+                               final SchedulerMetrics schedulerMetrics, final PluginExecutionRecorder recorder) {
             this.plugins = plugins;
+            this.blocking = blocking;
+            this.scheduler = scheduler;
+            this.schedulerMetrics = schedulerMetrics;
+            this.recorder = recorder;
         }
 
         /**
          * Delegate to the next {@code WebFilter} in the chain.
+         * The returned mono runs the next plugin with this exchange when subscribed.
          *
          * @param exchange the current server exchange
          * @return {@code Mono<Void>} to indicate when request handling is complete
          */
         @Override
         public Mono<Void> execute(final ServerWebExchange exchange) {
-            return Mono.defer(() -> {
-                if (this.index < plugins.size()) {
-                    SoulPlugin plugin = plugins.get(this.index++);
-                    Boolean skip = plugin.skip(exchange);
-                    if (skip) {
-                        return this.execute(exchange);
+            return Mono.defer(() -> executeNext(exchange));
+        }
+
+        private Mono<Void> executeNext(final ServerWebExchange exchange) {
+            while (this.index < plugins.length) {
+                int current = this.index++;
+                SoulPlugin plugin = plugins[current];
+                if (!Boolean.TRUE.equals(plugin.skip(exchange))) {
+                    if (Objects.nonNull(blocking) && blocking[current]) {
+                        return schedulerMetrics.offload(Mono.defer(() -> executePlugin(plugin, exchange)), scheduler);
                     }
-                    return plugin.execute(exchange, this);
+                    return executePlugin(plugin, exchange);
                 }
-                return Mono.empty();
+            }
+            return Mono.empty();
+        }
+
+        private Mono<Void> executePlugin(final SoulPlugin plugin, final ServerWebExchange currentExchange) {
+            if (Objects.isNull(recorder)) {
+                return plugin.execute(currentExchange, this);
+            }
+            return Mono.defer(() -> {
+                PluginTiming timing = startTiming(plugin.named());
+                return plugin.execute(currentExchange, this)
+                        .doOnTerminate(() -> endTiming(timing))
+                        .doOnCancel(() -> endTiming(timing));
             });
         }
+
+        private synchronized PluginTiming startTiming(final String pluginName) {
+            PluginTiming timing = new PluginTiming(pluginName, lastTiming);
+            if (Objects.nonNull(lastTiming)) {
+                lastTiming.downstream = timing;
+            }
+            lastTiming = timing;
+            return timing;
+        }
+
+        /**
+         * End the timing of a plugin, a plugin is recorded once the plugin it called has ended too,
+         * since a cancel reaches the upstream plugins first.
+         */
+        private synchronized void endTiming(final PluginTiming timing) {
+            if (timing.elapsed >= 0) {
+                return;
+            }
+            timing.elapsed = System.nanoTime() - timing.start;
+            recordTiming(timing);
+            if (Objects.nonNull(timing.upstream)) {
+                recordTiming(timing.upstream);
+            }
+        }
+
+        private void recordTiming(final PluginTiming timing) {
+            if (timing.recorded || timing.elapsed < 0) {
+                return;
+            }
+            long downstreamElapsed = 0;
+            if (Objects.nonNull(timing.downstream)) {
+                if (timing.downstream.elapsed < 0) {
+                    return;
+                }
+                downstreamElapsed = timing.downstream.elapsed;
+            }
+            timing.recorded = true;
+            recorder.record(timing.pluginName, Math.max(0, timing.elapsed - downstreamElapsed));
+        }
+    }
+
+    /**
+     * The time of one plugin in a chain, the plugin it was called by and the plugin it called.
+     */
+    private static final class PluginTiming {
+
+        private final String pluginName;
+
+        private final PluginTiming upstream;
+
+        private final long start = System.nanoTime();
+
+        private PluginTiming downstream;
+
+        private long elapsed = -1;
+
+        private boolean recorded;
+
+        PluginTiming(final String pluginName, final PluginTiming upstream) {
+            this.pluginName = pluginName;
+            this.upstream = upstream;
+        }
     }
 }
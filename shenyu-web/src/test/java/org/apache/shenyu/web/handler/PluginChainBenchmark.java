@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.handler;
+
+import org.apache.shenyu.plugin.api.SoulPlugin;
+import org.apache.shenyu.plugin.api.SoulPluginChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request through 25 plugins, every third one skipped, with the former per-hop deferred chain and with {@link SoulWebHandler.DefaultSoulPluginChain}.
+ *
+ * <p>Run the {@code main} method on the test classpath, it adds the gc profiler to report the allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PluginChainBenchmark {
+
+    private static final int PLUGIN_COUNT = 25;
+
+    private SoulPlugin[] plugins;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the plugins and the request.
+     */
+    @Setup
+    public void setUp() {
+        plugins = new SoulPlugin[PLUGIN_COUNT];
+        for (int i = 0; i < PLUGIN_COUNT; i++) {
+            plugins[i] = new PassPlugin(i, i % 3 == 0);
+        }
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test").build());
+    }
+
+    /**
+     * The chain as it was, a new defer for every hop and a nested one for every skipped plugin.
+     */
+    @Benchmark
+    public void deferredChain() {
+        new DeferredSoulPluginChain(Arrays.asList(plugins)).execute(exchange).block();
+    }
+
+    /**
+     * The current chain.
+     */
+    @Benchmark
+    public void pipelineChain() {
+        new SoulWebHandler.DefaultSoulPluginChain(plugins).execute(exchange).block();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PluginChainBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+
+    private static final class PassPlugin implements SoulPlugin {
+
+        private final int order;
+
+        private final boolean skip;
+
+        PassPlugin(final int order, final boolean skip) {
+            this.order = order;
+            this.skip = skip;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public Boolean skip(final ServerWebExchange exchange) {
+            return skip;
+        }
+    }
+
+    private static final class DeferredSoulPluginChain implements SoulPluginChain {
+
+        private int index;
+
+        private final List<SoulPlugin> plugins;
+
+        DeferredSoulPluginChain(final List<SoulPlugin> plugins) {
+            this.plugins = plugins;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange) {
+            return Mono.defer(() -> {
+                if (this.index < plugins.size()) {
+                    SoulPlugin plugin = plugins.get(this.index++);
+                    Boolean skip = plugin.skip(exchange);
+                    if (skip) {
+                        return this.execute(exchange);
+                    }
+                    return plugin.execute(exchange, this);
+                }
+                return Mono.empty();
+            });
+        }
+    }
+}
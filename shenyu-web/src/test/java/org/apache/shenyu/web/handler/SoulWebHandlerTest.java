@@ -17,9 +17,19 @@
 
 package org.apache.shenyu.web.handler;
 
+import io.prometheus.client.CollectorRegistry;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.plugin.api.PluginExecutionRecorder;
 import org.apache.shenyu.plugin.api.SoulPlugin;
+import org.apache.shenyu.plugin.api.SoulPluginChain;
 import org.apache.shenyu.plugin.api.context.SoulContext;
+import org.apache.shenyu.plugin.base.AbstractSoulPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,8 +39,15 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.mock;
 
@@ -64,4 +81,273 @@ public class SoulWebHandlerTest {
         Mono<Void> handle = soulWebHandler.handle(exchange);
         Assert.assertNotNull(handle);
     }
+
+    @Test
+    public void testChainRunsPluginsInOrder() {
+        List<String> executed = new ArrayList<>();
+        SoulPlugin[] chainPlugins = {new RecordPlugin("a", false, executed), new RecordPlugin("b", true, executed), new RecordPlugin("c", false, executed)};
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http").build());
+        Mono<Void> result = new SoulWebHandler.DefaultSoulPluginChain(chainPlugins).execute(exchange);
+        Assert.assertTrue(executed.isEmpty());
+        result.block();
+        Assert.assertEquals(Arrays.asList("a", "c"), executed);
+    }
+
+    @Test
+    public void testChainKeepsTheExchangeOfEachCall() {
+        List<ServerWebExchange> exchanges = new ArrayList<>();
+        SoulPluginChain chain = new SoulWebHandler.DefaultSoulPluginChain(new SoulPlugin[] {new ExchangePlugin(exchanges)});
+        final ServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/first").build());
+        final ServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/second").build());
+        Mono<Void> result = chain.execute(first);
+        chain.execute(second);
+        result.block();
+        Assert.assertEquals(Collections.singletonList(first), exchanges);
+    }
+
+    @Test
+    public void testPipelineFollowsPluginData() {
+        BaseDataCache.getInstance().cleanPluginData();
+        SoulPlugin dataPlugin = new PipelinePlugin();
+        SoulWebHandler handler = new SoulWebHandler(Arrays.asList(dataPlugin, plugins));
+        Assert.assertArrayEquals(new SoulPlugin[] {plugins}, handler.obtainPipeline().getPlugins());
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name("pipeline").enabled(true).build());
+        Assert.assertArrayEquals(new SoulPlugin[] {dataPlugin, plugins}, handler.obtainPipeline().getPlugins());
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name("pipeline").enabled(false).build());
+        Assert.assertArrayEquals(new SoulPlugin[] {plugins}, handler.obtainPipeline().getPlugins());
+        BaseDataCache.getInstance().cleanPluginData();
+    }
+
+    @Test
+    public void testDirectSchedulerRunsInline() {
+        List<String> executed = new ArrayList<>();
+        SoulWebHandler handler = new SoulWebHandler(Arrays.asList(new RecordPlugin("a", false, executed), new RecordPlugin("b", false, executed)), "direct");
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http").build());
+        handler.handle(exchange).block();
+        Assert.assertEquals(Arrays.asList("a", "b"), executed);
+        Assert.assertEquals(1, handler.getSchedulerMetrics().getInline());
+        Assert.assertEquals(0, handler.getSchedulerMetrics().getOffloaded());
+    }
+
+    @Test
+    public void testSchedulerMetricsAreCollected() {
+        SoulWebHandler handler = new SoulWebHandler(Collections.singletonList(new RecordPlugin("a", false, new ArrayList<>())), "direct");
+        CollectorRegistry registry = new CollectorRegistry();
+        new SchedulerMetricsCollector(handler.getSchedulerMetrics()).register(registry);
+        handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("/http").build())).block();
+        String[] labelNames = {"type"};
+        String[] labelValues = {"direct"};
+        Assert.assertEquals(1D, registry.getSampleValue("soul_scheduler_inline_total", labelNames, labelValues), 0D);
+        Assert.assertEquals(0D, registry.getSampleValue("soul_scheduler_offloaded_total", labelNames, labelValues), 0D);
+        Assert.assertEquals(0D, registry.getSampleValue("soul_scheduler_pending", labelNames, labelValues), 0D);
+    }
+
+    @Test
+    public void testRecorderTimesEachPlugin() {
+        List<String> executed = new ArrayList<>();
+        TimerPlugin timerPlugin = new TimerPlugin();
+        SoulWebHandler handler = new SoulWebHandler(Arrays.asList(new RecordPlugin("a", false, executed), timerPlugin,
+                new RecordPlugin("b", true, executed), new RecordPlugin("c", false, executed)), "direct");
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http").build());
+        handler.handle(exchange).block();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a", "timer", "c")), timerPlugin.recorded.keySet());
+    }
+
+    @Test
+    public void testRecorderExcludesDownstreamTime() {
+        List<String> executed = new ArrayList<>();
+        TimerPlugin timerPlugin = new TimerPlugin();
+        SoulWebHandler handler = new SoulWebHandler(Arrays.asList(new RecordPlugin("a", false, executed), timerPlugin,
+                new DelayPlugin()), "direct");
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http").build());
+        handler.handle(exchange).block();
+        long delay = TimeUnit.MILLISECONDS.toNanos(DelayPlugin.DELAY_MILLIS);
+        Assert.assertTrue(timerPlugin.recorded.get("delay") >= delay);
+        Assert.assertTrue(timerPlugin.recorded.get("a") < delay);
+        Assert.assertTrue(timerPlugin.recorded.get("timer") < delay);
+    }
+
+    @Test
+    public void testBlockingSchedulerOffloadsBlockingPlugins() {
+        List<String> threads = new ArrayList<>();
+        SoulPlugin asyncPlugin = new ThreadPlugin(false, threads);
+        SoulPlugin blockingPlugin = new ThreadPlugin(true, threads);
+        SoulWebHandler handler = new SoulWebHandler(Arrays.asList(asyncPlugin, blockingPlugin), "blocking");
+        Assert.assertFalse(handler.obtainPipeline().isBlocking(0));
+        Assert.assertTrue(handler.obtainPipeline().isBlocking(1));
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http").build());
+        handler.handle(exchange).block();
+        Assert.assertEquals(Thread.currentThread().getName(), threads.get(0));
+        Assert.assertTrue(threads.get(1).startsWith("soul-blocking-threads"));
+        Assert.assertEquals(1, handler.getSchedulerMetrics().getOffloaded());
+        Assert.assertEquals(0, handler.getSchedulerMetrics().getPending());
+    }
+
+    @Test
+    public void testGroovyConditionMarksPluginBlocking() {
+        BaseDataCache.getInstance().cleanPluginData();
+        BaseDataCache.getInstance().cleanSelectorData();
+        SoulPlugin dataPlugin = new PipelinePlugin();
+        SoulWebHandler handler = new SoulWebHandler(Collections.singletonList(dataPlugin), "blocking");
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name("pipeline").enabled(true).build());
+        Assert.assertFalse(handler.obtainPipeline().isBlocking(0));
+        ConditionData condition = new ConditionData();
+        condition.setOperator(OperatorEnum.GROOVY.getAlias());
+        condition.setParamType("header");
+        condition.setParamName("userId");
+        condition.setParamValue("userId == '1'");
+        BaseDataCache.getInstance().cacheSelectData(SelectorData.builder().id("1").pluginName("pipeline").sort(1)
+                .conditionList(Collections.singletonList(condition)).build());
+        Assert.assertTrue(handler.obtainPipeline().isBlocking(0));
+        BaseDataCache.getInstance().cleanPluginData();
+        BaseDataCache.getInstance().cleanSelectorData();
+    }
+
+    private static final class PipelinePlugin extends AbstractSoulPlugin {
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final SoulPluginChain chain, final SelectorData selector, final RuleData rule) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "pipeline";
+        }
+    }
+
+    private static final class ThreadPlugin implements SoulPlugin {
+
+        private final boolean blocking;
+
+        private final List<String> threads;
+
+        ThreadPlugin(final boolean blocking, final List<String> threads) {
+            this.blocking = blocking;
+            this.threads = threads;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+            threads.add(Thread.currentThread().getName());
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public boolean blocking() {
+            return blocking;
+        }
+    }
+
+    private static final class ExchangePlugin implements SoulPlugin {
+
+        private final List<ServerWebExchange> exchanges;
+
+        ExchangePlugin(final List<ServerWebExchange> exchanges) {
+            this.exchanges = exchanges;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+            exchanges.add(exchange);
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+
+    private static final class DelayPlugin implements SoulPlugin {
+
+        private static final long DELAY_MILLIS = 50;
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+            return Mono.delay(Duration.ofMillis(DELAY_MILLIS)).then(chain.execute(exchange));
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "delay";
+        }
+    }
+
+    private static final class TimerPlugin implements SoulPlugin, PluginExecutionRecorder {
+
+        private final Map<String, Long> recorded = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return "timer";
+        }
+
+        @Override
+        public void record(final String pluginName, final long nanos) {
+            Assert.assertTrue(nanos >= 0);
+            recorded.put(pluginName, nanos);
+        }
+    }
+
+    private static final class RecordPlugin implements SoulPlugin {
+
+        private final String name;
+
+        private final boolean skip;
+
+        private final List<String> executed;
+
+        RecordPlugin(final String name, final boolean skip, final List<String> executed) {
+            this.name = name;
+            this.skip = skip;
+            this.executed = executed;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final SoulPluginChain chain) {
+            executed.add(name);
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public String named() {
+            return name;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public Boolean skip(final ServerWebExchange exchange) {
+            return skip;
+        }
+    }
 }